@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latencies of reads and writes, either over the last reporting interval
+ * or over the whole run.
+ */
+public final class BenchmarkReport {
+
+	public final boolean total;
+	public final long elapsedMillis;
+	public final Operation reads;
+	public final Operation writes;
+
+	BenchmarkReport(boolean total, long elapsedMillis, Operation reads, Operation writes) {
+		this.total = total;
+		this.elapsedMillis = elapsedMillis;
+		this.reads = reads;
+		this.writes = writes;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s %6.1fs%n  %s%n  %s", total ? "total   " : "interval",
+				elapsedMillis / 1000.0, reads, writes);
+	}
+
+	/**
+	 * Statistics of one kind of operation, latencies in microseconds.
+	 */
+	public static final class Operation {
+
+		public final String name;
+		public final long count;
+		public final long errors;
+		public final double throughput;
+		public final long p50;
+		public final long p90;
+		public final long p99;
+		public final long p999;
+		public final long max;
+
+		Operation(String name, LatencyHistogram latencies, long errors, long elapsedNanos) {
+			this.name = name;
+			this.count = latencies.count();
+			this.errors = errors;
+			this.throughput = elapsedNanos <= 0 ? 0 : count * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+			this.p50 = latencies.percentile(50);
+			this.p90 = latencies.percentile(90);
+			this.p99 = latencies.percentile(99);
+			this.p999 = latencies.percentile(99.9);
+			this.max = latencies.max();
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%-6s count=%d tps=%.0f errors=%d p50=%dus p90=%dus p99=%dus p99.9=%dus max=%dus",
+					name, count, throughput, errors, p50, p90, p99, p999, max);
+		}
+	}
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Chooses the key of the next operation among {@code keyCount} keys numbered from 0.
+ */
+public interface KeyDistribution {
+
+	long next();
+
+	/**
+	 * Every key equally likely.
+	 */
+	static KeyDistribution uniform(long keyCount) {
+		return () -> ThreadLocalRandom.current().nextLong(keyCount);
+	}
+
+	/**
+	 * Keys following a Zipf distribution, key 0 being the most frequent.
+	 *
+	 * @param theta skew between 0, exclusive, and 1, exclusive; 0.99 is a common hot-key workload
+	 */
+	static KeyDistribution zipf(long keyCount, double theta) {
+		return new ZipfDistribution(keyCount, theta);
+	}
+}
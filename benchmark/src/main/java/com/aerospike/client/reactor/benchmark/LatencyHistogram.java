@@ -0,0 +1,150 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.benchmark;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with log-linear buckets in the style of HdrHistogram.
+ * Values below 128 are counted exactly, larger values in 64 linear sub-buckets per power
+ * of two, so every recorded value is reported within 1.6% of its magnitude.
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 6;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int EXACT = SUB_BUCKETS * 2;
+	private static final int SIZE = EXACT + (64 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts;
+
+	public LatencyHistogram() {
+		this.counts = new AtomicLongArray(SIZE);
+	}
+
+	private LatencyHistogram(long[] counts) {
+		this.counts = new AtomicLongArray(counts);
+	}
+
+	/**
+	 * Records a non-negative value, negative values being recorded as 0.
+	 */
+	public void record(long value) {
+		counts.incrementAndGet(index(Math.max(0, value)));
+	}
+
+	public long count() {
+		long count = 0;
+		for (int i = 0; i < SIZE; i++) {
+			count += counts.get(i);
+		}
+		return count;
+	}
+
+	/**
+	 * Highest value equivalent to the recorded value at the percentile, 0 when empty.
+	 */
+	public long percentile(double percentile) {
+		long[] snapshot = snapshot();
+		long total = 0;
+		for (long count : snapshot) {
+			total += count;
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < SIZE; i++) {
+			seen += snapshot[i];
+			if (seen >= target) {
+				return highestEquivalent(i);
+			}
+		}
+		return highestEquivalent(SIZE - 1);
+	}
+
+	public long max() {
+		for (int i = SIZE - 1; i >= 0; i--) {
+			if (counts.get(i) != 0) {
+				return highestEquivalent(i);
+			}
+		}
+		return 0;
+	}
+
+	public double mean() {
+		long[] snapshot = snapshot();
+		long total = 0;
+		double sum = 0;
+		for (int i = 0; i < SIZE; i++) {
+			total += snapshot[i];
+			sum += (double) snapshot[i] * (lowestEquivalent(i) + highestEquivalent(i)) / 2;
+		}
+		return total == 0 ? 0 : sum / total;
+	}
+
+	/**
+	 * Copy of the counts recorded so far.
+	 */
+	public LatencyHistogram copy() {
+		return new LatencyHistogram(snapshot());
+	}
+
+	/**
+	 * Values recorded in this histogram and not in the earlier copy of it.
+	 */
+	public LatencyHistogram minus(LatencyHistogram earlier) {
+		long[] snapshot = snapshot();
+		for (int i = 0; i < SIZE; i++) {
+			snapshot[i] -= earlier.counts.get(i);
+		}
+		return new LatencyHistogram(snapshot);
+	}
+
+	private long[] snapshot() {
+		long[] snapshot = new long[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			snapshot[i] = counts.get(i);
+		}
+		return snapshot;
+	}
+
+	static int index(long value) {
+		if (value < EXACT) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return EXACT + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+	}
+
+	static long lowestEquivalent(int index) {
+		if (index < EXACT) {
+			return index;
+		}
+		int shift = (index - EXACT) / SUB_BUCKETS + 1;
+		return (long) ((index - EXACT) % SUB_BUCKETS + SUB_BUCKETS) << shift;
+	}
+
+	static long highestEquivalent(int index) {
+		if (index < EXACT) {
+			return index;
+		}
+		int shift = (index - EXACT) / SUB_BUCKETS + 1;
+		return ((long) ((index - EXACT) % SUB_BUCKETS + SUB_BUCKETS + 1) << shift) - 1;
+	}
+}
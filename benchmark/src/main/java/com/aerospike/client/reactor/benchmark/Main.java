@@ -0,0 +1,152 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.benchmark;
+
+import com.aerospike.client.AerospikeClient;
+import com.aerospike.client.Host;
+import com.aerospike.client.async.EventLoops;
+import com.aerospike.client.async.NioEventLoops;
+import com.aerospike.client.policy.AuthMode;
+import com.aerospike.client.policy.ClientPolicy;
+import com.aerospike.client.policy.TlsPolicy;
+import com.aerospike.client.reactor.AerospikeReactorClient;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import java.util.Arrays;
+
+/**
+ * Command line entry point of the benchmark.
+ */
+public final class Main {
+
+	private Main() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		Options options = options();
+		CommandLine cl;
+		try {
+			cl = new DefaultParser().parse(options, args);
+		}
+		catch (ParseException e) {
+			System.err.println(e.getMessage());
+			usage(options);
+			System.exit(1);
+			return;
+		}
+		if (cl.hasOption("u")) {
+			usage(options);
+			return;
+		}
+
+		Workload workload = workload(cl);
+		int port = Integer.parseInt(cl.getOptionValue("p", "3000"));
+		Host[] hosts = Host.parseHosts(cl.getOptionValue("h", "localhost"), port);
+		int eventLoopCount = Integer.parseInt(cl.getOptionValue("e",
+				String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+		EventLoops eventLoops = new NioEventLoops(eventLoopCount);
+		ClientPolicy clientPolicy = new ClientPolicy();
+		clientPolicy.eventLoops = eventLoops;
+		clientPolicy.user = cl.getOptionValue("U");
+		clientPolicy.password = cl.getOptionValue("P");
+		if (cl.hasOption("auth")) {
+			clientPolicy.authMode = AuthMode.valueOf(cl.getOptionValue("auth").toUpperCase());
+		}
+		if (cl.hasOption("tls")) {
+			clientPolicy.tlsPolicy = new TlsPolicy();
+		}
+		clientPolicy.asyncMaxConnsPerNode = Math.max(clientPolicy.asyncMaxConnsPerNode, workload.concurrency);
+
+		try (AerospikeClient client = new AerospikeClient(clientPolicy, hosts)) {
+			AerospikeReactorClient reactorClient = new AerospikeReactorClient(client);
+			ReactorBenchmark benchmark = new ReactorBenchmark(reactorClient, workload);
+			if (cl.hasOption("load")) {
+				long start = System.nanoTime();
+				long loaded = benchmark.load().blockOptional().orElse(0L);
+				System.out.printf("loaded %d keys in %.1fs%n", loaded, (System.nanoTime() - start) / 1e9);
+			}
+			benchmark.run().doOnNext(System.out::println).blockLast();
+		}
+		finally {
+			eventLoops.close();
+		}
+	}
+
+	static Workload workload(CommandLine cl) {
+		Workload workload = new Workload();
+		workload.namespace = cl.getOptionValue("n", workload.namespace);
+		workload.setName = cl.getOptionValue("s", workload.setName);
+		workload.keyCount = Long.parseLong(cl.getOptionValue("k", String.valueOf(workload.keyCount)));
+		workload.readPercent = Integer.parseInt(cl.getOptionValue("r", String.valueOf(workload.readPercent)));
+		String distribution = cl.getOptionValue("d", "uniform");
+		switch (distribution) {
+			case "uniform":
+				workload.zipfTheta = 0;
+				break;
+			case "zipf":
+				workload.zipfTheta = Double.parseDouble(cl.getOptionValue("theta", "0.99"));
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown key distribution: " + distribution);
+		}
+		workload.binSize = Integer.parseInt(cl.getOptionValue("o", String.valueOf(workload.binSize)));
+		workload.concurrency = Integer.parseInt(cl.getOptionValue("c", String.valueOf(workload.concurrency)));
+		workload.targetRate = Long.parseLong(cl.getOptionValue("g", String.valueOf(workload.targetRate)));
+		workload.durationMillis = Long.parseLong(cl.getOptionValue("t",
+				String.valueOf(workload.durationMillis / 1000))) * 1000;
+		workload.reportIntervalMillis = Long.parseLong(cl.getOptionValue("i",
+				String.valueOf(workload.reportIntervalMillis / 1000))) * 1000;
+		return workload;
+	}
+
+	static Options options() {
+		Options options = new Options();
+		options.addOption("h", "hosts", true,
+				"List of seed hosts in format: hostname1[:tlsname][:port1],...\n" +
+				"Default: localhost");
+		options.addOption("p", "port", true, "Server default port (default: 3000)");
+		options.addOption("U", "user", true, "User name");
+		options.addOption("P", "password", true, "Password");
+		options.addOption("auth", true, "Authentication mode. Values: " + Arrays.toString(AuthMode.values()));
+		options.addOption("tls", "tlsEnable", false, "Use TLS/SSL sockets");
+		options.addOption("e", "eventLoops", true, "Number of event loops (default: number of processors)");
+		options.addOption("n", "namespace", true, "Namespace (default: test)");
+		options.addOption("s", "set", true, "Set name (default: benchmark)");
+		options.addOption("k", "keys", true, "Number of keys (default: 100000)");
+		options.addOption("r", "readPercent", true, "Percentage of reads, the rest being writes (default: 50)");
+		options.addOption("d", "distribution", true, "Key distribution: uniform or zipf (default: uniform)");
+		options.addOption("theta", true, "Zipf skew between 0 and 1 (default: 0.99)");
+		options.addOption("o", "binSize", true, "Size of the written blob in bytes (default: 1024)");
+		options.addOption("c", "concurrency", true, "Maximum operations in flight (default: 64)");
+		options.addOption("g", "throughput", true, "Target operations per second, 0 for unlimited (default: 0)");
+		options.addOption("t", "duration", true, "Duration in seconds (default: 30)");
+		options.addOption("i", "reportInterval", true, "Report interval in seconds (default: 1)");
+		options.addOption("load", false, "Write every key once before running");
+		options.addOption("u", "usage", false, "Print usage.");
+		return options;
+	}
+
+	private static void usage(Options options) {
+		new HelpFormatter().printHelp(100, "java -jar aerospike-reactor-benchmark-jar-with-dependencies.jar",
+				"options:", options, null);
+	}
+}
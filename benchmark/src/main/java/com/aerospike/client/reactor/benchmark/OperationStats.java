@@ -0,0 +1,61 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencies in microseconds and failures of one kind of operation.
+ */
+final class OperationStats {
+
+	private final String name;
+	private final LatencyHistogram latencies = new LatencyHistogram();
+	private final AtomicLong errors = new AtomicLong();
+	private LatencyHistogram reportedLatencies = new LatencyHistogram();
+	private long reportedErrors;
+
+	OperationStats(String name) {
+		this.name = name;
+	}
+
+	void success(long latencyNanos) {
+		latencies.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+	}
+
+	void failure() {
+		errors.incrementAndGet();
+	}
+
+	/**
+	 * Operations completed since the previous interval.
+	 */
+	synchronized BenchmarkReport.Operation interval(long elapsedNanos) {
+		LatencyHistogram total = latencies.copy();
+		long totalErrors = errors.get();
+		BenchmarkReport.Operation report = new BenchmarkReport.Operation(name,
+				total.minus(reportedLatencies), totalErrors - reportedErrors, elapsedNanos);
+		reportedLatencies = total;
+		reportedErrors = totalErrors;
+		return report;
+	}
+
+	BenchmarkReport.Operation total(long elapsedNanos) {
+		return new BenchmarkReport.Operation(name, latencies.copy(), errors.get(), elapsedNanos);
+	}
+}
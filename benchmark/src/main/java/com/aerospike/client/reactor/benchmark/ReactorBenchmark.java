@@ -0,0 +1,131 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.benchmark;
+
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+
+/**
+ * Load generator running a mix of reads and writes against a reactive client.
+ */
+public class ReactorBenchmark {
+
+	static final String BIN_NAME = "bin";
+
+	private final IAerospikeReactorClient client;
+	private final Workload workload;
+	private final KeyDistribution keys;
+	private final Bin bin;
+
+	public ReactorBenchmark(IAerospikeReactorClient client, Workload workload) {
+		if (workload.readPercent < 0 || workload.readPercent > 100) {
+			throw new IllegalArgumentException("Read percent must be between 0 and 100: " + workload.readPercent);
+		}
+		if (workload.concurrency <= 0) {
+			throw new IllegalArgumentException("Concurrency must be positive: " + workload.concurrency);
+		}
+		this.client = client;
+		this.workload = new Workload(workload);
+		this.keys = workload.zipfTheta > 0
+				? KeyDistribution.zipf(workload.keyCount, workload.zipfTheta)
+				: KeyDistribution.uniform(workload.keyCount);
+		byte[] value = new byte[workload.binSize];
+		ThreadLocalRandom.current().nextBytes(value);
+		this.bin = new Bin(BIN_NAME, value);
+	}
+
+	/**
+	 * Writes every key once, emitting the number of keys written.
+	 */
+	public Mono<Long> load() {
+		return Flux.fromStream(() -> LongStream.range(0, workload.keyCount).boxed())
+				.flatMap(key -> client.put(key(key), bin), workload.concurrency)
+				.count();
+	}
+
+	/**
+	 * Runs the workload, emitting a report per interval and a report of the whole run.
+	 */
+	public Flux<BenchmarkReport> run() {
+		return Flux.defer(() -> {
+			OperationStats reads = new OperationStats("read");
+			OperationStats writes = new OperationStats("write");
+			long start = System.nanoTime();
+			AtomicLong lastReport = new AtomicLong(start);
+			Mono<Boolean> done = operations(start, reads, writes).then(Mono.just(true));
+			return Flux.interval(Duration.ofMillis(workload.reportIntervalMillis))
+					.map(tick -> {
+						long now = System.nanoTime();
+						long elapsed = now - lastReport.getAndSet(now);
+						return report(false, start, now, reads.interval(elapsed), writes.interval(elapsed));
+					})
+					.takeUntilOther(done)
+					.concatWith(Mono.fromSupplier(() -> {
+						long now = System.nanoTime();
+						return report(true, start, now, reads.total(now - start), writes.total(now - start));
+					}));
+		});
+	}
+
+	private Flux<Void> operations(long start, OperationStats reads, OperationStats writes) {
+		long intervalNanos = workload.targetRate > 0 ? TimeUnit.SECONDS.toNanos(1) / workload.targetRate : 0;
+		LongFunction<Mono<Void>> operation = sequence -> {
+			long scheduled = start + sequence * intervalNanos;
+			long wait = scheduled - System.nanoTime();
+			Mono<Long> pacing = wait > 0 ? Mono.delay(Duration.ofNanos(wait)) : Mono.just(0L);
+			return pacing.then(Mono.defer(() -> {
+				long begin = intervalNanos > 0 ? scheduled : System.nanoTime();
+				boolean read = ThreadLocalRandom.current().nextInt(100) < workload.readPercent;
+				OperationStats stats = read ? reads : writes;
+				Key key = key(keys.next());
+				Mono<?> command = read ? client.get(key) : client.put(key, bin);
+				return command
+						.doOnSuccess(result -> stats.success(System.nanoTime() - begin))
+						.onErrorResume(error -> {
+							stats.failure();
+							return Mono.empty();
+						})
+						.then();
+			}));
+		};
+		return Flux.<Long, Long>generate(() -> 0L, (sequence, sink) -> {
+					sink.next(sequence);
+					return sequence + 1;
+				})
+				.takeUntilOther(Mono.delay(Duration.ofMillis(workload.durationMillis)))
+				.flatMap(operation::apply, workload.concurrency);
+	}
+
+	private Key key(long key) {
+		return new Key(workload.namespace, workload.setName, key);
+	}
+
+	private static BenchmarkReport report(boolean total, long start, long now,
+										  BenchmarkReport.Operation reads, BenchmarkReport.Operation writes) {
+		return new BenchmarkReport(total, TimeUnit.NANOSECONDS.toMillis(now - start), reads, writes);
+	}
+}
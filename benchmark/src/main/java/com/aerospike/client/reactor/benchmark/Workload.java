@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.benchmark;
+
+/**
+ * Configuration of a {@link ReactorBenchmark} run.
+ */
+public class Workload {
+
+	public String namespace = "test";
+
+	public String setName = "benchmark";
+
+	/**
+	 * Number of keys, numbered from 0.
+	 * <p>
+	 * Default: 100000
+	 */
+	public long keyCount = 100000;
+
+	/**
+	 * Percentage of operations that are reads, the others being writes.
+	 * <p>
+	 * Default: 50
+	 */
+	public int readPercent = 50;
+
+	/**
+	 * Zipf skew of the keys, 0 for keys chosen uniformly.
+	 * <p>
+	 * Default: 0
+	 */
+	public double zipfTheta;
+
+	/**
+	 * Size in bytes of the blob written to every record.
+	 * <p>
+	 * Default: 1024
+	 */
+	public int binSize = 1024;
+
+	/**
+	 * Maximum number of operations in flight.
+	 * <p>
+	 * Default: 64
+	 */
+	public int concurrency = 64;
+
+	/**
+	 * Operations per second, 0 for as many as the concurrency allows. With a target rate
+	 * latencies are measured from the time the operation was scheduled to start, so a
+	 * stalled server is not hidden by operations that started late.
+	 * <p>
+	 * Default: 0
+	 */
+	public long targetRate;
+
+	/**
+	 * Duration of the run.
+	 * <p>
+	 * Default: 30000
+	 */
+	public long durationMillis = 30000;
+
+	/**
+	 * Interval of the reports emitted while running.
+	 * <p>
+	 * Default: 1000
+	 */
+	public long reportIntervalMillis = 1000;
+
+	public Workload() {
+	}
+
+	public Workload(Workload other) {
+		this.namespace = other.namespace;
+		this.setName = other.setName;
+		this.keyCount = other.keyCount;
+		this.readPercent = other.readPercent;
+		this.zipfTheta = other.zipfTheta;
+		this.binSize = other.binSize;
+		this.concurrency = other.concurrency;
+		this.targetRate = other.targetRate;
+		this.durationMillis = other.durationMillis;
+		this.reportIntervalMillis = other.reportIntervalMillis;
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Zipf distribution sampled in constant time after computing the zeta constant once,
+ * following Gray et al., "Quickly Generating Billion-Record Synthetic Databases".
+ */
+final class ZipfDistribution implements KeyDistribution {
+
+	private final long keyCount;
+	private final double theta;
+	private final double zetaN;
+	private final double alpha;
+	private final double eta;
+
+	ZipfDistribution(long keyCount, double theta) {
+		if (keyCount <= 0) {
+			throw new IllegalArgumentException("Key count must be positive: " + keyCount);
+		}
+		if (theta <= 0 || theta >= 1) {
+			throw new IllegalArgumentException("Theta must be between 0 and 1: " + theta);
+		}
+		this.keyCount = keyCount;
+		this.theta = theta;
+		this.zetaN = zeta(keyCount, theta);
+		this.alpha = 1 / (1 - theta);
+		double zeta2 = zeta(2, theta);
+		this.eta = (1 - Math.pow(2.0 / keyCount, 1 - theta)) / (1 - zeta2 / zetaN);
+	}
+
+	@Override
+	public long next() {
+		double u = ThreadLocalRandom.current().nextDouble();
+		double uz = u * zetaN;
+		if (uz < 1) {
+			return 0;
+		}
+		if (uz < 1 + Math.pow(0.5, theta)) {
+			return Math.min(1, keyCount - 1);
+		}
+		long key = (long) (keyCount * Math.pow(eta * u - eta + 1, alpha));
+		return Math.min(key, keyCount - 1);
+	}
+
+	private static double zeta(long n, double theta) {
+		double sum = 0;
+		for (long i = 1; i <= n; i++) {
+			sum += 1 / Math.pow(i, theta);
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,36 @@
+package com.aerospike.client.reactor.benchmark;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class KeyDistributionTest {
+
+    @Test
+    public void shouldSkewZipfKeysTowardsFirstKeys() {
+        KeyDistribution zipf = KeyDistribution.zipf(1000, 0.99);
+        int[] counts = new int[1000];
+        for (int i = 0; i < 100_000; i++) {
+            counts[(int) zipf.next()]++;
+        }
+
+        int hot = 0;
+        for (int i = 0; i < 10; i++) {
+            hot += counts[i];
+        }
+        assertThat(hot).isGreaterThan(30_000);
+        assertThat(counts[0]).isGreaterThan(counts[1]).isGreaterThan(counts[500]);
+    }
+
+    @Test
+    public void shouldKeepKeysInRange() {
+        KeyDistribution uniform = KeyDistribution.uniform(10);
+        KeyDistribution zipf = KeyDistribution.zipf(3, 0.5);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(uniform.next()).isBetween(0L, 9L);
+            assertThat(zipf.next()).isBetween(0L, 2L);
+        }
+        assertThatThrownBy(() -> KeyDistribution.zipf(10, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
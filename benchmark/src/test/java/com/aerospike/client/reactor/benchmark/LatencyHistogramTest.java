@@ -0,0 +1,53 @@
+package com.aerospike.client.reactor.benchmark;
+
+import org.junit.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void shouldReportPercentilesWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongStream.rangeClosed(1, 100_000).forEach(histogram::record);
+
+        assertThat(histogram.count()).isEqualTo(100_000);
+        assertThat((double) histogram.percentile(50)).isCloseTo(50_000, within(50_000 * 0.016));
+        assertThat((double) histogram.percentile(99.9)).isCloseTo(99_900, within(99_900 * 0.016));
+        assertThat((double) histogram.max()).isCloseTo(100_000, within(100_000 * 0.016));
+        assertThat(histogram.mean()).isCloseTo(50_000, within(50_000 * 0.016));
+        assertThat(new LatencyHistogram().percentile(99)).isZero();
+    }
+
+    @Test
+    public void shouldMapEveryValueIntoItsBucket() {
+        long[] values = {0, 1, 127, 128, 129, 255, 256, 1_000_003, Long.MAX_VALUE / 3, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.index(value);
+            assertThat(LatencyHistogram.lowestEquivalent(index)).isLessThanOrEqualTo(value);
+            assertThat(LatencyHistogram.highestEquivalent(index)).isGreaterThanOrEqualTo(value);
+        }
+        assertThat(LatencyHistogram.index(127)).isEqualTo(127);
+        assertThat(LatencyHistogram.index(128)).isEqualTo(128);
+        assertThat(LatencyHistogram.highestEquivalent(LatencyHistogram.index(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void shouldSubtractEarlierCopy() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        LatencyHistogram earlier = histogram.copy();
+        histogram.record(1000);
+        histogram.record(-5);
+
+        LatencyHistogram interval = histogram.minus(earlier);
+
+        assertThat(interval.count()).isEqualTo(2);
+        assertThat(interval.percentile(50)).isZero();
+        assertThat(interval.max()).isBetween(1000L, 1016L);
+        assertThat(earlier.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,83 @@
+package com.aerospike.client.reactor.benchmark;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReactorBenchmarkTest {
+
+    private final IAerospikeReactorClient client = mock(IAerospikeReactorClient.class);
+
+    {
+        when(client.put(any(Key.class), ArgumentMatchers.<Bin[]>any()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(client.get(any(Key.class)))
+                .thenAnswer(invocation -> Mono.just(new KeyRecord(invocation.getArgument(0), null)));
+    }
+
+    @Test
+    public void shouldLoadEveryKey() {
+        Workload workload = workload();
+        workload.keyCount = 50;
+
+        assertThat(new ReactorBenchmark(client, workload).load().block()).isEqualTo(50);
+
+        verify(client, times(50)).put(any(Key.class), ArgumentMatchers.<Bin[]>any());
+        verify(client).put(ArgumentMatchers.eq(new Key("test", "benchmark", 49L)), ArgumentMatchers.<Bin[]>any());
+    }
+
+    @Test
+    public void shouldReportIntervalsAndTotalAtTargetRate() {
+        Workload workload = workload();
+        workload.targetRate = 1000;
+        workload.readPercent = 100;
+
+        List<BenchmarkReport> reports = new ReactorBenchmark(client, workload).run().collectList().block();
+
+        BenchmarkReport total = reports.get(reports.size() - 1);
+        assertThat(reports.subList(0, reports.size() - 1)).isNotEmpty().noneMatch(report -> report.total);
+        assertThat(total.total).isTrue();
+        assertThat(total.reads.count).isBetween(200L, 600L);
+        assertThat(total.writes.count).isZero();
+        assertThat(reports.stream().filter(report -> !report.total).mapToLong(report -> report.reads.count).sum())
+                .isLessThanOrEqualTo(total.reads.count);
+    }
+
+    @Test
+    public void shouldCountFailures() {
+        when(client.put(any(Key.class), ArgumentMatchers.<Bin[]>any()))
+                .thenReturn(Mono.error(new AerospikeException.Timeout(1, false)));
+        Workload workload = workload();
+        workload.readPercent = 0;
+        workload.targetRate = 200;
+
+        BenchmarkReport total = new ReactorBenchmark(client, workload).run().blockLast();
+
+        assertThat(total.writes.errors).isPositive();
+        assertThat(total.writes.count).isZero();
+        assertThat(total.toString()).contains("write", "errors=" + total.writes.errors);
+    }
+
+    private static Workload workload() {
+        Workload workload = new Workload();
+        workload.keyCount = 100;
+        workload.durationMillis = 400;
+        workload.reportIntervalMillis = 100;
+        workload.concurrency = 8;
+        return workload;
+    }
+}
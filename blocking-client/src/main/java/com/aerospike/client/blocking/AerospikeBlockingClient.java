@@ -0,0 +1,267 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.blocking;
+
+import com.aerospike.client.*;
+import com.aerospike.client.Record;
+import com.aerospike.client.blocking.listeners.*;
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.policy.*;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.Statement;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Instantiate an <code>AerospikeBlockingClient</code> object to access an Aerospike
+ * database cluster with a blocking API backed by the async event loops.
+ * <p>
+ * Each command registers a listener with an event loop and parks the calling thread
+ * until the listener completes. Run callers on virtual threads
+ * ({@link VirtualThreads#newCommandExecutor()}) to serve many concurrent commands
+ * with few platform threads.
+ * <p>
+ * This client is thread-safe. One client instance should be used per cluster.
+ * Multiple threads should share this cluster instance.
+ */
+public class AerospikeBlockingClient implements IAerospikeBlockingClient {
+
+	private final IAerospikeClient aerospikeClient;
+
+	/**
+	 * @param aerospikeClient		the {@link com.aerospike.client.AerospikeClient} instance,
+	 *                              created with {@link com.aerospike.client.policy.ClientPolicy#eventLoops}
+	 */
+	public AerospikeBlockingClient(IAerospikeClient aerospikeClient) {
+		this.aerospikeClient = aerospikeClient;
+	}
+
+	@Override
+	public void close() {
+		aerospikeClient.close();
+	}
+
+	@Override
+	public final Record get(Key key) throws AerospikeException {
+		return get(null, key);
+	}
+
+	@Override
+	public final Record get(Policy policy, Key key, String... binNames) throws AerospikeException {
+		FutureRecordListener listener = new FutureRecordListener();
+		aerospikeClient.get(null, listener, policy, key, allBinsIfEmpty(binNames));
+		return await(listener);
+	}
+
+	@Override
+	public final Record[] get(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		FutureRecordArrayListener listener = new FutureRecordArrayListener();
+		aerospikeClient.get(null, listener, policy, keys);
+		return await(listener);
+	}
+
+	@Override
+	public final List<BatchRead> get(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
+		FutureBatchListListener listener = new FutureBatchListListener();
+		aerospikeClient.get(null, listener, policy, records);
+		return await(listener);
+	}
+
+	@Override
+	public final Record[] get(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
+		FutureRecordArrayListener listener = new FutureRecordArrayListener();
+		aerospikeClient.get(null, listener, policy, keys, operations);
+		return await(listener);
+	}
+
+	@Override
+	public final Record getHeader(Policy policy, Key key) throws AerospikeException {
+		FutureRecordListener listener = new FutureRecordListener();
+		aerospikeClient.getHeader(null, listener, policy, key);
+		return await(listener);
+	}
+
+	@Override
+	public final boolean exists(Key key) throws AerospikeException {
+		return exists(null, key);
+	}
+
+	@Override
+	public final boolean exists(Policy policy, Key key) throws AerospikeException {
+		FutureExistsListener listener = new FutureExistsListener();
+		aerospikeClient.exists(null, listener, policy, key);
+		return await(listener);
+	}
+
+	@Override
+	public final boolean[] exists(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		FutureExistsArrayListener listener = new FutureExistsArrayListener();
+		aerospikeClient.exists(null, listener, policy, keys);
+		return await(listener);
+	}
+
+	@Override
+	public final void put(Key key, Bin... bins) throws AerospikeException {
+		put(null, key, bins);
+	}
+
+	@Override
+	public final void put(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		FutureWriteListener listener = new FutureWriteListener();
+		aerospikeClient.put(null, listener, policy, key, bins);
+		await(listener);
+	}
+
+	@Override
+	public final void append(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		FutureWriteListener listener = new FutureWriteListener();
+		aerospikeClient.append(null, listener, policy, key, bins);
+		await(listener);
+	}
+
+	@Override
+	public final void prepend(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		FutureWriteListener listener = new FutureWriteListener();
+		aerospikeClient.prepend(null, listener, policy, key, bins);
+		await(listener);
+	}
+
+	@Override
+	public final void add(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		FutureWriteListener listener = new FutureWriteListener();
+		aerospikeClient.add(null, listener, policy, key, bins);
+		await(listener);
+	}
+
+	@Override
+	public final void touch(WritePolicy policy, Key key) throws AerospikeException {
+		FutureWriteListener listener = new FutureWriteListener();
+		aerospikeClient.touch(null, listener, policy, key);
+		await(listener);
+	}
+
+	@Override
+	public final boolean delete(Key key) throws AerospikeException {
+		return delete(null, key);
+	}
+
+	@Override
+	public final boolean delete(WritePolicy policy, Key key) throws AerospikeException {
+		FutureDeleteListener listener = new FutureDeleteListener();
+		aerospikeClient.delete(null, listener, policy, key);
+		return await(listener);
+	}
+
+	@Override
+	public final BatchResults delete(BatchPolicy batchPolicy, BatchDeletePolicy deletePolicy, Key[] keys) throws AerospikeException {
+		FutureBatchRecordArrayListener listener = new FutureBatchRecordArrayListener();
+		aerospikeClient.delete(null, listener, batchPolicy, deletePolicy, keys);
+		return await(listener);
+	}
+
+	@Override
+	public final Record operate(Key key, Operation... operations) throws AerospikeException {
+		return operate(null, key, operations);
+	}
+
+	@Override
+	public final Record operate(WritePolicy policy, Key key, Operation... operations) throws AerospikeException {
+		FutureRecordListener listener = new FutureRecordListener();
+		aerospikeClient.operate(null, listener, policy, key, operations);
+		return await(listener);
+	}
+
+	@Override
+	public final BatchResults operate(BatchPolicy batchPolicy, BatchWritePolicy writePolicy, Key[] keys,
+									  Operation... operations) throws AerospikeException {
+		FutureBatchRecordArrayListener listener = new FutureBatchRecordArrayListener();
+		aerospikeClient.operate(null, listener, batchPolicy, writePolicy, keys, operations);
+		return await(listener);
+	}
+
+	@Override
+	public final boolean operate(BatchPolicy policy, List<BatchRecord> records) throws AerospikeException {
+		FutureBatchOperateListListener listener = new FutureBatchOperateListListener();
+		aerospikeClient.operate(null, listener, policy, records);
+		return await(listener);
+	}
+
+	@Override
+	public final Object execute(WritePolicy policy, Key key, String packageName, String functionName,
+								Value... functionArgs) throws AerospikeException {
+		FutureExecuteListener listener = new FutureExecuteListener();
+		aerospikeClient.execute(null, listener, policy, key, packageName, functionName, functionArgs);
+		return await(listener);
+	}
+
+	@Override
+	public final List<KeyRecord> query(QueryPolicy policy, Statement statement) throws AerospikeException {
+		FutureRecordSequenceListener listener = new FutureRecordSequenceListener();
+		aerospikeClient.query(null, listener, policy, statement);
+		return await(listener);
+	}
+
+	@Override
+	public final List<KeyRecord> scanAll(ScanPolicy policy, String namespace, String setName, String... binNames) throws AerospikeException {
+		FutureRecordSequenceListener listener = new FutureRecordSequenceListener();
+		aerospikeClient.scanAll(null, listener, policy, namespace, setName, allBinsIfEmpty(binNames));
+		return await(listener);
+	}
+
+	@Override
+	public final Map<String, String> info(InfoPolicy infoPolicy, Node node, String... commands) throws AerospikeException {
+		FutureInfoListener listener = new FutureInfoListener();
+		aerospikeClient.info(null, listener, infoPolicy, node, commands);
+		return await(listener);
+	}
+
+	@Override
+	public IAerospikeClient getAerospikeClient() {
+		return aerospikeClient;
+	}
+
+	/**
+	 * The async client reads no bins at all for an empty array, so no bin names mean null.
+	 */
+	private static String[] allBinsIfEmpty(String[] binNames) {
+		return binNames != null && binNames.length == 0 ? null : binNames;
+	}
+
+	/**
+	 * Park the calling thread until the listener completes.
+	 * {@link CompletableFuture#get()} parks through {@link java.util.concurrent.locks.LockSupport},
+	 * which unmounts a virtual thread instead of pinning its carrier.
+	 * The command itself is bounded by the policy timeouts, so no extra deadline is applied here.
+	 */
+	private static <T> T await(CompletableFuture<T> listener) {
+		try {
+			return listener.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AerospikeException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof AerospikeException) {
+				throw (AerospikeException) cause;
+			}
+			throw new AerospikeException(cause);
+		}
+	}
+}
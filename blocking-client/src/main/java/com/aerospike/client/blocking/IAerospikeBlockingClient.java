@@ -0,0 +1,315 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.blocking;
+
+import com.aerospike.client.*;
+import com.aerospike.client.Record;
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.policy.*;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.Statement;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blocking facade over the Aerospike async client.
+ * <p>
+ * Every command is registered with an event loop and the calling thread parks until the
+ * listener completes, so network I/O never occupies the caller. Combined with virtual threads
+ * (see {@link VirtualThreads}) this gives imperative code the throughput of the event loops
+ * without building a reactive pipeline per call.
+ * <p>
+ * Unlike the synchronous {@link com.aerospike.client.AerospikeClient} commands, waiting here
+ * never holds a monitor, so a virtual thread is unmounted from its carrier while the command runs.
+ */
+public interface IAerospikeBlockingClient extends Closeable {
+
+	/**
+	 * Read entire record for specified key.
+	 *
+	 * @param key					unique record identifier
+	 * @return						the record, or null if not found
+	 * @throws AerospikeException	if read fails
+	 */
+	Record get(Key key) throws AerospikeException;
+
+	/**
+	 * Read record header and bins for specified key.
+	 * <p>
+	 * The policy can be used to specify timeouts.
+	 *
+	 * @param policy				generic configuration parameters, pass in null for defaults
+	 * @param key					unique record identifier
+	 * @param binNames				bins to retrieve, pass in null or none for all bins
+	 * @return						the record, or null if not found
+	 * @throws AerospikeException	if read fails
+	 */
+	Record get(Policy policy, Key key, String... binNames) throws AerospikeException;
+
+	/**
+	 * Read multiple records for specified keys in one batch call.
+	 * <p>
+	 * The returned records are in positional order with the original key array order.
+	 * If a key is not found, the positional record will be null.
+	 *
+	 * @param policy				batch configuration parameters, pass in null for defaults
+	 * @param keys					array of unique record identifiers
+	 * @throws AerospikeException	if read fails
+	 */
+	Record[] get(BatchPolicy policy, Key[] keys) throws AerospikeException;
+
+	/**
+	 * Read multiple records for specified batch keys in one batch call.
+	 * This method allows different namespaces/bins to be requested for each key in the batch.
+	 *
+	 * @param policy				batch configuration parameters, pass in null for defaults
+	 * @param records				list of unique record identifiers and the bins to retrieve.
+	 *                              The returned records are located in the same list.
+	 * @throws AerospikeException	if read fails
+	 */
+	List<BatchRead> get(BatchPolicy policy, List<BatchRead> records) throws AerospikeException;
+
+	/**
+	 * Read multiple records for specified keys using read operations in one batch call.
+	 *
+	 * @param policy				batch configuration parameters, pass in null for defaults
+	 * @param keys					array of unique record identifiers
+	 * @param operations			database read operations
+	 * @throws AerospikeException	if read fails
+	 */
+	Record[] get(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException;
+
+	/**
+	 * Read record generation and expiration only for specified key. Bins are not read.
+	 *
+	 * @param policy				generic configuration parameters, pass in null for defaults
+	 * @param key					unique record identifier
+	 * @return						the record header, or null if not found
+	 * @throws AerospikeException	if read fails
+	 */
+	Record getHeader(Policy policy, Key key) throws AerospikeException;
+
+	/**
+	 * Determine if a record key exists.
+	 *
+	 * @param key					unique record identifier
+	 * @throws AerospikeException	if command fails
+	 */
+	boolean exists(Key key) throws AerospikeException;
+
+	/**
+	 * Determine if a record key exists.
+	 *
+	 * @param policy				generic configuration parameters, pass in null for defaults
+	 * @param key					unique record identifier
+	 * @throws AerospikeException	if command fails
+	 */
+	boolean exists(Policy policy, Key key) throws AerospikeException;
+
+	/**
+	 * Check if multiple record keys exist in one batch call.
+	 * The returned boolean array is in positional order with the original key array order.
+	 *
+	 * @param policy				batch configuration parameters, pass in null for defaults
+	 * @param keys					array of unique record identifiers
+	 * @throws AerospikeException	if command fails
+	 */
+	boolean[] exists(BatchPolicy policy, Key[] keys) throws AerospikeException;
+
+	/**
+	 * Write record bin(s).
+	 *
+	 * @param key					unique record identifier
+	 * @param bins					array of bin name/value pairs
+	 * @throws AerospikeException	if write fails
+	 */
+	void put(Key key, Bin... bins) throws AerospikeException;
+
+	/**
+	 * Write record bin(s).
+	 * The policy specifies the transaction timeout, record expiration and how the transaction is
+	 * handled when the record already exists.
+	 *
+	 * @param policy				write configuration parameters, pass in null for defaults
+	 * @param key					unique record identifier
+	 * @param bins					array of bin name/value pairs
+	 * @throws AerospikeException	if write fails
+	 */
+	void put(WritePolicy policy, Key key, Bin... bins) throws AerospikeException;
+
+	/**
+	 * Append bin string values to existing record bin values.
+	 * This call only works for string values.
+	 *
+	 * @param policy				write configuration parameters, pass in null for defaults
+	 * @param key					unique record identifier
+	 * @param bins					array of bin name/value pairs
+	 * @throws AerospikeException	if append fails
+	 */
+	void append(WritePolicy policy, Key key, Bin... bins) throws AerospikeException;
+
+	/**
+	 * Prepend bin string values to existing record bin values.
+	 * This call works only for string values.
+	 *
+	 * @param policy				write configuration parameters, pass in null for defaults
+	 * @param key					unique record identifier
+	 * @param bins					array of bin name/value pairs
+	 * @throws AerospikeException	if prepend fails
+	 */
+	void prepend(WritePolicy policy, Key key, Bin... bins) throws AerospikeException;
+
+	/**
+	 * Add integer/double bin values to existing record bin values.
+	 *
+	 * @param policy				write configuration parameters, pass in null for defaults
+	 * @param key					unique record identifier
+	 * @param bins					array of bin name/value pairs
+	 * @throws AerospikeException	if add fails
+	 */
+	void add(WritePolicy policy, Key key, Bin... bins) throws AerospikeException;
+
+	/**
+	 * Reset record's time to expiration using the policy's expiration.
+	 * Fail if the record does not exist.
+	 *
+	 * @param policy				write configuration parameters, pass in null for defaults
+	 * @param key					unique record identifier
+	 * @throws AerospikeException	if touch fails
+	 */
+	void touch(WritePolicy policy, Key key) throws AerospikeException;
+
+	/**
+	 * Delete record for specified key.
+	 *
+	 * @param key					unique record identifier
+	 * @return						whether record existed on server before deletion
+	 * @throws AerospikeException	if delete fails
+	 */
+	boolean delete(Key key) throws AerospikeException;
+
+	/**
+	 * Delete record for specified key.
+	 *
+	 * @param policy				delete configuration parameters, pass in null for defaults
+	 * @param key					unique record identifier
+	 * @return						whether record existed on server before deletion
+	 * @throws AerospikeException	if delete fails
+	 */
+	boolean delete(WritePolicy policy, Key key) throws AerospikeException;
+
+	/**
+	 * Delete records for specified keys in one batch call.
+	 *
+	 * @param batchPolicy			batch configuration parameters, pass in null for defaults
+	 * @param deletePolicy			delete configuration parameters, pass in null for defaults
+	 * @param keys					array of unique record identifiers
+	 * @throws AerospikeException	if delete fails
+	 */
+	BatchResults delete(BatchPolicy batchPolicy, BatchDeletePolicy deletePolicy, Key[] keys) throws AerospikeException;
+
+	/**
+	 * Perform multiple read/write operations on a single key in one batch call.
+	 *
+	 * @param key					unique record identifier
+	 * @param operations			database operations to perform
+	 * @throws AerospikeException	if command fails
+	 */
+	Record operate(Key key, Operation... operations) throws AerospikeException;
+
+	/**
+	 * Perform multiple read/write operations on a single key in one batch call.
+	 *
+	 * @param policy				write configuration parameters, pass in null for defaults
+	 * @param key					unique record identifier
+	 * @param operations			database operations to perform
+	 * @throws AerospikeException	if command fails
+	 */
+	Record operate(WritePolicy policy, Key key, Operation... operations) throws AerospikeException;
+
+	/**
+	 * Perform read/write operations on multiple keys.
+	 *
+	 * @param batchPolicy			batch configuration parameters, pass in null for defaults
+	 * @param writePolicy			write configuration parameters, pass in null for defaults
+	 * @param keys					array of unique record identifiers
+	 * @param operations			database operations to perform
+	 * @throws AerospikeException	if command fails
+	 */
+	BatchResults operate(BatchPolicy batchPolicy, BatchWritePolicy writePolicy, Key[] keys,
+						 Operation... operations) throws AerospikeException;
+
+	/**
+	 * Read/Write multiple records for specified batch keys in one batch call.
+	 *
+	 * @param policy				batch configuration parameters, pass in null for defaults
+	 * @param records				list of unique record identifiers and read/write operations.
+	 *                              The results are located in the same list.
+	 * @return						true if all batch sub-commands succeeded
+	 * @throws AerospikeException	if command fails
+	 */
+	boolean operate(BatchPolicy policy, List<BatchRecord> records) throws AerospikeException;
+
+	/**
+	 * Execute user defined function on server and return results.
+	 *
+	 * @param policy				write configuration parameters, pass in null for defaults
+	 * @param key					unique record identifier
+	 * @param packageName			server package name where user defined function resides
+	 * @param functionName			user defined function
+	 * @param functionArgs			arguments passed in to user defined function
+	 * @throws AerospikeException	if transaction fails
+	 */
+	Object execute(WritePolicy policy, Key key, String packageName, String functionName,
+				   Value... functionArgs) throws AerospikeException;
+
+	/**
+	 * Execute query on all server nodes and return all records once the query completes.
+	 * Use {@link QueryPolicy#maxRecords} or partition queries to bound memory usage.
+	 *
+	 * @param policy				query configuration parameters, pass in null for defaults
+	 * @param statement				query definition
+	 * @throws AerospikeException	if query fails
+	 */
+	List<KeyRecord> query(QueryPolicy policy, Statement statement) throws AerospikeException;
+
+	/**
+	 * Read all records in specified namespace and set and return them once the scan completes.
+	 * Use {@link ScanPolicy#maxRecords} to bound memory usage.
+	 *
+	 * @param policy				scan configuration parameters, pass in null for defaults
+	 * @param namespace				namespace - equivalent to database name
+	 * @param setName				optional set name - equivalent to database table
+	 * @param binNames				optional bin to retrieve. All bins will be returned if not specified.
+	 * @throws AerospikeException	if scan fails
+	 */
+	List<KeyRecord> scanAll(ScanPolicy policy, String namespace, String setName, String... binNames) throws AerospikeException;
+
+	/**
+	 * Request info commands from the specified node.
+	 *
+	 * @param infoPolicy			info configuration parameters, pass in null for defaults
+	 * @param node					server node to execute command
+	 * @param commands				list of info commands
+	 * @throws AerospikeException	if command fails
+	 */
+	Map<String, String> info(InfoPolicy infoPolicy, Node node, String... commands) throws AerospikeException;
+
+	IAerospikeClient getAerospikeClient();
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.blocking;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual threads without compiling against Java 21.
+ * <p>
+ * The module targets Java 8, so the JDK factory methods are looked up reflectively.
+ * On runtimes without virtual threads the executors fall back to platform threads,
+ * which keeps {@link AerospikeBlockingClient} usable, but each waiting command then
+ * occupies a platform thread.
+ */
+public final class VirtualThreads {
+
+	private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = lookupExecutorFactory();
+
+	private VirtualThreads() {
+	}
+
+	/**
+	 * @return true if the running JVM supports virtual threads
+	 */
+	public static boolean isSupported() {
+		return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+	}
+
+	/**
+	 * Create an executor that runs each submitted task on a new virtual thread,
+	 * or on a cached platform thread pool if virtual threads are not supported.
+	 */
+	public static ExecutorService newCommandExecutor() {
+		if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null) {
+			try {
+				return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalStateException("Failed to create virtual thread executor", e);
+			}
+		}
+		return Executors.newCachedThreadPool();
+	}
+
+	private static Method lookupExecutorFactory() {
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.blocking.listeners;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.BatchResults;
+import com.aerospike.client.listener.BatchRecordArrayListener;
+
+import java.util.concurrent.CompletableFuture;
+
+public class FutureBatchRecordArrayListener extends CompletableFuture<BatchResults> implements BatchRecordArrayListener {
+
+    @Override
+    public void onSuccess(BatchRecord[] records, boolean status) {
+        complete(new BatchResults(records, status));
+    }
+
+    @Override
+    public void onFailure(BatchRecord[] records, AerospikeException exception) {
+        completeExceptionally(exception);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.blocking.listeners;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.listener.RecordSequenceListener;
+import com.aerospike.client.query.KeyRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects every record of a scan, query or batch sequence and completes once the sequence ends.
+ * Records may arrive concurrently from several nodes.
+ */
+public class FutureRecordSequenceListener extends CompletableFuture<List<KeyRecord>> implements RecordSequenceListener {
+
+    private final Queue<KeyRecord> records = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void onRecord(Key key, Record record) throws AerospikeException {
+        records.add(new KeyRecord(key, record));
+    }
+
+    @Override
+    public void onSuccess() {
+        complete(new ArrayList<>(records));
+    }
+
+    @Override
+    public void onFailure(AerospikeException exception) {
+        completeExceptionally(exception);
+    }
+}
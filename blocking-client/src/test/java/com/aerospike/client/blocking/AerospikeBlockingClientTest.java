@@ -0,0 +1,112 @@
+package com.aerospike.client.blocking;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Bin;
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.listener.RecordListener;
+import com.aerospike.client.listener.RecordSequenceListener;
+import com.aerospike.client.listener.WriteListener;
+import com.aerospike.client.query.KeyRecord;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class AerospikeBlockingClientTest {
+
+    private static final Key KEY = new Key("a", "b", "c");
+    private static final Record RECORD = new Record(Collections.singletonMap("bin", 1), 1, 0);
+
+    @Test(timeout = 5000)
+    public void shouldWaitForListenerCompletedOnAnotherThread() throws Exception {
+        IAerospikeBlockingClient blockingClient = blockingClient((proxy, method, args) -> {
+            RecordListener listener = (RecordListener) args[1];
+            new Thread(() -> listener.onSuccess(KEY, RECORD)).start();
+            return null;
+        });
+
+        ExecutorService executor = VirtualThreads.newCommandExecutor();
+        try {
+            Future<Record> record = executor.submit(() -> blockingClient.get(KEY));
+            assertSame(RECORD, record.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void shouldRethrowListenerFailure() {
+        AerospikeException.Timeout timeout = new AerospikeException.Timeout(1, false);
+        IAerospikeBlockingClient blockingClient = blockingClient((proxy, method, args) -> {
+            ((WriteListener) args[1]).onFailure(timeout);
+            return null;
+        });
+
+        try {
+            blockingClient.put(KEY, new Bin("bin", 1));
+            fail("Expected timeout");
+        } catch (AerospikeException e) {
+            assertSame(timeout, e);
+            assertEquals(ResultCode.TIMEOUT, e.getResultCode());
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void shouldCollectScannedRecords() {
+        IAerospikeBlockingClient blockingClient = blockingClient((proxy, method, args) -> {
+            RecordSequenceListener listener = (RecordSequenceListener) args[1];
+            listener.onRecord(KEY, RECORD);
+            listener.onRecord(KEY, RECORD);
+            listener.onSuccess();
+            return null;
+        });
+
+        List<KeyRecord> records = blockingClient.scanAll(null, "a", "b");
+
+        assertEquals(2, records.size());
+        assertSame(RECORD, records.get(0).record);
+    }
+
+    @Test(timeout = 5000)
+    public void shouldReadAllBinsWhenNoBinNamesGiven() {
+        Object[][] binNames = new Object[2][];
+        IAerospikeBlockingClient blockingClient = blockingClient((proxy, method, args) -> {
+            int index = method.getName().equals("get") ? 0 : 1;
+            binNames[index] = new Object[]{args[args.length - 1]};
+            if (index == 0) {
+                ((RecordListener) args[1]).onSuccess(KEY, RECORD);
+            } else {
+                ((RecordSequenceListener) args[1]).onSuccess();
+            }
+            return null;
+        });
+
+        blockingClient.get(KEY);
+        assertNull(binNames[0][0]);
+        blockingClient.get(null, KEY);
+        assertNull(binNames[0][0]);
+        blockingClient.get(null, KEY, "bin");
+        assertArrayEquals(new String[]{"bin"}, (String[]) binNames[0][0]);
+        blockingClient.scanAll(null, "a", "b");
+        assertNull(binNames[1][0]);
+    }
+
+    private static IAerospikeBlockingClient blockingClient(InvocationHandler handler) {
+        return new AerospikeBlockingClient((IAerospikeClient) Proxy.newProxyInstance(
+                IAerospikeClient.class.getClassLoader(), new Class<?>[]{IAerospikeClient.class}, handler));
+    }
+}
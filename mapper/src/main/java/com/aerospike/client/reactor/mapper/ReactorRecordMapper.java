@@ -0,0 +1,149 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.mapper;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Key;
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.policy.ScanPolicy;
+import com.aerospike.client.policy.WritePolicy;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.Statement;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.util.Statements;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Typed operations over {@link IAerospikeReactorClient} for classes annotated with
+ * {@link AerospikeRecord}. Conversion goes through the generated {@link RecordCodec},
+ * so no reflection or intermediate maps are involved after the codec is loaded.
+ * <p>
+ * Missing records complete empty instead of emitting null.
+ */
+public class ReactorRecordMapper {
+
+	private final IAerospikeReactorClient client;
+
+	public ReactorRecordMapper(IAerospikeReactorClient client) {
+		this.client = client;
+	}
+
+	public <T> Mono<T> get(Class<T> type, Object userKey) throws AerospikeException {
+		return get(null, type, userKey);
+	}
+
+	public <T> Mono<T> get(Policy policy, Class<T> type, Object userKey) throws AerospikeException {
+		RecordCodec<T> codec = RecordCodecs.of(type);
+		return client.get(policy, codec.keyOf(userKey), codec.binNames())
+				.flatMap(keyRecord -> Mono.justOrEmpty(decode(codec, keyRecord)));
+	}
+
+	public <T> Flux<T> getFlux(Class<T> type, Collection<?> userKeys) throws AerospikeException {
+		return getFlux(null, type, userKeys);
+	}
+
+	public <T> Flux<T> getFlux(BatchPolicy policy, Class<T> type, Collection<?> userKeys) throws AerospikeException {
+		RecordCodec<T> codec = RecordCodecs.of(type);
+		Key[] keys = new Key[userKeys.size()];
+		int i = 0;
+		for (Object userKey : userKeys) {
+			keys[i++] = codec.keyOf(userKey);
+		}
+		return client.getFlux(policy, keys)
+				.handle((keyRecord, sink) -> {
+					T value = decode(codec, keyRecord);
+					if (value != null) {
+						sink.next(value);
+					}
+				});
+	}
+
+	public <T> Mono<Key> put(T value) throws AerospikeException {
+		return put(null, value);
+	}
+
+	public <T> Mono<Key> put(WritePolicy policy, T value) throws AerospikeException {
+		RecordCodec<T> codec = codecOf(value);
+		return client.put(policy, codec.key(value), codec.toBins(value));
+	}
+
+	public <T> Mono<Key> delete(T value) throws AerospikeException {
+		return delete((WritePolicy) null, value);
+	}
+
+	public <T> Mono<Key> delete(WritePolicy policy, T value) throws AerospikeException {
+		RecordCodec<T> codec = codecOf(value);
+		return client.delete(policy, codec.key(value));
+	}
+
+	public <T> Mono<Key> delete(Class<T> type, Object userKey) throws AerospikeException {
+		return delete((WritePolicy) null, type, userKey);
+	}
+
+	public <T> Mono<Key> delete(WritePolicy policy, Class<T> type, Object userKey) throws AerospikeException {
+		return client.delete(policy, RecordCodecs.of(type).keyOf(userKey));
+	}
+
+	/**
+	 * Queries records of the given type. The statement namespace, set and bin names
+	 * default to the ones of the mapped class when not set. The statement is left unchanged,
+	 * the query runs on a copy.
+	 */
+	public <T> Flux<T> query(Class<T> type, Statement statement) throws AerospikeException {
+		return query(null, type, statement);
+	}
+
+	public <T> Flux<T> query(QueryPolicy policy, Class<T> type, Statement statement) throws AerospikeException {
+		RecordCodec<T> codec = RecordCodecs.of(type);
+		Statement typed = Statements.copy(statement, statement.getFilter(), statement.getMaxRecords());
+		if (typed.getNamespace() == null) {
+			typed.setNamespace(codec.namespace());
+		}
+		if (typed.getSetName() == null) {
+			typed.setSetName(codec.setName());
+		}
+		if (typed.getBinNames() == null) {
+			typed.setBinNames(codec.binNames());
+		}
+		return client.query(policy, typed)
+				.map(keyRecord -> codec.fromRecord(keyRecord.key, keyRecord.record));
+	}
+
+	public <T> Flux<T> scanAll(Class<T> type) throws AerospikeException {
+		return scanAll(null, type);
+	}
+
+	public <T> Flux<T> scanAll(ScanPolicy policy, Class<T> type) throws AerospikeException {
+		RecordCodec<T> codec = RecordCodecs.of(type);
+		return client.scanAll(policy, codec.namespace(), codec.setName(), codec.binNames())
+				.map(keyRecord -> codec.fromRecord(keyRecord.key, keyRecord.record));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> RecordCodec<T> codecOf(T value) {
+		return (RecordCodec<T>) RecordCodecs.of(value.getClass());
+	}
+
+	private static <T> T decode(RecordCodec<T> codec, KeyRecord keyRecord) {
+		return keyRecord.record == null ? null : codec.fromRecord(keyRecord.key, keyRecord.record);
+	}
+}
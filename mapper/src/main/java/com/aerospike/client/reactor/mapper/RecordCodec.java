@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.mapper;
+
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+
+/**
+ * Converts instances of a mapped class to and from bins without reflection.
+ * Implementations are generated for classes annotated with {@link AerospikeRecord}.
+ *
+ * @param <T> mapped class
+ */
+public interface RecordCodec<T> {
+
+	/**
+	 * Mapped class.
+	 */
+	Class<T> type();
+
+	String namespace();
+
+	/**
+	 * Set name, or null for the null set.
+	 */
+	String setName();
+
+	/**
+	 * Names of the bins the mapped class reads. Callers must not modify the array.
+	 */
+	String[] binNames();
+
+	/**
+	 * Key of the given instance.
+	 */
+	Key key(T value);
+
+	/**
+	 * Key for the given user key in this codec's namespace and set.
+	 */
+	Key keyOf(Object userKey);
+
+	Bin[] toBins(T value);
+
+	/**
+	 * Creates an instance from a record, or returns null when the record is null.
+	 */
+	T fromRecord(Key key, Record record);
+}
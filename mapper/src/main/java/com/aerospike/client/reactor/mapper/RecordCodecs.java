@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.mapper;
+
+/**
+ * Locates the codecs generated for {@link AerospikeRecord} classes.
+ * The generated class is named after the mapped class with nested class
+ * separators replaced by underscores and the {@value #SUFFIX} suffix.
+ */
+public final class RecordCodecs {
+
+	public static final String SUFFIX = "_AerospikeCodec";
+
+	private static final ClassValue<RecordCodec<?>> CODECS = new ClassValue<RecordCodec<?>>() {
+		@Override
+		protected RecordCodec<?> computeValue(Class<?> type) {
+			return load(type);
+		}
+	};
+
+	private RecordCodecs() {
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> RecordCodec<T> of(Class<T> type) {
+		return (RecordCodec<T>) CODECS.get(type);
+	}
+
+	static String codecClassName(Class<?> type) {
+		String packageName = type.getPackage() == null ? "" : type.getPackage().getName();
+		String simpleName = packageName.isEmpty()
+				? type.getName()
+				: type.getName().substring(packageName.length() + 1);
+		String codecName = simpleName.replace('$', '_') + SUFFIX;
+		return packageName.isEmpty() ? codecName : packageName + "." + codecName;
+	}
+
+	private static RecordCodec<?> load(Class<?> type) {
+		if (!type.isAnnotationPresent(AerospikeRecord.class)) {
+			throw new IllegalArgumentException(type.getName() + " is not annotated with @AerospikeRecord");
+		}
+		String codecName = codecClassName(type);
+		try {
+			Class<?> codecClass = Class.forName(codecName, true, type.getClassLoader());
+			return (RecordCodec<?>) codecClass.getConstructor().newInstance();
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException("Codec " + codecName
+					+ " was not generated, is the annotation processor enabled?", e);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot instantiate codec " + codecName, e);
+		}
+	}
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.mapper.processor;
+
+import com.aerospike.client.reactor.mapper.AerospikeBin;
+import com.aerospike.client.reactor.mapper.AerospikeKey;
+import com.aerospike.client.reactor.mapper.AerospikeRecord;
+import com.aerospike.client.reactor.mapper.RecordCodecs;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates a {@link com.aerospike.client.reactor.mapper.RecordCodec} for every class
+ * annotated with {@link AerospikeRecord}.
+ */
+@SupportedAnnotationTypes("com.aerospike.client.reactor.mapper.AerospikeRecord")
+public class AerospikeRecordProcessor extends AbstractProcessor {
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getElementsAnnotatedWith(AerospikeRecord.class)) {
+			if (element.getKind() != ElementKind.CLASS) {
+				error(element, "@AerospikeRecord is only supported on classes");
+				continue;
+			}
+			TypeElement type = (TypeElement) element;
+			RecordModel model = model(type);
+			if (model != null) {
+				write(model);
+			}
+		}
+		return true;
+	}
+
+	private RecordModel model(TypeElement type) {
+		boolean valid = true;
+		if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+			error(type, "@AerospikeRecord class must not be abstract");
+			valid = false;
+		}
+		if (type.getNestingKind().isNested() && !type.getModifiers().contains(Modifier.STATIC)) {
+			error(type, "@AerospikeRecord nested class must be static");
+			valid = false;
+		}
+		boolean hasConstructor = false;
+		for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+				hasConstructor = true;
+			}
+		}
+		if (!hasConstructor) {
+			error(type, "@AerospikeRecord class needs a non-private no-argument constructor");
+			valid = false;
+		}
+
+		List<ExecutableElement> methods = ElementFilter.methodsIn(type.getEnclosedElements());
+		FieldModel key = null;
+		List<FieldModel> bins = new ArrayList<>();
+		for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+			Set<Modifier> modifiers = field.getModifiers();
+			if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+				continue;
+			}
+			FieldModel model = field(field, methods);
+			if (model == null) {
+				valid = false;
+				continue;
+			}
+			if (field.getAnnotation(AerospikeKey.class) != null) {
+				if (key != null) {
+					error(field, "Only one field can be annotated with @AerospikeKey");
+					valid = false;
+				} else if (!model.kind.keyType) {
+					error(field, "@AerospikeKey must be a String, int, long or byte[]");
+					valid = false;
+				}
+				key = model;
+			} else {
+				bins.add(model);
+			}
+		}
+		if (key == null) {
+			error(type, "@AerospikeRecord class needs a field annotated with @AerospikeKey");
+			valid = false;
+		}
+		String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+		return valid ? new RecordModel(type, packageName, key, bins) : null;
+	}
+
+	private FieldModel field(VariableElement field, List<ExecutableElement> methods) {
+		String name = field.getSimpleName().toString();
+		AerospikeBin bin = field.getAnnotation(AerospikeBin.class);
+		String binName = bin != null ? bin.value() : name;
+		if (binName.isEmpty() || binName.length() > 15) {
+			error(field, "Bin name '" + binName + "' must be 1 to 15 characters");
+			return null;
+		}
+		ValueKind kind = ValueKind.of(field.asType(), processingEnv);
+		if (kind == null) {
+			error(field, "Unsupported field type " + field.asType());
+			return null;
+		}
+		if (field.getModifiers().contains(Modifier.FINAL)) {
+			error(field, "@AerospikeRecord fields must not be final");
+			return null;
+		}
+
+		String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+		String getter;
+		String setter;
+		if (field.getModifiers().contains(Modifier.PRIVATE)) {
+			getter = accessor(methods, kind == ValueKind.BOOLEAN ? "is" + capitalized : "get" + capitalized, 0);
+			if (getter == null) {
+				getter = accessor(methods, "get" + capitalized, 0);
+			}
+			setter = accessor(methods, "set" + capitalized, 1);
+			if (getter == null || setter == null) {
+				error(field, "Private field '" + name + "' needs a non-private getter and setter");
+				return null;
+			}
+			getter = getter + "()";
+		} else {
+			getter = name;
+			setter = null;
+		}
+		return new FieldModel(name, binName, field.asType(), kind, getter, setter);
+	}
+
+	private static String accessor(List<ExecutableElement> methods, String name, int parameters) {
+		for (ExecutableElement method : methods) {
+			if (method.getSimpleName().contentEquals(name)
+					&& method.getParameters().size() == parameters
+					&& !method.getModifiers().contains(Modifier.PRIVATE)
+					&& !method.getModifiers().contains(Modifier.STATIC)) {
+				return name;
+			}
+		}
+		return null;
+	}
+
+	private void write(RecordModel model) {
+		String qualifiedName = model.packageName.isEmpty()
+				? model.codecName : model.packageName + "." + model.codecName;
+		try (PrintWriter out = new PrintWriter(
+				processingEnv.getFiler().createSourceFile(qualifiedName, model.type).openWriter())) {
+			new CodecWriter(model, out).write();
+		} catch (IOException e) {
+			error(model.type, "Cannot write " + qualifiedName + ": " + e.getMessage());
+		}
+	}
+
+	private void error(Element element, String message) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+	static final class RecordModel {
+		final TypeElement type;
+		final String packageName;
+		final String typeName;
+		final String codecName;
+		final String namespace;
+		final String setName;
+		final FieldModel key;
+		final List<FieldModel> bins;
+
+		RecordModel(TypeElement type, String packageName, FieldModel key, List<FieldModel> bins) {
+			this.type = type;
+			this.packageName = packageName;
+			this.key = key;
+			this.bins = bins;
+			this.typeName = type.getQualifiedName().toString();
+			String simpleName = packageName.isEmpty() ? typeName : typeName.substring(packageName.length() + 1);
+			this.codecName = simpleName.replace('.', '_') + RecordCodecs.SUFFIX;
+			AerospikeRecord record = type.getAnnotation(AerospikeRecord.class);
+			this.namespace = record.namespace();
+			this.setName = record.set().isEmpty() ? null : record.set();
+		}
+	}
+
+	static final class FieldModel {
+		final String name;
+		final String binName;
+		final TypeMirror type;
+		final ValueKind kind;
+		/** Field name or getter call used to read the value. */
+		final String getter;
+		/** Setter name, or null to assign the field directly. */
+		final String setter;
+
+		FieldModel(String name, String binName, TypeMirror type, ValueKind kind, String getter, String setter) {
+			this.name = name;
+			this.binName = binName;
+			this.type = type;
+			this.kind = kind;
+			this.getter = getter;
+			this.setter = setter;
+		}
+
+		boolean isPrimitive() {
+			return type.getKind().isPrimitive();
+		}
+	}
+}
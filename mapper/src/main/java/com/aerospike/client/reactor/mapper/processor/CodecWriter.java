@@ -0,0 +1,175 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.mapper.processor;
+
+import com.aerospike.client.reactor.mapper.processor.AerospikeRecordProcessor.FieldModel;
+import com.aerospike.client.reactor.mapper.processor.AerospikeRecordProcessor.RecordModel;
+
+import java.io.PrintWriter;
+
+/**
+ * Emits the source of a generated codec.
+ */
+final class CodecWriter {
+
+	private final RecordModel model;
+	private final PrintWriter out;
+
+	CodecWriter(RecordModel model, PrintWriter out) {
+		this.model = model;
+		this.out = out;
+	}
+
+	void write() {
+		String type = model.typeName;
+		if (!model.packageName.isEmpty()) {
+			out.println("package " + model.packageName + ";");
+			out.println();
+		}
+		out.println("import com.aerospike.client.Bin;");
+		out.println("import com.aerospike.client.Key;");
+		out.println("import com.aerospike.client.Record;");
+		out.println("import com.aerospike.client.Value;");
+		out.println("import com.aerospike.client.reactor.mapper.RecordCodec;");
+		out.println();
+		out.println("/**");
+		out.println(" * Generated by " + AerospikeRecordProcessor.class.getName() + ", do not edit.");
+		out.println(" */");
+		out.println("public final class " + model.codecName + " implements RecordCodec<" + type + "> {");
+		out.println();
+		out.println("\tprivate static final String NAMESPACE = " + literal(model.namespace) + ";");
+		out.println("\tprivate static final String SET_NAME = " + literal(model.setName) + ";");
+		out.print("\tprivate static final String[] BIN_NAMES = {");
+		for (int i = 0; i < model.bins.size(); i++) {
+			out.print((i == 0 ? "" : ", ") + literal(model.bins.get(i).binName));
+		}
+		out.println("};");
+		out.println();
+
+		writeAccessors(type);
+		writeKeys(type);
+		writeToBins(type);
+		writeFromRecord(type);
+
+		out.println("}");
+	}
+
+	private void writeAccessors(String type) {
+		out.println("\t@Override");
+		out.println("\tpublic Class<" + type + "> type() {");
+		out.println("\t\treturn " + type + ".class;");
+		out.println("\t}");
+		out.println();
+		out.println("\t@Override");
+		out.println("\tpublic String namespace() {");
+		out.println("\t\treturn NAMESPACE;");
+		out.println("\t}");
+		out.println();
+		out.println("\t@Override");
+		out.println("\tpublic String setName() {");
+		out.println("\t\treturn SET_NAME;");
+		out.println("\t}");
+		out.println();
+		out.println("\t@Override");
+		out.println("\tpublic String[] binNames() {");
+		out.println("\t\treturn BIN_NAMES;");
+		out.println("\t}");
+		out.println();
+	}
+
+	private void writeKeys(String type) {
+		FieldModel key = model.key;
+		out.println("\t@Override");
+		out.println("\tpublic Key key(" + type + " value) {");
+		if (!key.isPrimitive()) {
+			out.println("\t\tif (value." + key.getter + " == null) {");
+			out.println("\t\t\tthrow new IllegalArgumentException(\"" + key.name + " must not be null\");");
+			out.println("\t\t}");
+		}
+		out.println("\t\treturn new Key(NAMESPACE, SET_NAME, value." + key.getter + ");");
+		out.println("\t}");
+		out.println();
+		out.println("\t@Override");
+		out.println("\tpublic Key keyOf(Object userKey) {");
+		out.println("\t\treturn new Key(NAMESPACE, SET_NAME, Value.get(userKey));");
+		out.println("\t}");
+		out.println();
+	}
+
+	private void writeToBins(String type) {
+		out.println("\t@Override");
+		out.println("\tpublic Bin[] toBins(" + type + " value) {");
+		out.println("\t\tBin[] bins = new Bin[" + model.bins.size() + "];");
+		for (int i = 0; i < model.bins.size(); i++) {
+			FieldModel bin = model.bins.get(i);
+			String local = "v" + i;
+			out.println("\t\t" + bin.type + " " + local + " = value." + bin.getter + ";");
+			out.println("\t\tbins[" + i + "] = new Bin(BIN_NAMES[" + i + "], "
+					+ bin.kind.write(local, bin.isPrimitive()) + ");");
+		}
+		out.println("\t\treturn bins;");
+		out.println("\t}");
+		out.println();
+	}
+
+	private void writeFromRecord(String type) {
+		FieldModel key = model.key;
+		out.println("\t@Override");
+		out.println("\t@SuppressWarnings(\"unchecked\")");
+		out.println("\tpublic " + type + " fromRecord(Key key, Record record) {");
+		out.println("\t\tif (record == null) {");
+		out.println("\t\t\treturn null;");
+		out.println("\t\t}");
+		out.println("\t\t" + type + " value = new " + type + "();");
+		out.println("\t\tif (key != null && key.userKey != null) {");
+		out.println("\t\t\t" + assign(key, userKey(key)) + ";");
+		out.println("\t\t}");
+		out.println("\t\tif (record.bins == null) {");
+		out.println("\t\t\treturn value;");
+		out.println("\t\t}");
+		out.println("\t\tObject v;");
+		for (int i = 0; i < model.bins.size(); i++) {
+			FieldModel bin = model.bins.get(i);
+			out.println("\t\tv = record.bins.get(BIN_NAMES[" + i + "]);");
+			out.println("\t\t" + assign(bin, bin.kind.read("v", bin.type.toString(), bin.isPrimitive())) + ";");
+		}
+		out.println("\t\treturn value;");
+		out.println("\t}");
+	}
+
+	private static String userKey(FieldModel key) {
+		switch (key.kind) {
+			case INT: return "key.userKey.toInteger()";
+			case LONG: return "key.userKey.toLong()";
+			case BYTES: return "(byte[]) key.userKey.getObject()";
+			default: return "key.userKey.toString()";
+		}
+	}
+
+	private static String assign(FieldModel field, String expression) {
+		return field.setter == null
+				? "value." + field.name + " = " + expression
+				: "value." + field.setter + "(" + expression + ")";
+	}
+
+	private static String literal(String value) {
+		if (value == null) {
+			return "null";
+		}
+		return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.mapper.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+
+/**
+ * Field types the processor can map, with the code fragments converting them.
+ */
+enum ValueKind {
+	INT("Integer", "intValue", "0", true),
+	LONG("Long", "longValue", "0L", true),
+	SHORT("Short", "shortValue", "(short) 0", false),
+	BYTE("Byte", "byteValue", "(byte) 0", false),
+	DOUBLE("Double", "doubleValue", "0d", false),
+	FLOAT("Float", "floatValue", "0f", false),
+	BOOLEAN("Boolean", "booleanValue", "false", false),
+	STRING(null, null, null, true),
+	BYTES(null, null, null, true),
+	LIST(null, null, null, false),
+	MAP(null, null, null, false),
+	ENUM(null, null, null, false);
+
+	final String boxed;
+	final String unbox;
+	final String zero;
+	final boolean keyType;
+
+	ValueKind(String boxed, String unbox, String zero, boolean keyType) {
+		this.boxed = boxed;
+		this.unbox = unbox;
+		this.zero = zero;
+		this.keyType = keyType;
+	}
+
+	static ValueKind of(TypeMirror type, ProcessingEnvironment env) {
+		switch (type.getKind()) {
+			case INT: return INT;
+			case LONG: return LONG;
+			case SHORT: return SHORT;
+			case BYTE: return BYTE;
+			case DOUBLE: return DOUBLE;
+			case FLOAT: return FLOAT;
+			case BOOLEAN: return BOOLEAN;
+			case ARRAY:
+				return ((ArrayType) type).getComponentType().getKind() == TypeKind.BYTE ? BYTES : null;
+			case DECLARED:
+				break;
+			default:
+				return null;
+		}
+		Types types = env.getTypeUtils();
+		Element element = types.asElement(type);
+		if (element.getKind() == ElementKind.ENUM) {
+			return ENUM;
+		}
+		String name = types.erasure(type).toString();
+		switch (name) {
+			case "java.lang.Integer": return INT;
+			case "java.lang.Long": return LONG;
+			case "java.lang.Short": return SHORT;
+			case "java.lang.Byte": return BYTE;
+			case "java.lang.Double": return DOUBLE;
+			case "java.lang.Float": return FLOAT;
+			case "java.lang.Boolean": return BOOLEAN;
+			case "java.lang.String": return STRING;
+			case "java.util.List": return LIST;
+			case "java.util.Map": return MAP;
+			default: return null;
+		}
+	}
+
+	/**
+	 * Expression converting the bin value {@code v} returned by the client to the field type.
+	 */
+	String read(String v, String typeName, boolean primitive) {
+		switch (this) {
+			case STRING:
+				return "(String) " + v;
+			case BYTES:
+				return "(byte[]) " + v;
+			case LIST:
+			case MAP:
+				return "(" + typeName + ") " + v;
+			case ENUM:
+				return v + " == null ? null : " + typeName + ".valueOf((String) " + v + ")";
+			case BOOLEAN: {
+				// Booleans come back as integers unless the server stores boolean particles.
+				String value = "(" + v + " instanceof Boolean ? (Boolean) " + v
+						+ " : ((Number) " + v + ").longValue() != 0)";
+				return primitive
+						? v + " != null && " + value
+						: v + " == null ? null : Boolean.valueOf" + value;
+			}
+			default: {
+				String value = "((Number) " + v + ")." + unbox + "()";
+				return primitive
+						? v + " == null ? " + zero + " : " + value
+						: v + " == null ? null : " + boxed + ".valueOf(" + value + ")";
+			}
+		}
+	}
+
+	/**
+	 * Expression converting the field value {@code x} to a {@code Value}.
+	 */
+	String write(String x, boolean primitive) {
+		String value;
+		switch (this) {
+			case ENUM:
+				value = "Value.get(" + x + ".name())";
+				break;
+			case SHORT:
+			case BYTE:
+				value = "Value.get((int) " + x + (primitive ? "" : "." + unbox + "()") + ")";
+				break;
+			default:
+				value = "Value.get(" + x + (primitive || unbox == null ? "" : "." + unbox + "()") + ")";
+				break;
+		}
+		return primitive ? value : x + " == null ? Value.getAsNull() : " + value;
+	}
+}
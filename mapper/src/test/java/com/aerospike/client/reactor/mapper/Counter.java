@@ -0,0 +1,12 @@
+package com.aerospike.client.reactor.mapper;
+
+public class Counter {
+
+    @AerospikeRecord(namespace = "test")
+    public static class Daily {
+        @AerospikeKey
+        long day;
+        short hits;
+        Double ratio;
+    }
+}
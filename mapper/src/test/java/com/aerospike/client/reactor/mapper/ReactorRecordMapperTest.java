@@ -0,0 +1,181 @@
+package com.aerospike.client.reactor.mapper;
+
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.Value;
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.policy.WritePolicy;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.Statement;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReactorRecordMapperTest {
+
+    private final IAerospikeReactorClient client = mock(IAerospikeReactorClient.class);
+    private final ReactorRecordMapper mapper = new ReactorRecordMapper(client);
+
+    @Test
+    public void shouldRoundTripThroughGeneratedCodec() {
+        RecordCodec<User> codec = RecordCodecs.of(User.class);
+        User user = user();
+
+        Bin[] bins = codec.toBins(user);
+        Map<String, Object> stored = new HashMap<>();
+        for (Bin bin : bins) {
+            // the server returns integers as longs and booleans as integers
+            Object value = bin.value.getObject();
+            stored.put(bin.name, value instanceof Integer ? Long.valueOf((Integer) value) : value);
+        }
+        stored.put("admin", 1L);
+
+        User read = codec.fromRecord(codec.key(user), new Record(stored, 1, 0));
+
+        assertThat(codec.binNames()).containsExactly(
+                "name", "years", "admin", "visits", "status", "tags", "counters", "avatar");
+        assertThat(read).usingRecursiveComparison().ignoringFields("cached").isEqualTo(user);
+        assertThat(read.getCached()).isNull();
+        assertThat(codec.fromRecord(codec.key(user), null)).isNull();
+    }
+
+    @Test
+    public void shouldMapNestedClassWithDirectFieldAccess() {
+        RecordCodec<Counter.Daily> codec = RecordCodecs.of(Counter.Daily.class);
+        Counter.Daily daily = new Counter.Daily();
+        daily.day = 19000;
+        daily.hits = 7;
+
+        Key key = codec.key(daily);
+        Bin[] bins = codec.toBins(daily);
+        Map<String, Object> stored = new HashMap<>();
+        stored.put("hits", 7L);
+
+        Counter.Daily read = codec.fromRecord(key, new Record(stored, 1, 0));
+
+        assertThat(key).isEqualTo(new Key("test", null, 19000L));
+        assertThat(codec.setName()).isNull();
+        assertThat(bins[1].value).isEqualTo(Value.getAsNull());
+        assertThat(read.day).isEqualTo(19000L);
+        assertThat(read.hits).isEqualTo((short) 7);
+        assertThat(read.ratio).isNull();
+    }
+
+    @Test
+    public void shouldGetTypedRecordWithProjectedBins() {
+        RecordCodec<User> codec = RecordCodecs.of(User.class);
+        Key key = new Key("test", "users", "u1");
+        when(client.get(isNull(), eq(key), eq(codec.binNames())))
+                .thenReturn(Mono.just(new KeyRecord(key, new Record(singletonMap("name", "Ann"), 1, 0))));
+
+        StepVerifier.create(mapper.get(User.class, "u1"))
+                .assertNext(user -> {
+                    assertThat(user.getId()).isEqualTo("u1");
+                    assertThat(user.getName()).isEqualTo("Ann");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldCompleteEmptyForMissingRecords() {
+        Key key = new Key("test", "users", "u1");
+        when(client.get(any(Policy.class), eq(key), ArgumentMatchers.<String[]>any()))
+                .thenReturn(Mono.just(new KeyRecord(key, null)));
+        when(client.getFlux(isNull(), ArgumentMatchers.<Key[]>any()))
+                .thenReturn(Flux.just(new KeyRecord(key, null),
+                        new KeyRecord(new Key("test", "users", "u2"), new Record(singletonMap("years", 3L), 1, 0))));
+
+        StepVerifier.create(mapper.get(new Policy(), User.class, "u1"))
+                .verifyComplete();
+        StepVerifier.create(mapper.getFlux((BatchPolicy) null, User.class, Arrays.asList("u1", "u2")))
+                .assertNext(user -> assertThat(user.getAge()).isEqualTo(3))
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldPutBinsUnderGeneratedKey() {
+        User user = user();
+        Key key = new Key("test", "users", "u1");
+        when(client.put(any(WritePolicy.class), eq(key), ArgumentMatchers.<Bin[]>any())).thenReturn(Mono.just(key));
+
+        StepVerifier.create(mapper.put(new WritePolicy(), user))
+                .expectNext(key)
+                .verifyComplete();
+
+        ArgumentCaptor<Bin> bins = ArgumentCaptor.forClass(Bin.class);
+        verify(client).put(any(WritePolicy.class), eq(key), bins.capture());
+        assertThat(bins.getAllValues()).hasSize(8).contains(new Bin("name", "Ann"), new Bin("years", 42));
+    }
+
+    @Test
+    public void shouldRejectNullKey() {
+        assertThatThrownBy(() -> mapper.put(new User()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void shouldFillStatementFromMappedClass() {
+        Statement statement = new Statement();
+        statement.setMaxRecords(10);
+        when(client.query(isNull(), any(Statement.class)))
+                .thenReturn(Flux.just(new KeyRecord(new Key("test", "users", "u1"),
+                        new Record(singletonMap("status", "BLOCKED"), 1, 0))));
+
+        StepVerifier.create(mapper.query((QueryPolicy) null, User.class, statement))
+                .assertNext(user -> assertThat(user.getStatus()).isEqualTo(User.Status.BLOCKED))
+                .verifyComplete();
+
+        ArgumentCaptor<Statement> queried = ArgumentCaptor.forClass(Statement.class);
+        verify(client).query(isNull(), queried.capture());
+        assertThat(queried.getValue().getNamespace()).isEqualTo("test");
+        assertThat(queried.getValue().getSetName()).isEqualTo("users");
+        assertThat(queried.getValue().getBinNames()).contains("name", "years");
+        assertThat(queried.getValue().getMaxRecords()).isEqualTo(10);
+        assertThat(statement.getNamespace()).isNull();
+        assertThat(statement.getSetName()).isNull();
+        assertThat(statement.getBinNames()).isNull();
+    }
+
+    @Test
+    public void shouldRejectUnannotatedClasses() {
+        assertThatThrownBy(() -> RecordCodecs.of(String.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId("u1");
+        user.setName("Ann");
+        user.setAge(42);
+        user.setAdmin(true);
+        user.setVisits(10L);
+        user.setStatus(User.Status.ACTIVE);
+        user.setTags(singletonList("a"));
+        user.setCounters(singletonMap("logins", 5L));
+        user.setAvatar(new byte[]{1, 2, 3});
+        user.setCached("skip");
+        return user;
+    }
+}
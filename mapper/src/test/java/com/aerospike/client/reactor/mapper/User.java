@@ -0,0 +1,103 @@
+package com.aerospike.client.reactor.mapper;
+
+import java.util.List;
+import java.util.Map;
+
+@AerospikeRecord(namespace = "test", set = "users")
+public class User {
+
+    public enum Status {ACTIVE, BLOCKED}
+
+    @AerospikeKey
+    private String id;
+    private String name;
+    @AerospikeBin("years")
+    private int age;
+    private boolean admin;
+    private Long visits;
+    private Status status;
+    private List<String> tags;
+    private Map<String, Long> counters;
+    private byte[] avatar;
+    private transient String cached;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public void setAge(int age) {
+        this.age = age;
+    }
+
+    public boolean isAdmin() {
+        return admin;
+    }
+
+    public void setAdmin(boolean admin) {
+        this.admin = admin;
+    }
+
+    public Long getVisits() {
+        return visits;
+    }
+
+    public void setVisits(Long visits) {
+        this.visits = visits;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public void setCounters(Map<String, Long> counters) {
+        this.counters = counters;
+    }
+
+    public byte[] getAvatar() {
+        return avatar;
+    }
+
+    public void setAvatar(byte[] avatar) {
+        this.avatar = avatar;
+    }
+
+    public String getCached() {
+        return cached;
+    }
+
+    public void setCached(String cached) {
+        this.cached = cached;
+    }
+}
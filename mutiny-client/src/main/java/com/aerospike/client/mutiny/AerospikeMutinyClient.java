@@ -9,8 +9,25 @@ import com.aerospike.client.IAerospikeClient;
 import com.aerospike.client.Key;
 import com.aerospike.client.Operation;
 import com.aerospike.client.Value;
+import com.aerospike.client.async.AsyncIndexTask;
 import com.aerospike.client.cdt.CTX;
 import com.aerospike.client.cluster.Node;
+import com.aerospike.client.mutiny.listeners.MutinyBatchListListener;
+import com.aerospike.client.mutiny.listeners.MutinyBatchOperateListListener;
+import com.aerospike.client.mutiny.listeners.MutinyBatchRecordArrayListener;
+import com.aerospike.client.mutiny.listeners.MutinyBatchSequenceListener;
+import com.aerospike.client.mutiny.listeners.MutinyDeleteListener;
+import com.aerospike.client.mutiny.listeners.MutinyExecuteListener;
+import com.aerospike.client.mutiny.listeners.MutinyExistsArrayListener;
+import com.aerospike.client.mutiny.listeners.MutinyExistsListener;
+import com.aerospike.client.mutiny.listeners.MutinyExistsSequenceListener;
+import com.aerospike.client.mutiny.listeners.MutinyIndexListener;
+import com.aerospike.client.mutiny.listeners.MutinyInfoListener;
+import com.aerospike.client.mutiny.listeners.MutinyRecordArrayListener;
+import com.aerospike.client.mutiny.listeners.MutinyRecordListener;
+import com.aerospike.client.mutiny.listeners.MutinyRecordSequenceListener;
+import com.aerospike.client.mutiny.listeners.MutinyTaskStatusListener;
+import com.aerospike.client.mutiny.listeners.MutinyWriteListener;
 import com.aerospike.client.policy.BatchDeletePolicy;
 import com.aerospike.client.policy.BatchPolicy;
 import com.aerospike.client.policy.BatchWritePolicy;
@@ -23,346 +40,429 @@ import com.aerospike.client.query.IndexCollectionType;
 import com.aerospike.client.query.IndexType;
 import com.aerospike.client.query.KeyRecord;
 import com.aerospike.client.query.Statement;
-import com.aerospike.client.reactor.AerospikeReactorClient;
-import com.aerospike.client.reactor.IAerospikeReactorClient;
 import com.aerospike.client.reactor.dto.KeyExists;
 import com.aerospike.client.reactor.dto.KeyObject;
 import com.aerospike.client.reactor.dto.KeysExists;
 import com.aerospike.client.reactor.dto.KeysRecords;
+import com.aerospike.client.reactor.dto.NodeInfo;
+import com.aerospike.client.task.Task;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
-import mutiny.zero.flow.adapters.AdaptersToFlow;
-import org.reactivestreams.Publisher;
 
+import static java.util.Collections.singletonList;
+
+/**
+ * Instantiate an <code>AerospikeMutinyClient</code> object to access an Aerospike
+ * database cluster and perform database operations reactively.
+ * <p>
+ * This client is a wrapper over AerospikeClient async methods that provides Mutiny interface.
+ * Every command registers its listener with an event loop directly from the
+ * {@link Uni} or {@link Multi} emitter, without an intermediate Reactor publisher.
+ * <p>
+ * This client is thread-safe. One client instance should be used per cluster.
+ * Multiple threads should share this cluster instance.
+ */
 public class AerospikeMutinyClient implements IAerospikeMutinyClient {
 
-    private final IAerospikeReactorClient aerospikeReactorClient;
+    private final IAerospikeClient aerospikeClient;
 
     /**
      * @param aerospikeClient the {@link com.aerospike.client.AerospikeClient} instance
      */
     public AerospikeMutinyClient(IAerospikeClient aerospikeClient) {
-        this.aerospikeReactorClient = new AerospikeReactorClient(aerospikeClient);
+        this.aerospikeClient = aerospikeClient;
     }
 
     @Override
     public void close() {
-        aerospikeReactorClient.getAerospikeClient().close();
+        aerospikeClient.close();
     }
 
     @Override
     public final Uni<KeyRecord> get(Key key) throws AerospikeException {
-        return asUni(aerospikeReactorClient.get(key));
+        return get(null, key);
     }
 
     @Override
     public final Uni<KeyRecord> get(Policy policy, Key key) throws AerospikeException {
-        return asUni(aerospikeReactorClient.get(policy, key));
+        return get(policy, key, null);
     }
 
     @Override
     public final Uni<KeyRecord> get(Policy policy, Key key, String[] binNames) throws AerospikeException {
-        return asUni(aerospikeReactorClient.get(policy, key, binNames));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.get(
+                null, new MutinyRecordListener(emitter), policy, key, binNames));
     }
 
     @Override
     public final Uni<KeysRecords> get(Key[] keys) throws AerospikeException {
-        return asUni(aerospikeReactorClient.get(keys));
+        return get(null, keys);
     }
 
     @Override
     public final Uni<KeysRecords> get(BatchPolicy policy, Key[] keys) throws AerospikeException {
-        return asUni(aerospikeReactorClient.get(policy, keys));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.get(
+                null, new MutinyRecordArrayListener(emitter), policy, keys));
     }
 
     @Override
     public final Uni<List<BatchRead>> get(List<BatchRead> records) throws AerospikeException {
-        return asUni(aerospikeReactorClient.get(records));
+        return get(null, records);
     }
 
     @Override
     public final Uni<List<BatchRead>> get(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
-        return asUni(aerospikeReactorClient.get(policy, records));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.get(
+                null, new MutinyBatchListListener(emitter), policy, records));
     }
 
     @Override
     public final Uni<KeysRecords> get(Key[] keys, Operation... operations) throws AerospikeException {
-        return asUni(aerospikeReactorClient.get(keys, operations));
+        return get(null, keys, operations);
     }
 
     @Override
     public final Uni<KeysRecords> get(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
-        return asUni(aerospikeReactorClient.get(policy, keys, operations));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.get(
+                null, new MutinyRecordArrayListener(emitter), policy, keys, operations));
     }
 
     @Override
     public final Multi<BatchRead> getMulti(List<BatchRead> records) throws AerospikeException {
-        return asMulti(aerospikeReactorClient.getFlux(records));
+        return getMulti(null, records);
     }
 
     @Override
     public final Multi<BatchRead> getMulti(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
-        return asMulti(aerospikeReactorClient.getFlux(policy, records));
+        return Multi.createFrom().emitter(emitter -> aerospikeClient.get(
+                null, new MutinyBatchSequenceListener(emitter), policy, records));
     }
 
     @Override
     public final Multi<KeyRecord> getMulti(Key[] keys) throws AerospikeException {
-        return asMulti(aerospikeReactorClient.getFlux(keys));
+        return getMulti(null, keys);
     }
 
     @Override
     public final Multi<KeyRecord> getMulti(BatchPolicy policy, Key[] keys) throws AerospikeException {
-        return asMulti(aerospikeReactorClient.getFlux(policy, keys));
+        return Multi.createFrom().emitter(emitter -> aerospikeClient.get(
+                null, new MutinyRecordSequenceListener(emitter), policy, keys));
     }
 
     @Override
     public final Multi<KeyRecord> getMulti(Key[] keys, Operation... operations) throws AerospikeException {
-        return asMulti(aerospikeReactorClient.getFlux(keys, operations));
+        return getMulti(null, keys, operations);
     }
 
     @Override
     public final Multi<KeyRecord> getMulti(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
-        return asMulti(aerospikeReactorClient.getFlux(policy, keys, operations));
+        return Multi.createFrom().emitter(emitter -> aerospikeClient.get(
+                null, new MutinyRecordSequenceListener(emitter), policy, keys, operations));
     }
 
     @Override
     public final Uni<KeyRecord> getHeader(Key key) throws AerospikeException {
-        return asUni(aerospikeReactorClient.getHeader(key));
+        return getHeader(null, key);
     }
 
     @Override
     public final Uni<KeyRecord> getHeader(Policy policy, Key key) throws AerospikeException {
-        return asUni(aerospikeReactorClient.getHeader(policy, key));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.getHeader(
+                null, new MutinyRecordListener(emitter), policy, key));
     }
 
     @Override
     public final Uni<KeysRecords> getHeaders(Key[] keys) throws AerospikeException {
-        return asUni(aerospikeReactorClient.getHeaders(keys));
+        return getHeaders(null, keys);
     }
 
     @Override
     public final Uni<KeysRecords> getHeaders(BatchPolicy policy, Key[] keys) throws AerospikeException {
-        return asUni(aerospikeReactorClient.getHeaders(policy, keys));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.getHeader(
+                null, new MutinyRecordArrayListener(emitter), policy, keys));
     }
 
     @Override
     public final Uni<Key> touch(Key key) throws AerospikeException {
-        return asUni(aerospikeReactorClient.touch(key));
+        return touch(null, key);
     }
 
     @Override
     public final Uni<Key> touch(WritePolicy policy, Key key) throws AerospikeException {
-        return asUni(aerospikeReactorClient.touch(policy, key));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.touch(
+                null, new MutinyWriteListener(emitter), policy, key));
     }
 
     @Override
     public final Uni<Key> exists(Key key) throws AerospikeException {
-        return asUni(aerospikeReactorClient.exists(key));
+        return exists(null, key);
     }
 
     @Override
     public final Uni<Key> exists(Policy policy, Key key) throws AerospikeException {
-        return asUni(aerospikeReactorClient.exists(policy, key));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.exists(
+                null, new MutinyExistsListener(emitter), policy, key));
     }
 
     @Override
     public final Uni<KeysExists> exists(Key[] keys) throws AerospikeException {
-        return asUni(aerospikeReactorClient.exists(keys));
+        return exists(null, keys);
     }
 
     @Override
     public final Uni<KeysExists> exists(BatchPolicy policy, Key[] keys) throws AerospikeException {
-        return asUni(aerospikeReactorClient.exists(policy, keys));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.exists(
+                null, new MutinyExistsArrayListener(emitter), policy, keys));
     }
 
     @Override
     public final Multi<KeyExists> existsMulti(Key[] keys) throws AerospikeException {
-        return asMulti(aerospikeReactorClient.existsFlux(keys));
+        return existsMulti(null, keys);
     }
 
     @Override
     public final Multi<KeyExists> existsMulti(BatchPolicy policy, Key[] keys) throws AerospikeException {
-        return asMulti(aerospikeReactorClient.existsFlux(policy, keys));
+        return Multi.createFrom().emitter(emitter -> aerospikeClient.exists(
+                null, new MutinyExistsSequenceListener(emitter), policy, keys));
     }
 
     @Override
     public final Uni<Key> put(Key key, Bin... bins) throws AerospikeException {
-        return asUni(aerospikeReactorClient.put(key, bins));
+        return put(null, key, bins);
     }
 
     @Override
     public final Uni<Key> put(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
-        return asUni(aerospikeReactorClient.put(policy, key, bins));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.put(
+                null, new MutinyWriteListener(emitter), policy, key, bins));
     }
 
     @Override
     public final Uni<Key> append(Key key, Bin... bins) throws AerospikeException {
-        return asUni(aerospikeReactorClient.append(key, bins));
+        return append(null, key, bins);
     }
 
     @Override
     public final Uni<Key> append(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
-        return asUni(aerospikeReactorClient.append(policy, key, bins));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.append(
+                null, new MutinyWriteListener(emitter), policy, key, bins));
     }
 
     @Override
     public final Uni<Key> prepend(Key key, Bin... bins) throws AerospikeException {
-        return asUni(aerospikeReactorClient.prepend(key, bins));
+        return prepend(null, key, bins);
     }
 
     @Override
     public final Uni<Key> prepend(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
-        return asUni(aerospikeReactorClient.prepend(policy, key, bins));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.prepend(
+                null, new MutinyWriteListener(emitter), policy, key, bins));
     }
 
     @Override
     public final Uni<Key> add(Key key, Bin... bins) throws AerospikeException {
-        return asUni(aerospikeReactorClient.add(key, bins));
+        return add(null, key, bins);
     }
 
     @Override
     public final Uni<Key> add(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
-        return asUni(aerospikeReactorClient.add(policy, key, bins));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.add(
+                null, new MutinyWriteListener(emitter), policy, key, bins));
     }
 
     @Override
     public final Uni<Key> delete(Key key) throws AerospikeException {
-        return asUni(aerospikeReactorClient.delete(key));
+        return delete(null, key);
     }
 
     @Override
     public final Uni<Key> delete(WritePolicy policy, Key key) throws AerospikeException {
-        return asUni(aerospikeReactorClient.delete(policy, key));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.delete(
+                null, new MutinyDeleteListener(emitter), policy, key));
     }
 
     @Override
     public Uni<BatchResults> delete(BatchPolicy batchPolicy, BatchDeletePolicy deletePolicy,
                                     Key[] keys) throws AerospikeException {
-        return asUni(aerospikeReactorClient.delete(batchPolicy, deletePolicy, keys));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.delete(
+                null, new MutinyBatchRecordArrayListener(emitter), batchPolicy, deletePolicy, keys));
     }
 
     @Override
     public final Uni<KeyRecord> operate(Key key, Operation... operations) throws AerospikeException {
-        return asUni(aerospikeReactorClient.operate(key, operations));
+        return operate(null, key, operations);
     }
 
     @Override
     public final Uni<KeyRecord> operate(WritePolicy policy, Key key, Operation... operations) throws AerospikeException {
-        return asUni(aerospikeReactorClient.operate(policy, key, operations));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.operate(
+                null, new MutinyRecordListener(emitter), policy, key, operations));
     }
 
     @Override
     public Uni<BatchResults> operate(BatchPolicy batchPolicy, BatchWritePolicy writePolicy, Key[] keys,
                                      Operation... ops) throws AerospikeException {
-        return asUni(aerospikeReactorClient.operate(batchPolicy, writePolicy, keys, ops));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.operate(
+                null, new MutinyBatchRecordArrayListener(emitter), batchPolicy, writePolicy, keys, ops));
     }
 
     @Override
     public Uni<Boolean> operate(BatchPolicy policy, List<BatchRecord> records) throws AerospikeException {
-        return asUni(aerospikeReactorClient.operate(policy, records));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.operate(
+                null, new MutinyBatchOperateListListener(emitter), policy, records));
     }
 
     @Override
     public final Multi<KeyRecord> query(Statement statement) throws AerospikeException {
-        return asMulti(aerospikeReactorClient.query(statement));
+        return query(null, statement);
     }
 
     @Override
     public final Multi<KeyRecord> query(QueryPolicy policy, Statement statement) throws AerospikeException {
-        return asMulti(aerospikeReactorClient.query(policy, statement));
+        return Multi.createFrom().emitter(emitter -> aerospikeClient.query(
+                null, new MutinyRecordSequenceListener(emitter), policy, statement));
     }
 
     @Override
     public final Multi<KeyRecord> scanAll(String namespace, String setName, String... binNames) throws AerospikeException {
-        return asMulti(aerospikeReactorClient.scanAll(namespace, setName, binNames));
+        return scanAll(null, namespace, setName, binNames);
     }
 
     @Override
     public final Multi<KeyRecord> scanAll(ScanPolicy policy, String namespace, String setName, String... binNames) throws AerospikeException {
-        return asMulti(aerospikeReactorClient.scanAll(namespace, setName, binNames));
+        return Multi.createFrom().emitter(emitter -> aerospikeClient.scanAll(
+                null, new MutinyRecordSequenceListener(emitter),
+                policy, namespace, setName, binNames));
     }
 
     @Override
     public final Uni<KeyObject> execute(Key key, String packageName, String functionName, Value... functionArgs) throws AerospikeException {
-        return asUni(aerospikeReactorClient.execute(key, packageName, functionName, functionArgs));
+        return execute(null, key, packageName, functionName, functionArgs);
     }
 
     @Override
     public final Uni<KeyObject> execute(WritePolicy policy, Key key,
                                         String packageName, String functionName, Value... functionArgs) throws AerospikeException {
-        return asUni(aerospikeReactorClient.execute(policy, key, packageName, functionName, functionArgs));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.execute(
+                null, new MutinyExecuteListener(emitter),
+                policy, key, packageName, functionName, functionArgs));
     }
 
     @Override
     public Uni<String> info(InfoPolicy infoPolicy, Node node, String command) {
-        return asUni(aerospikeReactorClient.info(infoPolicy, node, command));
+        return info(infoPolicy, node, singletonList(command))
+                .onItem().transformToUni(resultMap -> {
+                    if (resultMap.containsKey(command)) {
+                        String result = resultMap.get(command);
+                        return Uni.createFrom().item(result != null ? result : "");
+                    } else {
+                        return Uni.createFrom().failure(new AerospikeException(String.format("Unknown info command: [%s]", command)));
+                    }
+                });
     }
 
     @Override
     public Uni<Map<String, String>> info(InfoPolicy infoPolicy, Node node, List<String> commands) {
-        return asUni(aerospikeReactorClient.info(infoPolicy, node, commands));
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.info(null,
+                new MutinyInfoListener(emitter), infoPolicy, node, commands.toArray(new String[0])));
+    }
+
+    @Override
+    public Multi<NodeInfo> infoAll(InfoPolicy infoPolicy, List<String> commands) {
+        return Multi.createFrom().deferred(() -> {
+            Node[] nodes = aerospikeClient.getNodes();
+            return info(infoPolicy, nodes, nodes.length, commands);
+        });
+    }
+
+    @Override
+    public Multi<NodeInfo> info(InfoPolicy infoPolicy, Node[] nodes, int concurrency, List<String> commands) {
+        return Multi.createFrom().items(nodes)
+                .onItem().transformToUni(node -> info(infoPolicy, node, commands)
+                        .onItem().transform(values -> new NodeInfo(node, values)))
+                .merge(Math.max(concurrency, 1));
     }
 
     @Override
     public Uni<Void> createIndex(Policy policy,
                                  String namespace, String setName, String indexName, String binName,
                                  IndexType indexType, IndexCollectionType indexCollectionType, CTX... ctx) {
-        return asUni(aerospikeReactorClient.createIndex(policy, namespace, setName, indexName, binName, indexType, indexCollectionType, ctx));
+        return waitTillComplete(
+                createIndexImpl(policy, namespace, setName, indexName, binName, indexType, indexCollectionType, ctx),
+                policy != null ? new InfoPolicy(policy) : aerospikeClient.getInfoPolicyDefault());
     }
 
     @Override
     public Uni<Void> dropIndex(Policy policy, String namespace, String setName, String indexName) {
-        return asUni(aerospikeReactorClient.dropIndex(policy, namespace, setName, indexName));
+        return waitTillComplete(
+                dropIndexImpl(policy, namespace, setName, indexName),
+                policy != null ? new InfoPolicy(policy) : aerospikeClient.getInfoPolicyDefault());
     }
 
     @Override
     public IAerospikeClient getAerospikeClient() {
-        return aerospikeReactorClient.getAerospikeClient();
+        return aerospikeClient;
+    }
+
+    private Uni<AsyncIndexTask> createIndexImpl(Policy policy,
+                                                String namespace, String setName, String indexName, String binName,
+                                                IndexType indexType, IndexCollectionType indexCollectionType, CTX... ctx) {
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.createIndex(null,
+                new MutinyIndexListener(emitter), policy, namespace, setName, indexName, binName,
+                indexType, indexCollectionType, ctx));
+    }
+
+    private Uni<AsyncIndexTask> dropIndexImpl(Policy policy,
+                                              String namespace, String setName, String indexName) {
+        return Uni.createFrom().emitter(emitter -> aerospikeClient.dropIndex(null,
+                new MutinyIndexListener(emitter), policy, namespace, setName, indexName));
+    }
+
+    private Uni<Void> waitTillComplete(Uni<AsyncIndexTask> asyncIndexTaskUni, InfoPolicy infoPolicy) {
+        return asyncIndexTaskUni.onItem().transformToMulti(indexTask ->
+                Multi.createFrom().items(aerospikeClient.getNodes())
+                        .onItem().transformToMultiAndMerge(node -> queryIndexStatus(infoPolicy, indexTask, node)
+                                .onItem().delayIt().by(Duration.ofMillis(1000))
+                                .repeat().until(status -> status != Task.IN_PROGRESS)))
+                .collect().last()
+                .replaceWithVoid();
+    }
+
+    private Uni<Integer> queryIndexStatus(InfoPolicy infoPolicy, AsyncIndexTask indexTask, Node node) {
+        return Uni.createFrom().emitter(emitter -> indexTask.queryStatus(null, infoPolicy, node,
+                new MutinyTaskStatusListener(emitter)));
     }
 
     @Override
     public Policy getReadPolicyDefault() {
-        return aerospikeReactorClient.getReadPolicyDefault();
+        return aerospikeClient.getReadPolicyDefault();
     }
 
     @Override
     public WritePolicy getWritePolicyDefault() {
-        return aerospikeReactorClient.getWritePolicyDefault();
+        return aerospikeClient.getWritePolicyDefault();
     }
 
     @Override
     public ScanPolicy getScanPolicyDefault() {
-        return aerospikeReactorClient.getScanPolicyDefault();
+        return aerospikeClient.getScanPolicyDefault();
     }
 
     @Override
     public QueryPolicy getQueryPolicyDefault() {
-        return aerospikeReactorClient.getQueryPolicyDefault();
+        return aerospikeClient.getQueryPolicyDefault();
     }
 
     @Override
     public BatchPolicy getBatchPolicyDefault() {
-        return aerospikeReactorClient.getBatchPolicyDefault();
+        return aerospikeClient.getBatchPolicyDefault();
     }
 
     @Override
     public InfoPolicy getInfoPolicyDefault() {
-        return aerospikeReactorClient.getInfoPolicyDefault();
-    }
-
-    /**
-     * Private method to convert any Publisher (Mono or Flux) into Uni
-     */
-    private static <T> Uni<T> asUni(Publisher<T> publisher) {
-        return Uni.createFrom().publisher(AdaptersToFlow.publisher(publisher));
-    }
-
-    /**
-     * Private method to convert any Publisher (Mono or Flux) into Multi
-     */
-    private static <T> Multi<T> asMulti(Publisher<T> publisher) {
-        return Multi.createFrom().publisher(AdaptersToFlow.publisher(publisher));
+        return aerospikeClient.getInfoPolicyDefault();
     }
 }
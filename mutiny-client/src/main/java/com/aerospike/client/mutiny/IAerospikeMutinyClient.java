@@ -48,6 +48,7 @@ import com.aerospike.client.reactor.dto.KeyExists;
 import com.aerospike.client.reactor.dto.KeyObject;
 import com.aerospike.client.reactor.dto.KeysExists;
 import com.aerospike.client.reactor.dto.KeysRecords;
+import com.aerospike.client.reactor.dto.NodeInfo;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import java.io.Closeable;
@@ -678,6 +679,29 @@ public interface IAerospikeMutinyClient extends DefaultPolicyProvider, Closeable
      */
     Uni<Map<String, String>> info(InfoPolicy infoPolicy, Node node, List<String> commands);
 
+    /**
+     * Reactively access server's info monitoring protocol on every cluster node.
+     * <p>
+     * All nodes are queried concurrently and each node's responses are published as soon as they arrive, so the order of elements is not defined. The multi fails if any node fails to respond.
+     *
+     * @param infoPolicy info configuration parameters, pass in null for defaults
+     * @param commands info command names
+     */
+    Multi<NodeInfo> infoAll(InfoPolicy infoPolicy, List<String> commands);
+
+    /**
+     * Reactively access server's info monitoring protocol on selected cluster nodes.
+     * <p>
+     * At most <code>concurrency</code> nodes are queried at the same time. Each node's responses are published as soon as they arrive, so the order of elements is not defined. The multi fails if any
+     * node fails to respond.
+     *
+     * @param infoPolicy info configuration parameters, pass in null for defaults
+     * @param nodes nodes to query
+     * @param concurrency maximum number of nodes queried in parallel
+     * @param commands info command names
+     */
+    Multi<NodeInfo> info(InfoPolicy infoPolicy, Node[] nodes, int concurrency, List<String> commands);
+
     /**
      * Reactively create complex secondary index to be used on bins containing collections.
      *
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.mutiny.listeners;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.listener.InfoListener;
+import io.smallrye.mutiny.subscription.UniEmitter;
+
+import java.util.Collections;
+import java.util.Map;
+
+public class MutinyInfoListener implements InfoListener {
+
+    private final UniEmitter<? super Map<String, String>> emitter;
+
+    public MutinyInfoListener(UniEmitter<? super Map<String, String>> emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void onSuccess(Map<String, String> map) {
+        emitter.complete(map != null ? map : Collections.emptyMap());
+    }
+
+    @Override
+    public void onFailure(AerospikeException exception) {
+        emitter.fail(exception);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.mutiny.benchmark;
+
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.listener.RecordListener;
+import com.aerospike.client.listener.RecordSequenceListener;
+import com.aerospike.client.listener.WriteListener;
+import com.aerospike.client.mutiny.AerospikeMutinyClient;
+import com.aerospike.client.mutiny.IAerospikeMutinyClient;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.reactor.AerospikeReactorClient;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import mutiny.zero.flow.adapters.AdaptersToFlow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the per-call overhead of the native Mutiny client against the previous
+ * implementation that adapted Reactor publishers through Reactive Streams to Flow.
+ * <p>
+ * The Aerospike client is replaced by a stub that completes listeners synchronously,
+ * so the numbers reflect only publisher assembly, subscription and signal delivery.
+ * Run with the GC profiler to compare allocations per operation:
+ * <pre>
+ * mvn -pl mutiny-client test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.aerospike.client.mutiny.benchmark.MutinyClientBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MutinyClientBenchmark {
+
+    private static final int SCAN_SIZE = 100;
+
+    private final Key key = new Key("test", "benchmark", 1);
+    private final Record record = new Record(Collections.singletonMap("bin", 1), 1, 0);
+
+    private IAerospikeMutinyClient mutinyClient;
+    private IAerospikeReactorClient reactorClient;
+
+    @Setup
+    public void setup() {
+        IAerospikeClient stub = stubClient(key, record);
+        mutinyClient = new AerospikeMutinyClient(stub);
+        reactorClient = new AerospikeReactorClient(stub);
+    }
+
+    @Benchmark
+    public KeyRecord getNative() {
+        return mutinyClient.get(key).await().indefinitely();
+    }
+
+    @Benchmark
+    public KeyRecord getAdapted() {
+        return Uni.createFrom().publisher(AdaptersToFlow.publisher(reactorClient.get(key)))
+                .await().indefinitely();
+    }
+
+    @Benchmark
+    public Key putNative() {
+        return mutinyClient.put(key).await().indefinitely();
+    }
+
+    @Benchmark
+    public Key putAdapted() {
+        return Uni.createFrom().publisher(AdaptersToFlow.publisher(reactorClient.put(key)))
+                .await().indefinitely();
+    }
+
+    @Benchmark
+    public Long scanNative() {
+        return mutinyClient.scanAll("test", "benchmark")
+                .collect().with(Collectors.counting())
+                .await().indefinitely();
+    }
+
+    @Benchmark
+    public Long scanAdapted() {
+        return Multi.createFrom().publisher(AdaptersToFlow.publisher(reactorClient.scanAll("test", "benchmark")))
+                .collect().with(Collectors.counting())
+                .await().indefinitely();
+    }
+
+    /**
+     * Stub client that answers get, put and scanAll from the calling thread.
+     */
+    static IAerospikeClient stubClient(Key key, Record record) {
+        return (IAerospikeClient) Proxy.newProxyInstance(
+                IAerospikeClient.class.getClassLoader(),
+                new Class<?>[]{IAerospikeClient.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "get":
+                            ((RecordListener) args[1]).onSuccess(key, record);
+                            return null;
+                        case "put":
+                            ((WriteListener) args[1]).onSuccess(key);
+                            return null;
+                        case "scanAll":
+                            RecordSequenceListener listener = (RecordSequenceListener) args[1];
+                            for (int i = 0; i < SCAN_SIZE; i++) {
+                                listener.onRecord(key, record);
+                            }
+                            listener.onSuccess();
+                            return null;
+                        case "close":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MutinyClientBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
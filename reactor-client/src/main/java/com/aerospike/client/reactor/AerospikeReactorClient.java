@@ -18,6 +18,7 @@ package com.aerospike.client.reactor;
 
 import com.aerospike.client.*;
 import com.aerospike.client.async.AsyncIndexTask;
+import com.aerospike.client.async.EventLoop;
 import com.aerospike.client.async.EventLoops;
 import com.aerospike.client.cdt.CTX;
 import com.aerospike.client.cluster.Node;
@@ -25,11 +26,13 @@ import com.aerospike.client.policy.*;
 import com.aerospike.client.query.IndexCollectionType;
 import com.aerospike.client.query.IndexType;
 import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
 import com.aerospike.client.query.Statement;
 import com.aerospike.client.reactor.dto.KeyExists;
 import com.aerospike.client.reactor.dto.KeyObject;
 import com.aerospike.client.reactor.dto.KeysExists;
 import com.aerospike.client.reactor.dto.KeysRecords;
+import com.aerospike.client.reactor.dto.NodeInfo;
 import com.aerospike.client.reactor.listeners.*;
 import com.aerospike.client.task.Task;
 import reactor.core.publisher.Flux;
@@ -38,6 +41,7 @@ import reactor.core.publisher.Mono;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import static java.util.Collections.singletonList;
 
@@ -65,12 +69,24 @@ import static java.util.Collections.singletonList;
 public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	private final IAerospikeClient aerospikeClient;
+	private final Supplier<EventLoop> eventLoopSupplier;
 
 	/**
 	 * @param aerospikeClient		the {@link com.aerospike.client.AerospikeClient} instance
 	 */
 	public AerospikeReactorClient(IAerospikeClient aerospikeClient) {
+		this(aerospikeClient, () -> null);
+	}
+
+	/**
+	 * @param aerospikeClient		the {@link com.aerospike.client.AerospikeClient} instance
+	 * @param eventLoopSupplier		selects the event loop for each command. The event loop must belong to
+	 *                              the client's {@link com.aerospike.client.policy.ClientPolicy#eventLoops}.
+	 *                              Returning null lets the client pick the next event loop.
+	 */
+	public AerospikeReactorClient(IAerospikeClient aerospikeClient, Supplier<EventLoop> eventLoopSupplier) {
 		this.aerospikeClient = aerospikeClient;
+		this.eventLoopSupplier = eventLoopSupplier;
 	}
 
 	/**
@@ -82,7 +98,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Deprecated
 	@SuppressWarnings("unused")
 	public AerospikeReactorClient(IAerospikeClient aerospikeClient, EventLoops eventLoops) {
-		this.aerospikeClient = aerospikeClient;
+		this(aerospikeClient);
 	}
 
 	@Override
@@ -103,7 +119,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<KeyRecord> get(Policy policy, Key key, String[] binNames) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.get(
-				null, new ReactorRecordListener(sink), policy, key, binNames));
+				nextEventLoop(), new ReactorRecordListener(sink), policy, key, binNames));
 	}
 
 	@Override
@@ -114,7 +130,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<KeysRecords> get(BatchPolicy policy, Key[] keys) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.get(
-				null, new ReactorRecordArrayListener(sink), policy, keys));
+				nextEventLoop(), new ReactorRecordArrayListener(sink), policy, keys));
 	}
 
 	@Override
@@ -125,7 +141,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<List<BatchRead>> get(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.get(
-				null, new ReactorBatchListListener(sink), policy, records));
+				nextEventLoop(), new ReactorBatchListListener(sink), policy, records));
 	}
 
 	@Override
@@ -136,7 +152,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<KeysRecords> get(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.get(
-				null, new ReactorRecordArrayListener(sink), policy, keys, operations));
+				nextEventLoop(), new ReactorRecordArrayListener(sink), policy, keys, operations));
 	}
 
 	@Override
@@ -147,7 +163,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Flux<BatchRead> getFlux(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
 		return Flux.create(sink -> aerospikeClient.get(
-				null, new ReactorBatchSequenceListener(sink), policy, records));
+				nextEventLoop(), new ReactorBatchSequenceListener(sink), policy, records));
 	}
 
 	@Override
@@ -158,7 +174,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Flux<KeyRecord> getFlux(BatchPolicy policy, Key[] keys) throws AerospikeException {
 		return Flux.create(sink -> aerospikeClient.get(
-				null, new ReactorRecordSequenceListener(sink), policy, keys));
+				nextEventLoop(), new ReactorRecordSequenceListener(sink), policy, keys));
 	}
 
 	@Override
@@ -169,7 +185,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Flux<KeyRecord> getFlux(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
 		return Flux.create(sink -> aerospikeClient.get(
-				null, new ReactorRecordSequenceListener(sink), policy, keys, operations));
+				nextEventLoop(), new ReactorRecordSequenceListener(sink), policy, keys, operations));
 	}
 
 	@Override
@@ -180,7 +196,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<KeyRecord> getHeader(Policy policy, Key key) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.getHeader(
-				null, new ReactorRecordListener(sink), policy, key));
+				nextEventLoop(), new ReactorRecordListener(sink), policy, key));
 	}
 
 	@Override
@@ -191,7 +207,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<KeysRecords> getHeaders(BatchPolicy policy, Key[] keys) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.getHeader(
-				null, new ReactorRecordArrayListener(sink),
+				nextEventLoop(), new ReactorRecordArrayListener(sink),
 				policy, keys));
 	}
 
@@ -203,7 +219,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<Key> touch(WritePolicy policy, Key key) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.touch(
-				null, new ReactorWriteListener(sink), policy, key));
+				nextEventLoop(), new ReactorWriteListener(sink), policy, key));
 	}
 
 	@Override
@@ -214,7 +230,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<Key> exists(Policy policy, Key key) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.exists(
-				null, new ReactorExistsListener(sink), policy, key));
+				nextEventLoop(), new ReactorExistsListener(sink), policy, key));
 	}
 
 	@Override
@@ -225,7 +241,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<KeysExists> exists(BatchPolicy policy, Key[] keys) throws AerospikeException{
 		return Mono.create(sink -> aerospikeClient.exists(
-				null, new ReactorExistsArrayListener(sink), policy, keys));
+				nextEventLoop(), new ReactorExistsArrayListener(sink), policy, keys));
 	}
 
 	@Override
@@ -236,7 +252,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Flux<KeyExists> existsFlux(BatchPolicy policy, Key[] keys) throws AerospikeException {
 		return Flux.create(sink -> aerospikeClient.exists(
-				null, new ReactorExistsSequenceListener(sink), policy, keys));
+				nextEventLoop(), new ReactorExistsSequenceListener(sink), policy, keys));
 	}
 
 	@Override
@@ -247,7 +263,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<Key> put(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.put(
-				null, new ReactorWriteListener(sink), policy, key, bins));
+				nextEventLoop(), new ReactorWriteListener(sink), policy, key, bins));
 	}
 
 	@Override
@@ -258,7 +274,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<Key> append(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.append(
-				null, new ReactorWriteListener(sink), policy, key, bins));
+				nextEventLoop(), new ReactorWriteListener(sink), policy, key, bins));
 	}
 
 	@Override
@@ -269,7 +285,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<Key> prepend(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.prepend(
-				null, new ReactorWriteListener(sink), policy, key, bins));
+				nextEventLoop(), new ReactorWriteListener(sink), policy, key, bins));
 	}
 
 	@Override
@@ -280,7 +296,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<Key> add(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.add(
-				null, new ReactorWriteListener(sink), policy, key, bins));
+				nextEventLoop(), new ReactorWriteListener(sink), policy, key, bins));
 	}
 
 	@Override
@@ -291,14 +307,14 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<Key> delete(WritePolicy policy, Key key) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.delete(
-				null, new ReactorDeleteListener(sink), policy, key));
+				nextEventLoop(), new ReactorDeleteListener(sink), policy, key));
 	}
 
 	@Override
 	public Mono<BatchResults> delete(BatchPolicy batchPolicy, BatchDeletePolicy deletePolicy,
 									 Key[] keys) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.delete(
-				null, new ReactorBatchRecordArrayListener(sink), batchPolicy, deletePolicy, keys));
+				nextEventLoop(), new ReactorBatchRecordArrayListener(sink), batchPolicy, deletePolicy, keys));
 	}
 
 	@Override
@@ -309,20 +325,20 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Mono<KeyRecord> operate(WritePolicy policy, Key key, Operation... operations) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.operate(
-				null, new ReactorRecordListener(sink), policy, key, operations));
+				nextEventLoop(), new ReactorRecordListener(sink), policy, key, operations));
 	}
 
 	@Override
 	public Mono<BatchResults> operate(BatchPolicy batchPolicy, BatchWritePolicy writePolicy, Key[] keys,
 									  Operation... ops) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.operate(
-				null, new ReactorBatchRecordArrayListener(sink), batchPolicy, writePolicy, keys, ops));
+				nextEventLoop(), new ReactorBatchRecordArrayListener(sink), batchPolicy, writePolicy, keys, ops));
 	}
 
 	@Override
 	public Mono<Boolean> operate(BatchPolicy policy, List<BatchRecord> records) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.operate(
-				null, new ReactorBatchOperateListListener(sink), policy, records));
+				nextEventLoop(), new ReactorBatchOperateListListener(sink), policy, records));
 	}
 
 	@Override
@@ -333,7 +349,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Flux<KeyRecord> query(QueryPolicy policy, Statement statement) throws AerospikeException {
 		return Flux.create(sink -> aerospikeClient.query(
-				null, new ReactorRecordSequenceListener(sink), policy, statement));
+				nextEventLoop(), new ReactorRecordSequenceListener(sink), policy, statement));
 	}
 
 	@Override
@@ -344,10 +360,25 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	@Override
 	public final Flux<KeyRecord> scanAll(ScanPolicy policy, String namespace, String setName, String... binNames) throws AerospikeException {
 		return Flux.create(sink -> aerospikeClient.scanAll(
-				null, new ReactorRecordSequenceListener(sink),
+				nextEventLoop(), new ReactorRecordSequenceListener(sink),
 				policy, namespace, setName, binNames));
 	}
 
+	@Override
+	public final Flux<KeyRecord> scanPartitions(ScanPolicy policy, PartitionFilter partitionFilter,
+												String namespace, String setName, String... binNames) throws AerospikeException {
+		return Flux.create(sink -> aerospikeClient.scanPartitions(
+				nextEventLoop(), new ReactorRecordSequenceListener(sink),
+				policy, partitionFilter, namespace, setName, binNames));
+	}
+
+	@Override
+	public final Flux<KeyRecord> queryPartitions(QueryPolicy policy, Statement statement, PartitionFilter partitionFilter) throws AerospikeException {
+		return Flux.create(sink -> aerospikeClient.queryPartitions(
+				nextEventLoop(), new ReactorRecordSequenceListener(sink),
+				policy, statement, partitionFilter));
+	}
+
 	@Override
 	public final Mono<KeyObject> execute(Key key, String packageName, String functionName, Value... functionArgs) throws AerospikeException {
 		return execute(null, key, packageName, functionName, functionArgs);
@@ -357,7 +388,7 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	public final Mono<KeyObject> execute(WritePolicy policy, Key key,
 								   String packageName, String functionName, Value... functionArgs) throws AerospikeException {
 		return Mono.create(sink -> aerospikeClient.execute(
-				null, new ReactorExecuteListener(sink),
+				nextEventLoop(), new ReactorExecuteListener(sink),
 				policy, key, packageName, functionName, functionArgs));
 	}
 
@@ -376,10 +407,26 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 
 	@Override
 	public Mono<Map<String,String>> info(InfoPolicy infoPolicy, Node node, List<String> commands){
-		return Mono.create(sink -> aerospikeClient.info(null,
+		return Mono.create(sink -> aerospikeClient.info(nextEventLoop(),
 				new ReactorInfoListener(sink), infoPolicy, node, commands.toArray(new String[0])));
     }
 
+	@Override
+	public Flux<NodeInfo> infoAll(InfoPolicy infoPolicy, List<String> commands){
+		return Flux.defer(() -> {
+			Node[] nodes = aerospikeClient.getNodes();
+			return info(infoPolicy, nodes, nodes.length, commands);
+		});
+	}
+
+	@Override
+	public Flux<NodeInfo> info(InfoPolicy infoPolicy, Node[] nodes, int concurrency, List<String> commands){
+		return Flux.fromArray(nodes)
+				.flatMap(node -> info(infoPolicy, node, commands)
+						.map(values -> new NodeInfo(node, values)),
+						Math.max(concurrency, 1));
+	}
+
 	@Override
 	public Mono<Void> createIndex(Policy policy,
 								  String namespace, String setName, String indexName, String binName,
@@ -404,14 +451,14 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	private Mono<AsyncIndexTask> createIndexImpl(Policy policy,
 											 String namespace, String setName, String indexName, String binName,
 											 IndexType indexType, IndexCollectionType indexCollectionType, CTX... ctx){
-		return  Mono.create(sink -> aerospikeClient.createIndex(null,
+		return  Mono.create(sink -> aerospikeClient.createIndex(nextEventLoop(),
 				new ReactorIndexListener(sink), policy, namespace, setName, indexName, binName,
 				indexType, indexCollectionType, ctx));
 	}
 
 	private Mono<AsyncIndexTask> dropIndexImpl(Policy policy,
 												 String namespace, String setName, String indexName){
-		return  Mono.create(sink -> aerospikeClient.dropIndex(null,
+		return  Mono.create(sink -> aerospikeClient.dropIndex(nextEventLoop(),
 				new ReactorIndexListener(sink), policy, namespace, setName, indexName));
 	}
 
@@ -426,10 +473,14 @@ public class AerospikeReactorClient implements IAerospikeReactorClient{
 	}
 
 	private Mono<Integer> queryIndexStatus(InfoPolicy infoPolicy, AsyncIndexTask indexTask, Node node){
-		return Mono.create(sink -> indexTask.queryStatus(null, infoPolicy, node,
+		return Mono.create(sink -> indexTask.queryStatus(nextEventLoop(), infoPolicy, node,
 				new ReactorTaskStatusListener(sink)));
 	}
 
+	private EventLoop nextEventLoop() {
+		return eventLoopSupplier.get();
+	}
+
 	@Override
 	public Policy getReadPolicyDefault() {
 		return aerospikeClient.getReadPolicyDefault();
@@ -23,11 +23,13 @@ import com.aerospike.client.policy.*;
 import com.aerospike.client.query.IndexCollectionType;
 import com.aerospike.client.query.IndexType;
 import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
 import com.aerospike.client.query.Statement;
 import com.aerospike.client.reactor.dto.KeyExists;
 import com.aerospike.client.reactor.dto.KeyObject;
 import com.aerospike.client.reactor.dto.KeysExists;
 import com.aerospike.client.reactor.dto.KeysRecords;
+import com.aerospike.client.reactor.dto.NodeInfo;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -698,6 +700,43 @@ public interface IAerospikeReactorClient extends DefaultPolicyProvider, Closeabl
 	 */
 	Flux<KeyRecord> scanAll(ScanPolicy policy, String namespace, String setName, String... binNames) throws AerospikeException;
 
+	/**
+	 * Reactively read records in specified namespace, set and partition filter.
+	 * <p>
+	 * The partition filter tracks the progress of the scan. When the policy's
+	 * <code>maxRecords</code> is set, subscribing again with the same filter resumes
+	 * where the previous scan stopped, until {@link PartitionFilter#isDone()}.
+	 * <p>
+	 * This method registers the command with an event loop and returns.
+	 * The event loop thread will process the command and send the results to the flux.
+	 *
+	 * @param policy				scan configuration parameters, pass in null for defaults
+	 * @param partitionFilter		filter on a subset of data partitions
+	 * @param namespace				namespace - equivalent to database name
+	 * @param setName				optional set name - equivalent to database table
+	 * @param binNames				optional bin to retrieve. All bins will be returned if not specified.
+	 * @throws AerospikeException	if event loop registration fails
+	 */
+	Flux<KeyRecord> scanPartitions(ScanPolicy policy, PartitionFilter partitionFilter,
+								   String namespace, String setName, String... binNames) throws AerospikeException;
+
+	/**
+	 * Reactively execute query for specified partitions.
+	 * <p>
+	 * The partition filter tracks the progress of the query. When the statement's
+	 * <code>maxRecords</code> is set, subscribing again with the same filter resumes
+	 * where the previous query stopped, until {@link PartitionFilter#isDone()}.
+	 * <p>
+	 * This method registers the command with an event loop and returns.
+	 * The event loop thread will process the command and send the results to the flux.
+	 *
+	 * @param policy				query configuration parameters, pass in null for defaults
+	 * @param statement				database query command
+	 * @param partitionFilter		filter on a subset of data partitions
+	 * @throws AerospikeException	if event loop registration fails
+	 */
+	Flux<KeyRecord> queryPartitions(QueryPolicy policy, Statement statement, PartitionFilter partitionFilter) throws AerospikeException;
+
 	/**
 	 * Reactively execute user defined function on server.
 	 * This method registers the command with an event loop and returns.
@@ -763,6 +802,32 @@ public interface IAerospikeReactorClient extends DefaultPolicyProvider, Closeabl
 	 */
 	Mono<Map<String,String>> info(InfoPolicy infoPolicy, Node node, List<String> commands);
 
+	/**
+	 * Reactively access server's info monitoring protocol on every cluster node.
+	 * <p>
+	 * All nodes are queried concurrently and each node's responses are published
+	 * as soon as they arrive, so the order of elements is not defined.
+	 * The flux fails if any node fails to respond.
+	 *
+	 * @param infoPolicy			info configuration parameters, pass in null for defaults
+	 * @param commands				info command names
+	 */
+	Flux<NodeInfo> infoAll(InfoPolicy infoPolicy, List<String> commands);
+
+	/**
+	 * Reactively access server's info monitoring protocol on selected cluster nodes.
+	 * <p>
+	 * At most <code>concurrency</code> nodes are queried at the same time.
+	 * Each node's responses are published as soon as they arrive, so the order
+	 * of elements is not defined. The flux fails if any node fails to respond.
+	 *
+	 * @param infoPolicy			info configuration parameters, pass in null for defaults
+	 * @param nodes					nodes to query
+	 * @param concurrency			maximum number of nodes queried in parallel
+	 * @param commands				info command names
+	 */
+	Flux<NodeInfo> info(InfoPolicy infoPolicy, Node[] nodes, int concurrency, List<String> commands);
+
 	/**
 	 * Reactively create complex secondary index to be used on bins containing collections.
 	 *
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.aggregation;
+
+import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.policy.ScanPolicy;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Configuration of {@link ReactorAggregator}.
+ */
+public class AggregationPolicy {
+
+	/**
+	 * Scan policy, null for the client default.
+	 */
+	public ScanPolicy scanPolicy;
+
+	/**
+	 * Query policy, null for the client default.
+	 */
+	public QueryPolicy queryPolicy;
+
+	/**
+	 * Maximum number of records returned by a scan or query of a partition range.
+	 * Each range is read page after page. 0 reads a range at once.
+	 * <p>
+	 * Default: 10000
+	 */
+	public long pageSize = 10000;
+
+	/**
+	 * Number of partition ranges aggregated in parallel.
+	 * <p>
+	 * Default: number of available processors
+	 */
+	public int parallelism = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Scheduler the records are accumulated on, off the client event loops.
+	 * <p>
+	 * Default: {@link Schedulers#parallel()}
+	 */
+	public Scheduler scheduler = Schedulers.parallel();
+
+	public AggregationPolicy() {
+	}
+
+	public AggregationPolicy(AggregationPolicy other) {
+		this.scanPolicy = other.scanPolicy;
+		this.queryPolicy = other.queryPolicy;
+		this.pageSize = other.pageSize;
+		this.parallelism = other.parallelism;
+		this.scheduler = other.scheduler;
+	}
+}
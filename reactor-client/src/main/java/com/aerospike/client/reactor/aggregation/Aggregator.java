@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.aggregation;
+
+import com.aerospike.client.query.KeyRecord;
+
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Mergeable aggregation over records.
+ * <p>
+ * Every partition range accumulates its records into its own container, on a single
+ * thread, and the containers of all ranges are merged once the ranges complete.
+ * Containers are therefore never shared between threads while accumulating.
+ *
+ * @param <A>	mutable accumulation container
+ * @param <R>	result
+ */
+public interface Aggregator<A, R> {
+
+	A create();
+
+	void accumulate(A container, KeyRecord record);
+
+	/**
+	 * Merges two containers, possibly into one of them, and returns the merged one.
+	 */
+	A merge(A left, A right);
+
+	R finish(A container);
+
+	static <A, R> Aggregator<A, R> of(Supplier<A> create, BiConsumer<A, KeyRecord> accumulate,
+									  BinaryOperator<A> merge, Function<A, R> finish) {
+		return new Aggregator<A, R>() {
+			@Override
+			public A create() {
+				return create.get();
+			}
+
+			@Override
+			public void accumulate(A container, KeyRecord record) {
+				accumulate.accept(container, record);
+			}
+
+			@Override
+			public A merge(A left, A right) {
+				return merge.apply(left, right);
+			}
+
+			@Override
+			public R finish(A container) {
+				return finish.apply(container);
+			}
+		};
+	}
+}
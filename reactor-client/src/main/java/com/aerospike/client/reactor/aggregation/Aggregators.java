@@ -0,0 +1,202 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.aggregation;
+
+import com.aerospike.client.query.KeyRecord;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Common aggregators. Numeric aggregators accumulate into primitive containers and
+ * ignore records whose bin is missing or not numeric.
+ */
+public final class Aggregators {
+
+	private Aggregators() {
+	}
+
+	/**
+	 * Number of records.
+	 */
+	public static Aggregator<long[], Long> count() {
+		return Aggregator.of(() -> new long[1],
+				(count, record) -> count[0]++,
+				(left, right) -> {
+					left[0] += right[0];
+					return left;
+				},
+				count -> count[0]);
+	}
+
+	/**
+	 * Sum of an integer bin.
+	 */
+	public static Aggregator<long[], Long> sum(String binName) {
+		return Aggregator.of(() -> new long[1],
+				(sum, record) -> {
+					Object value = value(record, binName);
+					if (value instanceof Number) {
+						sum[0] += ((Number) value).longValue();
+					}
+				},
+				(left, right) -> {
+					left[0] += right[0];
+					return left;
+				},
+				sum -> sum[0]);
+	}
+
+	/**
+	 * Count, sum, min, max and average of an integer bin.
+	 */
+	public static Aggregator<LongSummaryStatistics, LongSummaryStatistics> summarizingLong(String binName) {
+		return Aggregator.of(LongSummaryStatistics::new,
+				(stats, record) -> {
+					Object value = value(record, binName);
+					if (value instanceof Number) {
+						stats.accept(((Number) value).longValue());
+					}
+				},
+				(left, right) -> {
+					left.combine(right);
+					return left;
+				},
+				stats -> stats);
+	}
+
+	/**
+	 * Count, sum, min, max and average of a numeric bin, as doubles.
+	 */
+	public static Aggregator<DoubleSummaryStatistics, DoubleSummaryStatistics> summarizingDouble(String binName) {
+		return Aggregator.of(DoubleSummaryStatistics::new,
+				(stats, record) -> {
+					Object value = value(record, binName);
+					if (value instanceof Number) {
+						stats.accept(((Number) value).doubleValue());
+					}
+				},
+				(left, right) -> {
+					left.combine(right);
+					return left;
+				},
+				stats -> stats);
+	}
+
+	/**
+	 * Number of records per value of a bin, records without the bin are counted under null.
+	 */
+	public static Aggregator<Map<Object, long[]>, Map<Object, Long>> countBy(String binName) {
+		return Aggregator.of(HashMap::new,
+				(counts, record) -> counts.computeIfAbsent(value(record, binName), key -> new long[1])[0]++,
+				(left, right) -> {
+					right.forEach((key, count) -> left.merge(key, count, (a, b) -> {
+						a[0] += b[0];
+						return a;
+					}));
+					return left;
+				},
+				counts -> {
+					Map<Object, Long> result = new HashMap<>(counts.size() * 2);
+					counts.forEach((key, count) -> result.put(key, count[0]));
+					return result;
+				});
+	}
+
+	/**
+	 * Aggregates the records of every group separately.
+	 *
+	 * @param classifier			group of a record, may be null
+	 * @param downstream			aggregation of each group
+	 */
+	public static <K, A, R> Aggregator<Map<K, A>, Map<K, R>> groupBy(Function<KeyRecord, K> classifier,
+																	  Aggregator<A, R> downstream) {
+		return Aggregator.of(HashMap::new,
+				(groups, record) -> downstream.accumulate(
+						groups.computeIfAbsent(classifier.apply(record), key -> downstream.create()), record),
+				(left, right) -> {
+					right.forEach((key, container) -> left.merge(key, container, downstream::merge));
+					return left;
+				},
+				groups -> {
+					Map<K, R> result = new HashMap<>(groups.size() * 2);
+					groups.forEach((key, container) -> result.put(key, downstream.finish(container)));
+					return result;
+				});
+	}
+
+	/**
+	 * Aggregates the records of every value of a bin separately.
+	 */
+	public static <A, R> Aggregator<Map<Object, A>, Map<Object, R>> groupBy(String binName,
+																			 Aggregator<A, R> downstream) {
+		return groupBy(record -> value(record, binName), downstream);
+	}
+
+	/**
+	 * The k records with the greatest values of a numeric bin, greatest first.
+	 * Each partition range keeps at most k records.
+	 */
+	public static Aggregator<PriorityQueue<KeyRecord>, List<KeyRecord>> topK(String binName, int k) {
+		if (k < 1) {
+			throw new IllegalArgumentException("k must be positive");
+		}
+		Comparator<KeyRecord> order = Comparator.comparingDouble(record -> number(record, binName));
+		return Aggregator.of(() -> new PriorityQueue<>(k + 1, order),
+				(top, record) -> {
+					if (value(record, binName) instanceof Number) {
+						offer(top, record, k, order);
+					}
+				},
+				(left, right) -> {
+					for (KeyRecord record : right) {
+						offer(left, record, k, order);
+					}
+					return left;
+				},
+				top -> {
+					List<KeyRecord> result = new ArrayList<>(top);
+					result.sort(Collections.reverseOrder(order));
+					return result;
+				});
+	}
+
+	private static void offer(PriorityQueue<KeyRecord> top, KeyRecord record, int k, Comparator<KeyRecord> order) {
+		if (top.size() < k) {
+			top.add(record);
+		} else if (order.compare(record, top.peek()) > 0) {
+			top.poll();
+			top.add(record);
+		}
+	}
+
+	private static double number(KeyRecord record, String binName) {
+		return ((Number) value(record, binName)).doubleValue();
+	}
+
+	private static Object value(KeyRecord record, String binName) {
+		return record.record == null ? null : record.record.getValue(binName);
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.aggregation;
+
+import com.aerospike.client.policy.ScanPolicy;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
+import com.aerospike.client.query.Statement;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.partition.Partitions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Client side aggregation of sets and query results, parallel over partition ranges.
+ * <p>
+ * The partitions are split into {@link AggregationPolicy#parallelism} ranges, read page by
+ * page. Each range accumulates its records into its own container on the policy scheduler
+ * and the containers are merged when the ranges complete, so memory use depends on the
+ * aggregator containers and the page size, not on the number of records.
+ */
+public class ReactorAggregator {
+
+	private final IAerospikeReactorClient client;
+	private final AggregationPolicy policy;
+
+	public ReactorAggregator(IAerospikeReactorClient client) {
+		this(client, new AggregationPolicy());
+	}
+
+	public ReactorAggregator(IAerospikeReactorClient client, AggregationPolicy policy) {
+		this.client = client;
+		this.policy = new AggregationPolicy(policy);
+	}
+
+	/**
+	 * Aggregates all records of a set.
+	 *
+	 * @param binNames				bins to read, all bins if not specified
+	 */
+	public <A, R> Mono<R> aggregate(String namespace, String setName, Aggregator<A, R> aggregator,
+									String... binNames) {
+		ScanPolicy scanPolicy = new ScanPolicy(policy.scanPolicy != null
+				? policy.scanPolicy : client.getScanPolicyDefault());
+		scanPolicy.maxRecords = policy.pageSize;
+		return aggregate(aggregator,
+				filters -> Partitions.scan(client, scanPolicy, filters, namespace, setName, binNames));
+	}
+
+	/**
+	 * Aggregates the query results. The statement is left unchanged, pages are read through
+	 * a copy with maxRecords set to the page size.
+	 */
+	public <A, R> Mono<R> aggregate(Statement statement, Aggregator<A, R> aggregator) {
+		return aggregate(aggregator,
+				filters -> Partitions.query(client, policy.queryPolicy, statement, policy.pageSize, filters));
+	}
+
+	private <A, R> Mono<R> aggregate(Aggregator<A, R> aggregator,
+									 Function<Supplier<PartitionFilter>, Flux<KeyRecord>> records) {
+		int ranges = Math.max(1, Math.min(policy.parallelism, Partitions.COUNT));
+		return Flux.range(0, ranges)
+				.flatMap(i -> records.apply(() -> Partitions.range(i, ranges))
+						.publishOn(policy.scheduler)
+						.reduceWith(aggregator::create, (container, record) -> {
+							aggregator.accumulate(container, record);
+							return container;
+						}), ranges)
+				.reduce(aggregator::merge)
+				.map(aggregator::finish);
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.bulkhead;
+
+import com.aerospike.client.async.EventLoop;
+import com.aerospike.client.async.EventLoops;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Round robin over a contiguous range of the event loops of one {@link EventLoops} instance.
+ * <p>
+ * Async connection pools are kept per event loop, so commands issued only on this range
+ * also use only the connections of this range.
+ */
+public final class EventLoopSubset implements Supplier<EventLoop> {
+
+	private final EventLoop[] eventLoops;
+	private final AtomicInteger next = new AtomicInteger();
+
+	/**
+	 * @param eventLoops			event loops of the client
+	 * @param fromIndex				index of the first event loop in the subset
+	 * @param size					number of event loops in the subset
+	 */
+	public EventLoopSubset(EventLoops eventLoops, int fromIndex, int size) {
+		if (size < 1 || fromIndex < 0 || fromIndex + size > eventLoops.getSize()) {
+			throw new IllegalArgumentException(String.format(
+					"Event loop range [%d, %d) is outside of [0, %d)", fromIndex, fromIndex + size, eventLoops.getSize()));
+		}
+		this.eventLoops = new EventLoop[size];
+		for (int i = 0; i < size; i++) {
+			this.eventLoops[i] = eventLoops.get(fromIndex + i);
+		}
+	}
+
+	@Override
+	public EventLoop get() {
+		if (eventLoops.length == 1) {
+			return eventLoops[0];
+		}
+		return eventLoops[Math.floorMod(next.getAndIncrement(), eventLoops.length)];
+	}
+
+	public int size() {
+		return eventLoops.length;
+	}
+}
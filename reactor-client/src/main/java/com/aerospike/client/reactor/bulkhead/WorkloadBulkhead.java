@@ -0,0 +1,131 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.bulkhead;
+
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.async.EventLoops;
+import com.aerospike.client.reactor.AerospikeReactorClient;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.priority.AerospikeReactorPriorityClient;
+import com.aerospike.client.reactor.priority.LaneScheduler;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Splits one cluster connection into isolated workload profiles, for example "online" and "analytics".
+ * <p>
+ * Each profile gets a dedicated, disjoint range of the client's event loops and its own limit
+ * of commands in flight, while cluster metadata (nodes, partition maps, tend thread) stays shared.
+ * Because async connection pools are per event loop, the async connection budget of a profile is
+ * {@code ClientPolicy.asyncMaxConnsPerNode * profileEventLoops / totalEventLoops} per node, so a
+ * long scan can exhaust neither the event loop threads nor the connections of another profile.
+ * <pre>
+ * WorkloadBulkhead bulkhead = new WorkloadBulkhead(aerospikeClient)
+ *         .profile("online", 6, 2048)
+ *         .profile("analytics", 2, 16);
+ * IAerospikeReactorClient online = bulkhead.client("online");
+ * </pre>
+ * Profile clients share the underlying client, so closing one of them does nothing.
+ * {@link #close()} closes the underlying client for all profiles.
+ */
+public class WorkloadBulkhead implements Closeable {
+
+	private final IAerospikeClient aerospikeClient;
+	private final EventLoops eventLoops;
+	private final Map<String, IAerospikeReactorClient> clients = new LinkedHashMap<>();
+	private int nextEventLoop;
+
+	/**
+	 * @param aerospikeClient		client created with {@link com.aerospike.client.policy.ClientPolicy#eventLoops}
+	 */
+	public WorkloadBulkhead(IAerospikeClient aerospikeClient) {
+		this(aerospikeClient, aerospikeClient.getCluster().eventLoops);
+	}
+
+	/**
+	 * @param aerospikeClient		the {@link com.aerospike.client.AerospikeClient} instance
+	 * @param eventLoops			the event loops the client was created with
+	 */
+	public WorkloadBulkhead(IAerospikeClient aerospikeClient, EventLoops eventLoops) {
+		if (eventLoops == null) {
+			throw new IllegalArgumentException("Aerospike client has no event loops");
+		}
+		this.aerospikeClient = aerospikeClient;
+		this.eventLoops = eventLoops;
+	}
+
+	/**
+	 * Register a workload profile on the next {@code eventLoopCount} unassigned event loops.
+	 *
+	 * @param name					profile name
+	 * @param eventLoopCount		number of event loops dedicated to the profile
+	 * @param maxCommands			maximum number of commands of the profile in flight
+	 */
+	public synchronized WorkloadBulkhead profile(String name, int eventLoopCount, int maxCommands) {
+		if (clients.containsKey(name)) {
+			throw new IllegalArgumentException("Duplicate workload profile: " + name);
+		}
+		EventLoopSubset subset = new EventLoopSubset(eventLoops, nextEventLoop, eventLoopCount);
+		nextEventLoop += eventLoopCount;
+
+		LaneScheduler commandLimit = new LaneScheduler(maxCommands).lane(name, maxCommands, 1);
+		clients.put(name, new AerospikeReactorPriorityClient(
+				new ProfileClient(aerospikeClient, subset), commandLimit, name));
+		return this;
+	}
+
+	/**
+	 * @return client of the profile
+	 * @throws IllegalArgumentException if the profile is not registered
+	 */
+	public synchronized IAerospikeReactorClient client(String name) {
+		IAerospikeReactorClient client = clients.get(name);
+		if (client == null) {
+			throw new IllegalArgumentException("Unknown workload profile: " + name);
+		}
+		return client;
+	}
+
+	public synchronized Map<String, IAerospikeReactorClient> getClients() {
+		return Collections.unmodifiableMap(new LinkedHashMap<>(clients));
+	}
+
+	/**
+	 * Closes the underlying client shared by all profiles.
+	 */
+	@Override
+	public void close() {
+		aerospikeClient.close();
+	}
+
+	/**
+	 * Client of a profile, whose lifecycle is owned by the bulkhead.
+	 */
+	private static final class ProfileClient extends AerospikeReactorClient {
+
+		ProfileClient(IAerospikeClient aerospikeClient, EventLoopSubset eventLoops) {
+			super(aerospikeClient, eventLoops);
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.changes;
+
+import com.aerospike.client.exp.Exp;
+import com.aerospike.client.policy.ScanPolicy;
+
+/**
+ * Configuration of {@link ChangeCapture}.
+ */
+public class ChangeCapturePolicy {
+
+	/**
+	 * Scan policy, null for the client default. Its filter expression is replaced by the
+	 * last update time filter, combined with {@link #filter}.
+	 */
+	public ScanPolicy scanPolicy;
+
+	/**
+	 * Additional filter the changed records must match, null for none.
+	 */
+	public Exp filter;
+
+	/**
+	 * Maximum number of records returned by a scan of a partition range. Each range is
+	 * scanned page after page. 0 scans a range at once.
+	 * <p>
+	 * Default: 10000
+	 */
+	public long pageSize = 10000;
+
+	/**
+	 * Number of partition ranges scanned in parallel.
+	 * <p>
+	 * Default: number of available processors
+	 */
+	public int parallelism = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Margin subtracted from the client clock when the next watermark is taken, covering
+	 * the clock difference with the server nodes and writes in flight. Records updated in
+	 * that margin are captured again by the next cycle.
+	 * <p>
+	 * Default: 1000
+	 */
+	public long clockSkewMillis = 1000;
+
+	public ChangeCapturePolicy() {
+	}
+
+	public ChangeCapturePolicy(ChangeCapturePolicy other) {
+		this.scanPolicy = other.scanPolicy;
+		this.filter = other.filter;
+		this.pageSize = other.pageSize;
+		this.parallelism = other.parallelism;
+		this.clockSkewMillis = other.clockSkewMillis;
+	}
+}
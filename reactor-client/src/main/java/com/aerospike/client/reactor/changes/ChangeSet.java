@@ -0,0 +1,42 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.changes;
+
+import com.aerospike.client.query.KeyRecord;
+import reactor.core.publisher.Flux;
+
+/**
+ * Records changed since a watermark, with the watermark of the next cycle.
+ */
+public final class ChangeSet {
+
+	/**
+	 * Records created or updated at or after the requested watermark. Cold, each
+	 * subscription scans again.
+	 */
+	public final Flux<KeyRecord> records;
+
+	/**
+	 * Watermark to persist once all records were processed, in nanoseconds since the Unix epoch.
+	 */
+	public final long watermark;
+
+	public ChangeSet(Flux<KeyRecord> records, long watermark) {
+		this.records = records;
+		this.watermark = watermark;
+	}
+}
@@ -0,0 +1,451 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.circuitbreaker;
+
+import com.aerospike.client.*;
+import com.aerospike.client.cdt.CTX;
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.policy.*;
+import com.aerospike.client.query.IndexCollectionType;
+import com.aerospike.client.query.IndexType;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
+import com.aerospike.client.query.Statement;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.dto.KeyExists;
+import com.aerospike.client.reactor.dto.KeyObject;
+import com.aerospike.client.reactor.dto.KeysExists;
+import com.aerospike.client.reactor.dto.KeysRecords;
+import com.aerospike.client.reactor.dto.NodeInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorator that keeps a {@link NodeCircuitBreaker} per cluster node.
+ * <p>
+ * Single record commands are resolved to their target node before they are sent. If the circuit
+ * of that node is open they fail immediately with {@link NodeCircuitOpenException} instead of
+ * waiting for the total timeout, and once {@link CircuitBreakerPolicy#openMillis} elapsed a few
+ * probe commands are let through to detect recovery. Failures are attributed to the node reported
+ * by {@link AerospikeException#getNode()}, which may differ from the predicted node after a
+ * replica retry.
+ * <p>
+ * Batch, scan, query, info and index commands span several nodes and pass through unchanged.
+ * Place this decorator inside {@link com.aerospike.client.reactor.retry.AerospikeReactorRetryClient}
+ * so that fast failures are not retried into the open circuit by a retry predicate
+ * that accepts {@link com.aerospike.client.ResultCode#SERVER_NOT_AVAILABLE}.
+ */
+public class AerospikeReactorCircuitBreakerClient implements IAerospikeReactorClient {
+
+	private final IAerospikeReactorClient client;
+	private final NodeResolver nodeResolver;
+	private final CircuitBreakerPolicy circuitBreakerPolicy;
+	private final LongSupplier nanoClock;
+	private final Map<String, NodeCircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+	public AerospikeReactorCircuitBreakerClient(IAerospikeReactorClient client,
+												CircuitBreakerPolicy circuitBreakerPolicy) {
+		this(client, NodeResolver.partitionMap(client.getAerospikeClient()), circuitBreakerPolicy, System::nanoTime);
+	}
+
+	public AerospikeReactorCircuitBreakerClient(IAerospikeReactorClient client,
+												NodeResolver nodeResolver,
+												CircuitBreakerPolicy circuitBreakerPolicy,
+												LongSupplier nanoClock) {
+		this.client = client;
+		this.nodeResolver = nodeResolver;
+		this.circuitBreakerPolicy = new CircuitBreakerPolicy(circuitBreakerPolicy);
+		this.nanoClock = nanoClock;
+	}
+
+	/**
+	 * @return circuit state of the node, CLOSED if no command was sent to it yet
+	 */
+	public NodeCircuitBreaker.State getState(Node node) {
+		NodeCircuitBreaker breaker = breakers.get(node.getName());
+		return breaker != null ? breaker.getState() : NodeCircuitBreaker.State.CLOSED;
+	}
+
+	@Override
+	public void close() throws IOException {
+		client.close();
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Key key) throws AerospikeException {
+		return get(null, key);
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Policy policy, Key key) throws AerospikeException {
+		return guard(policy, key, false, client.get(policy, key));
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Policy policy, Key key, String[] binNames) throws AerospikeException {
+		return guard(policy, key, false, client.get(policy, key, binNames));
+	}
+
+	@Override
+	public final Mono<KeysRecords> get(Key[] keys) throws AerospikeException {
+		return get(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysRecords> get(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return client.get(policy, keys);
+	}
+
+	@Override
+	public final Mono<List<BatchRead>> get(List<BatchRead> records) throws AerospikeException {
+		return get(null, records);
+	}
+
+	@Override
+	public final Mono<List<BatchRead>> get(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
+		return client.get(policy, records);
+	}
+
+	@Override
+	public Mono<KeysRecords> get(Key[] keys, Operation... operations) throws AerospikeException {
+		return get(null, keys, operations);
+	}
+
+	@Override
+	public Mono<KeysRecords> get(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
+		return client.get(policy, keys, operations);
+	}
+
+	@Override
+	public final Flux<BatchRead> getFlux(List<BatchRead> records) throws AerospikeException {
+		return getFlux(null, records);
+	}
+
+	@Override
+	public final Flux<BatchRead> getFlux(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
+		return client.getFlux(policy, records);
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(Key[] keys) throws AerospikeException {
+		return getFlux(null, keys);
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return client.getFlux(policy, keys);
+	}
+
+	@Override
+	public Flux<KeyRecord> getFlux(Key[] keys, Operation... operations) throws AerospikeException {
+		return getFlux(null, keys, operations);
+	}
+
+	@Override
+	public Flux<KeyRecord> getFlux(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
+		return client.getFlux(policy, keys, operations);
+	}
+
+	@Override
+	public final Mono<KeyRecord> getHeader(Key key) throws AerospikeException {
+		return getHeader(null, key);
+	}
+
+	@Override
+	public final Mono<KeyRecord> getHeader(Policy policy, Key key) throws AerospikeException {
+		return guard(policy, key, false, client.getHeader(policy, key));
+	}
+
+	@Override
+	public final Mono<KeysRecords> getHeaders(Key[] keys) throws AerospikeException {
+		return getHeaders(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysRecords> getHeaders(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return client.getHeaders(policy, keys);
+	}
+
+	@Override
+	public final Mono<Key> touch(Key key) throws AerospikeException {
+		return touch(null, key);
+	}
+
+	@Override
+	public final Mono<Key> touch(WritePolicy policy, Key key) throws AerospikeException {
+		return guard(policy, key, true, client.touch(policy, key));
+	}
+
+	@Override
+	public final Mono<Key> exists(Key key) throws AerospikeException {
+		return exists(null, key);
+	}
+
+	@Override
+	public final Mono<Key> exists(Policy policy, Key key) throws AerospikeException {
+		return guard(policy, key, false, client.exists(policy, key));
+	}
+
+	@Override
+	public final Mono<KeysExists> exists(Key[] keys) throws AerospikeException {
+		return exists(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysExists> exists(BatchPolicy policy, Key[] keys) throws AerospikeException{
+		return client.exists(policy, keys);
+	}
+
+	@Override
+	public final Flux<KeyExists> existsFlux(Key[] keys) throws AerospikeException {
+		return existsFlux(null, keys);
+	}
+
+	@Override
+	public final Flux<KeyExists> existsFlux(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return client.existsFlux(policy, keys);
+	}
+
+	@Override
+	public final Mono<Key> put(Key key, Bin... bins) throws AerospikeException {
+		return put(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> put(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return guard(policy, key, true, client.put(policy, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> append(Key key, Bin... bins) throws AerospikeException {
+		return append(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> append(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return guard(policy, key, true, client.append(policy, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> prepend(Key key, Bin... bins) throws AerospikeException {
+		return prepend(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> prepend(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return guard(policy, key, true, client.prepend(policy, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> add(Key key, Bin... bins) throws AerospikeException {
+		return add(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> add(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return guard(policy, key, true, client.add(policy, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> delete(Key key) throws AerospikeException {
+		return delete(null, key);
+	}
+
+	@Override
+	public final Mono<Key> delete(WritePolicy policy, Key key) throws AerospikeException {
+		return guard(policy, key, true, client.delete(policy, key));
+	}
+
+	@Override
+	public Mono<BatchResults> delete(BatchPolicy batchPolicy, BatchDeletePolicy deletePolicy,
+									 Key[] keys) throws AerospikeException {
+		return client.delete(batchPolicy, deletePolicy, keys);
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(Key key, Operation... operations) throws AerospikeException {
+		return operate(null, key, operations);
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(WritePolicy policy, Key key, Operation... operations) throws AerospikeException {
+		return guard(policy, key, true, client.operate(policy, key, operations));
+	}
+
+	@Override
+	public Mono<BatchResults> operate(BatchPolicy batchPolicy, BatchWritePolicy writePolicy, Key[] keys,
+									  Operation... ops) throws AerospikeException {
+		return client.operate(batchPolicy, writePolicy, keys, ops);
+	}
+
+	@Override
+	public Mono<Boolean> operate(BatchPolicy policy, List<BatchRecord> records) throws AerospikeException {
+		return client.operate(policy, records);
+	}
+
+	@Override
+	public final Flux<KeyRecord> query(Statement statement) throws AerospikeException {
+		return query(null, statement);
+	}
+
+	@Override
+	public final Flux<KeyRecord> query(QueryPolicy policy, Statement statement) throws AerospikeException {
+		return client.query(policy, statement);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAll(String namespace, String setName, String... binNames) throws AerospikeException {
+		return scanAll(null, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAll(ScanPolicy policy, String namespace, String setName, String... binNames) throws AerospikeException {
+		return client.scanAll(policy, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanPartitions(ScanPolicy policy, PartitionFilter partitionFilter,
+												String namespace, String setName, String... binNames) throws AerospikeException {
+		return client.scanPartitions(policy, partitionFilter, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> queryPartitions(QueryPolicy policy, Statement statement, PartitionFilter partitionFilter) throws AerospikeException {
+		return client.queryPartitions(policy, statement, partitionFilter);
+	}
+
+	@Override
+	public final Mono<KeyObject> execute(Key key, String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		return execute(null, key, packageName, functionName, functionArgs);
+	}
+
+	@Override
+	public final Mono<KeyObject> execute(WritePolicy policy, Key key,
+								   String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		return guard(policy, key, true, client.execute(policy, key, packageName, functionName, functionArgs));
+	}
+
+	@Override
+	public Mono<String> info(InfoPolicy infoPolicy, Node node, String command){
+		return client.info(infoPolicy, node, command);
+	}
+
+	@Override
+	public Mono<Map<String,String>> info(InfoPolicy infoPolicy, Node node, List<String> commands){
+		return client.info(infoPolicy, node, commands);
+    }
+
+	@Override
+	public Flux<NodeInfo> infoAll(InfoPolicy infoPolicy, List<String> commands){
+		return client.infoAll(infoPolicy, commands);
+	}
+
+	@Override
+	public Flux<NodeInfo> info(InfoPolicy infoPolicy, Node[] nodes, int concurrency, List<String> commands){
+		return client.info(infoPolicy, nodes, concurrency, commands);
+	}
+
+	@Override
+	public Mono<Void> createIndex(Policy policy,
+								  String namespace, String setName, String indexName, String binName,
+								  IndexType indexType, IndexCollectionType indexCollectionType, CTX... ctx){
+		return client.createIndex(policy, namespace, setName, indexName, binName, indexType, indexCollectionType, ctx);
+	}
+
+	@Override
+	public Mono<Void> dropIndex(Policy policy, String namespace, String setName, String indexName){
+		return client.dropIndex(policy, namespace, setName, indexName);
+	}
+
+	@Override
+	public IAerospikeClient getAerospikeClient() {
+		return client.getAerospikeClient();
+	}
+
+	@Override
+	public Policy getReadPolicyDefault() {
+		return client.getReadPolicyDefault();
+	}
+
+	@Override
+	public WritePolicy getWritePolicyDefault() {
+		return client.getWritePolicyDefault();
+	}
+
+	@Override
+	public ScanPolicy getScanPolicyDefault() {
+		return client.getScanPolicyDefault();
+	}
+
+	@Override
+	public QueryPolicy getQueryPolicyDefault() {
+		return client.getQueryPolicyDefault();
+	}
+
+	@Override
+	public BatchPolicy getBatchPolicyDefault() {
+		return client.getBatchPolicyDefault();
+	}
+
+	@Override
+	public InfoPolicy getInfoPolicyDefault() {
+		return client.getInfoPolicyDefault();
+	}
+
+	private <T> Mono<T> guard(Policy policy, Key key, boolean write, Mono<T> command) {
+		return Mono.defer(() -> {
+			Node node = nodeResolver.resolve(policy, key, write);
+			if (node == null) {
+				return command;
+			}
+			NodeCircuitBreaker breaker = breaker(node);
+			if (!breaker.tryAcquire()) {
+				return Mono.error(new NodeCircuitOpenException(node));
+			}
+			return command
+					.doOnSuccess(value -> breaker.onSuccess())
+					.doOnError(error -> onError(node, breaker, error))
+					.doOnCancel(breaker::onCancel);
+		});
+	}
+
+	private void onError(Node node, NodeCircuitBreaker breaker, Throwable error) {
+		if (!circuitBreakerPolicy.isNodeFailure(error)) {
+			// the node answered, the command itself was rejected
+			breaker.onSuccess();
+			return;
+		}
+		Node failedNode = error instanceof AerospikeException ? ((AerospikeException) error).getNode() : null;
+		if (failedNode == null || failedNode.getName().equals(node.getName())) {
+			breaker.onFailure();
+		} else {
+			breaker.onCancel();
+			breaker(failedNode).onFailure();
+		}
+	}
+
+	private NodeCircuitBreaker breaker(Node node) {
+		return breakers.computeIfAbsent(node.getName(),
+				name -> new NodeCircuitBreaker(circuitBreakerPolicy, nanoClock));
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.circuitbreaker;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.ResultCode;
+
+/**
+ * Configuration of {@link NodeCircuitBreaker}s.
+ */
+public class CircuitBreakerPolicy {
+
+	/**
+	 * Share of failed calls in the current window that opens the circuit.
+	 * <p>
+	 * Default: 0.5
+	 */
+	public double failureRateThreshold = 0.5;
+
+	/**
+	 * Minimum number of calls in the current window before the failure rate is evaluated.
+	 * <p>
+	 * Default: 20
+	 */
+	public int minimumCalls = 20;
+
+	/**
+	 * Length of the window the failure rate is computed over.
+	 * <p>
+	 * Default: 10000ms
+	 */
+	public long windowMillis = 10_000;
+
+	/**
+	 * Time an open circuit fails calls fast before probing the node again.
+	 * <p>
+	 * Default: 5000ms
+	 */
+	public long openMillis = 5_000;
+
+	/**
+	 * Number of probe calls let through in half-open state.
+	 * All of them have to succeed to close the circuit, any failure opens it again.
+	 * <p>
+	 * Default: 3
+	 */
+	public int halfOpenProbes = 3;
+
+	public CircuitBreakerPolicy() {
+	}
+
+	public CircuitBreakerPolicy(CircuitBreakerPolicy other) {
+		this.failureRateThreshold = other.failureRateThreshold;
+		this.minimumCalls = other.minimumCalls;
+		this.windowMillis = other.windowMillis;
+		this.openMillis = other.openMillis;
+		this.halfOpenProbes = other.halfOpenProbes;
+	}
+
+	/**
+	 * Whether an error indicates an unhealthy node rather than a problem with the command.
+	 * Timeouts, connection errors and server overload are node failures,
+	 * record level errors such as generation mismatch are not.
+	 */
+	public boolean isNodeFailure(Throwable throwable) {
+		if (throwable instanceof AerospikeException.Timeout
+				|| throwable instanceof AerospikeException.Connection) {
+			return true;
+		}
+		if (throwable instanceof AerospikeException) {
+			switch (((AerospikeException) throwable).getResultCode()) {
+				case ResultCode.SERVER_NOT_AVAILABLE:
+				case ResultCode.DEVICE_OVERLOAD:
+				case ResultCode.SERVER_MEM_ERROR:
+				case ResultCode.SERVER_ERROR:
+					return true;
+				default:
+					return false;
+			}
+		}
+		return false;
+	}
+}
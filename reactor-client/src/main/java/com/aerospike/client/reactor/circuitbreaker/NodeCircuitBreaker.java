@@ -0,0 +1,145 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.circuitbreaker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker state of a single cluster node.
+ * <p>
+ * CLOSED: calls pass and their outcomes are counted over a fixed window. Once at least
+ * {@link CircuitBreakerPolicy#minimumCalls} were seen and the failure rate reaches
+ * {@link CircuitBreakerPolicy#failureRateThreshold} the circuit opens.
+ * <p>
+ * OPEN: calls are rejected without being sent until {@link CircuitBreakerPolicy#openMillis} elapsed.
+ * <p>
+ * HALF_OPEN: up to {@link CircuitBreakerPolicy#halfOpenProbes} calls probe the node.
+ * The circuit closes when all of them succeed and opens again on the first failure.
+ */
+public final class NodeCircuitBreaker {
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final CircuitBreakerPolicy policy;
+	private final LongSupplier nanoClock;
+
+	private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+	private volatile long openedAt;
+
+	private final AtomicLong windowStart;
+	private final AtomicInteger calls = new AtomicInteger();
+	private final AtomicInteger failures = new AtomicInteger();
+
+	private final AtomicInteger probes = new AtomicInteger();
+	private final AtomicInteger probeSuccesses = new AtomicInteger();
+
+	public NodeCircuitBreaker(CircuitBreakerPolicy policy, LongSupplier nanoClock) {
+		this.policy = policy;
+		this.nanoClock = nanoClock;
+		this.windowStart = new AtomicLong(nanoClock.getAsLong());
+	}
+
+	/**
+	 * @return true if a call may be sent to the node. Every permitted call has to be
+	 * followed by {@link #onSuccess()}, {@link #onFailure()} or {@link #onCancel()}.
+	 */
+	public boolean tryAcquire() {
+		State current = state.get();
+		if (current == State.CLOSED) {
+			return true;
+		}
+		if (current == State.OPEN) {
+			if (nanoClock.getAsLong() - openedAt < TimeUnit.MILLISECONDS.toNanos(policy.openMillis)) {
+				return false;
+			}
+			if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+				probes.set(0);
+				probeSuccesses.set(0);
+			}
+		}
+		if (probes.incrementAndGet() <= policy.halfOpenProbes) {
+			return true;
+		}
+		probes.decrementAndGet();
+		return false;
+	}
+
+	public void onSuccess() {
+		State current = state.get();
+		if (current == State.HALF_OPEN) {
+			if (probeSuccesses.incrementAndGet() >= policy.halfOpenProbes
+					&& state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+				resetWindow(nanoClock.getAsLong());
+			}
+		} else if (current == State.CLOSED) {
+			record(false);
+		}
+	}
+
+	public void onFailure() {
+		State current = state.get();
+		if (current == State.HALF_OPEN) {
+			open(State.HALF_OPEN);
+		} else if (current == State.CLOSED && record(true)) {
+			open(State.CLOSED);
+		}
+	}
+
+	/**
+	 * A permitted call ended without an outcome, free its half-open probe slot.
+	 */
+	public void onCancel() {
+		if (state.get() == State.HALF_OPEN) {
+			probes.decrementAndGet();
+		}
+	}
+
+	public State getState() {
+		return state.get();
+	}
+
+	private boolean record(boolean failure) {
+		long now = nanoClock.getAsLong();
+		long start = windowStart.get();
+		if (now - start >= TimeUnit.MILLISECONDS.toNanos(policy.windowMillis) && windowStart.compareAndSet(start, now)) {
+			calls.set(0);
+			failures.set(0);
+		}
+		int total = calls.incrementAndGet();
+		int failed = failure ? failures.incrementAndGet() : failures.get();
+		return failure && total >= policy.minimumCalls
+				&& failed >= policy.failureRateThreshold * total;
+	}
+
+	private void open(State from) {
+		if (state.compareAndSet(from, State.OPEN)) {
+			openedAt = nanoClock.getAsLong();
+		}
+	}
+
+	private void resetWindow(long now) {
+		windowStart.set(now);
+		calls.set(0);
+		failures.set(0);
+	}
+}
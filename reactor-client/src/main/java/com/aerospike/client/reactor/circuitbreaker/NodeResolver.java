@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.circuitbreaker;
+
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.Key;
+import com.aerospike.client.cluster.Cluster;
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.cluster.Partition;
+import com.aerospike.client.policy.Policy;
+
+/**
+ * Resolves the node a single record command is going to be sent to.
+ */
+@FunctionalInterface
+public interface NodeResolver {
+
+	/**
+	 * @return target node, or null if it cannot be determined
+	 */
+	Node resolve(Policy policy, Key key, boolean write);
+
+	/**
+	 * Resolver that uses the client partition map the same way the client does for the first attempt.
+	 */
+	static NodeResolver partitionMap(IAerospikeClient client) {
+		return (policy, key, write) -> {
+			try {
+				Cluster cluster = client.getCluster();
+				if (write) {
+					return Partition.write(cluster, policy != null ? policy : client.getWritePolicyDefault(), key)
+							.getNodeWrite(cluster);
+				}
+				return Partition.read(cluster, policy != null ? policy : client.getReadPolicyDefault(), key)
+						.getNodeRead(cluster);
+			} catch (RuntimeException e) {
+				// unknown namespace or partition map not ready, let the command report it
+				return null;
+			}
+		};
+	}
+}
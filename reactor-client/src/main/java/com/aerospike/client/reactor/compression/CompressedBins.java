@@ -0,0 +1,207 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.compression;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Bin;
+import com.aerospike.client.Operation;
+import com.aerospike.client.Record;
+import com.aerospike.client.Value;
+import com.aerospike.client.command.ParticleType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compresses and decompresses the values of the bins selected by a {@link CompressionPolicy}.
+ * <p>
+ * A compressed value is stored as a blob prefixed with an 8 byte header: two magic bytes,
+ * the compressor id, the original particle type (blob or UTF-8 string) and the original
+ * length as a big-endian int. Values of selected bins without the header are returned
+ * unchanged, so records written before compression was enabled stay readable.
+ */
+public final class CompressedBins {
+
+	static final byte MAGIC_0 = (byte) 0xA5;
+	static final byte MAGIC_1 = (byte) 0x7A;
+	static final byte TYPE_BLOB = 0;
+	static final byte TYPE_STRING = 1;
+	static final int HEADER_SIZE = 8;
+
+	private final Set<String> binNames;
+	private final int thresholdBytes;
+	private final BinCompressor compressor;
+	private final BinCompressor[] compressorsById = new BinCompressor[256];
+	private final boolean lazy;
+
+	public CompressedBins(CompressionPolicy policy) {
+		this.binNames = new HashSet<>(policy.binNames);
+		this.thresholdBytes = policy.thresholdBytes;
+		this.compressor = policy.compressor;
+		for (BinCompressor readCompressor : policy.readCompressors) {
+			compressorsById[readCompressor.id() & 0xFF] = readCompressor;
+		}
+		compressorsById[compressor.id() & 0xFF] = compressor;
+		this.lazy = policy.lazyDecode;
+	}
+
+	public boolean isSelected(String binName) {
+		return binNames.contains(binName);
+	}
+
+	public Bin[] encode(Bin[] bins) {
+		Bin[] encoded = bins;
+		for (int i = 0; i < bins.length; i++) {
+			Value value = encode(bins[i].name, bins[i].value);
+			if (value != bins[i].value) {
+				if (encoded == bins) {
+					encoded = bins.clone();
+				}
+				encoded[i] = new Bin(bins[i].name, value);
+			}
+		}
+		return encoded;
+	}
+
+	/**
+	 * Compresses the values of write operations on selected bins.
+	 */
+	public Operation[] encode(Operation[] operations) {
+		Operation[] encoded = operations;
+		for (int i = 0; i < operations.length; i++) {
+			Operation operation = operations[i];
+			if (operation.type != Operation.Type.WRITE) {
+				continue;
+			}
+			Value value = encode(operation.binName, operation.value);
+			if (value != operation.value) {
+				if (encoded == operations) {
+					encoded = operations.clone();
+				}
+				encoded[i] = new Operation(Operation.Type.WRITE, operation.binName, value);
+			}
+		}
+		return encoded;
+	}
+
+	/**
+	 * Returns the compressed value, or the same instance when the bin is not selected,
+	 * the value is not a string or blob, is below the threshold or does not shrink.
+	 */
+	public Value encode(String binName, Value value) {
+		if (value == null || !binNames.contains(binName)) {
+			return value;
+		}
+		byte type;
+		byte[] data;
+		switch (value.getType()) {
+			case ParticleType.STRING:
+				type = TYPE_STRING;
+				data = ((String) value.getObject()).getBytes(StandardCharsets.UTF_8);
+				break;
+			case ParticleType.BLOB:
+				type = TYPE_BLOB;
+				data = (byte[]) value.getObject();
+				break;
+			default:
+				return value;
+		}
+		if (data.length < thresholdBytes) {
+			return value;
+		}
+		byte[] compressed = compressor.compress(data);
+		if (compressed.length + HEADER_SIZE >= data.length) {
+			return value;
+		}
+		byte[] result = new byte[HEADER_SIZE + compressed.length];
+		result[0] = MAGIC_0;
+		result[1] = MAGIC_1;
+		result[2] = compressor.id();
+		result[3] = type;
+		result[4] = (byte) (data.length >>> 24);
+		result[5] = (byte) (data.length >>> 16);
+		result[6] = (byte) (data.length >>> 8);
+		result[7] = (byte) data.length;
+		System.arraycopy(compressed, 0, result, HEADER_SIZE, compressed.length);
+		return Value.get(result);
+	}
+
+	/**
+	 * Returns a record with the selected bins decompressed, or the same instance when
+	 * nothing had to be decompressed. With {@link CompressionPolicy#lazyDecode} the bins
+	 * are decompressed only when read from the returned record.
+	 */
+	public Record decode(Record record) {
+		if (record == null || record.bins == null) {
+			return record;
+		}
+		if (lazy) {
+			for (Map.Entry<String, Object> bin : record.bins.entrySet()) {
+				if (binNames.contains(bin.getKey()) && isCompressed(bin.getValue())) {
+					return new Record(new LazyBins(record.bins, this), record.generation, record.expiration);
+				}
+			}
+			return record;
+		}
+		Map<String, Object> bins = null;
+		for (Map.Entry<String, Object> bin : record.bins.entrySet()) {
+			Object value = decode(bin.getKey(), bin.getValue());
+			if (value != bin.getValue()) {
+				if (bins == null) {
+					bins = new HashMap<>(record.bins);
+				}
+				bins.put(bin.getKey(), value);
+			}
+		}
+		return bins == null ? record : new Record(bins, record.generation, record.expiration);
+	}
+
+	/**
+	 * Returns the decompressed value of a selected bin, or the same instance when the value
+	 * does not carry the compression header.
+	 */
+	public Object decode(String binName, Object value) {
+		if (!binNames.contains(binName) || !isCompressed(value)) {
+			return value;
+		}
+		byte[] data = (byte[]) value;
+		BinCompressor decompressor = compressorsById[data[2] & 0xFF];
+		if (decompressor == null) {
+			throw new AerospikeException.Serialize("Bin " + binName
+					+ " is compressed with unknown compressor " + (data[2] & 0xFF));
+		}
+		int originalLength = (data[4] & 0xFF) << 24 | (data[5] & 0xFF) << 16
+				| (data[6] & 0xFF) << 8 | (data[7] & 0xFF);
+		if (originalLength < 0) {
+			throw new AerospikeException.Serialize("Bin " + binName + " has a corrupt compression header");
+		}
+		byte[] original = decompressor.decompress(data, HEADER_SIZE, data.length - HEADER_SIZE, originalLength);
+		return data[3] == TYPE_STRING ? new String(original, StandardCharsets.UTF_8) : original;
+	}
+
+	boolean isCompressed(Object value) {
+		if (!(value instanceof byte[])) {
+			return false;
+		}
+		byte[] data = (byte[]) value;
+		return data.length >= HEADER_SIZE && data[0] == MAGIC_0 && data[1] == MAGIC_1
+				&& (data[3] == TYPE_BLOB || data[3] == TYPE_STRING);
+	}
+}
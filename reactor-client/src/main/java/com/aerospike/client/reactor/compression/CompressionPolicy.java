@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.compression;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Configuration of {@link AerospikeReactorCompressionClient}.
+ * <p>
+ * Compression is opt-in per bin name, so bins shared with applications that are not
+ * aware of the compressed format are never rewritten.
+ */
+public class CompressionPolicy {
+
+	/**
+	 * Names of the bins whose string and blob values are compressed.
+	 */
+	public Set<String> binNames = new HashSet<>();
+
+	/**
+	 * Values shorter than this are stored as is.
+	 * <p>
+	 * Default: 1024 bytes
+	 */
+	public int thresholdBytes = 1024;
+
+	/**
+	 * Compressor used on write and for values it produced on read.
+	 * <p>
+	 * Default: {@link DeflateBinCompressor}
+	 */
+	public BinCompressor compressor = new DeflateBinCompressor();
+
+	/**
+	 * Additional compressors accepted on read, such as the previous compressor while
+	 * switching algorithms.
+	 * <p>
+	 * Default: none
+	 */
+	public BinCompressor[] readCompressors = new BinCompressor[0];
+
+	/**
+	 * Return records whose compressed bins are decompressed on first access instead of
+	 * when the record is received, saving the work for bins the caller never reads.
+	 * Such records have read-only bins.
+	 * <p>
+	 * Default: false
+	 */
+	public boolean lazyDecode;
+
+	public CompressionPolicy() {
+	}
+
+	public CompressionPolicy(String... binNames) {
+		this.binNames.addAll(Arrays.asList(binNames));
+	}
+
+	public CompressionPolicy(CompressionPolicy other) {
+		this.binNames = new HashSet<>(other.binNames);
+		this.thresholdBytes = other.thresholdBytes;
+		this.compressor = other.compressor;
+		this.readCompressors = other.readCompressors.clone();
+		this.lazyDecode = other.lazyDecode;
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.compression;
+
+import com.aerospike.client.AerospikeException;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * {@link BinCompressor} backed by {@link Deflater}, available on every JVM.
+ */
+public class DeflateBinCompressor implements BinCompressor {
+
+	public static final byte ID = 1;
+
+	private final int level;
+
+	public DeflateBinCompressor() {
+		this(Deflater.BEST_SPEED);
+	}
+
+	/**
+	 * @param level deflate level from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}
+	 */
+	public DeflateBinCompressor(int level) {
+		this.level = level;
+	}
+
+	@Override
+	public byte id() {
+		return ID;
+	}
+
+	@Override
+	public byte[] compress(byte[] data) {
+		Deflater deflater = new Deflater(level, true);
+		try {
+			deflater.setInput(data);
+			deflater.finish();
+			byte[] buffer = new byte[data.length + 64];
+			int length = 0;
+			while (!deflater.finished()) {
+				if (length == buffer.length) {
+					buffer = Arrays.copyOf(buffer, buffer.length * 2);
+				}
+				length += deflater.deflate(buffer, length, buffer.length - length);
+			}
+			return Arrays.copyOf(buffer, length);
+		} finally {
+			deflater.end();
+		}
+	}
+
+	@Override
+	public byte[] decompress(byte[] data, int offset, int length, int originalLength) {
+		Inflater inflater = new Inflater(true);
+		try {
+			inflater.setInput(data, offset, length);
+			byte[] result = new byte[originalLength];
+			int inflated = 0;
+			while (inflated < originalLength && !inflater.finished()) {
+				int n = inflater.inflate(result, inflated, originalLength - inflated);
+				if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				inflated += n;
+			}
+			if (inflated != originalLength) {
+				throw new AerospikeException.Serialize("Compressed bin is truncated: expected "
+						+ originalLength + " bytes, got " + inflated);
+			}
+			return result;
+		} catch (DataFormatException e) {
+			throw new AerospikeException.Serialize(e);
+		} finally {
+			inflater.end();
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.compression;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only bins of a record whose compressed values are decompressed on first access and
+ * kept for later ones. Lookups of other bins, size and key iteration never decompress.
+ * Concurrent reads are safe, each value is decompressed once.
+ */
+final class LazyBins extends AbstractMap<String, Object> {
+
+	private final Map<String, Object> stored;
+	private final CompressedBins compressedBins;
+	private final Map<String, Object> decoded = new ConcurrentHashMap<>();
+
+	LazyBins(Map<String, Object> stored, CompressedBins compressedBins) {
+		this.stored = stored;
+		this.compressedBins = compressedBins;
+	}
+
+	@Override
+	public Object get(Object binName) {
+		Object value = stored.get(binName);
+		if (!compressedBins.isCompressed(value)) {
+			return value;
+		}
+		return decoded.computeIfAbsent((String) binName, name -> compressedBins.decode(name, value));
+	}
+
+	@Override
+	public boolean containsKey(Object binName) {
+		return stored.containsKey(binName);
+	}
+
+	@Override
+	public int size() {
+		return stored.size();
+	}
+
+	@Override
+	public Set<String> keySet() {
+		return Collections.unmodifiableSet(stored.keySet());
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		return new AbstractSet<Entry<String, Object>>() {
+			@Override
+			public Iterator<Entry<String, Object>> iterator() {
+				Iterator<String> binNames = stored.keySet().iterator();
+				return new Iterator<Entry<String, Object>>() {
+					@Override
+					public boolean hasNext() {
+						return binNames.hasNext();
+					}
+
+					@Override
+					public Entry<String, Object> next() {
+						String binName = binNames.next();
+						return new SimpleImmutableEntry<>(binName, get(binName));
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return stored.size();
+			}
+		};
+	}
+}
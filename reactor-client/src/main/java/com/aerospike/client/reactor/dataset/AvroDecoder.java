@@ -0,0 +1,235 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Reads the Avro object container files written by {@link AvroEncoder}.
+ * Chunks are aligned on the sync markers between blocks; a chunk owns the blocks starting in it.
+ * Files with another schema or a compression codec are rejected.
+ */
+public class AvroDecoder implements RecordDecoder {
+
+	private volatile byte[] sync;
+
+	@Override
+	public int readHeader(ByteBuffer head) {
+		Reader reader = new Reader(head, head.position(), head.limit());
+		for (byte b : AvroEncoder.MAGIC) {
+			if (reader.readByte() != b) {
+				throw new IllegalArgumentException("Not an Avro object container file");
+			}
+		}
+		Map<String, String> metadata = new HashMap<>();
+		for (long count = reader.readLong(); count != 0; count = reader.readLong()) {
+			if (count < 0) {
+				count = -count;
+				reader.readLong();
+			}
+			for (long i = 0; i < count; i++) {
+				metadata.put(reader.readString(), reader.readString());
+			}
+		}
+		if (!AvroEncoder.SCHEMA.equals(metadata.get("avro.schema"))) {
+			throw new IllegalArgumentException("Unsupported Avro schema " + metadata.get("avro.schema"));
+		}
+		String codec = metadata.get("avro.codec");
+		if (codec != null && !codec.equals("null")) {
+			throw new IllegalArgumentException("Unsupported Avro codec " + codec);
+		}
+		byte[] marker = new byte[AvroEncoder.SYNC_SIZE];
+		for (int i = 0; i < marker.length; i++) {
+			marker[i] = reader.readByte();
+		}
+		sync = marker;
+		return reader.position;
+	}
+
+	@Override
+	public int lookBehind() {
+		return AvroEncoder.SYNC_SIZE;
+	}
+
+	@Override
+	public Iterator<DecodedRecord> records(ByteBuffer buffer, int start, int end, boolean aligned) {
+		return blocks(buffer, start, end, aligned, sync, Reader::readRecord);
+	}
+
+	/**
+	 * Iterates over the records of the sync delimited blocks starting in [start, end).
+	 */
+	static Iterator<DecodedRecord> blocks(ByteBuffer buffer, int start, int end, boolean aligned,
+										  byte[] sync, Function<Reader, DecodedRecord> decoder) {
+		int first = aligned ? start : afterSync(buffer, sync, start - sync.length);
+		Reader reader = new Reader(buffer, first, buffer.limit());
+		return new Iterator<DecodedRecord>() {
+			private long remaining;
+
+			@Override
+			public boolean hasNext() {
+				while (remaining == 0) {
+					if (reader.position >= end || reader.position >= buffer.limit()) {
+						return false;
+					}
+					remaining = reader.readLong();
+					reader.readLong();
+					if (remaining == 0) {
+						reader.expectSync(sync);
+					}
+				}
+				return true;
+			}
+
+			@Override
+			public DecodedRecord next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				remaining--;
+				DecodedRecord record = decoder.apply(reader);
+				if (remaining == 0) {
+					reader.expectSync(sync);
+				}
+				return record;
+			}
+		};
+	}
+
+	static int afterSync(ByteBuffer buffer, byte[] sync, int from) {
+		outer:
+		for (int i = Math.max(from, 0); i <= buffer.limit() - sync.length; i++) {
+			for (int j = 0; j < sync.length; j++) {
+				if (buffer.get(i + j) != sync[j]) {
+					continue outer;
+				}
+			}
+			return i + sync.length;
+		}
+		return buffer.limit();
+	}
+
+	/**
+	 * Avro binary decoding over absolute buffer indexes, shared with {@link BackupDecoder}.
+	 */
+	static final class Reader {
+		private final ByteBuffer buffer;
+		private final int limit;
+		int position;
+
+		Reader(ByteBuffer buffer, int position, int limit) {
+			this.buffer = buffer;
+			this.position = position;
+			this.limit = limit;
+		}
+
+		DecodedRecord readRecord() {
+			byte[] digest = readBytes();
+			Object userKey;
+			switch ((int) readLong()) {
+				case AvroEncoder.KEY_NULL: userKey = null; break;
+				case AvroEncoder.KEY_LONG: userKey = readLong(); break;
+				case AvroEncoder.KEY_STRING: userKey = readString(); break;
+				case AvroEncoder.KEY_BYTES: userKey = readBytes(); break;
+				default: throw new IllegalArgumentException("Invalid key type at offset " + position);
+			}
+			int generation = (int) readLong();
+			int expiration = (int) readLong();
+			Map<String, Object> bins = new HashMap<>();
+			for (long count = readLong(); count != 0; count = readLong()) {
+				if (count < 0) {
+					count = -count;
+					readLong();
+				}
+				for (long i = 0; i < count; i++) {
+					bins.put(readString(), readBin());
+				}
+			}
+			return new DecodedRecord(digest, userKey, generation, expiration, bins);
+		}
+
+		private Object readBin() {
+			switch ((int) readLong()) {
+				case AvroEncoder.BIN_NULL: return null;
+				case AvroEncoder.BIN_LONG: return readLong();
+				case AvroEncoder.BIN_DOUBLE: return readDouble();
+				case AvroEncoder.BIN_STRING: return readString();
+				case AvroEncoder.BIN_BYTES: return readBytes();
+				case AvroEncoder.BIN_BOOLEAN: return readByte() != 0;
+				default: throw new IllegalArgumentException("Invalid bin type at offset " + position);
+			}
+		}
+
+		void expectSync(byte[] sync) {
+			for (byte b : sync) {
+				if (readByte() != b) {
+					throw new IllegalArgumentException("Corrupt block before offset " + position);
+				}
+			}
+		}
+
+		byte readByte() {
+			if (position >= limit) {
+				throw new IllegalArgumentException("Unexpected end of data at offset " + position);
+			}
+			return buffer.get(position++);
+		}
+
+		long readLong() {
+			long n = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = readByte();
+				n |= (long) (b & 0x7F) << shift;
+				shift += 7;
+			} while ((b & 0x80) != 0);
+			return (n >>> 1) ^ -(n & 1);
+		}
+
+		double readDouble() {
+			long bits = 0;
+			for (int i = 0; i < 8; i++) {
+				bits |= (long) (readByte() & 0xFF) << (8 * i);
+			}
+			return Double.longBitsToDouble(bits);
+		}
+
+		byte[] readBytes() {
+			int length = (int) readLong();
+			if (length < 0 || position + length > limit) {
+				throw new IllegalArgumentException("Invalid length at offset " + position);
+			}
+			byte[] bytes = new byte[length];
+			ByteBuffer view = buffer.duplicate();
+			view.position(position);
+			view.get(bytes);
+			position += length;
+			return bytes;
+		}
+
+		String readString() {
+			return new String(readBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import com.aerospike.client.Record;
+import com.aerospike.client.query.KeyRecord;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes an Avro object container file without the Avro library.
+ * <p>
+ * Records use the fixed {@link #SCHEMA}: digest, optional user key, generation, expiration
+ * and a map of bins whose values are null, long, double, string, bytes or boolean.
+ * Lists and maps are written as JSON strings. Blocks are uncompressed.
+ */
+public class AvroEncoder implements RecordEncoder {
+
+	public static final String SCHEMA = "{\"type\":\"record\",\"name\":\"AerospikeRecord\","
+			+ "\"namespace\":\"com.aerospike.client.reactor.dataset\",\"fields\":["
+			+ "{\"name\":\"digest\",\"type\":\"bytes\"},"
+			+ "{\"name\":\"key\",\"type\":[\"null\",\"long\",\"string\",\"bytes\"]},"
+			+ "{\"name\":\"generation\",\"type\":\"int\"},"
+			+ "{\"name\":\"expiration\",\"type\":\"int\"},"
+			+ "{\"name\":\"bins\",\"type\":{\"type\":\"map\",\"values\":"
+			+ "[\"null\",\"long\",\"double\",\"string\",\"bytes\",\"boolean\"]}}]}";
+
+	static final byte[] MAGIC = {'O', 'b', 'j', 1};
+	static final int SYNC_SIZE = 16;
+
+	static final int KEY_NULL = 0;
+	static final int KEY_LONG = 1;
+	static final int KEY_STRING = 2;
+	static final int KEY_BYTES = 3;
+
+	static final int BIN_NULL = 0;
+	static final int BIN_LONG = 1;
+	static final int BIN_DOUBLE = 2;
+	static final int BIN_STRING = 3;
+	static final int BIN_BYTES = 4;
+	static final int BIN_BOOLEAN = 5;
+
+	private final int blockSize;
+	private final byte[] sync = new byte[SYNC_SIZE];
+	private final Buffer block = new Buffer(4096);
+	private final Buffer header = new Buffer(32);
+	private long blockCount;
+
+	public AvroEncoder() {
+		this(64 * 1024);
+	}
+
+	/**
+	 * @param blockSize uncompressed size in bytes after which a block is written out
+	 */
+	public AvroEncoder(int blockSize) {
+		this.blockSize = blockSize;
+		ThreadLocalRandom.current().nextBytes(sync);
+	}
+
+	@Override
+	public String extension() {
+		return "avro";
+	}
+
+	@Override
+	public void begin(ChannelOutput out) throws IOException {
+		Buffer metadata = new Buffer(SCHEMA.length() + 64);
+		metadata.write(MAGIC, 0, MAGIC.length);
+		metadata.writeLong(2);
+		metadata.writeString("avro.schema");
+		metadata.writeBytes(SCHEMA.getBytes(StandardCharsets.UTF_8));
+		metadata.writeString("avro.codec");
+		metadata.writeBytes("null".getBytes(StandardCharsets.UTF_8));
+		metadata.writeLong(0);
+		metadata.write(sync, 0, SYNC_SIZE);
+		out.write(metadata.bytes, 0, metadata.size);
+	}
+
+	@Override
+	public void encode(KeyRecord keyRecord, ChannelOutput out) throws IOException {
+		block.writeBytes(keyRecord.key.digest);
+		Object userKey = keyRecord.key.userKey == null ? null : keyRecord.key.userKey.getObject();
+		if (userKey == null) {
+			block.writeLong(KEY_NULL);
+		} else if (userKey instanceof Long || userKey instanceof Integer) {
+			block.writeLong(KEY_LONG);
+			block.writeLong(((Number) userKey).longValue());
+		} else if (userKey instanceof byte[]) {
+			block.writeLong(KEY_BYTES);
+			block.writeBytes((byte[]) userKey);
+		} else {
+			block.writeLong(KEY_STRING);
+			block.writeString(userKey.toString());
+		}
+		Record record = keyRecord.record;
+		block.writeLong(record == null ? 0 : record.generation);
+		block.writeLong(record == null ? 0 : record.expiration);
+		Map<String, Object> bins = record == null ? null : record.bins;
+		if (bins != null && !bins.isEmpty()) {
+			block.writeLong(bins.size());
+			for (Map.Entry<String, Object> bin : bins.entrySet()) {
+				block.writeString(bin.getKey());
+				writeBin(bin.getValue());
+			}
+		}
+		block.writeLong(0);
+		blockCount++;
+		if (block.size >= blockSize) {
+			writeBlock(out);
+		}
+	}
+
+	@Override
+	public void end(ChannelOutput out) throws IOException {
+		if (blockCount > 0) {
+			writeBlock(out);
+		}
+	}
+
+	private void writeBin(Object value) {
+		if (value == null) {
+			block.writeLong(BIN_NULL);
+		} else if (value instanceof Long || value instanceof Integer
+				|| value instanceof Short || value instanceof Byte) {
+			block.writeLong(BIN_LONG);
+			block.writeLong(((Number) value).longValue());
+		} else if (value instanceof Double || value instanceof Float) {
+			block.writeLong(BIN_DOUBLE);
+			block.writeDouble(((Number) value).doubleValue());
+		} else if (value instanceof byte[]) {
+			block.writeLong(BIN_BYTES);
+			block.writeBytes((byte[]) value);
+		} else if (value instanceof Boolean) {
+			block.writeLong(BIN_BOOLEAN);
+			block.write((Boolean) value ? 1 : 0);
+		} else if (value instanceof List || value instanceof Map) {
+			StringBuilder json = new StringBuilder();
+			Json.appendValue(json, value);
+			block.writeLong(BIN_STRING);
+			block.writeString(json.toString());
+		} else {
+			block.writeLong(BIN_STRING);
+			block.writeString(value.toString());
+		}
+	}
+
+	private void writeBlock(ChannelOutput out) throws IOException {
+		header.size = 0;
+		header.writeLong(blockCount);
+		header.writeLong(block.size);
+		out.write(header.bytes, 0, header.size);
+		out.write(block.bytes, 0, block.size);
+		out.write(sync);
+		block.size = 0;
+		blockCount = 0;
+	}
+
+	/**
+	 * Growable byte array with the Avro binary encoding primitives.
+	 */
+	static final class Buffer {
+		byte[] bytes;
+		int size;
+
+		Buffer(int capacity) {
+			this.bytes = new byte[capacity];
+		}
+
+		void write(int b) {
+			ensure(1);
+			bytes[size++] = (byte) b;
+		}
+
+		void write(byte[] source, int offset, int length) {
+			ensure(length);
+			System.arraycopy(source, offset, bytes, size, length);
+			size += length;
+		}
+
+		void writeLong(long value) {
+			ensure(10);
+			long n = (value << 1) ^ (value >> 63);
+			while ((n & ~0x7FL) != 0) {
+				bytes[size++] = (byte) ((n & 0x7F) | 0x80);
+				n >>>= 7;
+			}
+			bytes[size++] = (byte) n;
+		}
+
+		void writeDouble(double value) {
+			long bits = Double.doubleToRawLongBits(value);
+			ensure(8);
+			for (int i = 0; i < 8; i++) {
+				bytes[size++] = (byte) (bits >>> (8 * i));
+			}
+		}
+
+		void writeBytes(byte[] value) {
+			writeLong(value.length);
+			write(value, 0, value.length);
+		}
+
+		void writeString(String value) {
+			writeBytes(value.getBytes(StandardCharsets.UTF_8));
+		}
+
+		void ensure(int length) {
+			if (size + length > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+			}
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import com.aerospike.client.command.Buffer;
+import com.aerospike.client.command.ParticleType;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Reads the binary backup files written by {@link BackupEncoder}.
+ * Chunks are aligned on the sync markers between blocks; a chunk owns the blocks starting in it.
+ */
+public class BackupDecoder implements RecordDecoder {
+
+	private volatile byte[] sync;
+
+	@Override
+	public int readHeader(ByteBuffer head) {
+		AvroDecoder.Reader reader = new AvroDecoder.Reader(head, head.position(), head.limit());
+		for (byte b : BackupEncoder.MAGIC) {
+			if (reader.readByte() != b) {
+				throw new IllegalArgumentException("Not a backup file");
+			}
+		}
+		byte[] marker = new byte[AvroEncoder.SYNC_SIZE];
+		for (int i = 0; i < marker.length; i++) {
+			marker[i] = reader.readByte();
+		}
+		sync = marker;
+		return reader.position;
+	}
+
+	@Override
+	public int lookBehind() {
+		return AvroEncoder.SYNC_SIZE;
+	}
+
+	@Override
+	public Iterator<DecodedRecord> records(ByteBuffer buffer, int start, int end, boolean aligned) {
+		return AvroDecoder.blocks(buffer, start, end, aligned, sync, BackupDecoder::readRecord);
+	}
+
+	private static DecodedRecord readRecord(AvroDecoder.Reader reader) {
+		byte[] digest = reader.readBytes();
+		Object userKey = readValue(reader);
+		int generation = (int) reader.readLong();
+		int expiration = (int) reader.readLong();
+		int count = (int) reader.readLong();
+		Map<String, Object> bins = new HashMap<>(count * 2);
+		for (int i = 0; i < count; i++) {
+			bins.put(reader.readString(), readValue(reader));
+		}
+		return new DecodedRecord(digest, userKey, generation, expiration, bins);
+	}
+
+	private static Object readValue(AvroDecoder.Reader reader) {
+		int type = (int) reader.readLong();
+		if (type == ParticleType.NULL) {
+			return null;
+		}
+		byte[] bytes = reader.readBytes();
+		return Buffer.bytesToParticle(type, bytes, 0, bytes.length);
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import com.aerospike.client.Record;
+import com.aerospike.client.Value;
+import com.aerospike.client.command.ParticleType;
+import com.aerospike.client.query.KeyRecord;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes records in the compact binary backup format read by {@link BackupDecoder}.
+ * <p>
+ * The file starts with {@link #MAGIC} and a random sync marker, followed by blocks of
+ * records, each block being its record count, its byte size, the records and the sync
+ * marker. A record holds the digest, the user key, generation, expiration and the bins.
+ * Keys and bin values are stored as particle type and wire bytes, so every bin type,
+ * including lists, maps, blobs, GeoJSON and HyperLogLog, is restored as it was read.
+ * Integers and lengths are zigzag varints.
+ */
+public class BackupEncoder implements RecordEncoder {
+
+	static final byte[] MAGIC = {'A', 'S', 'B', 1};
+
+	private final int blockSize;
+	private final byte[] sync = new byte[AvroEncoder.SYNC_SIZE];
+	private final AvroEncoder.Buffer block = new AvroEncoder.Buffer(4096);
+	private final AvroEncoder.Buffer header = new AvroEncoder.Buffer(32);
+	private long blockCount;
+
+	public BackupEncoder() {
+		this(64 * 1024);
+	}
+
+	/**
+	 * @param blockSize size in bytes after which a block is written out
+	 */
+	public BackupEncoder(int blockSize) {
+		this.blockSize = blockSize;
+		ThreadLocalRandom.current().nextBytes(sync);
+	}
+
+	@Override
+	public String extension() {
+		return "asbk";
+	}
+
+	@Override
+	public void begin(ChannelOutput out) throws IOException {
+		out.write(MAGIC);
+		out.write(sync);
+	}
+
+	@Override
+	public void encode(KeyRecord keyRecord, ChannelOutput out) throws IOException {
+		block.writeBytes(keyRecord.key.digest);
+		writeValue(keyRecord.key.userKey);
+		Record record = keyRecord.record;
+		block.writeLong(record == null ? 0 : record.generation);
+		block.writeLong(record == null ? 0 : record.expiration);
+		Map<String, Object> bins = record == null ? null : record.bins;
+		if (bins == null) {
+			block.writeLong(0);
+		} else {
+			block.writeLong(bins.size());
+			for (Map.Entry<String, Object> bin : bins.entrySet()) {
+				block.writeString(bin.getKey());
+				writeValue(Value.get(bin.getValue()));
+			}
+		}
+		blockCount++;
+		if (block.size >= blockSize) {
+			writeBlock(out);
+		}
+	}
+
+	@Override
+	public void end(ChannelOutput out) throws IOException {
+		if (blockCount > 0) {
+			writeBlock(out);
+		}
+	}
+
+	private void writeValue(Value value) {
+		if (value == null || value.getType() == ParticleType.NULL) {
+			block.writeLong(ParticleType.NULL);
+			return;
+		}
+		int size = value.estimateSize();
+		block.writeLong(value.getType());
+		block.writeLong(size);
+		block.ensure(size);
+		block.size += value.write(block.bytes, block.size);
+	}
+
+	private void writeBlock(ChannelOutput out) throws IOException {
+		header.size = 0;
+		header.writeLong(blockCount);
+		header.writeLong(block.size);
+		out.write(header.bytes, 0, header.size);
+		out.write(block.bytes, 0, block.size);
+		out.write(sync);
+		block.size = 0;
+		blockCount = 0;
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes a stream of batch records with batch operate, keeping a bounded number of
+ * batches in flight. Failed records are reported in the progress stream instead of
+ * failing it, so a bulk load always runs to the end.
+ */
+public class BulkWriter {
+
+	private final IAerospikeReactorClient client;
+	private final BatchPolicy batchPolicy;
+	private final int batchSize;
+	private final int maxInFlightBatches;
+
+	/**
+	 * @param batchPolicy			batch policy, pass in null for defaults
+	 * @param batchSize				number of records per batch command
+	 * @param maxInFlightBatches	maximum number of concurrent batch commands
+	 */
+	public BulkWriter(IAerospikeReactorClient client, BatchPolicy batchPolicy, int batchSize, int maxInFlightBatches) {
+		this.client = client;
+		this.batchPolicy = batchPolicy;
+		this.batchSize = batchSize;
+		this.maxInFlightBatches = maxInFlightBatches;
+	}
+
+	/**
+	 * Writes the records and emits the progress after every batch, followed by a final
+	 * summary without batch records once the source completes.
+	 *
+	 * @param skipped	counter of source records the caller dropped, reported in the progress
+	 */
+	public Flux<ImportProgress> write(Flux<BatchRecord> records, AtomicLong skipped) {
+		return Flux.defer(() -> {
+			long start = System.nanoTime();
+			long[] totals = new long[2];
+			return records
+					.buffer(batchSize)
+					.flatMap(this::writeBatch, maxInFlightBatches)
+					.map(batch -> {
+						List<ImportFailure> failures = batch.failures;
+						totals[0] += batch.size - failures.size();
+						totals[1] += failures.size();
+						return new ImportProgress(batch.size, failures, totals[0], totals[1],
+								skipped.get(), System.nanoTime() - start);
+					})
+					.concatWith(Mono.fromCallable(() -> new ImportProgress(0, Collections.emptyList(),
+							totals[0], totals[1], skipped.get(), System.nanoTime() - start)));
+		});
+	}
+
+	private Mono<BatchOutcome> writeBatch(List<BatchRecord> batch) {
+		return client.operate(batchPolicy, batch)
+				.map(success -> new BatchOutcome(batch.size(), success
+						? Collections.<ImportFailure>emptyList() : failures(batch)))
+				.onErrorResume(error -> Mono.just(new BatchOutcome(batch.size(), failures(batch,
+						error instanceof AerospikeException
+								? ((AerospikeException) error).getResultCode() : ResultCode.CLIENT_ERROR))));
+	}
+
+	private static List<ImportFailure> failures(List<BatchRecord> batch) {
+		List<ImportFailure> failures = new ArrayList<>();
+		for (BatchRecord record : batch) {
+			if (record.resultCode != ResultCode.OK) {
+				failures.add(new ImportFailure(record.key, record.resultCode));
+			}
+		}
+		return failures;
+	}
+
+	private static List<ImportFailure> failures(List<BatchRecord> batch, int resultCode) {
+		List<ImportFailure> failures = new ArrayList<>(batch.size());
+		for (BatchRecord record : batch) {
+			failures.add(new ImportFailure(record.key, resultCode));
+		}
+		return failures;
+	}
+
+	private static final class BatchOutcome {
+		final int size;
+		final List<ImportFailure> failures;
+
+		BatchOutcome(int size, List<ImportFailure> failures) {
+			this.size = size;
+			this.failures = failures;
+		}
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Buffered sequential writer over a {@link FileChannel}.
+ * Bytes are collected in a direct buffer and handed to the channel only when it is full,
+ * so the disk sees large writes without an extra heap copy.
+ * <p>
+ * Not thread safe.
+ */
+public final class ChannelOutput implements Closeable {
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private long position;
+	private boolean closed;
+
+	public ChannelOutput(FileChannel channel, int bufferSize) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocateDirect(bufferSize);
+	}
+
+	/**
+	 * Creates or truncates the file.
+	 */
+	public static ChannelOutput create(Path file, int bufferSize) throws IOException {
+		return new ChannelOutput(FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), bufferSize);
+	}
+
+	public void write(int b) throws IOException {
+		if (!buffer.hasRemaining()) {
+			drain();
+		}
+		buffer.put((byte) b);
+		position++;
+	}
+
+	public void write(byte[] bytes) throws IOException {
+		write(bytes, 0, bytes.length);
+	}
+
+	public void write(byte[] bytes, int offset, int length) throws IOException {
+		position += length;
+		while (length > 0) {
+			if (!buffer.hasRemaining()) {
+				drain();
+			}
+			int n = Math.min(length, buffer.remaining());
+			buffer.put(bytes, offset, n);
+			offset += n;
+			length -= n;
+		}
+	}
+
+	public void writeUtf8(CharSequence text) throws IOException {
+		write(text.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Number of bytes written so far, including buffered ones.
+	 */
+	public long position() {
+		return position;
+	}
+
+	public void flush() throws IOException {
+		drain();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			drain();
+		} finally {
+			channel.close();
+		}
+	}
+
+	private void drain() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+}
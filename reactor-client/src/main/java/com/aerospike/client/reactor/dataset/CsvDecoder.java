@@ -0,0 +1,154 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Reads RFC 4180 CSV with a header row, such as the files written by {@link CsvEncoder}.
+ * <p>
+ * The digest, key, generation and expiration columns are optional, every other column is a bin.
+ * Empty fields are skipped. Values are typed by their text: integers become longs, decimals
+ * doubles, {@code true}/{@code false} booleans and JSON arrays or objects lists and maps;
+ * everything else is a string.
+ * <p>
+ * Chunks are aligned on line breaks, so quoted fields containing line breaks are only
+ * supported when the file is decoded as a single chunk.
+ */
+public class CsvDecoder extends LineDecoder {
+
+	private static final Pattern INTEGER = Pattern.compile("-?\\d{1,18}");
+	private static final Pattern DECIMAL = Pattern.compile("-?\\d+(\\.\\d+)?([eE][-+]?\\d+)?");
+
+	private volatile String[] columns;
+
+	@Override
+	public int readHeader(ByteBuffer head) {
+		List<String> header = new ArrayList<>();
+		int position = parseFields(head, head.position(), head.limit(), header);
+		columns = header.toArray(new String[0]);
+		return position;
+	}
+
+	@Override
+	int decode(ByteBuffer buffer, int begin, int limit, DecodedRecord[] out) {
+		String[] columns = this.columns;
+		List<String> fields = new ArrayList<>(columns.length);
+		int position = parseFields(buffer, begin, limit, fields);
+		byte[] digest = null;
+		Object userKey = null;
+		int generation = 0;
+		int expiration = 0;
+		Map<String, Object> bins = new HashMap<>();
+		for (int i = 0; i < columns.length && i < fields.size(); i++) {
+			String field = fields.get(i);
+			if (field.isEmpty()) {
+				continue;
+			}
+			switch (columns[i]) {
+				case "digest":
+					digest = Base64.getDecoder().decode(field);
+					break;
+				case "key":
+					userKey = INTEGER.matcher(field).matches() ? (Object) Long.parseLong(field) : field;
+					break;
+				case "generation":
+					generation = Integer.parseInt(field);
+					break;
+				case "expiration":
+					expiration = Integer.parseInt(field);
+					break;
+				default:
+					bins.put(columns[i], value(field));
+			}
+		}
+		out[0] = new DecodedRecord(digest, userKey, generation, expiration, bins);
+		return position;
+	}
+
+	static Object value(String field) {
+		if (INTEGER.matcher(field).matches()) {
+			return Long.parseLong(field);
+		}
+		if (DECIMAL.matcher(field).matches()) {
+			return Double.parseDouble(field);
+		}
+		if (field.equals("true") || field.equals("false")) {
+			return Boolean.valueOf(field);
+		}
+		char first = field.charAt(0);
+		if (first == '[' || first == '{') {
+			byte[] json = field.getBytes(StandardCharsets.UTF_8);
+			try {
+				JsonParser parser = new JsonParser(ByteBuffer.wrap(json), 0, json.length);
+				Object value = parser.parseValue();
+				parser.skipWhitespace();
+				if (parser.position() == json.length) {
+					return value;
+				}
+			} catch (IllegalArgumentException ignored) {
+				// Not JSON, keep the text.
+			}
+		}
+		return field;
+	}
+
+	/**
+	 * Parses one record into fields and returns the index after its line break.
+	 */
+	private static int parseFields(ByteBuffer buffer, int position, int limit, List<String> fields) {
+		ByteArrayOutputStream field = new ByteArrayOutputStream();
+		boolean quoted = false;
+		boolean wasQuoted = false;
+		while (position < limit) {
+			byte b = buffer.get(position++);
+			if (quoted) {
+				if (b == '"') {
+					if (position < limit && buffer.get(position) == '"') {
+						field.write('"');
+						position++;
+					} else {
+						quoted = false;
+					}
+				} else {
+					field.write(b);
+				}
+			} else if (b == '"' && field.size() == 0 && !wasQuoted) {
+				quoted = true;
+				wasQuoted = true;
+			} else if (b == ',') {
+				fields.add(new String(field.toByteArray(), StandardCharsets.UTF_8));
+				field.reset();
+				wasQuoted = false;
+			} else if (b == '\n') {
+				break;
+			} else if (b != '\r') {
+				field.write(b);
+			}
+		}
+		fields.add(new String(field.toByteArray(), StandardCharsets.UTF_8));
+		return position;
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import com.aerospike.client.query.KeyRecord;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes RFC 4180 CSV with a header row. The columns are the digest, user key, generation and
+ * expiration followed by the given bins, so the bin names have to be known up front.
+ * Lists and maps are written as JSON, blobs as base64 and missing bins as empty fields.
+ */
+public class CsvEncoder implements RecordEncoder {
+
+	static final String[] RECORD_COLUMNS = {"digest", "key", "generation", "expiration"};
+
+	private final String[] binNames;
+	private final StringBuilder line = new StringBuilder(256);
+
+	public CsvEncoder(String... binNames) {
+		this.binNames = binNames.clone();
+	}
+
+	@Override
+	public String extension() {
+		return "csv";
+	}
+
+	@Override
+	public void begin(ChannelOutput out) throws IOException {
+		line.setLength(0);
+		for (String column : RECORD_COLUMNS) {
+			appendField(line, column);
+			line.append(',');
+		}
+		for (String binName : binNames) {
+			appendField(line, binName);
+			line.append(',');
+		}
+		line.setLength(line.length() - 1);
+		line.append("\r\n");
+		out.writeUtf8(line);
+	}
+
+	@Override
+	public void encode(KeyRecord record, ChannelOutput out) throws IOException {
+		line.setLength(0);
+		line.append(Base64.getEncoder().encodeToString(record.key.digest)).append(',');
+		if (record.key.userKey != null) {
+			appendValue(line, record.key.userKey.getObject());
+		}
+		line.append(',');
+		if (record.record != null) {
+			line.append(record.record.generation).append(',').append(record.record.expiration);
+		} else {
+			line.append(',');
+		}
+		for (String binName : binNames) {
+			line.append(',');
+			if (record.record != null && record.record.bins != null) {
+				appendValue(line, record.record.bins.get(binName));
+			}
+		}
+		line.append("\r\n");
+		out.writeUtf8(line);
+	}
+
+	@Override
+	public void end(ChannelOutput out) {
+	}
+
+	private static void appendValue(StringBuilder line, Object value) {
+		if (value == null) {
+			return;
+		}
+		if (value instanceof byte[]) {
+			line.append(Base64.getEncoder().encodeToString((byte[]) value));
+		} else if (value instanceof List || value instanceof Map) {
+			StringBuilder json = new StringBuilder();
+			Json.appendValue(json, value);
+			appendField(line, json.toString());
+		} else {
+			appendField(line, value.toString());
+		}
+	}
+
+	private static void appendField(StringBuilder line, String value) {
+		boolean quote = false;
+		for (int i = 0; i < value.length() && !quote; i++) {
+			char c = value.charAt(i);
+			quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+		}
+		if (!quote) {
+			line.append(value);
+			return;
+		}
+		line.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"') {
+				line.append('"');
+			}
+			line.append(c);
+		}
+		line.append('"');
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Backs sets up into binary files, one per partition range, and restores them.
+ * <p>
+ * Backups scan the partition ranges in parallel through {@link DatasetExporter} and write
+ * them with {@link BackupEncoder}. Restores decode all files of a set in parallel through
+ * {@link DatasetImporter} and write them with batch operate, keeping the remaining TTL of
+ * every record and, by default, skipping records changed since the backup.
+ */
+public class DatasetBackup {
+
+	private final DatasetExporter exporter;
+	private final DatasetImporter importer;
+
+	/**
+	 * Uses the default policies, restoring with {@link ImportPolicy#preserveGeneration}.
+	 */
+	public DatasetBackup(IAerospikeReactorClient client) {
+		this(client, new ExportPolicy(), restorePolicy());
+	}
+
+	public DatasetBackup(IAerospikeReactorClient client, ExportPolicy backupPolicy, ImportPolicy restorePolicy) {
+		this.exporter = new DatasetExporter(client, backupPolicy);
+		this.importer = new DatasetImporter(client, restorePolicy);
+	}
+
+	/**
+	 * Backs a set up into {@code files} files in the directory, each covering a contiguous
+	 * partition range, named {@code <namespace>-<set>-<begin>-<count>.asbk}.
+	 *
+	 * @param binNames				bins to back up, all bins if not specified
+	 */
+	public Flux<ExportedFile> backup(String namespace, String setName, Path directory, int files,
+									 String... binNames) {
+		return exporter.exportPartitions(namespace, setName, directory, files, BackupEncoder::new, binNames);
+	}
+
+	/**
+	 * Restores the backup files of a set found in the directory.
+	 */
+	public Flux<ImportProgress> restore(Path directory, String namespace, String setName) {
+		return Mono.fromCallable(() -> files(directory, namespace, setName))
+				.flatMapMany(files -> restore(files, namespace, setName));
+	}
+
+	/**
+	 * Restores the backup files into a set, which may differ from the one backed up.
+	 */
+	public Flux<ImportProgress> restore(List<Path> files, String namespace, String setName) {
+		return importer.importFiles(files, BackupDecoder::new, namespace, setName);
+	}
+
+	private static List<Path> files(Path directory, String namespace, String setName) throws IOException {
+		Pattern name = Pattern.compile(Pattern.quote(namespace + "-" + (setName == null ? "" : setName))
+				+ "-\\d+-\\d+\\.asbk");
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+				file -> name.matcher(file.getFileName().toString()).matches())) {
+			stream.forEach(files::add);
+		}
+		return files;
+	}
+
+	private static ImportPolicy restorePolicy() {
+		ImportPolicy policy = new ImportPolicy();
+		policy.preserveGeneration = true;
+		return policy;
+	}
+}
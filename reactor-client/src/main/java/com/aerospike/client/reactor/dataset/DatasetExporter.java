@@ -0,0 +1,149 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import com.aerospike.client.policy.ScanPolicy;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
+import com.aerospike.client.query.Statement;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.partition.Partitions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * Streams sets and query results into files.
+ * <p>
+ * Records are read in pages through partition scans or queries and written through a
+ * {@link ChannelOutput} on the configured scheduler. A page is requested only after the
+ * previous one was written, so memory use depends on the page size, not on the data set.
+ */
+public class DatasetExporter {
+
+	/**
+	 * Number of data partitions of an Aerospike namespace.
+	 */
+	public static final int PARTITIONS = Partitions.COUNT;
+
+	private final IAerospikeReactorClient client;
+	private final ExportPolicy policy;
+
+	public DatasetExporter(IAerospikeReactorClient client) {
+		this(client, new ExportPolicy());
+	}
+
+	public DatasetExporter(IAerospikeReactorClient client, ExportPolicy policy) {
+		this.client = client;
+		this.policy = new ExportPolicy(policy);
+	}
+
+	/**
+	 * Exports a whole set into a single file.
+	 *
+	 * @param binNames				bins to export, all bins if not specified
+	 */
+	public Mono<ExportedFile> exportSet(String namespace, String setName, Path file,
+										RecordEncoder encoder, String... binNames) {
+		return write(file, encoder, scan(PartitionFilter::all, namespace, setName, binNames), 0, PARTITIONS);
+	}
+
+	/**
+	 * Exports the query results into a single file. The statement is left unchanged, pages
+	 * are read through a copy with maxRecords set to the page size.
+	 */
+	public Mono<ExportedFile> exportQuery(Statement statement, Path file, RecordEncoder encoder) {
+		return write(file, encoder,
+				Partitions.query(client, policy.queryPolicy, statement, policy.pageSize, PartitionFilter::all),
+				0, PARTITIONS);
+	}
+
+	/**
+	 * Exports a set into {@code files} files, each covering a contiguous partition range,
+	 * written in parallel up to the policy parallelism. Files are named
+	 * {@code <namespace>-<set>-<begin>-<count>.<extension>} inside the directory.
+	 *
+	 * @param encoders				creates the encoder of each file
+	 * @param binNames				bins to export, all bins if not specified
+	 */
+	public Flux<ExportedFile> exportPartitions(String namespace, String setName, Path directory, int files,
+											   Supplier<? extends RecordEncoder> encoders, String... binNames) {
+		if (files < 1 || files > PARTITIONS) {
+			return Flux.error(new IllegalArgumentException("files must be between 1 and " + PARTITIONS));
+		}
+		return Flux.range(0, files)
+				.flatMap(i -> {
+					int begin = Partitions.begin(i, files);
+					int count = Partitions.count(i, files);
+					RecordEncoder encoder = encoders.get();
+					Path file = directory.resolve(namespace + "-" + (setName == null ? "" : setName)
+							+ "-" + begin + "-" + count + "." + encoder.extension());
+					return write(file, encoder,
+							scan(() -> Partitions.range(i, files), namespace, setName, binNames), begin, count);
+				}, policy.parallelism);
+	}
+
+	private Flux<KeyRecord> scan(Supplier<PartitionFilter> filters, String namespace, String setName,
+								 String[] binNames) {
+		ScanPolicy scanPolicy = new ScanPolicy(policy.scanPolicy != null
+				? policy.scanPolicy : client.getScanPolicyDefault());
+		scanPolicy.maxRecords = policy.pageSize;
+		return Partitions.scan(client, scanPolicy, filters, namespace, setName, binNames);
+	}
+
+	private Mono<ExportedFile> write(Path file, RecordEncoder encoder, Flux<KeyRecord> records,
+									 int partitionBegin, int partitionCount) {
+		return Mono.using(
+				() -> ChannelOutput.create(file, policy.bufferSize),
+				out -> Mono.fromCallable(() -> {
+							encoder.begin(out);
+							return out;
+						})
+						.subscribeOn(policy.scheduler)
+						.thenMany(records.publishOn(policy.scheduler))
+						.doOnNext(record -> encode(encoder, record, out))
+						.count()
+						.map(count -> {
+							try {
+								encoder.end(out);
+								out.flush();
+							} catch (IOException e) {
+								throw new UncheckedIOException(e);
+							}
+							return new ExportedFile(file, partitionBegin, partitionCount, count, out.position());
+						}),
+				out -> {
+					try {
+						out.close();
+					} catch (IOException ignored) {
+						// The export already failed or completed, nothing left to report to.
+					}
+				});
+	}
+
+	private static void encode(RecordEncoder encoder, KeyRecord record, ChannelOutput out) {
+		try {
+			encoder.encode(record, out);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.BatchWrite;
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.Operation;
+import com.aerospike.client.Value;
+import com.aerospike.client.policy.BatchWritePolicy;
+import com.aerospike.client.policy.GenerationPolicy;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Loads files written by {@link DatasetExporter}, or any file in the same formats, into a set.
+ * <p>
+ * The file is memory mapped and split into chunks of {@link ImportPolicy#chunkSize} bytes
+ * decoded in parallel. Each chunk owns the records starting inside it: the decoder finds
+ * the first record boundary from a few bytes before the chunk start and reads the last
+ * record past the chunk end. Decoded records are written with batch operate, with a
+ * bounded number of batches in flight, so decoding slows down to the write throughput.
+ */
+public class DatasetImporter {
+
+	private final IAerospikeReactorClient client;
+	private final ImportPolicy policy;
+
+	public DatasetImporter(IAerospikeReactorClient client) {
+		this(client, new ImportPolicy());
+	}
+
+	public DatasetImporter(IAerospikeReactorClient client, ImportPolicy policy) {
+		this.client = client;
+		this.policy = new ImportPolicy(policy);
+	}
+
+	/**
+	 * Imports the file into the set and emits the progress after every batch, the last
+	 * item holding the totals. Records keep their digest when the file has no user key,
+	 * otherwise the user key is stored with {@link ImportPolicy#preserveUserKey}.
+	 * Expired records and records without key or bins are skipped.
+	 *
+	 * @param setName				target set, null for the namespace's null set
+	 */
+	public Flux<ImportProgress> importFile(Path file, RecordDecoder decoder, String namespace, String setName) {
+		return importFiles(Collections.singletonList(file), () -> decoder, namespace, setName);
+	}
+
+	/**
+	 * Imports the files into the set, decoding up to the policy parallelism files at a time,
+	 * and reports the progress of all of them together, like {@link #importFile}.
+	 *
+	 * @param decoders				creates the decoder of each file
+	 * @param setName				target set, null for the namespace's null set
+	 */
+	public Flux<ImportProgress> importFiles(List<Path> files, Supplier<? extends RecordDecoder> decoders,
+											String namespace, String setName) {
+		return Flux.defer(() -> {
+			AtomicLong skipped = new AtomicLong();
+			BulkWriter writer = new BulkWriter(client, policy.batchPolicy,
+					policy.batchSize, policy.maxInFlightBatches);
+			return writer.write(Flux.fromIterable(files)
+					.flatMap(file -> decode(file, decoders.get()), policy.parallelism)
+					.<BatchRecord>handle((record, sink) -> {
+						BatchRecord write = toWrite(record, namespace, setName);
+						if (write != null) {
+							sink.next(write);
+						} else {
+							skipped.incrementAndGet();
+						}
+					}), skipped);
+		});
+	}
+
+	private Flux<DecodedRecord> decode(Path file, RecordDecoder decoder) {
+		if ((long) policy.chunkSize + policy.maxRecordSize + decoder.lookBehind() > Integer.MAX_VALUE) {
+			return Flux.error(new IllegalArgumentException("chunkSize + maxRecordSize must be below 2GB"));
+		}
+		return Flux.using(
+				() -> FileChannel.open(file, StandardOpenOption.READ),
+				channel -> decode(channel, decoder),
+				channel -> {
+					try {
+						channel.close();
+					} catch (IOException ignored) {
+						// Nothing was written through the channel.
+					}
+				});
+	}
+
+	private Flux<DecodedRecord> decode(FileChannel channel, RecordDecoder decoder) {
+		return Mono.fromCallable(channel::size).flatMapMany(size -> {
+			long first = decoder.readHeader(map(channel, 0, Math.min(size, policy.maxRecordSize)));
+			long chunks = (size - first + policy.chunkSize - 1) / policy.chunkSize;
+			return Flux.range(0, (int) chunks)
+					.flatMapSequential(i -> Flux.defer(() -> {
+						long start = first + (long) i * policy.chunkSize;
+						long end = Math.min(size, start + policy.chunkSize);
+						long mapStart = i == 0 ? start : start - decoder.lookBehind();
+						long mapEnd = Math.min(size, end + policy.maxRecordSize);
+						ByteBuffer buffer = map(channel, mapStart, mapEnd - mapStart);
+						return Flux.fromIterable(() -> decoder.records(buffer,
+								(int) (start - mapStart), (int) (end - mapStart), i == 0));
+					}).subscribeOn(policy.scheduler), policy.parallelism);
+		});
+	}
+
+	private static ByteBuffer map(FileChannel channel, long position, long size) {
+		try {
+			return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private BatchRecord toWrite(DecodedRecord record, String namespace, String setName) {
+		long now = System.currentTimeMillis();
+		if (policy.preserveExpiration && Expirations.isExpired(record.expiration, now)) {
+			return null;
+		}
+		Key key;
+		if (record.userKey != null) {
+			key = new Key(namespace, setName, Value.get(record.userKey));
+		} else if (record.digest != null) {
+			key = new Key(namespace, record.digest, setName, null);
+		} else {
+			return null;
+		}
+		List<Operation> operations = new ArrayList<>(record.bins.size());
+		for (Map.Entry<String, Object> bin : record.bins.entrySet()) {
+			if (bin.getValue() != null) {
+				operations.add(Operation.put(new Bin(bin.getKey(), bin.getValue())));
+			}
+		}
+		if (operations.isEmpty()) {
+			return null;
+		}
+		BatchWritePolicy writePolicy = policy.writePolicy;
+		boolean sendKey = policy.preserveUserKey && record.userKey != null
+				&& (writePolicy == null || !writePolicy.sendKey);
+		if (policy.preserveExpiration || policy.preserveGeneration || sendKey) {
+			writePolicy = writePolicy != null ? new BatchWritePolicy(writePolicy) : new BatchWritePolicy();
+			if (sendKey) {
+				writePolicy.sendKey = true;
+			}
+			if (policy.preserveExpiration) {
+				writePolicy.expiration = Expirations.ttl(record.expiration, now);
+			}
+			if (policy.preserveGeneration) {
+				writePolicy.generationPolicy = GenerationPolicy.EXPECT_GEN_GT;
+				writePolicy.generation = record.generation;
+			}
+		}
+		return new BatchWrite(writePolicy, key, operations.toArray(new Operation[0]));
+	}
+}
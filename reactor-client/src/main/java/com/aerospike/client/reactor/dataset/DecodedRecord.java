@@ -0,0 +1,52 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import java.util.Map;
+
+/**
+ * Record read from an exported file. Namespace and set are chosen by the importer.
+ */
+public final class DecodedRecord {
+
+	/**
+	 * Digest of the original key, may be null when the file only stores user keys.
+	 */
+	public final byte[] digest;
+
+	/**
+	 * Original user key, or null when it was not stored.
+	 */
+	public final Object userKey;
+
+	public final int generation;
+
+	/**
+	 * Expiration in seconds since 2010-01-01 UTC, zero when the record never expires.
+	 */
+	public final int expiration;
+
+	public final Map<String, Object> bins;
+
+	public DecodedRecord(byte[] digest, Object userKey, int generation, int expiration, Map<String, Object> bins) {
+		this.digest = digest;
+		this.userKey = userKey;
+		this.generation = generation;
+		this.expiration = expiration;
+		this.bins = bins;
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+/**
+ * Conversions between record expirations, stored as seconds since 2010-01-01 UTC,
+ * and the relative TTLs expected by write policies.
+ */
+public final class Expirations {
+
+	/**
+	 * 2010-01-01 UTC in seconds since the Unix epoch.
+	 */
+	public static final long CITRUSLEAF_EPOCH = 1262304000L;
+
+	private Expirations() {
+	}
+
+	/**
+	 * TTL in seconds that reproduces the expiration, -1 when the record never expires.
+	 * Already passed expirations yield 0 and should be checked with {@link #isExpired}.
+	 */
+	public static int ttl(int expiration, long nowMillis) {
+		if (expiration == 0) {
+			return -1;
+		}
+		long remaining = (expiration & 0xFFFFFFFFL) - (nowMillis / 1000 - CITRUSLEAF_EPOCH);
+		return (int) Math.max(0, Math.min(remaining, Integer.MAX_VALUE));
+	}
+
+	public static boolean isExpired(int expiration, long nowMillis) {
+		return expiration != 0 && ttl(expiration, nowMillis) == 0;
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.policy.ScanPolicy;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Configuration of {@link DatasetExporter}.
+ */
+public class ExportPolicy {
+
+	/**
+	 * Scan policy, null for the client default. Its maxRecords is overridden by pageSize.
+	 */
+	public ScanPolicy scanPolicy;
+
+	/**
+	 * Query policy, null for the client default.
+	 */
+	public QueryPolicy queryPolicy;
+
+	/**
+	 * Number of records requested per scan or query page. The next page is requested only
+	 * after the previous one was written, which bounds the records held in memory.
+	 * Zero reads every partition in a single command.
+	 * <p>
+	 * Default: 10000
+	 */
+	public long pageSize = 10_000;
+
+	/**
+	 * Size of the direct buffer in front of each file.
+	 * <p>
+	 * Default: 4MB
+	 */
+	public int bufferSize = 4 * 1024 * 1024;
+
+	/**
+	 * Maximum number of files written concurrently by partition exports.
+	 * <p>
+	 * Default: number of available processors
+	 */
+	public int parallelism = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Scheduler the encoders and file writes run on, keeping blocking I/O off the event loops.
+	 * <p>
+	 * Default: {@link Schedulers#boundedElastic()}
+	 */
+	public Scheduler scheduler = Schedulers.boundedElastic();
+
+	public ExportPolicy() {
+	}
+
+	public ExportPolicy(ExportPolicy other) {
+		this.scanPolicy = other.scanPolicy;
+		this.queryPolicy = other.queryPolicy;
+		this.pageSize = other.pageSize;
+		this.bufferSize = other.bufferSize;
+		this.parallelism = other.parallelism;
+		this.scheduler = other.scheduler;
+	}
+}
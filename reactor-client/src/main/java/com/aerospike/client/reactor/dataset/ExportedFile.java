@@ -0,0 +1,55 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import java.nio.file.Path;
+
+/**
+ * Summary of a file written by {@link DatasetExporter}.
+ */
+public final class ExportedFile {
+
+	public final Path path;
+
+	/**
+	 * First partition covered by the file.
+	 */
+	public final int partitionBegin;
+
+	/**
+	 * Number of partitions covered by the file.
+	 */
+	public final int partitionCount;
+
+	public final long records;
+
+	public final long bytes;
+
+	public ExportedFile(Path path, int partitionBegin, int partitionCount, long records, long bytes) {
+		this.path = path;
+		this.partitionBegin = partitionBegin;
+		this.partitionCount = partitionCount;
+		this.records = records;
+		this.bytes = bytes;
+	}
+
+	@Override
+	public String toString() {
+		return "ExportedFile{path=" + path + ", partitions=" + partitionBegin + "+" + partitionCount
+				+ ", records=" + records + ", bytes=" + bytes + '}';
+	}
+}
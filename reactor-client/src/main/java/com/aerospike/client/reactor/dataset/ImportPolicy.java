@@ -0,0 +1,125 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.policy.BatchWritePolicy;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Configuration of {@link DatasetImporter}.
+ */
+public class ImportPolicy {
+
+	/**
+	 * Number of file bytes decoded by one task. Chunks are decoded in parallel.
+	 * <p>
+	 * Default: 64MB
+	 */
+	public int chunkSize = 64 * 1024 * 1024;
+
+	/**
+	 * Largest encoded record. Each chunk mapping extends this far past the chunk end
+	 * so the last record of the chunk can be completed.
+	 * <p>
+	 * Default: 16MB
+	 */
+	public int maxRecordSize = 16 * 1024 * 1024;
+
+	/**
+	 * Maximum number of chunks decoded concurrently.
+	 * <p>
+	 * Default: number of available processors
+	 */
+	public int parallelism = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Number of records per batch command.
+	 * <p>
+	 * Default: 100
+	 */
+	public int batchSize = 100;
+
+	/**
+	 * Maximum number of concurrent batch commands.
+	 * <p>
+	 * Default: 16
+	 */
+	public int maxInFlightBatches = 16;
+
+	/**
+	 * Batch policy, null for the client default.
+	 */
+	public BatchPolicy batchPolicy;
+
+	/**
+	 * Policy of every record write, null for defaults. Its expiration is replaced by
+	 * the remaining TTL of the source record when preserveExpiration is set.
+	 */
+	public BatchWritePolicy writePolicy;
+
+	/**
+	 * Whether records keep their original expiration. Records already expired are skipped.
+	 * <p>
+	 * Default: true
+	 */
+	public boolean preserveExpiration = true;
+
+	/**
+	 * Whether a record is only written when its source generation is greater than the
+	 * generation of the stored record, with {@link com.aerospike.client.policy.GenerationPolicy#EXPECT_GEN_GT}.
+	 * Records changed since they were exported are then kept and reported as failed with
+	 * {@link com.aerospike.client.ResultCode#GENERATION_ERROR}. The server assigns its
+	 * own generation to the written records.
+	 * <p>
+	 * Default: false
+	 */
+	public boolean preserveGeneration;
+
+	/**
+	 * Whether records read with a user key are written with {@link BatchWritePolicy#sendKey},
+	 * so the restored records store their user key again.
+	 * <p>
+	 * Default: true
+	 */
+	public boolean preserveUserKey = true;
+
+	/**
+	 * Scheduler the chunks are decoded on.
+	 * <p>
+	 * Default: {@link Schedulers#parallel()}
+	 */
+	public Scheduler scheduler = Schedulers.parallel();
+
+	public ImportPolicy() {
+	}
+
+	public ImportPolicy(ImportPolicy other) {
+		this.chunkSize = other.chunkSize;
+		this.maxRecordSize = other.maxRecordSize;
+		this.parallelism = other.parallelism;
+		this.batchSize = other.batchSize;
+		this.maxInFlightBatches = other.maxInFlightBatches;
+		this.batchPolicy = other.batchPolicy;
+		this.writePolicy = other.writePolicy;
+		this.preserveExpiration = other.preserveExpiration;
+		this.preserveGeneration = other.preserveGeneration;
+		this.preserveUserKey = other.preserveUserKey;
+		this.scheduler = other.scheduler;
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Progress emitted after every batch written by {@link BulkWriter}.
+ */
+public final class ImportProgress {
+
+	/**
+	 * Number of records in the batch.
+	 */
+	public final int batchRecords;
+
+	/**
+	 * Records of the batch that failed.
+	 */
+	public final List<ImportFailure> batchFailures;
+
+	/**
+	 * Records written successfully so far.
+	 */
+	public final long records;
+
+	/**
+	 * Records failed so far.
+	 */
+	public final long failed;
+
+	/**
+	 * Records skipped so far, such as expired ones.
+	 */
+	public final long skipped;
+
+	public final long elapsedNanos;
+
+	public ImportProgress(int batchRecords, List<ImportFailure> batchFailures,
+						  long records, long failed, long skipped, long elapsedNanos) {
+		this.batchRecords = batchRecords;
+		this.batchFailures = batchFailures;
+		this.records = records;
+		this.failed = failed;
+		this.skipped = skipped;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Average number of records written per second since the start.
+	 */
+	public double recordsPerSecond() {
+		return elapsedNanos == 0 ? 0 : (records + failed) * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "ImportProgress{records=" + records + ", failed=" + failed + ", skipped=" + skipped
+				+ ", recordsPerSecond=" + (long) recordsPerSecond() + '}';
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON serialization of bin values shared by the text encoders.
+ * Blobs are written as base64 strings, non finite doubles as null and
+ * values of other types, such as GeoJSON, as their string form.
+ */
+final class Json {
+
+	private Json() {
+	}
+
+	static void appendRecord(StringBuilder json, Key key, Record record) {
+		json.append("{\"digest\":\"").append(Base64.getEncoder().encodeToString(key.digest)).append('"');
+		if (key.userKey != null && key.userKey.getObject() != null) {
+			json.append(",\"key\":");
+			appendValue(json, key.userKey.getObject());
+		}
+		if (record != null) {
+			json.append(",\"generation\":").append(record.generation);
+			json.append(",\"expiration\":").append(record.expiration);
+			json.append(",\"bins\":");
+			appendValue(json, record.bins);
+		}
+		json.append('}');
+	}
+
+	static void appendValue(StringBuilder json, Object value) {
+		if (value == null) {
+			json.append("null");
+		} else if (value instanceof Long || value instanceof Integer
+				|| value instanceof Short || value instanceof Byte || value instanceof Boolean) {
+			json.append(value);
+		} else if (value instanceof Double || value instanceof Float) {
+			double d = ((Number) value).doubleValue();
+			if (Double.isNaN(d) || Double.isInfinite(d)) {
+				json.append("null");
+			} else {
+				json.append(d);
+			}
+		} else if (value instanceof byte[]) {
+			json.append('"').append(Base64.getEncoder().encodeToString((byte[]) value)).append('"');
+		} else if (value instanceof Map) {
+			json.append('{');
+			boolean first = true;
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				if (!first) {
+					json.append(',');
+				}
+				first = false;
+				appendString(json, String.valueOf(entry.getKey()));
+				json.append(':');
+				appendValue(json, entry.getValue());
+			}
+			json.append('}');
+		} else if (value instanceof List) {
+			json.append('[');
+			boolean first = true;
+			for (Object item : (List<?>) value) {
+				if (!first) {
+					json.append(',');
+				}
+				first = false;
+				appendValue(json, item);
+			}
+			json.append(']');
+		} else {
+			appendString(json, value.toString());
+		}
+	}
+
+	static void appendString(StringBuilder json, String value) {
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"': json.append("\\\""); break;
+				case '\\': json.append("\\\\"); break;
+				case '\n': json.append("\\n"); break;
+				case '\r': json.append("\\r"); break;
+				case '\t': json.append("\\t"); break;
+				case '\b': json.append("\\b"); break;
+				case '\f': json.append("\\f"); break;
+				default:
+					if (c < 0x20) {
+						json.append(String.format("\\u%04x", (int) c));
+					} else {
+						json.append(c);
+					}
+			}
+		}
+		json.append('"');
+	}
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON parser reading UTF-8 directly from a buffer with absolute indexes.
+ * Integral numbers become longs, other numbers doubles, objects {@link HashMap}s
+ * and arrays {@link ArrayList}s.
+ */
+final class JsonParser {
+
+	private final ByteBuffer buffer;
+	private final int limit;
+	private int position;
+	private byte[] bytes = new byte[64];
+
+	JsonParser(ByteBuffer buffer, int position, int limit) {
+		this.buffer = buffer;
+		this.position = position;
+		this.limit = limit;
+	}
+
+	int position() {
+		return position;
+	}
+
+	Object parseValue() {
+		skipWhitespace();
+		byte b = peek();
+		switch (b) {
+			case '{':
+				return parseObject();
+			case '[':
+				return parseArray();
+			case '"':
+				return parseString();
+			case 't':
+				expect("true");
+				return Boolean.TRUE;
+			case 'f':
+				expect("false");
+				return Boolean.FALSE;
+			case 'n':
+				expect("null");
+				return null;
+			default:
+				return parseNumber();
+		}
+	}
+
+	Map<String, Object> parseObject() {
+		expect('{');
+		Map<String, Object> map = new HashMap<>();
+		skipWhitespace();
+		if (peek() == '}') {
+			position++;
+			return map;
+		}
+		while (true) {
+			skipWhitespace();
+			String name = parseString();
+			skipWhitespace();
+			expect(':');
+			map.put(name, parseValue());
+			skipWhitespace();
+			byte b = next();
+			if (b == '}') {
+				return map;
+			}
+			if (b != ',') {
+				throw error("Expected ',' or '}'");
+			}
+		}
+	}
+
+	private List<Object> parseArray() {
+		expect('[');
+		List<Object> list = new ArrayList<>();
+		skipWhitespace();
+		if (peek() == ']') {
+			position++;
+			return list;
+		}
+		while (true) {
+			list.add(parseValue());
+			skipWhitespace();
+			byte b = next();
+			if (b == ']') {
+				return list;
+			}
+			if (b != ',') {
+				throw error("Expected ',' or ']'");
+			}
+		}
+	}
+
+	String parseString() {
+		expect('"');
+		StringBuilder escaped = null;
+		int length = 0;
+		while (true) {
+			byte b = next();
+			if (b == '"') {
+				break;
+			}
+			if (b != '\\') {
+				if (length == bytes.length) {
+					bytes = Arrays.copyOf(bytes, length * 2);
+				}
+				bytes[length++] = b;
+				continue;
+			}
+			if (escaped == null) {
+				escaped = new StringBuilder();
+			}
+			escaped.append(new String(bytes, 0, length, StandardCharsets.UTF_8));
+			length = 0;
+			byte e = next();
+			switch (e) {
+				case 'n': escaped.append('\n'); break;
+				case 'r': escaped.append('\r'); break;
+				case 't': escaped.append('\t'); break;
+				case 'b': escaped.append('\b'); break;
+				case 'f': escaped.append('\f'); break;
+				case 'u':
+					if (position + 4 > limit) {
+						throw error("Truncated escape");
+					}
+					escaped.append((char) Integer.parseInt(ascii(position, 4), 16));
+					position += 4;
+					break;
+				default: escaped.append((char) e);
+			}
+		}
+		String tail = new String(bytes, 0, length, StandardCharsets.UTF_8);
+		return escaped == null ? tail : escaped.append(tail).toString();
+	}
+
+	private Object parseNumber() {
+		int begin = position;
+		boolean integral = true;
+		while (position < limit) {
+			byte b = buffer.get(position);
+			if (b == '.' || b == 'e' || b == 'E') {
+				integral = false;
+			} else if (!(b == '-' || b == '+' || (b >= '0' && b <= '9'))) {
+				break;
+			}
+			position++;
+		}
+		if (position == begin) {
+			throw error("Unexpected character '" + (char) buffer.get(position) + "'");
+		}
+		String number = ascii(begin, position - begin);
+		if (integral) {
+			try {
+				return Long.parseLong(number);
+			} catch (NumberFormatException ignored) {
+				// Out of the long range, fall back to a double.
+			}
+		}
+		return Double.parseDouble(number);
+	}
+
+	void skipWhitespace() {
+		while (position < limit) {
+			byte b = buffer.get(position);
+			if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+				return;
+			}
+			position++;
+		}
+	}
+
+	private void expect(String literal) {
+		for (int i = 0; i < literal.length(); i++) {
+			expect(literal.charAt(i));
+		}
+	}
+
+	private void expect(char c) {
+		if (next() != c) {
+			throw error("Expected '" + c + "'");
+		}
+	}
+
+	private byte peek() {
+		if (position >= limit) {
+			throw error("Unexpected end of input");
+		}
+		return buffer.get(position);
+	}
+
+	private byte next() {
+		byte b = peek();
+		position++;
+		return b;
+	}
+
+	private String ascii(int begin, int length) {
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = (char) buffer.get(begin + i);
+		}
+		return new String(chars);
+	}
+
+	private IllegalArgumentException error(String message) {
+		return new IllegalArgumentException(message + " at offset " + position);
+	}
+}
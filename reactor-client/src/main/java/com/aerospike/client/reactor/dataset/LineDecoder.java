@@ -0,0 +1,103 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Base of the decoders whose records start at the beginning of a line.
+ */
+abstract class LineDecoder implements RecordDecoder {
+
+	@Override
+	public int lookBehind() {
+		return 1;
+	}
+
+	@Override
+	public Iterator<DecodedRecord> records(ByteBuffer buffer, int start, int end, boolean aligned) {
+		int first = start;
+		if (!aligned) {
+			// A record starting exactly at start follows the newline right before it.
+			first = indexOf(buffer, (byte) '\n', start - 1, buffer.limit()) + 1;
+			if (first == 0) {
+				first = buffer.limit();
+			}
+		}
+		int begin = first;
+		return new Iterator<DecodedRecord>() {
+			private int position = begin;
+			private DecodedRecord next;
+
+			@Override
+			public boolean hasNext() {
+				while (next == null && position < end && position < buffer.limit()) {
+					int lineEnd = skipBlank(buffer, position);
+					if (lineEnd > position) {
+						position = lineEnd;
+						continue;
+					}
+					DecodedRecord[] record = new DecodedRecord[1];
+					position = decode(buffer, position, buffer.limit(), record);
+					next = record[0];
+				}
+				return next != null;
+			}
+
+			@Override
+			public DecodedRecord next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				DecodedRecord record = next;
+				next = null;
+				return record;
+			}
+		};
+	}
+
+	/**
+	 * Decodes the record starting at begin into {@code out[0]} and returns the index
+	 * after its terminating newline.
+	 */
+	abstract int decode(ByteBuffer buffer, int begin, int limit, DecodedRecord[] out);
+
+	static int indexOf(ByteBuffer buffer, byte value, int from, int limit) {
+		for (int i = from; i < limit; i++) {
+			if (buffer.get(i) == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index after a blank line starting at position, or position when the line is not blank.
+	 */
+	private static int skipBlank(ByteBuffer buffer, int position) {
+		int i = position;
+		while (i < buffer.limit() && (buffer.get(i) == ' ' || buffer.get(i) == '\t' || buffer.get(i) == '\r')) {
+			i++;
+		}
+		if (i == buffer.limit()) {
+			return i;
+		}
+		return buffer.get(i) == '\n' ? i + 1 : position;
+	}
+}
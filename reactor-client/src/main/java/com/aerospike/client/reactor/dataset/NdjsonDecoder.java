@@ -0,0 +1,55 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Reads the files written by {@link NdjsonEncoder}.
+ * Blobs were exported as base64 strings and are imported as strings.
+ */
+public class NdjsonDecoder extends LineDecoder {
+
+	@Override
+	public int readHeader(ByteBuffer head) {
+		return 0;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	int decode(ByteBuffer buffer, int begin, int limit, DecodedRecord[] out) {
+		JsonParser parser = new JsonParser(buffer, begin, limit);
+		Map<String, Object> json = parser.parseObject();
+		Object digest = json.get("digest");
+		Object bins = json.get("bins");
+		out[0] = new DecodedRecord(
+				digest instanceof String ? Base64.getDecoder().decode((String) digest) : null,
+				json.get("key"),
+				intValue(json.get("generation")),
+				intValue(json.get("expiration")),
+				bins instanceof Map ? (Map<String, Object>) bins : Collections.emptyMap());
+		int newline = indexOf(buffer, (byte) '\n', parser.position(), limit);
+		return newline < 0 ? limit : newline + 1;
+	}
+
+	private static int intValue(Object value) {
+		return value instanceof Number ? ((Number) value).intValue() : 0;
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import com.aerospike.client.query.KeyRecord;
+
+import java.io.IOException;
+
+/**
+ * Writes one JSON object per line with the digest, user key (when stored), generation,
+ * expiration and bins of every record.
+ */
+public class NdjsonEncoder implements RecordEncoder {
+
+	private final StringBuilder line = new StringBuilder(256);
+
+	@Override
+	public String extension() {
+		return "ndjson";
+	}
+
+	@Override
+	public void begin(ChannelOutput out) {
+	}
+
+	@Override
+	public void encode(KeyRecord record, ChannelOutput out) throws IOException {
+		line.setLength(0);
+		Json.appendRecord(line, record.key, record.record);
+		line.append('\n');
+		out.writeUtf8(line);
+	}
+
+	@Override
+	public void end(ChannelOutput out) {
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+/**
+ * Reads records of a specific format from memory mapped file regions.
+ * <p>
+ * A file is split into chunks decoded in parallel. A chunk owns every record whose first
+ * byte lies in {@code [start, end)}; the buffer handed to {@link #records} also covers
+ * {@link #lookBehind()} bytes before start, so the decoder can find the first record
+ * boundary, and enough bytes after end to complete the last record.
+ * <p>
+ * An instance decodes a single file. {@link #readHeader} is called once before any chunk,
+ * after that {@link #records} may be called concurrently.
+ */
+public interface RecordDecoder {
+
+	/**
+	 * Parses the file header and returns the offset of the first record.
+	 *
+	 * @param head	the beginning of the file, positioned at 0
+	 */
+	int readHeader(ByteBuffer head);
+
+	/**
+	 * Number of bytes before a chunk start needed to locate the first record boundary.
+	 */
+	int lookBehind();
+
+	/**
+	 * Iterates over the records owned by a chunk.
+	 *
+	 * @param buffer	mapped region, absolute indexes are relative to its start
+	 * @param start		index of the chunk start within the buffer
+	 * @param end		index of the chunk end within the buffer
+	 * @param aligned	whether start is known to be a record boundary
+	 */
+	Iterator<DecodedRecord> records(ByteBuffer buffer, int start, int end, boolean aligned);
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dataset;
+
+import com.aerospike.client.query.KeyRecord;
+
+import java.io.IOException;
+
+/**
+ * Writes records to a file in a specific format.
+ * An instance writes a single file and may keep per-file state between calls.
+ */
+public interface RecordEncoder {
+
+	/**
+	 * File name extension without the dot.
+	 */
+	String extension();
+
+	/**
+	 * Called once before the first record.
+	 */
+	void begin(ChannelOutput out) throws IOException;
+
+	void encode(KeyRecord record, ChannelOutput out) throws IOException;
+
+	/**
+	 * Called once after the last record, only when all records were written.
+	 */
+	void end(ChannelOutput out) throws IOException;
+}
@@ -0,0 +1,515 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.deadline;
+
+import com.aerospike.client.*;
+import com.aerospike.client.cdt.CTX;
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.policy.*;
+import com.aerospike.client.query.IndexCollectionType;
+import com.aerospike.client.query.IndexType;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
+import com.aerospike.client.query.Statement;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.dto.KeyExists;
+import com.aerospike.client.reactor.dto.KeyObject;
+import com.aerospike.client.reactor.dto.KeysExists;
+import com.aerospike.client.reactor.dto.KeysRecords;
+import com.aerospike.client.reactor.dto.NodeInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Decorator that bounds every command by the {@link Deadline} found in the subscriber context.
+ * <p>
+ * When a deadline is present the command policy (or the client default policy) is cloned and its
+ * totalTimeout and socketTimeout are shrunk to the remaining time. If the deadline has already
+ * passed the command fails with a client side {@link AerospikeException.Timeout} without being sent.
+ * Commands subscribed without a deadline use their policies unchanged.
+ */
+public class AerospikeReactorDeadlineClient implements IAerospikeReactorClient {
+
+	private final IAerospikeReactorClient client;
+	private final LongSupplier nanoClock;
+
+	public AerospikeReactorDeadlineClient(IAerospikeReactorClient client) {
+		this(client, System::nanoTime);
+	}
+
+	public AerospikeReactorDeadlineClient(IAerospikeReactorClient client, LongSupplier nanoClock) {
+		this.client = client;
+		this.nanoClock = nanoClock;
+	}
+
+	@Override
+	public void close() throws IOException {
+		client.close();
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Key key) throws AerospikeException {
+		return get(null, key);
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Policy policy, Key key) throws AerospikeException {
+		return withDeadline(policy, client::getReadPolicyDefault, Policy::new,
+				p -> client.get(p, key));
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Policy policy, Key key, String[] binNames) throws AerospikeException {
+		return withDeadline(policy, client::getReadPolicyDefault, Policy::new,
+				p -> client.get(p, key, binNames));
+	}
+
+	@Override
+	public final Mono<KeysRecords> get(Key[] keys) throws AerospikeException {
+		return get(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysRecords> get(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return withDeadline(policy, client::getBatchPolicyDefault, BatchPolicy::new,
+				p -> client.get(p, keys));
+	}
+
+	@Override
+	public final Mono<List<BatchRead>> get(List<BatchRead> records) throws AerospikeException {
+		return get(null, records);
+	}
+
+	@Override
+	public final Mono<List<BatchRead>> get(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
+		return withDeadline(policy, client::getBatchPolicyDefault, BatchPolicy::new,
+				p -> client.get(p, records));
+	}
+
+	@Override
+	public Mono<KeysRecords> get(Key[] keys, Operation... operations) throws AerospikeException {
+		return get(null, keys, operations);
+	}
+
+	@Override
+	public Mono<KeysRecords> get(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
+		return withDeadline(policy, client::getBatchPolicyDefault, BatchPolicy::new,
+				p -> client.get(p, keys, operations));
+	}
+
+	@Override
+	public final Flux<BatchRead> getFlux(List<BatchRead> records) throws AerospikeException {
+		return getFlux(null, records);
+	}
+
+	@Override
+	public final Flux<BatchRead> getFlux(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
+		return withDeadlineMany(policy, client::getBatchPolicyDefault, BatchPolicy::new,
+				p -> client.getFlux(p, records));
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(Key[] keys) throws AerospikeException {
+		return getFlux(null, keys);
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return withDeadlineMany(policy, client::getBatchPolicyDefault, BatchPolicy::new,
+				p -> client.getFlux(p, keys));
+	}
+
+	@Override
+	public Flux<KeyRecord> getFlux(Key[] keys, Operation... operations) throws AerospikeException {
+		return getFlux(null, keys, operations);
+	}
+
+	@Override
+	public Flux<KeyRecord> getFlux(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
+		return withDeadlineMany(policy, client::getBatchPolicyDefault, BatchPolicy::new,
+				p -> client.getFlux(p, keys, operations));
+	}
+
+	@Override
+	public final Mono<KeyRecord> getHeader(Key key) throws AerospikeException {
+		return getHeader(null, key);
+	}
+
+	@Override
+	public final Mono<KeyRecord> getHeader(Policy policy, Key key) throws AerospikeException {
+		return withDeadline(policy, client::getReadPolicyDefault, Policy::new,
+				p -> client.getHeader(p, key));
+	}
+
+	@Override
+	public final Mono<KeysRecords> getHeaders(Key[] keys) throws AerospikeException {
+		return getHeaders(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysRecords> getHeaders(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return withDeadline(policy, client::getBatchPolicyDefault, BatchPolicy::new,
+				p -> client.getHeaders(p, keys));
+	}
+
+	@Override
+	public final Mono<Key> touch(Key key) throws AerospikeException {
+		return touch(null, key);
+	}
+
+	@Override
+	public final Mono<Key> touch(WritePolicy policy, Key key) throws AerospikeException {
+		return withDeadline(policy, client::getWritePolicyDefault, WritePolicy::new,
+				p -> client.touch(p, key));
+	}
+
+	@Override
+	public final Mono<Key> exists(Key key) throws AerospikeException {
+		return exists(null, key);
+	}
+
+	@Override
+	public final Mono<Key> exists(Policy policy, Key key) throws AerospikeException {
+		return withDeadline(policy, client::getReadPolicyDefault, Policy::new,
+				p -> client.exists(p, key));
+	}
+
+	@Override
+	public final Mono<KeysExists> exists(Key[] keys) throws AerospikeException {
+		return exists(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysExists> exists(BatchPolicy policy, Key[] keys) throws AerospikeException{
+		return withDeadline(policy, client::getBatchPolicyDefault, BatchPolicy::new,
+				p -> client.exists(p, keys));
+	}
+
+	@Override
+	public final Flux<KeyExists> existsFlux(Key[] keys) throws AerospikeException {
+		return existsFlux(null, keys);
+	}
+
+	@Override
+	public final Flux<KeyExists> existsFlux(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return withDeadlineMany(policy, client::getBatchPolicyDefault, BatchPolicy::new,
+				p -> client.existsFlux(p, keys));
+	}
+
+	@Override
+	public final Mono<Key> put(Key key, Bin... bins) throws AerospikeException {
+		return put(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> put(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return withDeadline(policy, client::getWritePolicyDefault, WritePolicy::new,
+				p -> client.put(p, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> append(Key key, Bin... bins) throws AerospikeException {
+		return append(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> append(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return withDeadline(policy, client::getWritePolicyDefault, WritePolicy::new,
+				p -> client.append(p, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> prepend(Key key, Bin... bins) throws AerospikeException {
+		return prepend(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> prepend(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return withDeadline(policy, client::getWritePolicyDefault, WritePolicy::new,
+				p -> client.prepend(p, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> add(Key key, Bin... bins) throws AerospikeException {
+		return add(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> add(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return withDeadline(policy, client::getWritePolicyDefault, WritePolicy::new,
+				p -> client.add(p, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> delete(Key key) throws AerospikeException {
+		return delete(null, key);
+	}
+
+	@Override
+	public final Mono<Key> delete(WritePolicy policy, Key key) throws AerospikeException {
+		return withDeadline(policy, client::getWritePolicyDefault, WritePolicy::new,
+				p -> client.delete(p, key));
+	}
+
+	@Override
+	public Mono<BatchResults> delete(BatchPolicy batchPolicy, BatchDeletePolicy deletePolicy,
+									 Key[] keys) throws AerospikeException {
+		return withDeadline(batchPolicy, client::getBatchPolicyDefault, BatchPolicy::new,
+				p -> client.delete(p, deletePolicy, keys));
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(Key key, Operation... operations) throws AerospikeException {
+		return operate(null, key, operations);
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(WritePolicy policy, Key key, Operation... operations) throws AerospikeException {
+		return withDeadline(policy, client::getWritePolicyDefault, WritePolicy::new,
+				p -> client.operate(p, key, operations));
+	}
+
+	@Override
+	public Mono<BatchResults> operate(BatchPolicy batchPolicy, BatchWritePolicy writePolicy, Key[] keys,
+									  Operation... ops) throws AerospikeException {
+		return withDeadline(batchPolicy, client::getBatchPolicyDefault, BatchPolicy::new,
+				p -> client.operate(p, writePolicy, keys, ops));
+	}
+
+	@Override
+	public Mono<Boolean> operate(BatchPolicy policy, List<BatchRecord> records) throws AerospikeException {
+		return withDeadline(policy, client::getBatchPolicyDefault, BatchPolicy::new,
+				p -> client.operate(p, records));
+	}
+
+	@Override
+	public final Flux<KeyRecord> query(Statement statement) throws AerospikeException {
+		return query(null, statement);
+	}
+
+	@Override
+	public final Flux<KeyRecord> query(QueryPolicy policy, Statement statement) throws AerospikeException {
+		return withDeadlineMany(policy, client::getQueryPolicyDefault, QueryPolicy::new,
+				p -> client.query(p, statement));
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAll(String namespace, String setName, String... binNames) throws AerospikeException {
+		return scanAll(null, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAll(ScanPolicy policy, String namespace, String setName, String... binNames) throws AerospikeException {
+		return withDeadlineMany(policy, client::getScanPolicyDefault, ScanPolicy::new,
+				p -> client.scanAll(p, namespace, setName, binNames));
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanPartitions(ScanPolicy policy, PartitionFilter partitionFilter,
+												String namespace, String setName, String... binNames) throws AerospikeException {
+		return withDeadlineMany(policy, client::getScanPolicyDefault, ScanPolicy::new,
+				p -> client.scanPartitions(p, partitionFilter, namespace, setName, binNames));
+	}
+
+	@Override
+	public final Flux<KeyRecord> queryPartitions(QueryPolicy policy, Statement statement, PartitionFilter partitionFilter) throws AerospikeException {
+		return withDeadlineMany(policy, client::getQueryPolicyDefault, QueryPolicy::new,
+				p -> client.queryPartitions(p, statement, partitionFilter));
+	}
+
+	@Override
+	public final Mono<KeyObject> execute(Key key, String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		return execute(null, key, packageName, functionName, functionArgs);
+	}
+
+	@Override
+	public final Mono<KeyObject> execute(WritePolicy policy, Key key,
+								   String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		return withDeadline(policy, client::getWritePolicyDefault, WritePolicy::new,
+				p -> client.execute(p, key, packageName, functionName, functionArgs));
+	}
+
+	@Override
+	public Mono<String> info(InfoPolicy infoPolicy, Node node, String command){
+		return withDeadline(infoPolicy, p -> client.info(p, node, command));
+	}
+
+	@Override
+	public Mono<Map<String,String>> info(InfoPolicy infoPolicy, Node node, List<String> commands){
+		return withDeadline(infoPolicy, p -> client.info(p, node, commands));
+    }
+
+	@Override
+	public Flux<NodeInfo> infoAll(InfoPolicy infoPolicy, List<String> commands){
+		return withDeadlineMany(infoPolicy, p -> client.infoAll(p, commands));
+	}
+
+	@Override
+	public Flux<NodeInfo> info(InfoPolicy infoPolicy, Node[] nodes, int concurrency, List<String> commands){
+		return withDeadlineMany(infoPolicy, p -> client.info(p, nodes, concurrency, commands));
+	}
+
+	@Override
+	public Mono<Void> createIndex(Policy policy,
+								  String namespace, String setName, String indexName, String binName,
+								  IndexType indexType, IndexCollectionType indexCollectionType, CTX... ctx){
+		return withDeadline(policy, client::getWritePolicyDefault, Policy::new,
+				p -> client.createIndex(p, namespace, setName, indexName, binName, indexType, indexCollectionType, ctx));
+	}
+
+	@Override
+	public Mono<Void> dropIndex(Policy policy, String namespace, String setName, String indexName){
+		return withDeadline(policy, client::getWritePolicyDefault, Policy::new,
+				p -> client.dropIndex(p, namespace, setName, indexName));
+	}
+
+	@Override
+	public IAerospikeClient getAerospikeClient() {
+		return client.getAerospikeClient();
+	}
+
+	@Override
+	public Policy getReadPolicyDefault() {
+		return client.getReadPolicyDefault();
+	}
+
+	@Override
+	public WritePolicy getWritePolicyDefault() {
+		return client.getWritePolicyDefault();
+	}
+
+	@Override
+	public ScanPolicy getScanPolicyDefault() {
+		return client.getScanPolicyDefault();
+	}
+
+	@Override
+	public QueryPolicy getQueryPolicyDefault() {
+		return client.getQueryPolicyDefault();
+	}
+
+	@Override
+	public BatchPolicy getBatchPolicyDefault() {
+		return client.getBatchPolicyDefault();
+	}
+
+	@Override
+	public InfoPolicy getInfoPolicyDefault() {
+		return client.getInfoPolicyDefault();
+	}
+
+	private <P extends Policy, T> Mono<T> withDeadline(P policy, Supplier<? extends P> defaultPolicy,
+													   UnaryOperator<P> copy, Function<P, Mono<T>> command) {
+		return Mono.deferContextual(context -> {
+			Long deadline = Deadline.get(context);
+			if (deadline == null) {
+				return command.apply(policy);
+			}
+			int remaining = remainingMillis(deadline);
+			P base = policy != null ? policy : defaultPolicy.get();
+			if (remaining <= 0) {
+				return Mono.error(new AerospikeException.Timeout(base, true));
+			}
+			return command.apply(shrink(base, copy, remaining));
+		});
+	}
+
+	private <P extends Policy, T> Flux<T> withDeadlineMany(P policy, Supplier<? extends P> defaultPolicy,
+														   UnaryOperator<P> copy, Function<P, Flux<T>> command) {
+		return Flux.deferContextual(context -> {
+			Long deadline = Deadline.get(context);
+			if (deadline == null) {
+				return command.apply(policy);
+			}
+			int remaining = remainingMillis(deadline);
+			P base = policy != null ? policy : defaultPolicy.get();
+			if (remaining <= 0) {
+				return Flux.error(new AerospikeException.Timeout(base, true));
+			}
+			return command.apply(shrink(base, copy, remaining));
+		});
+	}
+
+	private <T> Mono<T> withDeadline(InfoPolicy policy, Function<InfoPolicy, Mono<T>> command) {
+		return Mono.deferContextual(context -> {
+			Long deadline = Deadline.get(context);
+			if (deadline == null) {
+				return command.apply(policy);
+			}
+			int remaining = remainingMillis(deadline);
+			if (remaining <= 0) {
+				return Mono.error(new AerospikeException.Timeout(0, true));
+			}
+			return command.apply(shrink(policy != null ? policy : client.getInfoPolicyDefault(), remaining));
+		});
+	}
+
+	private <T> Flux<T> withDeadlineMany(InfoPolicy policy, Function<InfoPolicy, Flux<T>> command) {
+		return Flux.deferContextual(context -> {
+			Long deadline = Deadline.get(context);
+			if (deadline == null) {
+				return command.apply(policy);
+			}
+			int remaining = remainingMillis(deadline);
+			if (remaining <= 0) {
+				return Flux.error(new AerospikeException.Timeout(0, true));
+			}
+			return command.apply(shrink(policy != null ? policy : client.getInfoPolicyDefault(), remaining));
+		});
+	}
+
+	private static InfoPolicy shrink(InfoPolicy policy, int remaining) {
+		if (policy.timeout > 0 && policy.timeout <= remaining) {
+			return policy;
+		}
+		InfoPolicy shrunk = new InfoPolicy(policy);
+		shrunk.timeout = remaining;
+		return shrunk;
+	}
+
+	private static <P extends Policy> P shrink(P policy, UnaryOperator<P> copy, int remaining) {
+		boolean totalFits = policy.totalTimeout > 0 && policy.totalTimeout <= remaining;
+		boolean socketFits = policy.socketTimeout > 0 && policy.socketTimeout <= remaining;
+		if (totalFits && socketFits) {
+			return policy;
+		}
+		P shrunk = copy.apply(policy);
+		if (!totalFits) {
+			shrunk.totalTimeout = remaining;
+		}
+		if (!socketFits) {
+			shrunk.socketTimeout = remaining;
+		}
+		return shrunk;
+	}
+
+	private int remainingMillis(long deadline) {
+		long remainingNanos = deadline - nanoClock.getAsLong();
+		return remainingNanos > 0
+				? (int) Math.max(1, Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toMillis(remainingNanos)))
+				: 0;
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.deadline;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Request deadline carried in the Reactor subscriber context.
+ * <p>
+ * The deadline is an absolute {@link System#nanoTime()} value, so it is only meaningful within
+ * one JVM. Convert incoming request budgets with {@link #within(Duration)} at the edge:
+ * <pre>
+ * client.get(key).contextWrite(Deadline.within(Duration.ofMillis(20)))
+ * </pre>
+ */
+public final class Deadline {
+
+	public static final String CONTEXT_KEY = Deadline.class.getName();
+
+	private Deadline() {
+	}
+
+	/**
+	 * Context modifier setting the deadline to now plus timeout, unless an earlier deadline is already set.
+	 */
+	public static Function<Context, Context> within(Duration timeout) {
+		return context -> at(System.nanoTime() + timeout.toNanos()).apply(context);
+	}
+
+	/**
+	 * Context modifier setting the deadline to the given {@link System#nanoTime()} value,
+	 * unless an earlier deadline is already set.
+	 */
+	public static Function<Context, Context> at(long deadlineNanos) {
+		return context -> {
+			Long current = context.getOrDefault(CONTEXT_KEY, null);
+			return current != null && current - deadlineNanos <= 0
+					? context
+					: context.put(CONTEXT_KEY, deadlineNanos);
+		};
+	}
+
+	/**
+	 * @return deadline as a {@link System#nanoTime()} value, or null if none is set
+	 */
+	public static Long get(ContextView context) {
+		return context.getOrDefault(CONTEXT_KEY, null);
+	}
+}
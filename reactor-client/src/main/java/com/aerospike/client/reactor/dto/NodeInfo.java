@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.dto;
+
+import com.aerospike.client.cluster.Node;
+
+import java.util.Map;
+
+/**
+ * Container object for a cluster node and its info command responses.
+ */
+public final class NodeInfo {
+	/**
+	 * Node the info commands were sent to.
+	 */
+	public final Node node;
+
+	/**
+	 * Info command responses keyed by command name.
+	 */
+	public final Map<String, String> values;
+
+	public NodeInfo(Node node, Map<String, String> values) {
+		this.node = node;
+		this.values = values;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(1024);
+
+		if (node != null) {
+			sb.append(node.getName());
+		}
+
+		sb.append(':').append(values);
+		return sb.toString();
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.info;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Secondary index definition and statistics merged across cluster nodes.
+ */
+public final class IndexStats {
+
+	public final String namespace;
+
+	public final String name;
+
+	public final String set;
+
+	public final String bin;
+
+	/**
+	 * Indexed data type, e.g. <code>numeric</code> or <code>string</code>.
+	 */
+	public final String type;
+
+	/**
+	 * Index collection type, e.g. <code>default</code> or <code>list</code>.
+	 */
+	public final String indexType;
+
+	/**
+	 * Index state, <code>RW</code> once the index is fully built on every node,
+	 * otherwise the first other state reported by a node.
+	 */
+	public final String state;
+
+	/**
+	 * Number of nodes that reported statistics for the index.
+	 */
+	public final int nodeCount;
+
+	/**
+	 * Index entries on all nodes.
+	 */
+	public final long entries;
+
+	/**
+	 * Sum of every integer statistic across nodes.
+	 */
+	public final Map<String, Long> totals;
+
+	public IndexStats(String namespace, String name, String set, String bin, String type, String indexType,
+					  String state, int nodeCount, long entries, Map<String, Long> totals) {
+		this.namespace = namespace;
+		this.name = name;
+		this.set = set;
+		this.bin = bin;
+		this.type = type;
+		this.indexType = indexType;
+		this.state = state;
+		this.nodeCount = nodeCount;
+		this.entries = entries;
+		this.totals = totals;
+	}
+
+	/**
+	 * Merge index definitions from <code>sindex/&lt;ns&gt;</code> responses of several nodes.
+	 *
+	 * @param namespace				namespace name
+	 * @param responses				raw info response of each node
+	 * @return						index definitions keyed by index name, statistics are left empty.
+	 * 								The state is not <code>RW</code> when any node reports another state.
+	 */
+	public static Map<String, Map<String, String>> mergeDefinitions(String namespace, Collection<String> responses) {
+		Map<String, Map<String, String>> definitions = new LinkedHashMap<>();
+
+		for (String response : responses) {
+			for (Map<String, String> entry : InfoParser.parseEntries(
+					InfoParser.checkResponse(InfoCommands.sindex(namespace), response))) {
+				String name = entry.get("indexname");
+
+				if (name == null) {
+					continue;
+				}
+				Map<String, String> definition = definitions.get(name);
+
+				if (definition == null) {
+					definitions.put(name, new LinkedHashMap<>(entry));
+				} else if (isReadable(definition) && !isReadable(entry)) {
+					definition.put("state", entry.get("state"));
+				}
+			}
+		}
+		return definitions;
+	}
+
+	/**
+	 * Merge <code>sindex/&lt;ns&gt;/&lt;index&gt;</code> responses of several nodes.
+	 *
+	 * @param namespace				namespace name
+	 * @param definition			index definition as returned by {@link #mergeDefinitions(String, Collection)}
+	 * @param responses				raw info response of each node
+	 */
+	public static IndexStats merge(String namespace, Map<String, String> definition, Collection<String> responses) {
+		String name = definition.get("indexname");
+		List<Map<String, String>> nodeValues = new ArrayList<>(responses.size());
+
+		for (String response : responses) {
+			nodeValues.add(InfoParser.parseParameters(
+					InfoParser.checkResponse(InfoCommands.sindex(namespace, name), response)));
+		}
+
+		Map<String, Long> totals = InfoParser.sum(nodeValues);
+		return new IndexStats(namespace, name,
+				definition.get("set"), definition.get("bin"), definition.get("type"),
+				definition.get("indextype"), definition.get("state"),
+				nodeValues.size(),
+				totals.getOrDefault("entries", totals.getOrDefault("keys", 0L)),
+				totals);
+	}
+
+	private static boolean isReadable(Map<String, String> definition) {
+		return "RW".equalsIgnoreCase(definition.get("state"));
+	}
+
+	@Override
+	public String toString() {
+		return "IndexStats{namespace=" + namespace + ", name=" + name + ", set=" + set + ", bin=" + bin
+				+ ", type=" + type + ", indexType=" + indexType + ", state=" + state
+				+ ", nodeCount=" + nodeCount + ", entries=" + entries + '}';
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.info;
+
+/**
+ * Names of the info commands used by the cluster info helpers.
+ */
+public final class InfoCommands {
+
+	public static final String STATISTICS = "statistics";
+	public static final String LATENCIES = "latencies:";
+
+	private InfoCommands() {
+	}
+
+	public static String namespace(String namespace) {
+		return "namespace/" + namespace;
+	}
+
+	public static String sets(String namespace) {
+		return "sets/" + namespace;
+	}
+
+	public static String sindex(String namespace) {
+		return "sindex/" + namespace;
+	}
+
+	public static String sindex(String namespace, String indexName) {
+		return "sindex/" + namespace + '/' + indexName;
+	}
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.info;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.ResultCode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parsers for the name/value formats returned by the server's info protocol.
+ */
+public final class InfoParser {
+
+	private InfoParser() {
+	}
+
+	/**
+	 * Parse a <code>name1=value1;name2=value2</code> response,
+	 * as returned by <code>statistics</code> or <code>namespace/&lt;ns&gt;</code>.
+	 */
+	public static Map<String, String> parseParameters(String response) {
+		return parseParameters(response, ';');
+	}
+
+	/**
+	 * Parse a list of <code>name1=value1:name2=value2</code> entries separated by <code>;</code>,
+	 * as returned by <code>sets/&lt;ns&gt;</code> or <code>sindex/&lt;ns&gt;</code>.
+	 */
+	public static List<Map<String, String>> parseEntries(String response) {
+		if (response == null || response.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		List<Map<String, String>> entries = new ArrayList<>();
+
+		for (String entry : response.split(";")) {
+			if (!entry.isEmpty()) {
+				entries.add(parseParameters(entry, ':'));
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Parse the numeric values of an info response.
+	 * <p>
+	 * <code>latencies:</code> responses are flattened into
+	 * <code>&lt;histogram&gt;.ops/sec</code> and <code>&lt;histogram&gt;.&gt;&lt;N&gt;&lt;unit&gt;</code> values,
+	 * other responses are parsed as <code>name=value</code> pairs and non-numeric values are skipped.
+	 */
+	public static Map<String, Double> parseMetrics(String command, String response) {
+		if (command.startsWith(InfoCommands.LATENCIES)) {
+			Map<String, String> arguments = parseParameters(command.substring(InfoCommands.LATENCIES.length()));
+			return parseLatencies(response, (int)getLong(arguments, "exponent-increment", 3));
+		}
+
+		Map<String, Double> metrics = new LinkedHashMap<>();
+
+		for (Map.Entry<String, String> entry : parseParameters(response).entrySet()) {
+			Double value = parseDouble(entry.getValue());
+
+			if (value != null) {
+				metrics.put(entry.getKey(), value);
+			}
+		}
+		return metrics;
+	}
+
+	/**
+	 * Parse a <code>latencies:</code> response, e.g.
+	 * <code>{test}-read:msec,1200.5,2.10,0.50,0.00;{test}-write:msec,10.0,0.00,0.00,0.00</code>.
+	 * The first column is the throughput, the following ones the percentage of operations
+	 * above 1, 2^exponentIncrement, 2^(2*exponentIncrement), ... units.
+	 *
+	 * @param response				raw info response
+	 * @param exponentIncrement		threshold exponent step the histograms were requested with,
+	 * 								the server default is 3 (&gt;1, &gt;8, &gt;64)
+	 */
+	public static Map<String, Double> parseLatencies(String response, int exponentIncrement) {
+		Map<String, Double> metrics = new LinkedHashMap<>();
+
+		if (response == null || response.isEmpty()) {
+			return metrics;
+		}
+
+		for (String histogram : response.split(";")) {
+			int colon = histogram.indexOf(':');
+
+			if (colon <= 0 || colon == histogram.length() - 1) {
+				continue;
+			}
+
+			String name = histogram.substring(0, colon);
+			String[] columns = histogram.substring(colon + 1).split(",");
+
+			if (columns.length < 2) {
+				continue;
+			}
+
+			String unit = columns[0].startsWith("usec") ? "us" : "ms";
+			Double opsPerSec = parseDouble(columns[1]);
+
+			if (opsPerSec != null) {
+				metrics.put(name + ".ops/sec", opsPerSec);
+			}
+
+			for (int i = 2; i < columns.length; i++) {
+				Double percent = parseDouble(columns[i]);
+
+				if (percent != null) {
+					metrics.put(name + ".>" + (1L << (exponentIncrement * (i - 2))) + unit, percent);
+				}
+			}
+		}
+		return metrics;
+	}
+
+	/**
+	 * Return the numeric value of the named parameter or <code>defaultValue</code>
+	 * if it is absent or not a number.
+	 */
+	public static long getLong(Map<String, String> values, String name, long defaultValue) {
+		String value = values.get(name);
+
+		if (value == null) {
+			return defaultValue;
+		}
+
+		try {
+			return Long.parseLong(value);
+		}
+		catch (NumberFormatException nfe) {
+			return defaultValue;
+		}
+	}
+
+	/**
+	 * Sum the integer parameters with the same name across node responses.
+	 * Parameters that are not integers are skipped.
+	 */
+	public static Map<String, Long> sum(Collection<Map<String, String>> nodeValues) {
+		Map<String, Long> totals = new HashMap<>();
+
+		for (Map<String, String> values : nodeValues) {
+			for (Map.Entry<String, String> entry : values.entrySet()) {
+				try {
+					long value = Long.parseLong(entry.getValue());
+					totals.merge(entry.getKey(), value, Long::sum);
+				}
+				catch (NumberFormatException ignored) {
+				}
+			}
+		}
+		return totals;
+	}
+
+	/**
+	 * Fail on <code>ERROR</code> or <code>FAIL</code> responses, return the response otherwise.
+	 */
+	public static String checkResponse(String command, String response) {
+		if (response == null) {
+			throw new AerospikeException(String.format("Unknown info command: [%s]", command));
+		}
+
+		if (response.startsWith("ERROR") || response.startsWith("FAIL")) {
+			throw new AerospikeException(ResultCode.SERVER_ERROR,
+					String.format("Info command [%s] failed: %s", command, response));
+		}
+		return response;
+	}
+
+	private static Double parseDouble(String value) {
+		if (value.isEmpty()) {
+			return null;
+		}
+
+		char first = value.charAt(0);
+
+		if (first != '-' && (first < '0' || first > '9')) {
+			return null;
+		}
+
+		try {
+			return Double.parseDouble(value);
+		}
+		catch (NumberFormatException nfe) {
+			return null;
+		}
+	}
+
+	private static Map<String, String> parseParameters(String response, char separator) {
+		Map<String, String> values = new LinkedHashMap<>();
+
+		if (response == null) {
+			return values;
+		}
+
+		int begin = 0;
+		int length = response.length();
+
+		while (begin < length) {
+			int end = response.indexOf(separator, begin);
+
+			if (end < 0) {
+				end = length;
+			}
+
+			int eq = response.indexOf('=', begin);
+
+			if (eq > begin && eq < end) {
+				values.put(response.substring(begin, eq), response.substring(eq + 1, end));
+			}
+			begin = end + 1;
+		}
+		return values;
+	}
+}
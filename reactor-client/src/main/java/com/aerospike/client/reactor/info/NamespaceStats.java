@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.info;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Namespace statistics merged across cluster nodes.
+ */
+public final class NamespaceStats {
+
+	public final String namespace;
+
+	/**
+	 * Number of nodes that reported the namespace.
+	 */
+	public final int nodeCount;
+
+	/**
+	 * Effective replication factor, the highest value reported by any node.
+	 */
+	public final int replicationFactor;
+
+	/**
+	 * Records stored on all nodes, replicas included.
+	 */
+	public final long objects;
+
+	/**
+	 * Records stored on all nodes as master, each record counted once.
+	 */
+	public final long masterObjects;
+
+	public final long tombstones;
+
+	/**
+	 * Sum of every integer statistic across nodes.
+	 */
+	public final Map<String, Long> totals;
+
+	public NamespaceStats(String namespace, int nodeCount, int replicationFactor,
+						  long objects, long masterObjects, long tombstones, Map<String, Long> totals) {
+		this.namespace = namespace;
+		this.nodeCount = nodeCount;
+		this.replicationFactor = replicationFactor;
+		this.objects = objects;
+		this.masterObjects = masterObjects;
+		this.tombstones = tombstones;
+		this.totals = totals;
+	}
+
+	/**
+	 * Merge <code>namespace/&lt;ns&gt;</code> responses of several nodes.
+	 *
+	 * @param namespace				namespace name
+	 * @param responses				raw info response of each node
+	 */
+	public static NamespaceStats merge(String namespace, Collection<String> responses) {
+		List<Map<String, String>> nodeValues = new ArrayList<>(responses.size());
+		int replicationFactor = 1;
+
+		for (String response : responses) {
+			Map<String, String> values = InfoParser.parseParameters(
+					InfoParser.checkResponse(InfoCommands.namespace(namespace), response));
+			long factor = InfoParser.getLong(values, "effective_replication_factor",
+					InfoParser.getLong(values, "replication-factor", 1));
+			replicationFactor = Math.max(replicationFactor, (int)factor);
+			nodeValues.add(values);
+		}
+
+		Map<String, Long> totals = InfoParser.sum(nodeValues);
+		return new NamespaceStats(namespace, nodeValues.size(), replicationFactor,
+				totals.getOrDefault("objects", 0L),
+				totals.getOrDefault("master_objects", 0L),
+				totals.getOrDefault("tombstones", 0L),
+				totals);
+	}
+
+	@Override
+	public String toString() {
+		return "NamespaceStats{namespace=" + namespace + ", nodeCount=" + nodeCount
+				+ ", replicationFactor=" + replicationFactor + ", objects=" + objects
+				+ ", masterObjects=" + masterObjects + ", tombstones=" + tombstones + '}';
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.info;
+
+import com.aerospike.client.cluster.Node;
+
+import java.util.Map;
+
+/**
+ * Numeric values of one info command on one node, together with their change
+ * since the previous sample of the same node and command.
+ */
+public final class NodeStatsSample {
+
+	public final Node node;
+
+	public final String command;
+
+	/**
+	 * Sample time in milliseconds since epoch.
+	 */
+	public final long timestamp;
+
+	/**
+	 * Milliseconds since the previous sample of the same node and command,
+	 * 0 for the first sample.
+	 */
+	public final long elapsedMillis;
+
+	/**
+	 * Current numeric values keyed by statistic name.
+	 */
+	public final Map<String, Double> values;
+
+	/**
+	 * Difference between current and previous values, empty for the first sample.
+	 */
+	public final Map<String, Double> deltas;
+
+	public NodeStatsSample(Node node, String command, long timestamp, long elapsedMillis,
+						   Map<String, Double> values, Map<String, Double> deltas) {
+		this.node = node;
+		this.command = command;
+		this.timestamp = timestamp;
+		this.elapsedMillis = elapsedMillis;
+		this.values = values;
+		this.deltas = deltas;
+	}
+
+	/**
+	 * Return current value of the statistic or <code>NaN</code> if it is absent.
+	 */
+	public double value(String name) {
+		return values.getOrDefault(name, Double.NaN);
+	}
+
+	/**
+	 * Return change of the statistic since the previous sample or <code>NaN</code> if it is unknown.
+	 */
+	public double delta(String name) {
+		return deltas.getOrDefault(name, Double.NaN);
+	}
+
+	/**
+	 * Return change per second of a counter statistic or <code>NaN</code> if it is unknown.
+	 */
+	public double rate(String name) {
+		if (elapsedMillis <= 0) {
+			return Double.NaN;
+		}
+		return delta(name) * 1000 / elapsedMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "NodeStatsSample{node=" + (node != null ? node.getName() : null) + ", command=" + command
+				+ ", timestamp=" + timestamp + ", elapsedMillis=" + elapsedMillis + ", values=" + values.size() + '}';
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.info;
+
+import com.aerospike.client.Log;
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.policy.InfoPolicy;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Periodically samples info statistics of every cluster node and publishes them
+ * as one shared hot flux.
+ * <p>
+ * Polling starts with the first subscriber and stops when the last one cancels,
+ * so any number of consumers cost one round of info commands per interval.
+ * A node that fails to respond is skipped for that interval. A node that leaves the
+ * cluster is forgotten, its next samples start without deltas.
+ * <p>
+ * Typical commands are {@link InfoCommands#STATISTICS}, {@link InfoCommands#namespace(String)}
+ * and {@link InfoCommands#LATENCIES}.
+ */
+public class NodeStatsSampler {
+
+	private final IAerospikeReactorClient reactorClient;
+	private final InfoPolicy infoPolicy;
+	private final List<String> commands;
+	private final Map<String, NodeStatsSample> previousSamples = new ConcurrentHashMap<>();
+	private final Flux<NodeStatsSample> samples;
+
+	/**
+	 * @param reactorClient			client used to send the info commands
+	 * @param infoPolicy			info configuration parameters, pass in null for defaults
+	 * @param interval				time between two samples
+	 * @param commands				info commands to sample
+	 */
+	public NodeStatsSampler(IAerospikeReactorClient reactorClient, InfoPolicy infoPolicy,
+							Duration interval, String... commands) {
+		this(reactorClient, infoPolicy, interval, Schedulers.parallel(), commands);
+	}
+
+	/**
+	 * @param reactorClient			client used to send the info commands
+	 * @param infoPolicy			info configuration parameters, pass in null for defaults
+	 * @param interval				time between two samples
+	 * @param scheduler				scheduler driving the sampling interval
+	 * @param commands				info commands to sample
+	 */
+	public NodeStatsSampler(IAerospikeReactorClient reactorClient, InfoPolicy infoPolicy,
+							Duration interval, Scheduler scheduler, String... commands) {
+		this.reactorClient = reactorClient;
+		this.infoPolicy = infoPolicy;
+		this.commands = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(commands)));
+		this.samples = Flux.interval(Duration.ZERO, interval, scheduler)
+				.onBackpressureDrop()
+				.concatMap(tick -> sample(), 1)
+				.share();
+	}
+
+	/**
+	 * Return the shared hot flux of samples.
+	 * Every interval publishes one sample per node and command.
+	 */
+	public Flux<NodeStatsSample> samples() {
+		return samples;
+	}
+
+	/**
+	 * Return the shared samples of one command only.
+	 */
+	public Flux<NodeStatsSample> samples(String command) {
+		return samples.filter(sample -> sample.command.equals(command));
+	}
+
+	public List<String> getCommands() {
+		return commands;
+	}
+
+	private Flux<NodeStatsSample> sample() {
+		Node[] nodes = reactorClient.getAerospikeClient().getNodes();
+		forgetRemovedNodes(nodes);
+		return Flux.fromArray(nodes)
+				.flatMap(node -> reactorClient.info(infoPolicy, node, commands)
+						.flatMapIterable(values -> toSamples(node, values))
+						.onErrorResume(throwable -> {
+							if (Log.warnEnabled()) {
+								Log.warn("Failed to sample node " + node.getName() + ": " + throwable.getMessage());
+							}
+							return Mono.empty();
+						}),
+						Math.max(nodes.length, 1));
+	}
+
+	/**
+	 * Drop the previous samples of nodes that left the cluster.
+	 */
+	private void forgetRemovedNodes(Node[] nodes) {
+		Set<String> names = new HashSet<>(nodes.length * 2);
+
+		for (Node node : nodes) {
+			names.add(node.getName());
+		}
+		previousSamples.values().removeIf(sample -> !names.contains(sample.node.getName()));
+	}
+
+	private List<NodeStatsSample> toSamples(Node node, Map<String, String> responses) {
+		long now = System.currentTimeMillis();
+		List<NodeStatsSample> nodeSamples = new ArrayList<>(commands.size());
+
+		for (String command : commands) {
+			String response = responses.get(command);
+
+			if (response == null) {
+				continue;
+			}
+
+			Map<String, Double> values = InfoParser.parseMetrics(command, response);
+			String sampleKey = node.getName() + '/' + command;
+			NodeStatsSample previous = previousSamples.get(sampleKey);
+			NodeStatsSample sample;
+
+			if (previous == null) {
+				sample = new NodeStatsSample(node, command, now, 0, values, Collections.emptyMap());
+			}
+			else {
+				sample = new NodeStatsSample(node, command, now, now - previous.timestamp,
+						values, deltas(previous.values, values));
+			}
+			previousSamples.put(sampleKey, sample);
+			nodeSamples.add(sample);
+		}
+		return nodeSamples;
+	}
+
+	private static Map<String, Double> deltas(Map<String, Double> previous, Map<String, Double> current) {
+		Map<String, Double> deltas = new HashMap<>(current.size());
+
+		for (Map.Entry<String, Double> entry : current.entrySet()) {
+			Double before = previous.get(entry.getKey());
+
+			if (before != null) {
+				deltas.put(entry.getKey(), entry.getValue() - before);
+			}
+		}
+		return deltas;
+	}
+}
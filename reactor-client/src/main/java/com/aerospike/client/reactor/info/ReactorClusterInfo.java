@@ -0,0 +1,148 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.info;
+
+import com.aerospike.client.policy.InfoPolicy;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.dto.NodeInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Cluster wide statistics gathered with the info protocol.
+ * <p>
+ * Every method sends its info commands to all cluster nodes in parallel
+ * and merges the per-node responses into a typed result.
+ */
+public class ReactorClusterInfo {
+
+	private final IAerospikeReactorClient reactorClient;
+
+	public ReactorClusterInfo(IAerospikeReactorClient reactorClient) {
+		this.reactorClient = reactorClient;
+	}
+
+	/**
+	 * Reactively read namespace statistics merged across all nodes.
+	 *
+	 * @param infoPolicy			info configuration parameters, pass in null for defaults
+	 * @param namespace				namespace name
+	 */
+	public Mono<NamespaceStats> namespaceStats(InfoPolicy infoPolicy, String namespace) {
+		String command = InfoCommands.namespace(namespace);
+		return reactorClient.infoAll(infoPolicy, Collections.singletonList(command))
+				.map(nodeInfo -> response(nodeInfo, command))
+				.collectList()
+				.map(responses -> NamespaceStats.merge(namespace, responses));
+	}
+
+	/**
+	 * Reactively read statistics of all sets in the namespace merged across all nodes.
+	 *
+	 * @param infoPolicy			info configuration parameters, pass in null for defaults
+	 * @param namespace				namespace name
+	 */
+	public Mono<List<SetStats>> setStats(InfoPolicy infoPolicy, String namespace) {
+		String namespaceCommand = InfoCommands.namespace(namespace);
+		String setsCommand = InfoCommands.sets(namespace);
+		return reactorClient.infoAll(infoPolicy, Arrays.asList(namespaceCommand, setsCommand))
+				.collectList()
+				.map(nodeInfos -> {
+					NamespaceStats namespaceStats = NamespaceStats.merge(namespace, responses(nodeInfos, namespaceCommand));
+					return SetStats.merge(namespace, responses(nodeInfos, setsCommand), namespaceStats.replicationFactor);
+				});
+	}
+
+	/**
+	 * Reactively read statistics of one set merged across all nodes.
+	 * Completes empty if no node reports the set.
+	 *
+	 * @param infoPolicy			info configuration parameters, pass in null for defaults
+	 * @param namespace				namespace name
+	 * @param set					set name
+	 */
+	public Mono<SetStats> setStats(InfoPolicy infoPolicy, String namespace, String set) {
+		return setStats(infoPolicy, namespace)
+				.flatMapIterable(stats -> stats)
+				.filter(stats -> stats.set.equals(set))
+				.next();
+	}
+
+	/**
+	 * Reactively read definitions and statistics of all secondary indexes in the namespace
+	 * merged across all nodes.
+	 *
+	 * @param infoPolicy			info configuration parameters, pass in null for defaults
+	 * @param namespace				namespace name
+	 */
+	public Mono<List<IndexStats>> indexStats(InfoPolicy infoPolicy, String namespace) {
+		String listCommand = InfoCommands.sindex(namespace);
+		return reactorClient.infoAll(infoPolicy, Collections.singletonList(listCommand))
+				.map(nodeInfo -> response(nodeInfo, listCommand))
+				.collectList()
+				.map(responses -> IndexStats.mergeDefinitions(namespace, responses))
+				.flatMap(definitions -> {
+					if (definitions.isEmpty()) {
+						return Mono.just(Collections.<IndexStats>emptyList());
+					}
+
+					List<String> commands = definitions.keySet().stream()
+							.map(name -> InfoCommands.sindex(namespace, name))
+							.collect(Collectors.toList());
+
+					return reactorClient.infoAll(infoPolicy, commands)
+							.collectList()
+							.map(nodeInfos -> {
+								List<IndexStats> stats = new ArrayList<>(definitions.size());
+								for (Map.Entry<String, Map<String, String>> definition : definitions.entrySet()) {
+									String command = InfoCommands.sindex(namespace, definition.getKey());
+									stats.add(IndexStats.merge(namespace, definition.getValue(), responses(nodeInfos, command)));
+								}
+								return stats;
+							});
+				});
+	}
+
+	/**
+	 * Reactively read the same info commands from all nodes.
+	 *
+	 * @param infoPolicy			info configuration parameters, pass in null for defaults
+	 * @param commands				info command names
+	 */
+	public Flux<NodeInfo> info(InfoPolicy infoPolicy, String... commands) {
+		return reactorClient.infoAll(infoPolicy, Arrays.asList(commands));
+	}
+
+	private static List<String> responses(List<NodeInfo> nodeInfos, String command) {
+		List<String> responses = new ArrayList<>(nodeInfos.size());
+		for (NodeInfo nodeInfo : nodeInfos) {
+			responses.add(response(nodeInfo, command));
+		}
+		return responses;
+	}
+
+	private static String response(NodeInfo nodeInfo, String command) {
+		return InfoParser.checkResponse(command, nodeInfo.values.get(command));
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.info;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set statistics merged across cluster nodes.
+ */
+public final class SetStats {
+
+	public final String namespace;
+
+	public final String set;
+
+	/**
+	 * Number of nodes that reported the set.
+	 */
+	public final int nodeCount;
+
+	/**
+	 * Records stored on all nodes, replicas included.
+	 */
+	public final long objects;
+
+	/**
+	 * Records in the set, each record counted once.
+	 * Derived from <code>objects</code> and the namespace replication factor.
+	 */
+	public final long uniqueObjects;
+
+	public final long tombstones;
+
+	/**
+	 * Sum of every integer statistic across nodes.
+	 */
+	public final Map<String, Long> totals;
+
+	public SetStats(String namespace, String set, int nodeCount,
+					long objects, long uniqueObjects, long tombstones, Map<String, Long> totals) {
+		this.namespace = namespace;
+		this.set = set;
+		this.nodeCount = nodeCount;
+		this.objects = objects;
+		this.uniqueObjects = uniqueObjects;
+		this.tombstones = tombstones;
+		this.totals = totals;
+	}
+
+	/**
+	 * Merge <code>sets/&lt;ns&gt;</code> responses of several nodes.
+	 *
+	 * @param namespace				namespace name
+	 * @param responses				raw info response of each node
+	 * @param replicationFactor		namespace replication factor, see {@link NamespaceStats#replicationFactor}
+	 * @return						statistics of every set in the namespace
+	 */
+	public static List<SetStats> merge(String namespace, Collection<String> responses, int replicationFactor) {
+		Map<String, List<Map<String, String>>> bySet = new LinkedHashMap<>();
+
+		for (String response : responses) {
+			for (Map<String, String> entry : InfoParser.parseEntries(
+					InfoParser.checkResponse(InfoCommands.sets(namespace), response))) {
+				String set = entry.get("set");
+
+				if (set == null) {
+					set = entry.get("set_name");
+				}
+
+				if (set != null) {
+					bySet.computeIfAbsent(set, name -> new ArrayList<>()).add(entry);
+				}
+			}
+		}
+
+		if (bySet.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		int factor = Math.max(replicationFactor, 1);
+		List<SetStats> stats = new ArrayList<>(bySet.size());
+
+		for (Map.Entry<String, List<Map<String, String>>> entry : bySet.entrySet()) {
+			Map<String, Long> totals = InfoParser.sum(entry.getValue());
+			long objects = totals.getOrDefault("objects", totals.getOrDefault("n_objects", 0L));
+			stats.add(new SetStats(namespace, entry.getKey(), entry.getValue().size(),
+					objects, objects / factor,
+					totals.getOrDefault("tombstones", 0L),
+					totals));
+		}
+		return stats;
+	}
+
+	@Override
+	public String toString() {
+		return "SetStats{namespace=" + namespace + ", set=" + set + ", nodeCount=" + nodeCount
+				+ ", objects=" + objects + ", uniqueObjects=" + uniqueObjects + ", tombstones=" + tombstones + '}';
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.keys;
+
+import com.aerospike.client.Key;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Compact batch of record keys of one namespace and set, storing only the 20 byte digests
+ * back to back in a single array instead of a {@link Key} with its own digest, set name and
+ * user key per entry. Keys are built for one chunk at a time when the batch is read by
+ * {@link ReactorDigestBatchReader}.
+ */
+public final class DigestBatch {
+
+	private static final int MAX_SIZE = Integer.MAX_VALUE / Keys.DIGEST_SIZE;
+
+	public final String namespace;
+	public final String setName;
+	private byte[] digests;
+	private int size;
+
+	public DigestBatch(String namespace, String setName) {
+		this(namespace, setName, 1024);
+	}
+
+	public DigestBatch(String namespace, String setName, int initialCapacity) {
+		this.namespace = namespace;
+		this.setName = setName;
+		this.digests = new byte[Math.max(1, Math.min(initialCapacity, MAX_SIZE)) * Keys.DIGEST_SIZE];
+	}
+
+	/**
+	 * Batch of the digests stored back to back in the array, which is used as is.
+	 */
+	public static DigestBatch wrap(String namespace, String setName, byte[] digests) {
+		if (digests.length % Keys.DIGEST_SIZE != 0) {
+			throw new IllegalArgumentException("Digests length must be a multiple of " + Keys.DIGEST_SIZE
+					+ ": " + digests.length);
+		}
+		DigestBatch batch = new DigestBatch(namespace, setName, 1);
+		batch.digests = digests;
+		batch.size = digests.length / Keys.DIGEST_SIZE;
+		return batch;
+	}
+
+	public DigestBatch add(byte[] digest) {
+		if (digest.length != Keys.DIGEST_SIZE) {
+			throw new IllegalArgumentException("Digest must be " + Keys.DIGEST_SIZE + " bytes: " + digest.length);
+		}
+		if ((size + 1) * Keys.DIGEST_SIZE > digests.length) {
+			grow();
+		}
+		System.arraycopy(digest, 0, digests, size * Keys.DIGEST_SIZE, Keys.DIGEST_SIZE);
+		size++;
+		return this;
+	}
+
+	/**
+	 * Adds the digest of the key, which must belong to the namespace and set of the batch.
+	 */
+	public DigestBatch add(Key key) {
+		if (!namespace.equals(key.namespace)) {
+			throw new IllegalArgumentException("Key namespace " + key.namespace + " differs from " + namespace);
+		}
+		if (!Objects.equals(setName, key.setName)) {
+			throw new IllegalArgumentException("Key set " + key.setName + " differs from " + setName);
+		}
+		return add(key.digest);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Key of the entry at the index, built from a copy of its digest.
+	 */
+	public Key key(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+		}
+		return Keys.ofDigest(namespace, setName, digests, index * Keys.DIGEST_SIZE);
+	}
+
+	/**
+	 * Keys of the entries from the index, inclusive, to the index, exclusive.
+	 */
+	public Key[] keys(int from, int to) {
+		if (from < 0 || to > size || from > to) {
+			throw new IndexOutOfBoundsException("Range " + from + ".." + to + ", size " + size);
+		}
+		Key[] keys = new Key[to - from];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = Keys.ofDigest(namespace, setName, digests, (from + i) * Keys.DIGEST_SIZE);
+		}
+		return keys;
+	}
+
+	private void grow() {
+		if (size == MAX_SIZE) {
+			throw new IllegalStateException("Digest batch is full: " + size);
+		}
+		int capacity = (int) Math.min(Math.max(1L, (long) digests.length / Keys.DIGEST_SIZE * 2), MAX_SIZE);
+		digests = Arrays.copyOf(digests, capacity * Keys.DIGEST_SIZE);
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.keys;
+
+import com.aerospike.client.policy.BatchPolicy;
+
+/**
+ * Configuration of {@link ReactorDigestBatchReader}.
+ */
+public class DigestBatchPolicy {
+
+	/**
+	 * Batch policy of every chunk, null for the client default.
+	 */
+	public BatchPolicy batchPolicy;
+
+	/**
+	 * Number of keys read by one batch command. Keys are only built for the chunks
+	 * in flight.
+	 * <p>
+	 * Default: 5000
+	 */
+	public int chunkSize = 5000;
+
+	/**
+	 * Maximum number of chunks read at the same time.
+	 * <p>
+	 * Default: 4
+	 */
+	public int maxConcurrentChunks = 4;
+
+	public DigestBatchPolicy() {
+	}
+
+	public DigestBatchPolicy(DigestBatchPolicy other) {
+		this.batchPolicy = other.batchPolicy;
+		this.chunkSize = other.chunkSize;
+		this.maxConcurrentChunks = other.maxConcurrentChunks;
+	}
+}
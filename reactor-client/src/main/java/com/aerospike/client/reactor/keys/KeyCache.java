@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.keys;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.Value;
+import com.aerospike.client.command.ParticleType;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free cache of keys, so that building the same key again returns the
+ * cached instance instead of computing its RIPEMD-160 digest.
+ * <p>
+ * Keys are held in a fixed array of slots chosen by the hash of namespace, set and user
+ * key. A key replaces whatever key occupied its slot, so the memory used is bounded by the
+ * capacity and hot keys stay cached while cold ones are overwritten. Lookups never block
+ * and concurrent misses on the same key at worst compute its digest more than once.
+ */
+public final class KeyCache {
+
+	private final AtomicReferenceArray<Key> slots;
+	private final int mask;
+
+	/**
+	 * @param capacity maximum number of cached keys, rounded up to a power of two
+	 */
+	public KeyCache(int capacity) {
+		if (capacity <= 0 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+		}
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.slots = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	public Key get(String namespace, String setName, String userKey) {
+		int slot = slot(namespace, setName, userKey.hashCode());
+		Key key = slots.get(slot);
+		if (key != null && matches(key, namespace, setName)
+				&& key.userKey.getType() == ParticleType.STRING && userKey.equals(key.userKey.toString())) {
+			return key;
+		}
+		return cache(slot, new Key(namespace, setName, userKey));
+	}
+
+	public Key get(String namespace, String setName, long userKey) {
+		int slot = slot(namespace, setName, Long.hashCode(userKey));
+		Key key = slots.get(slot);
+		if (key != null && matches(key, namespace, setName)
+				&& key.userKey.getType() == ParticleType.INTEGER && key.userKey.toLong() == userKey) {
+			return key;
+		}
+		return cache(slot, new Key(namespace, setName, userKey));
+	}
+
+	public Key get(String namespace, String setName, byte[] userKey) {
+		int slot = slot(namespace, setName, Arrays.hashCode(userKey));
+		Key key = slots.get(slot);
+		if (key != null && matches(key, namespace, setName)
+				&& key.userKey.getType() == ParticleType.BLOB
+				&& Arrays.equals(userKey, (byte[]) key.userKey.getObject())) {
+			return key;
+		}
+		return cache(slot, new Key(namespace, setName, userKey.clone()));
+	}
+
+	public Key get(String namespace, String setName, Value userKey) {
+		int slot = slot(namespace, setName, userKey.hashCode());
+		Key key = slots.get(slot);
+		if (key != null && matches(key, namespace, setName) && userKey.equals(key.userKey)) {
+			return key;
+		}
+		return cache(slot, new Key(namespace, setName, userKey));
+	}
+
+	/**
+	 * Removes all cached keys.
+	 */
+	public void clear() {
+		for (int i = 0; i < slots.length(); i++) {
+			slots.set(i, null);
+		}
+	}
+
+	private int slot(String namespace, String setName, int userKeyHash) {
+		int hash = (namespace.hashCode() * 31 + Objects.hashCode(setName)) * 31 + userKeyHash;
+		return (hash ^ hash >>> 16) & mask;
+	}
+
+	private Key cache(int slot, Key key) {
+		slots.lazySet(slot, key);
+		return key;
+	}
+
+	private static boolean matches(Key key, String namespace, String setName) {
+		return key.userKey != null && namespace.equals(key.namespace) && Objects.equals(setName, key.setName);
+	}
+}
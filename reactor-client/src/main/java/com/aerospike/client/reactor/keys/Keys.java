@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.keys;
+
+import com.aerospike.client.Key;
+
+/**
+ * Construction of keys from digests computed earlier, such as digests returned by scans,
+ * stored by the application or read from exported data. No digest is computed.
+ */
+public final class Keys {
+
+	/**
+	 * Length of a RIPEMD-160 key digest in bytes.
+	 */
+	public static final int DIGEST_SIZE = 20;
+
+	private Keys() {
+	}
+
+	/**
+	 * Key using the digest array as is, which must not be modified afterwards.
+	 */
+	public static Key ofDigest(String namespace, String setName, byte[] digest) {
+		if (digest.length != DIGEST_SIZE) {
+			throw new IllegalArgumentException("Digest must be " + DIGEST_SIZE + " bytes: " + digest.length);
+		}
+		return new Key(namespace, digest, setName, null);
+	}
+
+	/**
+	 * Key with a copy of the digest starting at the offset.
+	 */
+	public static Key ofDigest(String namespace, String setName, byte[] digests, int offset) {
+		byte[] digest = new byte[DIGEST_SIZE];
+		System.arraycopy(digests, offset, digest, 0, DIGEST_SIZE);
+		return new Key(namespace, digest, setName, null);
+	}
+
+	/**
+	 * Keys of the digests stored back to back in the array.
+	 */
+	public static Key[] ofDigests(String namespace, String setName, byte[] digests) {
+		if (digests.length % DIGEST_SIZE != 0) {
+			throw new IllegalArgumentException("Digests length must be a multiple of " + DIGEST_SIZE
+					+ ": " + digests.length);
+		}
+		Key[] keys = new Key[digests.length / DIGEST_SIZE];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = ofDigest(namespace, setName, digests, i * DIGEST_SIZE);
+		}
+		return keys;
+	}
+
+	/**
+	 * Keys of the digests, using the digest arrays as is.
+	 */
+	public static Key[] ofDigests(String namespace, String setName, byte[][] digests) {
+		Key[] keys = new Key[digests.length];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = ofDigest(namespace, setName, digests[i]);
+		}
+		return keys;
+	}
+}
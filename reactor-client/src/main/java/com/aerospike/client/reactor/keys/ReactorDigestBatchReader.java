@@ -0,0 +1,117 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.keys;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.Operation;
+import com.aerospike.client.Record;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.dto.KeysExists;
+import com.aerospike.client.reactor.dto.KeysRecords;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Reads the records of a {@link DigestBatch} with batch commands of
+ * {@link DigestBatchPolicy#chunkSize} keys, so that only the keys of the chunks in flight
+ * exist as {@link Key} objects.
+ */
+public class ReactorDigestBatchReader {
+
+	private final IAerospikeReactorClient client;
+	private final DigestBatchPolicy policy;
+
+	public ReactorDigestBatchReader(IAerospikeReactorClient client) {
+		this(client, new DigestBatchPolicy());
+	}
+
+	public ReactorDigestBatchReader(IAerospikeReactorClient client, DigestBatchPolicy policy) {
+		if (policy.chunkSize <= 0) {
+			throw new IllegalArgumentException("Chunk size must be positive: " + policy.chunkSize);
+		}
+		this.client = client;
+		this.policy = new DigestBatchPolicy(policy);
+	}
+
+	/**
+	 * Records found, in batch order, each with the index of its entry. Entries without
+	 * record are skipped. Reads all bins, or only the bins named.
+	 */
+	public Flux<IndexedRecord> get(DigestBatch batch, String... binNames) {
+		Operation[] operations = new Operation[binNames.length];
+		for (int i = 0; i < binNames.length; i++) {
+			operations[i] = Operation.get(binNames[i]);
+		}
+		return chunks(batch)
+				.flatMapSequential(from -> {
+					Key[] keys = batch.keys(from, Math.min(from + policy.chunkSize, batch.size()));
+					Mono<KeysRecords> records = operations.length == 0
+							? client.get(policy.batchPolicy, keys)
+							: client.get(policy.batchPolicy, keys, operations);
+					return records.flatMapIterable(keysRecords -> found(from, keysRecords.records));
+				}, policy.maxConcurrentChunks);
+	}
+
+	/**
+	 * Indexes of the entries whose record exists.
+	 */
+	public Mono<BitSet> exists(DigestBatch batch) {
+		return chunks(batch)
+				.flatMap(from -> client.exists(policy.batchPolicy,
+								batch.keys(from, Math.min(from + policy.chunkSize, batch.size())))
+						.map(keysExists -> new Chunk(from, keysExists)), policy.maxConcurrentChunks)
+				.reduceWith(() -> new BitSet(batch.size()), (existing, chunk) -> {
+					boolean[] exists = chunk.keysExists.exists;
+					for (int i = 0; i < exists.length; i++) {
+						if (exists[i]) {
+							existing.set(chunk.from + i);
+						}
+					}
+					return existing;
+				});
+	}
+
+	private Flux<Integer> chunks(DigestBatch batch) {
+		int size = batch.size();
+		int chunks = (int) (((long) size + policy.chunkSize - 1) / policy.chunkSize);
+		return Flux.range(0, chunks).map(chunk -> chunk * policy.chunkSize);
+	}
+
+	private static List<IndexedRecord> found(int from, Record[] records) {
+		List<IndexedRecord> found = new ArrayList<>(records.length);
+		for (int i = 0; i < records.length; i++) {
+			if (records[i] != null) {
+				found.add(new IndexedRecord(from + i, records[i]));
+			}
+		}
+		return found;
+	}
+
+	private static final class Chunk {
+		final int from;
+		final KeysExists keysExists;
+
+		Chunk(int from, KeysExists keysExists) {
+			this.from = from;
+			this.keysExists = keysExists;
+		}
+	}
+}
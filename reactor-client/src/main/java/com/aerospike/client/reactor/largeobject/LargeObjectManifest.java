@@ -0,0 +1,99 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.largeobject;
+
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Manifest record of a large object, stored under the object key.
+ * <p>
+ * Chunks are stored in the same namespace and set under keys derived from the object key
+ * digest, the object id and the chunk index. A new object id is generated on every write,
+ * so a reader holding a manifest never observes chunks of a later write.
+ */
+public final class LargeObjectManifest {
+
+	static final String ID_BIN = "lo_id";
+	static final String SIZE_BIN = "lo_size";
+	static final String CHUNKS_BIN = "lo_chunks";
+	static final String CHUNK_SIZE_BIN = "lo_chunk_size";
+	static final String DATA_BIN = "lo_data";
+
+	/**
+	 * Key of the manifest record.
+	 */
+	public final Key key;
+
+	/**
+	 * Random identifier of this version of the object.
+	 */
+	public final long objectId;
+
+	/**
+	 * Total number of bytes.
+	 */
+	public final long size;
+
+	public final int chunkCount;
+
+	public final int chunkSize;
+
+	LargeObjectManifest(Key key, long objectId, long size, int chunkCount, int chunkSize) {
+		this.key = key;
+		this.objectId = objectId;
+		this.size = size;
+		this.chunkCount = chunkCount;
+		this.chunkSize = chunkSize;
+	}
+
+	static LargeObjectManifest of(Key key, Record record) {
+		if (record == null || record.bins == null || !record.bins.containsKey(ID_BIN)) {
+			return null;
+		}
+		return new LargeObjectManifest(key, record.getLong(ID_BIN), record.getLong(SIZE_BIN),
+				record.getInt(CHUNKS_BIN), record.getInt(CHUNK_SIZE_BIN));
+	}
+
+	Bin[] toBins() {
+		return new Bin[]{
+				new Bin(ID_BIN, objectId),
+				new Bin(SIZE_BIN, size),
+				new Bin(CHUNKS_BIN, chunkCount),
+				new Bin(CHUNK_SIZE_BIN, chunkSize)
+		};
+	}
+
+	Key chunkKey(int index) {
+		return chunkKey(key, objectId, index);
+	}
+
+	static Key chunkKey(Key key, long objectId, int index) {
+		ByteBuffer userKey = ByteBuffer.allocate(key.digest.length + 12);
+		userKey.put(key.digest).putLong(objectId).putInt(index);
+		return new Key(key.namespace, key.setName, userKey.array());
+	}
+
+	@Override
+	public String toString() {
+		return "LargeObjectManifest{key=" + key + ", objectId=" + objectId + ", size=" + size
+				+ ", chunkCount=" + chunkCount + ", chunkSize=" + chunkSize + '}';
+	}
+}
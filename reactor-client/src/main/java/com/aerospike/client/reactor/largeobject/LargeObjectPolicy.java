@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.largeobject;
+
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.policy.WritePolicy;
+
+/**
+ * Configuration of {@link ReactorLargeObjectStore}.
+ */
+public class LargeObjectPolicy {
+
+	/**
+	 * Size of every chunk record except the last one.
+	 * Must leave room for the record overhead below the namespace write-block-size.
+	 * <p>
+	 * Default: 128KB
+	 */
+	public int chunkSize = 128 * 1024;
+
+	/**
+	 * Number of chunks written or read by one batch command.
+	 * <p>
+	 * Default: 8
+	 */
+	public int chunksPerBatch = 8;
+
+	/**
+	 * Maximum number of chunk batches written concurrently.
+	 * Together with chunkSize and chunksPerBatch it bounds the memory held by a write.
+	 * <p>
+	 * Default: 2
+	 */
+	public int writeConcurrency = 2;
+
+	/**
+	 * Number of chunk batches read ahead of the subscriber.
+	 * <p>
+	 * Default: 2
+	 */
+	public int readAhead = 2;
+
+	/**
+	 * Policy of the manifest read, null for the client default.
+	 */
+	public Policy readPolicy;
+
+	/**
+	 * Policy of the manifest write and delete, null for the client default.
+	 */
+	public WritePolicy writePolicy;
+
+	/**
+	 * Policy of the chunk batches, null for the client default.
+	 */
+	public BatchPolicy batchPolicy;
+
+	public LargeObjectPolicy() {
+	}
+
+	public LargeObjectPolicy(LargeObjectPolicy other) {
+		this.chunkSize = other.chunkSize;
+		this.chunksPerBatch = other.chunksPerBatch;
+		this.writeConcurrency = other.writeConcurrency;
+		this.readAhead = other.readAhead;
+		this.readPolicy = other.readPolicy;
+		this.writePolicy = other.writePolicy;
+		this.batchPolicy = other.batchPolicy;
+	}
+}
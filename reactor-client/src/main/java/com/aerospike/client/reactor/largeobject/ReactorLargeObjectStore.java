@@ -0,0 +1,253 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.largeobject;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.BatchWrite;
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.Operation;
+import com.aerospike.client.Record;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.dto.KeysRecords;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stores values larger than the namespace write-block-size as a manifest record plus
+ * fixed size chunk records.
+ * <p>
+ * Writes re-chunk the incoming buffers and send the chunks with batch operate, holding at most
+ * {@code chunkSize * chunksPerBatch * (writeConcurrency + 1)} bytes at a time. The manifest is
+ * written only after every chunk is stored, and the chunks of the replaced version are deleted
+ * afterwards. Reads stream the chunks in order, fetching up to {@code readAhead} batches ahead.
+ * <p>
+ * Chunks live in the same set as the manifest, so scans of that set also return chunk records.
+ * A write that is cancelled may leave orphan chunks behind.
+ */
+public class ReactorLargeObjectStore {
+
+	private final IAerospikeReactorClient client;
+	private final LargeObjectPolicy policy;
+
+	public ReactorLargeObjectStore(IAerospikeReactorClient client) {
+		this(client, new LargeObjectPolicy());
+	}
+
+	public ReactorLargeObjectStore(IAerospikeReactorClient client, LargeObjectPolicy policy) {
+		this.client = client;
+		this.policy = new LargeObjectPolicy(policy);
+	}
+
+	/**
+	 * Writes the content under the given key, replacing any previous large object.
+	 * The buffers are read from their current position without being modified.
+	 */
+	public Mono<LargeObjectManifest> write(Key key, Flux<ByteBuffer> content) {
+		return Mono.defer(() -> {
+			long objectId = ThreadLocalRandom.current().nextLong();
+			Chunker chunker = new Chunker(policy.chunkSize);
+			Mono<Void> chunksWritten = content
+					.concatMapIterable(chunker::add, 1)
+					.concatWith(Mono.fromSupplier(chunker::finish))
+					.index()
+					.buffer(policy.chunksPerBatch)
+					.flatMap(batch -> writeChunks(key, objectId, batch), policy.writeConcurrency)
+					.then()
+					.onErrorResume(error -> discard(key, objectId, chunker.count, error));
+			return chunksWritten.then(Mono.defer(() -> replace(
+					new LargeObjectManifest(key, objectId, chunker.size, chunker.count, policy.chunkSize))));
+		});
+	}
+
+	/**
+	 * Reads the manifest of the large object, empty when there is none.
+	 */
+	public Mono<LargeObjectManifest> stat(Key key) {
+		return client.get(policy.readPolicy, key, new String[]{LargeObjectManifest.ID_BIN,
+						LargeObjectManifest.SIZE_BIN, LargeObjectManifest.CHUNKS_BIN, LargeObjectManifest.CHUNK_SIZE_BIN})
+				.flatMap(keyRecord -> Mono.justOrEmpty(LargeObjectManifest.of(key, keyRecord.record)));
+	}
+
+	/**
+	 * Streams the content of the large object, empty when there is none.
+	 */
+	public Flux<ByteBuffer> read(Key key) {
+		return stat(key).flatMapMany(this::read);
+	}
+
+	/**
+	 * Streams the content of the given version of a large object.
+	 */
+	public Flux<ByteBuffer> read(LargeObjectManifest manifest) {
+		return Flux.range(0, manifest.chunkCount)
+				.buffer(policy.chunksPerBatch)
+				.flatMapSequential(indexes -> readChunks(manifest, indexes), policy.readAhead, 1);
+	}
+
+	/**
+	 * Deletes the large object, emits false when there was none.
+	 */
+	public Mono<Boolean> delete(Key key) {
+		return stat(key)
+				.flatMap(manifest -> client.delete(policy.writePolicy, key)
+						.then(deleteChunks(key, manifest.objectId, manifest.chunkCount))
+						.thenReturn(true))
+				.defaultIfEmpty(false);
+	}
+
+	private Mono<LargeObjectManifest> replace(LargeObjectManifest manifest) {
+		Key key = manifest.key;
+		return stat(key)
+				.map(Optional::of)
+				.defaultIfEmpty(Optional.empty())
+				.flatMap(previous -> client.put(policy.writePolicy, key, manifest.toBins())
+						.onErrorResume(error -> discard(key, manifest.objectId, manifest.chunkCount, error))
+						.then(previous
+								.map(old -> deleteChunks(key, old.objectId, old.chunkCount))
+								.orElse(Mono.empty()))
+						.thenReturn(manifest));
+	}
+
+	private Mono<Void> writeChunks(Key key, long objectId, List<Tuple2<Long, byte[]>> batch) {
+		List<BatchRecord> records = new ArrayList<>(batch.size());
+		for (Tuple2<Long, byte[]> chunk : batch) {
+			Key chunkKey = LargeObjectManifest.chunkKey(key, objectId, chunk.getT1().intValue());
+			records.add(new BatchWrite(chunkKey,
+					new Operation[]{Operation.put(new Bin(LargeObjectManifest.DATA_BIN, chunk.getT2()))}));
+		}
+		return client.operate(policy.batchPolicy, records)
+				.flatMap(success -> success ? Mono.<Void>empty() : Mono.error(batchFailure(key, records)));
+	}
+
+	private Flux<ByteBuffer> readChunks(LargeObjectManifest manifest, List<Integer> indexes) {
+		Key[] keys = new Key[indexes.size()];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = manifest.chunkKey(indexes.get(i));
+		}
+		return client.get(policy.batchPolicy, keys)
+				.flatMapIterable(keysRecords -> chunks(manifest, indexes, keysRecords));
+	}
+
+	private static List<ByteBuffer> chunks(LargeObjectManifest manifest, List<Integer> indexes, KeysRecords keysRecords) {
+		List<ByteBuffer> chunks = new ArrayList<>(keysRecords.records.length);
+		for (int i = 0; i < keysRecords.records.length; i++) {
+			Record record = keysRecords.records[i];
+			Object data = record == null ? null : record.getValue(LargeObjectManifest.DATA_BIN);
+			if (!(data instanceof byte[])) {
+				throw new AerospikeException(ResultCode.KEY_NOT_FOUND_ERROR,
+						"Chunk " + indexes.get(i) + " of large object " + manifest.key + " is missing");
+			}
+			chunks.add(ByteBuffer.wrap((byte[]) data));
+		}
+		return chunks;
+	}
+
+	private Mono<Void> deleteChunks(Key key, long objectId, int chunkCount) {
+		return Flux.range(0, chunkCount)
+				.buffer(policy.chunksPerBatch)
+				.flatMap(indexes -> {
+					Key[] keys = new Key[indexes.size()];
+					for (int i = 0; i < keys.length; i++) {
+						keys[i] = LargeObjectManifest.chunkKey(key, objectId, indexes.get(i));
+					}
+					return client.delete(policy.batchPolicy, null, keys);
+				}, policy.writeConcurrency)
+				.then();
+	}
+
+	/**
+	 * Removes the chunks of a failed write on a best effort basis and rethrows the failure.
+	 */
+	private <T> Mono<T> discard(Key key, long objectId, int chunkCount, Throwable error) {
+		return deleteChunks(key, objectId, chunkCount)
+				.onErrorResume(ignored -> Mono.empty())
+				.then(Mono.error(error));
+	}
+
+	private static AerospikeException batchFailure(Key key, List<BatchRecord> records) {
+		for (BatchRecord record : records) {
+			if (record.resultCode != ResultCode.OK) {
+				return new AerospikeException(record.resultCode,
+						"Failed to write chunk of large object " + key);
+			}
+		}
+		return new AerospikeException(ResultCode.BATCH_FAILED, "Failed to write chunks of large object " + key);
+	}
+
+	/**
+	 * Splits buffers of arbitrary size into chunks of a fixed size.
+	 * Used by a single subscription, so it needs no synchronization.
+	 */
+	static final class Chunker {
+		private final int chunkSize;
+		private byte[] current;
+		private int position;
+		long size;
+		int count;
+
+		Chunker(int chunkSize) {
+			this.chunkSize = chunkSize;
+		}
+
+		List<byte[]> add(ByteBuffer buffer) {
+			ByteBuffer source = buffer.duplicate();
+			List<byte[]> full = Collections.emptyList();
+			while (source.hasRemaining()) {
+				if (current == null) {
+					current = new byte[chunkSize];
+				}
+				int length = Math.min(source.remaining(), chunkSize - position);
+				source.get(current, position, length);
+				position += length;
+				size += length;
+				if (position == chunkSize) {
+					if (full.isEmpty()) {
+						full = new ArrayList<>(1);
+					}
+					full.add(current);
+					current = null;
+					position = 0;
+					count++;
+				}
+			}
+			return full;
+		}
+
+		byte[] finish() {
+			if (position == 0) {
+				return null;
+			}
+			byte[] last = Arrays.copyOf(current, position);
+			current = null;
+			position = 0;
+			count++;
+			return last;
+		}
+	}
+}
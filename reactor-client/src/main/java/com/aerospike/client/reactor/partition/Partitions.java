@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.partition;
+
+import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.policy.ScanPolicy;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
+import com.aerospike.client.query.Statement;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.util.Statements;
+import reactor.core.publisher.Flux;
+
+import java.util.function.Supplier;
+
+/**
+ * Partition ranges and paged partition scans and queries.
+ * <p>
+ * A paged read requests the next page only after the previous one completed, resuming
+ * where the partition filter stopped until it is done. Every subscription creates its own
+ * filter, so a resubscribed read starts over.
+ */
+public final class Partitions {
+
+	/**
+	 * Number of data partitions of an Aerospike namespace.
+	 */
+	public static final int COUNT = 4096;
+
+	private Partitions() {
+	}
+
+	/**
+	 * First partition of the index-th of {@code ranges} contiguous ranges.
+	 */
+	public static int begin(int index, int ranges) {
+		return index * COUNT / ranges;
+	}
+
+	/**
+	 * Number of partitions of the index-th of {@code ranges} contiguous ranges.
+	 */
+	public static int count(int index, int ranges) {
+		return begin(index + 1, ranges) - begin(index, ranges);
+	}
+
+	/**
+	 * Filter of the index-th of {@code ranges} contiguous ranges.
+	 */
+	public static PartitionFilter range(int index, int ranges) {
+		return PartitionFilter.range(begin(index, ranges), count(index, ranges));
+	}
+
+	/**
+	 * Scans the partitions page by page, {@code scanPolicy.maxRecords} records per page.
+	 * A single scan reads all records when maxRecords is 0.
+	 */
+	public static Flux<KeyRecord> scan(IAerospikeReactorClient client, ScanPolicy scanPolicy,
+									   Supplier<PartitionFilter> filters,
+									   String namespace, String setName, String[] binNames) {
+		return Flux.defer(() -> {
+			PartitionFilter filter = filters.get();
+			return Flux.defer(() -> client.scanPartitions(scanPolicy, filter, namespace, setName, binNames))
+					.repeat(() -> scanPolicy.maxRecords > 0 && !filter.isDone());
+		});
+	}
+
+	/**
+	 * Queries the partitions page by page, {@code pageSize} records per page. The statement
+	 * is left unchanged, pages are read through a copy with maxRecords set to the page size.
+	 * A single query reads all records when the page size is 0.
+	 */
+	public static Flux<KeyRecord> query(IAerospikeReactorClient client, QueryPolicy queryPolicy,
+										Statement statement, long pageSize, Supplier<PartitionFilter> filters) {
+		Statement page = Statements.copy(statement, statement.getFilter(), pageSize);
+		return Flux.defer(() -> {
+			PartitionFilter filter = filters.get();
+			return Flux.defer(() -> client.queryPartitions(queryPolicy, page, filter))
+					.repeat(() -> pageSize > 0 && !filter.isDone());
+		});
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.planner;
+
+import com.aerospike.client.command.Buffer;
+import com.aerospike.client.command.ParticleType;
+import com.aerospike.client.exp.Exp;
+import com.aerospike.client.query.Filter;
+import com.aerospike.client.query.IndexCollectionType;
+
+/**
+ * Bin name and bounds of a {@link Filter}, which does not expose them, read back
+ * from its wire encoding. Bounds are only decoded for integer and string filters,
+ * geospatial filters carry plain GeoJSON that is not a server particle.
+ */
+final class FilterBounds {
+
+	final String binName;
+	final int particleType;
+	final Object begin;
+	final Object end;
+	final IndexCollectionType collectionType;
+	final boolean hasContext;
+
+	private FilterBounds(String binName, int particleType, Object begin, Object end,
+						 IndexCollectionType collectionType, boolean hasContext) {
+		this.binName = binName;
+		this.particleType = particleType;
+		this.begin = begin;
+		this.end = end;
+		this.collectionType = collectionType;
+		this.hasContext = hasContext;
+	}
+
+	static FilterBounds of(Filter filter) {
+		byte[] bytes = new byte[filter.estimateSize()];
+		filter.write(bytes, 0);
+		int offset = 0;
+		int nameLength = bytes[offset++] & 0xFF;
+		String binName = Buffer.utf8ToString(bytes, offset, nameLength);
+		offset += nameLength;
+		int particleType = bytes[offset++];
+		Object begin = null;
+		Object end = null;
+		if (particleType == ParticleType.INTEGER || particleType == ParticleType.STRING) {
+			int beginLength = Buffer.bytesToInt(bytes, offset);
+			offset += 4;
+			begin = Buffer.bytesToParticle(particleType, bytes, offset, beginLength);
+			offset += beginLength;
+			int endLength = Buffer.bytesToInt(bytes, offset);
+			offset += 4;
+			end = Buffer.bytesToParticle(particleType, bytes, offset, endLength);
+		}
+		return new FilterBounds(binName, particleType, begin, end,
+				filter.getCollectionType(), filter.getPackedCtx() != null);
+	}
+
+	boolean isEquality() {
+		return begin != null && begin.equals(end);
+	}
+
+	/**
+	 * Secondary index type matching the filter, as reported by the server.
+	 */
+	String indexType() {
+		switch (particleType) {
+			case ParticleType.INTEGER: return "numeric";
+			case ParticleType.STRING: return "string";
+			case ParticleType.GEOJSON: return "geo2dsphere";
+			default: return null;
+		}
+	}
+
+	/**
+	 * Equivalent filter expression, null for collection, context or geospatial filters.
+	 */
+	Exp toExp() {
+		if (collectionType != IndexCollectionType.DEFAULT || hasContext) {
+			return null;
+		}
+		switch (particleType) {
+			case ParticleType.INTEGER:
+				Exp bin = Exp.intBin(binName);
+				if (isEquality()) {
+					return Exp.eq(bin, Exp.val((Long) begin));
+				}
+				return Exp.and(Exp.ge(bin, Exp.val((Long) begin)), Exp.le(bin, Exp.val((Long) end)));
+			case ParticleType.STRING:
+				return Exp.eq(Exp.stringBin(binName), Exp.val((String) begin));
+			default:
+				return null;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.planner;
+
+import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.query.Statement;
+
+/**
+ * Execution strategy chosen by {@link ReactorQueryPlanner} for a statement.
+ */
+public final class QueryPlan {
+
+	public enum Strategy {
+		/**
+		 * Secondary index query with the statement filter.
+		 */
+		INDEX,
+		/**
+		 * Scan of the set, the filter being evaluated as a filter expression.
+		 */
+		SCAN
+	}
+
+	public final Strategy strategy;
+
+	/**
+	 * Index matching the statement filter, null if none.
+	 */
+	public final String indexName;
+
+	/**
+	 * Estimated index entries matched by the filter, -1 if unknown.
+	 */
+	public final long estimatedMatches;
+
+	/**
+	 * Records of the set on all nodes, replicas included like index entries, -1 if unknown.
+	 */
+	public final long setObjects;
+
+	/**
+	 * Estimated fraction of the set matched by the filter, NaN if unknown.
+	 */
+	public final double selectivity;
+
+	/**
+	 * Human readable reason of the choice.
+	 */
+	public final String reason;
+
+	/**
+	 * Policy to execute the plan with.
+	 */
+	public final QueryPolicy policy;
+
+	/**
+	 * Statement to execute the plan with.
+	 */
+	public final Statement statement;
+
+	public QueryPlan(Strategy strategy, String indexName, long estimatedMatches, long setObjects,
+					 double selectivity, String reason, QueryPolicy policy, Statement statement) {
+		this.strategy = strategy;
+		this.indexName = indexName;
+		this.estimatedMatches = estimatedMatches;
+		this.setObjects = setObjects;
+		this.selectivity = selectivity;
+		this.reason = reason;
+		this.policy = policy;
+		this.statement = statement;
+	}
+
+	@Override
+	public String toString() {
+		return "QueryPlan{strategy=" + strategy + ", indexName=" + indexName
+				+ ", estimatedMatches=" + estimatedMatches + ", setObjects=" + setObjects
+				+ ", selectivity=" + selectivity + ", reason=" + reason + '}';
+	}
+}
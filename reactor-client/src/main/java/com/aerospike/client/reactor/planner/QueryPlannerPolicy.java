@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.planner;
+
+import com.aerospike.client.policy.InfoPolicy;
+
+/**
+ * Configuration of {@link ReactorQueryPlanner}.
+ */
+public class QueryPlannerPolicy {
+
+	/**
+	 * Info policy of the statistics requests, null for defaults.
+	 */
+	public InfoPolicy infoPolicy;
+
+	/**
+	 * How long the set and index statistics of a namespace are reused.
+	 * <p>
+	 * Default: 60000
+	 */
+	public long statsTtlMillis = 60_000;
+
+	/**
+	 * Largest estimated fraction of the set matched by a filter for which the secondary
+	 * index is used. Index queries read every match with a random access, while scans
+	 * read records sequentially and evaluate the expression on the server, so less
+	 * selective filters are cheaper as scans.
+	 * <p>
+	 * Default: 0.2
+	 */
+	public double maxIndexSelectivity = 0.2;
+
+	/**
+	 * Fraction of the index entries a range filter is assumed to match.
+	 * <p>
+	 * Default: 0.33
+	 */
+	public double rangeSelectivity = 0.33;
+
+	/**
+	 * Fraction of the index entries an equality filter is assumed to match when the server
+	 * does not report the number of entries per bin value.
+	 * <p>
+	 * Default: 0.01
+	 */
+	public double equalitySelectivity = 0.01;
+
+	public QueryPlannerPolicy() {
+	}
+
+	public QueryPlannerPolicy(QueryPlannerPolicy other) {
+		this.infoPolicy = other.infoPolicy;
+		this.statsTtlMillis = other.statsTtlMillis;
+		this.maxIndexSelectivity = other.maxIndexSelectivity;
+		this.rangeSelectivity = other.rangeSelectivity;
+		this.equalitySelectivity = other.equalitySelectivity;
+	}
+}
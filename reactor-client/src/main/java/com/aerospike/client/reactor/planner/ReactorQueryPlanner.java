@@ -0,0 +1,209 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.planner;
+
+import com.aerospike.client.exp.Exp;
+import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.query.Filter;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.Statement;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.info.IndexStats;
+import com.aerospike.client.reactor.info.ReactorClusterInfo;
+import com.aerospike.client.reactor.info.SetStats;
+import com.aerospike.client.reactor.util.Statements;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chooses between a secondary index query and a filtered scan for every statement.
+ * <p>
+ * Callers set the statement {@link Filter} as usual. The planner finds the index serving
+ * it in the cached set and index statistics, estimates the fraction of the set the filter
+ * matches and, when it exceeds {@link QueryPlannerPolicy#maxIndexSelectivity}, runs the
+ * query as a scan with an equivalent filter expression instead. Filters without such an
+ * expression (collection, context and geospatial filters) and policies that already have
+ * a filter expression always use the index.
+ */
+public class ReactorQueryPlanner {
+
+	private final IAerospikeReactorClient client;
+	private final ReactorClusterInfo clusterInfo;
+	private final QueryPlannerPolicy policy;
+	private final Map<String, Mono<Tuple2<List<SetStats>, List<IndexStats>>>> stats = new ConcurrentHashMap<>();
+
+	public ReactorQueryPlanner(IAerospikeReactorClient client) {
+		this(client, new QueryPlannerPolicy());
+	}
+
+	public ReactorQueryPlanner(IAerospikeReactorClient client, QueryPlannerPolicy policy) {
+		this.client = client;
+		this.clusterInfo = new ReactorClusterInfo(client);
+		this.policy = new QueryPlannerPolicy(policy);
+	}
+
+	/**
+	 * Plans and executes the query.
+	 *
+	 * @param queryPolicy			query configuration parameters, pass in null for defaults
+	 * @param statement				query definition, left unchanged
+	 */
+	public Flux<KeyRecord> query(QueryPolicy queryPolicy, Statement statement) {
+		return explain(queryPolicy, statement)
+				.flatMapMany(plan -> client.query(plan.policy, plan.statement));
+	}
+
+	/**
+	 * Plans the query without executing it.
+	 *
+	 * @param queryPolicy			query configuration parameters, pass in null for defaults
+	 * @param statement				query definition, left unchanged
+	 */
+	public Mono<QueryPlan> explain(QueryPolicy queryPolicy, Statement statement) {
+		QueryPolicy basePolicy = queryPolicy != null ? queryPolicy : client.getQueryPolicyDefault();
+		Filter filter = statement.getFilter();
+		if (filter == null) {
+			return Mono.just(new QueryPlan(QueryPlan.Strategy.SCAN, null, -1, -1, Double.NaN,
+					"no filter", basePolicy, statement));
+		}
+		return Mono.fromCallable(() -> FilterBounds.of(filter))
+				.flatMap(bounds -> stats(statement.getNamespace())
+						.map(stats -> plan(basePolicy, statement, bounds, stats.getT1(), stats.getT2())));
+	}
+
+	/**
+	 * Drops the cached statistics, so the next plans read them again.
+	 */
+	public void invalidate() {
+		stats.clear();
+	}
+
+	private Mono<Tuple2<List<SetStats>, List<IndexStats>>> stats(String namespace) {
+		return stats.computeIfAbsent(namespace, ns -> Mono.zip(
+						clusterInfo.setStats(policy.infoPolicy, ns),
+						clusterInfo.indexStats(policy.infoPolicy, ns))
+				.cache(value -> Duration.ofMillis(policy.statsTtlMillis),
+						error -> Duration.ZERO,
+						() -> Duration.ZERO));
+	}
+
+	private QueryPlan plan(QueryPolicy queryPolicy, Statement statement, FilterBounds bounds,
+						   List<SetStats> setStats, List<IndexStats> indexStats) {
+		IndexStats index = index(statement, bounds, indexStats);
+		Exp expression = bounds.toExp();
+		if (index == null) {
+			if (expression == null || queryPolicy.filterExp != null) {
+				return indexPlan(null, -1, -1, Double.NaN, "no index found, filter kept", queryPolicy, statement);
+			}
+			return scanPlan(null, -1, -1, Double.NaN, "no index found", queryPolicy, statement, expression);
+		}
+		if (!"RW".equalsIgnoreCase(index.state) && expression != null && queryPolicy.filterExp == null) {
+			return scanPlan(index.name, -1, -1, Double.NaN, "index not readable, state " + index.state,
+					queryPolicy, statement, expression);
+		}
+		long matches = estimateMatches(index, bounds);
+		long objects = setObjects(statement.getSetName(), setStats);
+		if (expression == null) {
+			return indexPlan(index.name, matches, objects, Double.NaN, "filter has no expression equivalent",
+					queryPolicy, statement);
+		}
+		if (queryPolicy.filterExp != null) {
+			return indexPlan(index.name, matches, objects, Double.NaN, "policy already has a filter expression",
+					queryPolicy, statement);
+		}
+		if (objects <= 0) {
+			return indexPlan(index.name, matches, objects, Double.NaN, "set size unknown", queryPolicy, statement);
+		}
+		double selectivity = Math.min(1.0, (double) matches / objects);
+		if (selectivity <= policy.maxIndexSelectivity) {
+			return indexPlan(index.name, matches, objects, selectivity, "selective filter", queryPolicy, statement);
+		}
+		return scanPlan(index.name, matches, objects, selectivity, "unselective filter",
+				queryPolicy, statement, expression);
+	}
+
+	private static QueryPlan indexPlan(String indexName, long matches, long objects, double selectivity,
+									   String reason, QueryPolicy queryPolicy, Statement statement) {
+		return new QueryPlan(QueryPlan.Strategy.INDEX, indexName, matches, objects, selectivity,
+				reason, queryPolicy, statement);
+	}
+
+	private static QueryPlan scanPlan(String indexName, long matches, long objects, double selectivity,
+									  String reason, QueryPolicy queryPolicy, Statement statement, Exp expression) {
+		QueryPolicy scanPolicy = new QueryPolicy(queryPolicy);
+		scanPolicy.filterExp = Exp.build(expression);
+		return new QueryPlan(QueryPlan.Strategy.SCAN, indexName, matches, objects, selectivity,
+				reason, scanPolicy, Statements.copy(statement, null, statement.getMaxRecords()));
+	}
+
+	private static IndexStats index(Statement statement, FilterBounds bounds, List<IndexStats> indexStats) {
+		IndexStats found = null;
+		for (IndexStats index : indexStats) {
+			if (!bounds.binName.equals(index.bin)
+					|| !bounds.indexType().equalsIgnoreCase(index.type)
+					|| !collectionType(bounds).equalsIgnoreCase(normalize(index.indexType, "default"))) {
+				continue;
+			}
+			String indexSet = normalize(index.set, null);
+			if (statement.getIndexName() != null && statement.getIndexName().equals(index.name)) {
+				return index;
+			}
+			if (indexSet == null ? found == null : indexSet.equals(statement.getSetName())) {
+				found = index;
+			}
+		}
+		return found;
+	}
+
+	private long estimateMatches(IndexStats index, FilterBounds bounds) {
+		if (bounds.isEquality()) {
+			Long perValue = index.totals.get("entries_per_bval");
+			if (perValue != null && perValue > 0) {
+				return perValue;
+			}
+			return (long) Math.ceil(index.entries * policy.equalitySelectivity);
+		}
+		return (long) Math.ceil(index.entries * policy.rangeSelectivity);
+	}
+
+	private static long setObjects(String setName, List<SetStats> setStats) {
+		if (setName == null) {
+			return -1;
+		}
+		for (SetStats stats : setStats) {
+			if (stats.set.equals(setName)) {
+				return stats.objects;
+			}
+		}
+		return 0;
+	}
+
+	private static String collectionType(FilterBounds bounds) {
+		return bounds.collectionType.name();
+	}
+
+	private static String normalize(String value, String none) {
+		return value == null || value.isEmpty() || value.equalsIgnoreCase("NULL") || value.equalsIgnoreCase("none")
+				? none : value;
+	}
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.priority;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.util.context.Context;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for commands grouped into named lanes.
+ * <p>
+ * Every lane has its own concurrency cap and weight, and all lanes share a global cap.
+ * A command holds a permit from subscription until it terminates or is cancelled, so a
+ * streaming scan occupies its slot for its whole duration. When commands are waiting in
+ * several lanes, free slots are handed out by smooth weighted round robin: a lane with
+ * weight 4 is served four times as often as a lane with weight 1, and no waiting lane is
+ * skipped indefinitely.
+ * <p>
+ * Dispatching is serialized by a work-in-progress counter instead of a lock, so releasing
+ * a permit from an event loop thread never blocks.
+ */
+public class LaneScheduler {
+
+	/** Context key holding the lane name for {@link AerospikeReactorPriorityClient}. */
+	public static final String LANE_CONTEXT_KEY = LaneScheduler.class.getName() + ".lane";
+
+	public static final String INTERACTIVE = "interactive";
+	public static final String BACKGROUND = "background";
+
+	private final int maxConcurrency;
+	private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+	private final AtomicInteger active = new AtomicInteger();
+	private final AtomicInteger wip = new AtomicInteger();
+
+	/**
+	 * @param maxConcurrency		maximum number of commands in flight across all lanes
+	 */
+	public LaneScheduler(int maxConcurrency) {
+		if (maxConcurrency < 1) {
+			throw new IllegalArgumentException("maxConcurrency must be at least 1: " + maxConcurrency);
+		}
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	/**
+	 * Scheduler with an {@link #INTERACTIVE} lane that may use every slot and a {@link #BACKGROUND}
+	 * lane limited to a share of them, with interactive traffic served first 4 to 1.
+	 */
+	public static LaneScheduler interactiveAndBackground(int maxConcurrency, int backgroundConcurrency) {
+		return new LaneScheduler(maxConcurrency)
+				.lane(INTERACTIVE, maxConcurrency, 4)
+				.lane(BACKGROUND, backgroundConcurrency, 1);
+	}
+
+	/**
+	 * Register a lane. Lanes should be registered before commands are scheduled on them.
+	 *
+	 * @param name					lane name
+	 * @param maxConcurrency		maximum number of commands of this lane in flight
+	 * @param weight				share of free slots given to this lane under contention
+	 */
+	public LaneScheduler lane(String name, int maxConcurrency, int weight) {
+		if (maxConcurrency < 1 || weight < 1) {
+			throw new IllegalArgumentException("maxConcurrency and weight must be at least 1");
+		}
+		lanes.put(name, new Lane(maxConcurrency, weight));
+		return this;
+	}
+
+	/**
+	 * Context selecting the lane of commands issued by {@link AerospikeReactorPriorityClient}.
+	 * Usage: {@code client.get(key).contextWrite(LaneScheduler.laneContext(BACKGROUND))}
+	 */
+	public static Context laneContext(String lane) {
+		return Context.of(LANE_CONTEXT_KEY, lane);
+	}
+
+	public <T> Mono<T> schedule(String lane, Mono<T> command) {
+		return Mono.usingWhen(acquire(lane), permit -> command,
+				Permit::release, (permit, error) -> permit.release(), Permit::release);
+	}
+
+	public <T> Flux<T> schedule(String lane, Flux<T> command) {
+		return Flux.usingWhen(acquire(lane), permit -> command,
+				Permit::release, (permit, error) -> permit.release(), Permit::release);
+	}
+
+	public boolean hasLane(String lane) {
+		return lanes.containsKey(lane);
+	}
+
+	public int getActive() {
+		return active.get();
+	}
+
+	public int getActive(String lane) {
+		Lane l = lanes.get(lane);
+		return l != null ? l.active.get() : 0;
+	}
+
+	public int getQueued(String lane) {
+		Lane l = lanes.get(lane);
+		return l != null ? l.queue.size() : 0;
+	}
+
+	private Mono<Permit> acquire(String laneName) {
+		return Mono.create(sink -> {
+			Lane lane = lanes.get(laneName);
+			if (lane == null) {
+				sink.error(new IllegalArgumentException("Unknown lane: " + laneName));
+				return;
+			}
+			Waiter waiter = new Waiter(lane, sink);
+			sink.onCancel(waiter::cancel);
+			lane.queue.offer(waiter);
+			drain();
+		});
+	}
+
+	private void drain() {
+		if (wip.getAndIncrement() != 0) {
+			return;
+		}
+		int missed = 1;
+		do {
+			Lane lane;
+			while (active.get() < maxConcurrency && (lane = nextLane()) != null) {
+				Waiter waiter = lane.queue.poll();
+				if (waiter == null || !waiter.dispatch()) {
+					continue;
+				}
+				active.incrementAndGet();
+				lane.active.incrementAndGet();
+				waiter.sink.success(waiter.permit);
+			}
+			missed = wip.addAndGet(-missed);
+		} while (missed != 0);
+	}
+
+	/**
+	 * Smooth weighted round robin over lanes that have waiters and free lane capacity.
+	 */
+	private Lane nextLane() {
+		Lane best = null;
+		int totalWeight = 0;
+		for (Lane lane : lanes.values()) {
+			if (lane.queue.isEmpty() || lane.active.get() >= lane.maxConcurrency) {
+				continue;
+			}
+			lane.currentWeight += lane.weight;
+			totalWeight += lane.weight;
+			if (best == null || lane.currentWeight > best.currentWeight) {
+				best = lane;
+			}
+		}
+		if (best != null) {
+			best.currentWeight -= totalWeight;
+		}
+		return best;
+	}
+
+	private void release(Lane lane) {
+		lane.active.decrementAndGet();
+		active.decrementAndGet();
+		drain();
+	}
+
+	private static final class Lane {
+		final int maxConcurrency;
+		final int weight;
+		final Queue<Waiter> queue = new ConcurrentLinkedQueue<>();
+		final AtomicInteger active = new AtomicInteger();
+		/** Only accessed from {@link #drain()}. */
+		int currentWeight;
+
+		Lane(int maxConcurrency, int weight) {
+			this.maxConcurrency = maxConcurrency;
+			this.weight = weight;
+		}
+	}
+
+	private final class Waiter {
+		final MonoSink<Permit> sink;
+		final Permit permit;
+		final AtomicBoolean done = new AtomicBoolean();
+
+		Waiter(Lane lane, MonoSink<Permit> sink) {
+			this.sink = sink;
+			this.permit = new Permit(lane);
+		}
+
+		boolean dispatch() {
+			return done.compareAndSet(false, true);
+		}
+
+		void cancel() {
+			if (!done.compareAndSet(false, true)) {
+				// cancelled while the permit was being handed over, the sink drops it
+				permit.release();
+			}
+		}
+	}
+
+	final class Permit {
+		private final Lane lane;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		Permit(Lane lane) {
+			this.lane = lane;
+		}
+
+		Mono<Void> release() {
+			if (released.compareAndSet(false, true)) {
+				LaneScheduler.this.release(lane);
+			}
+			return Mono.empty();
+		}
+	}
+}
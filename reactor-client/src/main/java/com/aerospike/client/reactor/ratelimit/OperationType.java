@@ -0,0 +1,31 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.ratelimit;
+
+/**
+ * Operation classes that are rate limited independently.
+ */
+public enum OperationType {
+	/** Single record reads: get, getHeader, exists. */
+	READ,
+	/** Single record writes: put, append, prepend, add, touch, delete, operate, execute. */
+	WRITE,
+	/** Scans and queries. One permit is taken per command. */
+	SCAN,
+	/** Batch commands. One permit is taken per key. */
+	BATCH
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.ratelimit;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of {@link TokenBucket}s keyed by namespace, set and {@link OperationType}.
+ * <p>
+ * A command is charged against the most specific limit that is configured:
+ * namespace and set, then namespace, then the operation type default.
+ * Commands without a matching limit are not throttled.
+ * <p>
+ * Throttling never fails a command. The reservation is taken when the command is subscribed
+ * and the subscription is delayed on the scheduler until the reserved permits become available.
+ */
+public class RateLimiter {
+
+	private static final String ANY = "";
+
+	private final Scheduler scheduler;
+	private final Map<OperationType, Map<String, TokenBucket>> buckets = new EnumMap<>(OperationType.class);
+
+	public RateLimiter() {
+		this(Schedulers.parallel());
+	}
+
+	/**
+	 * @param scheduler				scheduler used as the clock and to delay throttled commands
+	 */
+	public RateLimiter(Scheduler scheduler) {
+		this.scheduler = scheduler;
+		for (OperationType type : OperationType.values()) {
+			buckets.put(type, new ConcurrentHashMap<>());
+		}
+	}
+
+	/**
+	 * Set the default limit for an operation type.
+	 */
+	public RateLimiter limit(OperationType type, double permitsPerSecond, int burst) {
+		return putBucket(ANY, type, permitsPerSecond, burst);
+	}
+
+	/**
+	 * Set the limit for an operation type on every set of a namespace
+	 * that has no set specific limit.
+	 */
+	public RateLimiter limit(String namespace, OperationType type, double permitsPerSecond, int burst) {
+		return putBucket(namespace, type, permitsPerSecond, burst);
+	}
+
+	/**
+	 * Set the limit for an operation type on a single set.
+	 */
+	public RateLimiter limit(String namespace, String setName, OperationType type, double permitsPerSecond, int burst) {
+		return putBucket(bucketKey(namespace, setName), type, permitsPerSecond, burst);
+	}
+
+	/**
+	 * Reserve permits for a command.
+	 *
+	 * @return						delay in nanoseconds before the command may run, 0 if unlimited
+	 */
+	public long reserve(String namespace, String setName, OperationType type, int permits) {
+		TokenBucket bucket = findBucket(namespace, setName, type);
+		if (bucket == null || permits <= 0) {
+			return 0;
+		}
+		return bucket.reserve(scheduler.now(TimeUnit.NANOSECONDS), permits);
+	}
+
+	public <T> Mono<T> throttle(String namespace, String setName, OperationType type, int permits, Mono<T> command) {
+		return Mono.defer(() -> {
+			long delay = reserve(namespace, setName, type, permits);
+			return delay > 0
+					? Mono.delay(Duration.ofNanos(delay), scheduler).then(command)
+					: command;
+		});
+	}
+
+	public <T> Flux<T> throttle(String namespace, String setName, OperationType type, int permits, Flux<T> command) {
+		return Flux.defer(() -> {
+			long delay = reserve(namespace, setName, type, permits);
+			return delay > 0
+					? Mono.delay(Duration.ofNanos(delay), scheduler).thenMany(command)
+					: command;
+		});
+	}
+
+	private RateLimiter putBucket(String key, OperationType type, double permitsPerSecond, int burst) {
+		buckets.get(type).put(key, new TokenBucket(permitsPerSecond, burst, scheduler.now(TimeUnit.NANOSECONDS)));
+		return this;
+	}
+
+	private TokenBucket findBucket(String namespace, String setName, OperationType type) {
+		Map<String, TokenBucket> typeBuckets = buckets.get(type);
+		if (typeBuckets.isEmpty()) {
+			return null;
+		}
+		if (namespace != null) {
+			if (setName != null) {
+				TokenBucket bucket = typeBuckets.get(bucketKey(namespace, setName));
+				if (bucket != null) {
+					return bucket;
+				}
+			}
+			TokenBucket bucket = typeBuckets.get(namespace);
+			if (bucket != null) {
+				return bucket;
+			}
+		}
+		return typeBuckets.get(ANY);
+	}
+
+	private static String bucketKey(String namespace, String setName) {
+		return setName != null ? namespace + '/' + setName : namespace;
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm.
+ * <p>
+ * The bucket keeps a single "theoretical arrival time" and never rejects: {@link #reserve(long, int)}
+ * books the permits and returns how long the caller has to wait before using them.
+ * Callers that arrive while the bucket is in debt queue up behind earlier reservations,
+ * so bursts are spread out at the configured rate instead of being dropped.
+ */
+public final class TokenBucket {
+
+	private final long emissionIntervalNanos;
+	private final long burstToleranceNanos;
+	private final AtomicLong theoreticalArrivalTime;
+
+	/**
+	 * @param permitsPerSecond		sustained rate, must be positive
+	 * @param burst					number of permits that may be taken at once without waiting
+	 * @param nowNanos				current time of the clock used for later reservations
+	 */
+	public TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+		if (permitsPerSecond <= 0) {
+			throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+		}
+		if (burst < 1) {
+			throw new IllegalArgumentException("burst must be at least 1: " + burst);
+		}
+		this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000d / permitsPerSecond));
+		this.burstToleranceNanos = emissionIntervalNanos * burst;
+		this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+	}
+
+	/**
+	 * Reserve permits and return the delay in nanoseconds after which they may be used.
+	 *
+	 * @param nowNanos				current time of the bucket clock
+	 * @param permits				number of permits to take
+	 * @return						0 if the permits are available immediately
+	 */
+	public long reserve(long nowNanos, int permits) {
+		long cost = emissionIntervalNanos * permits;
+		while (true) {
+			long tat = theoreticalArrivalTime.get();
+			long newTat = Math.max(tat, nowNanos) + cost;
+			if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+				return Math.max(0, newTat - burstToleranceNanos - nowNanos);
+			}
+		}
+	}
+
+	public long getEmissionIntervalNanos() {
+		return emissionIntervalNanos;
+	}
+}
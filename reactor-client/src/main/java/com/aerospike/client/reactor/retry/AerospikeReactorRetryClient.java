@@ -23,12 +23,14 @@ import com.aerospike.client.policy.*;
 import com.aerospike.client.query.IndexCollectionType;
 import com.aerospike.client.query.IndexType;
 import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
 import com.aerospike.client.query.Statement;
 import com.aerospike.client.reactor.IAerospikeReactorClient;
 import com.aerospike.client.reactor.dto.KeyExists;
 import com.aerospike.client.reactor.dto.KeyObject;
 import com.aerospike.client.reactor.dto.KeysExists;
 import com.aerospike.client.reactor.dto.KeysRecords;
+import com.aerospike.client.reactor.dto.NodeInfo;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
@@ -285,6 +287,17 @@ public class AerospikeReactorRetryClient implements IAerospikeReactorClient {
 		return client.scanAll(policy, namespace, setName, binNames).retryWhen(retryPolicy);
 	}
 
+	@Override
+	public final Flux<KeyRecord> scanPartitions(ScanPolicy policy, PartitionFilter partitionFilter,
+												String namespace, String setName, String... binNames) throws AerospikeException {
+		return client.scanPartitions(policy, partitionFilter, namespace, setName, binNames).retryWhen(retryPolicy);
+	}
+
+	@Override
+	public final Flux<KeyRecord> queryPartitions(QueryPolicy policy, Statement statement, PartitionFilter partitionFilter) throws AerospikeException {
+		return client.queryPartitions(policy, statement, partitionFilter).retryWhen(retryPolicy);
+	}
+
 	@Override
 	public final Mono<KeyObject> execute(Key key, String packageName, String functionName, Value... functionArgs) throws AerospikeException {
 		return execute(null, key, packageName, functionName, functionArgs);
@@ -306,6 +319,28 @@ public class AerospikeReactorRetryClient implements IAerospikeReactorClient {
 		return client.info(infoPolicy, node, commands).retryWhen(retryPolicy);
     }
 
+	/**
+	 * Retries every node on its own, so nodes already reported are not reported again.
+	 */
+	@Override
+	public Flux<NodeInfo> infoAll(InfoPolicy infoPolicy, List<String> commands){
+		return Flux.defer(() -> {
+			Node[] nodes = client.getAerospikeClient().getNodes();
+			return info(infoPolicy, nodes, nodes.length, commands);
+		});
+	}
+
+	/**
+	 * Retries every node on its own, so nodes already reported are not reported again.
+	 */
+	@Override
+	public Flux<NodeInfo> info(InfoPolicy infoPolicy, Node[] nodes, int concurrency, List<String> commands){
+		return Flux.fromArray(nodes)
+				.flatMap(node -> info(infoPolicy, node, commands)
+						.map(values -> new NodeInfo(node, values)),
+						Math.max(concurrency, 1));
+	}
+
 	@Override
 	public Mono<Void> createIndex(Policy policy,
 								  String namespace, String setName, String indexName, String binName,
@@ -0,0 +1,481 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.session;
+
+import com.aerospike.client.*;
+import com.aerospike.client.cdt.CTX;
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.policy.*;
+import com.aerospike.client.query.IndexCollectionType;
+import com.aerospike.client.query.IndexType;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
+import com.aerospike.client.query.Statement;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.dto.KeyExists;
+import com.aerospike.client.reactor.dto.KeyObject;
+import com.aerospike.client.reactor.dto.KeysExists;
+import com.aerospike.client.reactor.dto.KeysRecords;
+import com.aerospike.client.reactor.dto.NodeInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Session decorator giving read-your-writes consistency when reads are served by replicas,
+ * e.g. with {@link Replica#SEQUENCE} or {@link Replica#ANY}.
+ * <p>
+ * The session records the keys it writes. For {@link SessionPolicy#masterReadMillis} after
+ * a write completes, successfully or not, reads of the key, and batch reads containing it,
+ * are sent to the master, while all other reads keep their replica policy. Queries and
+ * scans are not affected. A session is cheap, create one per unit of work sharing the
+ * same underlying client.
+ * <p>
+ * The window approximates "a newer local write exists" without tracking generations:
+ * put, add, append, prepend, delete and touch only report the key, not the generation
+ * they produced, and an in doubt write has no known generation at all. Comparing
+ * generations would take an extra read per write, or a replica read followed by a master
+ * read whenever the replica lags. The window should exceed the replication lag of the
+ * cluster.
+ */
+public class AerospikeReactorSessionClient implements IAerospikeReactorClient {
+
+	private final IAerospikeReactorClient client;
+	private final SessionWrites writes;
+
+	public AerospikeReactorSessionClient(IAerospikeReactorClient client) {
+		this(client, new SessionPolicy());
+	}
+
+	public AerospikeReactorSessionClient(IAerospikeReactorClient client, SessionPolicy policy) {
+		this(client, policy, System::nanoTime);
+	}
+
+	AerospikeReactorSessionClient(IAerospikeReactorClient client, SessionPolicy policy, LongSupplier clock) {
+		this.client = client;
+		this.writes = new SessionWrites(policy, clock);
+	}
+
+	/**
+	 * Ends the session, forgetting its writes. The underlying client stays open.
+	 */
+	@Override
+	public void close() {
+		writes.clear();
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Key key) throws AerospikeException {
+		return get(null, key);
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Policy policy, Key key) throws AerospikeException {
+		return Mono.defer(() -> client.get(readPolicy(policy, key), key));
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Policy policy, Key key, String[] binNames) throws AerospikeException {
+		return Mono.defer(() -> client.get(readPolicy(policy, key), key, binNames));
+	}
+
+	@Override
+	public final Mono<KeysRecords> get(Key[] keys) throws AerospikeException {
+		return get(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysRecords> get(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return Mono.defer(() -> client.get(batchPolicy(policy, keys), keys));
+	}
+
+	@Override
+	public final Mono<List<BatchRead>> get(List<BatchRead> records) throws AerospikeException {
+		return get(null, records);
+	}
+
+	@Override
+	public final Mono<List<BatchRead>> get(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
+		return Mono.defer(() -> client.get(batchPolicy(policy, records), records));
+	}
+
+	@Override
+	public Mono<KeysRecords> get(Key[] keys, Operation... operations) throws AerospikeException {
+		return get(null, keys, operations);
+	}
+
+	@Override
+	public Mono<KeysRecords> get(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
+		return Mono.defer(() -> client.get(batchPolicy(policy, keys), keys, operations));
+	}
+
+	@Override
+	public final Flux<BatchRead> getFlux(List<BatchRead> records) throws AerospikeException {
+		return getFlux(null, records);
+	}
+
+	@Override
+	public final Flux<BatchRead> getFlux(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
+		return Flux.defer(() -> client.getFlux(batchPolicy(policy, records), records));
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(Key[] keys) throws AerospikeException {
+		return getFlux(null, keys);
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return Flux.defer(() -> client.getFlux(batchPolicy(policy, keys), keys));
+	}
+
+	@Override
+	public Flux<KeyRecord> getFlux(Key[] keys, Operation... operations) throws AerospikeException {
+		return getFlux(null, keys, operations);
+	}
+
+	@Override
+	public Flux<KeyRecord> getFlux(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
+		return Flux.defer(() -> client.getFlux(batchPolicy(policy, keys), keys, operations));
+	}
+
+	@Override
+	public final Mono<KeyRecord> getHeader(Key key) throws AerospikeException {
+		return getHeader(null, key);
+	}
+
+	@Override
+	public final Mono<KeyRecord> getHeader(Policy policy, Key key) throws AerospikeException {
+		return Mono.defer(() -> client.getHeader(readPolicy(policy, key), key));
+	}
+
+	@Override
+	public final Mono<KeysRecords> getHeaders(Key[] keys) throws AerospikeException {
+		return getHeaders(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysRecords> getHeaders(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return Mono.defer(() -> client.getHeaders(batchPolicy(policy, keys), keys));
+	}
+
+	@Override
+	public final Mono<Key> touch(Key key) throws AerospikeException {
+		return touch(null, key);
+	}
+
+	@Override
+	public final Mono<Key> touch(WritePolicy policy, Key key) throws AerospikeException {
+		return written(key, client.touch(policy, key));
+	}
+
+	@Override
+	public final Mono<Key> exists(Key key) throws AerospikeException {
+		return exists(null, key);
+	}
+
+	@Override
+	public final Mono<Key> exists(Policy policy, Key key) throws AerospikeException {
+		return Mono.defer(() -> client.exists(readPolicy(policy, key), key));
+	}
+
+	@Override
+	public final Mono<KeysExists> exists(Key[] keys) throws AerospikeException {
+		return exists(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysExists> exists(BatchPolicy policy, Key[] keys) throws AerospikeException{
+		return Mono.defer(() -> client.exists(batchPolicy(policy, keys), keys));
+	}
+
+	@Override
+	public final Flux<KeyExists> existsFlux(Key[] keys) throws AerospikeException {
+		return existsFlux(null, keys);
+	}
+
+	@Override
+	public final Flux<KeyExists> existsFlux(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return Flux.defer(() -> client.existsFlux(batchPolicy(policy, keys), keys));
+	}
+
+	@Override
+	public final Mono<Key> put(Key key, Bin... bins) throws AerospikeException {
+		return put(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> put(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return written(key, client.put(policy, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> append(Key key, Bin... bins) throws AerospikeException {
+		return append(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> append(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return written(key, client.append(policy, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> prepend(Key key, Bin... bins) throws AerospikeException {
+		return prepend(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> prepend(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return written(key, client.prepend(policy, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> add(Key key, Bin... bins) throws AerospikeException {
+		return add(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> add(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return written(key, client.add(policy, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> delete(Key key) throws AerospikeException {
+		return delete(null, key);
+	}
+
+	@Override
+	public final Mono<Key> delete(WritePolicy policy, Key key) throws AerospikeException {
+		return written(key, client.delete(policy, key));
+	}
+
+	@Override
+	public Mono<BatchResults> delete(BatchPolicy batchPolicy, BatchDeletePolicy deletePolicy,
+									 Key[] keys) throws AerospikeException {
+		return written(keys, client.delete(batchPolicy, deletePolicy, keys));
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(Key key, Operation... operations) throws AerospikeException {
+		return operate(null, key, operations);
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(WritePolicy policy, Key key, Operation... operations) throws AerospikeException {
+		if (!hasWrite(operations)) {
+			return Mono.defer(() -> client.operate(operatePolicy(policy, key), key, operations));
+		}
+		return written(key, client.operate(policy, key, operations));
+	}
+
+	@Override
+	public Mono<BatchResults> operate(BatchPolicy batchPolicy, BatchWritePolicy writePolicy, Key[] keys,
+									  Operation... ops) throws AerospikeException {
+		if (!hasWrite(ops)) {
+			return Mono.defer(() -> client.operate(batchPolicy(batchPolicy, keys), writePolicy, keys, ops));
+		}
+		return written(keys, client.operate(batchPolicy, writePolicy, keys, ops));
+	}
+
+	@Override
+	public Mono<Boolean> operate(BatchPolicy policy, List<BatchRecord> records) throws AerospikeException {
+		Key[] keys = keys(records);
+		for (BatchRecord record : records) {
+			if (record.hasWrite) {
+				return written(keys, client.operate(policy, records));
+			}
+		}
+		return Mono.defer(() -> client.operate(batchPolicy(policy, keys), records));
+	}
+
+	@Override
+	public final Flux<KeyRecord> query(Statement statement) throws AerospikeException {
+		return query(null, statement);
+	}
+
+	@Override
+	public final Flux<KeyRecord> query(QueryPolicy policy, Statement statement) throws AerospikeException {
+		return client.query(policy, statement);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAll(String namespace, String setName, String... binNames) throws AerospikeException {
+		return scanAll(null, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAll(ScanPolicy policy, String namespace, String setName, String... binNames) throws AerospikeException {
+		return client.scanAll(policy, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanPartitions(ScanPolicy policy, PartitionFilter partitionFilter,
+												String namespace, String setName, String... binNames) throws AerospikeException {
+		return client.scanPartitions(policy, partitionFilter, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> queryPartitions(QueryPolicy policy, Statement statement, PartitionFilter partitionFilter) throws AerospikeException {
+		return client.queryPartitions(policy, statement, partitionFilter);
+	}
+
+	@Override
+	public final Mono<KeyObject> execute(Key key, String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		return execute(null, key, packageName, functionName, functionArgs);
+	}
+
+	@Override
+	public final Mono<KeyObject> execute(WritePolicy policy, Key key,
+								   String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		return written(key, client.execute(policy, key, packageName, functionName, functionArgs));
+	}
+
+	@Override
+	public Mono<String> info(InfoPolicy infoPolicy, Node node, String command){
+		return client.info(infoPolicy, node, command);
+	}
+
+	@Override
+	public Mono<Map<String,String>> info(InfoPolicy infoPolicy, Node node, List<String> commands){
+		return client.info(infoPolicy, node, commands);
+    }
+
+	@Override
+	public Flux<NodeInfo> infoAll(InfoPolicy infoPolicy, List<String> commands){
+		return client.infoAll(infoPolicy, commands);
+	}
+
+	@Override
+	public Flux<NodeInfo> info(InfoPolicy infoPolicy, Node[] nodes, int concurrency, List<String> commands){
+		return client.info(infoPolicy, nodes, concurrency, commands);
+	}
+
+	@Override
+	public Mono<Void> createIndex(Policy policy,
+								  String namespace, String setName, String indexName, String binName,
+								  IndexType indexType, IndexCollectionType indexCollectionType, CTX... ctx){
+		return client.createIndex(policy, namespace, setName, indexName, binName, indexType, indexCollectionType, ctx);
+	}
+
+	@Override
+	public Mono<Void> dropIndex(Policy policy, String namespace, String setName, String indexName){
+		return client.dropIndex(policy, namespace, setName, indexName);
+	}
+
+	@Override
+	public IAerospikeClient getAerospikeClient() {
+		return client.getAerospikeClient();
+	}
+
+	@Override
+	public Policy getReadPolicyDefault() {
+		return client.getReadPolicyDefault();
+	}
+
+	@Override
+	public WritePolicy getWritePolicyDefault() {
+		return client.getWritePolicyDefault();
+	}
+
+	@Override
+	public ScanPolicy getScanPolicyDefault() {
+		return client.getScanPolicyDefault();
+	}
+
+	@Override
+	public QueryPolicy getQueryPolicyDefault() {
+		return client.getQueryPolicyDefault();
+	}
+
+	@Override
+	public BatchPolicy getBatchPolicyDefault() {
+		return client.getBatchPolicyDefault();
+	}
+
+	@Override
+	public InfoPolicy getInfoPolicyDefault() {
+		return client.getInfoPolicyDefault();
+	}
+
+	private Policy readPolicy(Policy policy, Key key) {
+		if (!writes.isRecent(key)) {
+			return policy;
+		}
+		Policy master = new Policy(policy != null ? policy : client.getReadPolicyDefault());
+		master.replica = Replica.MASTER;
+		return master;
+	}
+
+	private WritePolicy operatePolicy(WritePolicy policy, Key key) {
+		if (!writes.isRecent(key)) {
+			return policy;
+		}
+		WritePolicy master = new WritePolicy(policy != null ? policy : client.getWritePolicyDefault());
+		master.replica = Replica.MASTER;
+		return master;
+	}
+
+	private BatchPolicy batchPolicy(BatchPolicy policy, Key[] keys) {
+		if (!writes.anyRecent(keys)) {
+			return policy;
+		}
+		BatchPolicy master = new BatchPolicy(policy != null ? policy : client.getBatchPolicyDefault());
+		master.replica = Replica.MASTER;
+		return master;
+	}
+
+	private BatchPolicy batchPolicy(BatchPolicy policy, List<? extends BatchRecord> records) {
+		return batchPolicy(policy, keys(records));
+	}
+
+	private <T> Mono<T> written(Key key, Mono<T> write) {
+		return write
+				.doOnTerminate(() -> writes.written(key))
+				.doOnCancel(() -> writes.written(key));
+	}
+
+	private <T> Mono<T> written(Key[] keys, Mono<T> write) {
+		Runnable written = () -> {
+			for (Key key : keys) {
+				writes.written(key);
+			}
+		};
+		return write
+				.doOnTerminate(written)
+				.doOnCancel(written);
+	}
+
+	private static boolean hasWrite(Operation[] operations) {
+		for (Operation operation : operations) {
+			if (operation.type.isWrite) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Key[] keys(List<? extends BatchRecord> records) {
+		Key[] keys = new Key[records.size()];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = records.get(i).key;
+		}
+		return keys;
+	}
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.session;
+
+/**
+ * Configuration of {@link AerospikeReactorSessionClient}.
+ */
+public class SessionPolicy {
+
+	/**
+	 * How long after a write of the session the reads of the written key go to the master.
+	 * Should cover the replication delay of the writes, e.g. with commit level master.
+	 * <p>
+	 * Default: 5000
+	 */
+	public long masterReadMillis = 5_000;
+
+	/**
+	 * Maximum number of written keys tracked. When more keys are written within
+	 * {@link #masterReadMillis}, all reads of the session go to the master for that period.
+	 * <p>
+	 * Default: 10000
+	 */
+	public int maxKeys = 10_000;
+
+	public SessionPolicy() {
+	}
+
+	public SessionPolicy(SessionPolicy other) {
+		this.masterReadMillis = other.masterReadMillis;
+		this.maxKeys = other.maxKeys;
+	}
+}
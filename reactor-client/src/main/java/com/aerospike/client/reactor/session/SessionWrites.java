@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.session;
+
+import com.aerospike.client.Key;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Keys written by a session, each with the time its last write completed.
+ */
+final class SessionWrites {
+
+	private final long windowNanos;
+	private final int maxKeys;
+	private final LongSupplier clock;
+	private final Map<Key, Long> writes = new ConcurrentHashMap<>();
+	private volatile long saturatedUntil;
+
+	SessionWrites(SessionPolicy policy, LongSupplier clock) {
+		this.windowNanos = TimeUnit.MILLISECONDS.toNanos(policy.masterReadMillis);
+		this.maxKeys = policy.maxKeys;
+		this.clock = clock;
+		this.saturatedUntil = clock.getAsLong();
+	}
+
+	void written(Key key) {
+		long now = clock.getAsLong();
+		writes.put(key, now);
+		if (writes.size() > maxKeys) {
+			writes.values().removeIf(time -> now - time >= windowNanos);
+			if (writes.size() > maxKeys) {
+				saturatedUntil = now + windowNanos;
+				writes.clear();
+			}
+		}
+	}
+
+	boolean isRecent(Key key) {
+		long now = clock.getAsLong();
+		if (now - saturatedUntil < 0) {
+			return true;
+		}
+		Long time = writes.get(key);
+		if (time == null) {
+			return false;
+		}
+		if (now - time < windowNanos) {
+			return true;
+		}
+		writes.remove(key, time);
+		return false;
+	}
+
+	boolean anyRecent(Key[] keys) {
+		for (Key key : keys) {
+			if (isRecent(key)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	void clear() {
+		writes.clear();
+		saturatedUntil = clock.getAsLong();
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.util;
+
+import com.aerospike.client.query.Filter;
+import com.aerospike.client.query.Statement;
+
+/**
+ * Copies of query statements, so commands can adjust a statement without changing the
+ * caller's one.
+ */
+public final class Statements {
+
+	private Statements() {
+	}
+
+	/**
+	 * Copy of the statement with another filter and maxRecords.
+	 *
+	 * @param filter				filter of the copy, null to scan
+	 * @param maxRecords			maxRecords of the copy
+	 */
+	@SuppressWarnings("deprecation")
+	public static Statement copy(Statement statement, Filter filter, long maxRecords) {
+		Statement copy = new Statement();
+		copy.setNamespace(statement.getNamespace());
+		copy.setSetName(statement.getSetName());
+		copy.setIndexName(statement.getIndexName());
+		copy.setBinNames(statement.getBinNames());
+		copy.setFilter(filter);
+		copy.setTaskId(statement.getTaskId());
+		copy.setMaxRecords(maxRecords);
+		copy.setRecordsPerSecond(statement.getRecordsPerSecond());
+		copy.setOperations(statement.getOperations());
+		copy.setReturnData(statement.returnData());
+		if (statement.getFunctionName() != null) {
+			copy.setAggregateFunction(statement.getResourceLoader(), statement.getResourcePath(),
+					statement.getPackageName(), statement.getFunctionName(), statement.getFunctionArgs());
+		}
+		return copy;
+	}
+}
@@ -0,0 +1,595 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.writebehind;
+
+import com.aerospike.client.*;
+import com.aerospike.client.cdt.CTX;
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.policy.*;
+import com.aerospike.client.query.IndexCollectionType;
+import com.aerospike.client.query.IndexType;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
+import com.aerospike.client.query.Statement;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.dto.KeyExists;
+import com.aerospike.client.reactor.dto.KeyObject;
+import com.aerospike.client.reactor.dto.KeysExists;
+import com.aerospike.client.reactor.dto.KeysRecords;
+import com.aerospike.client.reactor.dto.NodeInfo;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind decorator collapsing frequent overwrites of the same keys.
+ * <p>
+ * A put without policy only buffers its bins and completes at once. The latest bins of
+ * every key are merged in memory and written with batch operate when
+ * {@link WriteBehindPolicy#flushIntervalMillis} elapses or {@link WriteBehindPolicy#maxPendingKeys}
+ * keys are pending, so a key overwritten many times between flushes is written once.
+ * Flushes run one after the other, keeping the writes of a key in order.
+ * <p>
+ * Every other single key or batch command first writes the pending bins of its keys and
+ * waits for flushes in flight writing them, so it observes them. Queries and scans only
+ * see flushed writes. Failed flushed writes are passed to
+ * {@link WriteBehindPolicy#failureHandler}. {@link #close()} flushes the pending writes
+ * before closing the underlying client.
+ */
+public class AerospikeReactorWriteBehindClient implements IAerospikeReactorClient {
+
+	private final IAerospikeReactorClient client;
+	private final WriteBehindPolicy policy;
+	private final PendingWrites pending = new PendingWrites();
+	private final Sinks.Many<FlushRequest> flushRequests = Sinks.many().unicast().onBackpressureBuffer();
+	private final AtomicBoolean backgroundFlushQueued = new AtomicBoolean();
+	private final Set<Key> inFlight = new HashSet<>();
+	private final Disposable flusher;
+	private final Disposable ticker;
+	private volatile boolean closed;
+
+	public AerospikeReactorWriteBehindClient(IAerospikeReactorClient client) {
+		this(client, new WriteBehindPolicy());
+	}
+
+	public AerospikeReactorWriteBehindClient(IAerospikeReactorClient client, WriteBehindPolicy policy) {
+		this.client = client;
+		this.policy = new WriteBehindPolicy(policy);
+		this.flusher = flushRequests.asFlux()
+				.concatMap(request -> {
+					if (request.keys == null) {
+						backgroundFlushQueued.set(false);
+					}
+					List<BatchRecord> writes = takeInFlight(request.keys);
+					return write(writes).doFinally(signal -> {
+						finished(writes);
+						request.complete();
+					});
+				})
+				.subscribe();
+		this.ticker = Flux.interval(Duration.ofMillis(policy.flushIntervalMillis))
+				.subscribe(tick -> requestBackgroundFlush());
+	}
+
+	/**
+	 * Writes all writes buffered so far. Completes once they were written, failed writes
+	 * being passed to the failure handler.
+	 */
+	public Mono<Void> flush() {
+		return Mono.defer(() -> requestFlush(null));
+	}
+
+	/**
+	 * Number of keys with buffered writes.
+	 */
+	public int pendingKeys() {
+		return pending.size();
+	}
+
+	/**
+	 * Flushes the pending writes, waiting up to {@link WriteBehindPolicy#closeTimeoutMillis},
+	 * and closes the underlying client.
+	 */
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		ticker.dispose();
+		try {
+			flush().block(Duration.ofMillis(policy.closeTimeoutMillis));
+		} finally {
+			flusher.dispose();
+			client.close();
+		}
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Key key) throws AerospikeException {
+		return get(null, key);
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Policy policy, Key key) throws AerospikeException {
+		return afterPending(key, () -> client.get(policy, key));
+	}
+
+	@Override
+	public final Mono<KeyRecord> get(Policy policy, Key key, String[] binNames) throws AerospikeException {
+		return afterPending(key, () -> client.get(policy, key, binNames));
+	}
+
+	@Override
+	public final Mono<KeysRecords> get(Key[] keys) throws AerospikeException {
+		return get(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysRecords> get(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return afterPending(keys, () -> client.get(policy, keys));
+	}
+
+	@Override
+	public final Mono<List<BatchRead>> get(List<BatchRead> records) throws AerospikeException {
+		return get(null, records);
+	}
+
+	@Override
+	public final Mono<List<BatchRead>> get(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
+		return afterPending(keys(records), () -> client.get(policy, records));
+	}
+
+	@Override
+	public Mono<KeysRecords> get(Key[] keys, Operation... operations) throws AerospikeException {
+		return get(null, keys, operations);
+	}
+
+	@Override
+	public Mono<KeysRecords> get(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
+		return afterPending(keys, () -> client.get(policy, keys, operations));
+	}
+
+	@Override
+	public final Flux<BatchRead> getFlux(List<BatchRead> records) throws AerospikeException {
+		return getFlux(null, records);
+	}
+
+	@Override
+	public final Flux<BatchRead> getFlux(BatchPolicy policy, List<BatchRead> records) throws AerospikeException {
+		return afterPendingMany(keys(records), () -> client.getFlux(policy, records));
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(Key[] keys) throws AerospikeException {
+		return getFlux(null, keys);
+	}
+
+	@Override
+	public final Flux<KeyRecord> getFlux(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return afterPendingMany(keys, () -> client.getFlux(policy, keys));
+	}
+
+	@Override
+	public Flux<KeyRecord> getFlux(Key[] keys, Operation... operations) throws AerospikeException {
+		return getFlux(null, keys, operations);
+	}
+
+	@Override
+	public Flux<KeyRecord> getFlux(BatchPolicy policy, Key[] keys, Operation... operations) throws AerospikeException {
+		return afterPendingMany(keys, () -> client.getFlux(policy, keys, operations));
+	}
+
+	@Override
+	public final Mono<KeyRecord> getHeader(Key key) throws AerospikeException {
+		return getHeader(null, key);
+	}
+
+	@Override
+	public final Mono<KeyRecord> getHeader(Policy policy, Key key) throws AerospikeException {
+		return afterPending(key, () -> client.getHeader(policy, key));
+	}
+
+	@Override
+	public final Mono<KeysRecords> getHeaders(Key[] keys) throws AerospikeException {
+		return getHeaders(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysRecords> getHeaders(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return afterPending(keys, () -> client.getHeaders(policy, keys));
+	}
+
+	@Override
+	public final Mono<Key> touch(Key key) throws AerospikeException {
+		return touch(null, key);
+	}
+
+	@Override
+	public final Mono<Key> touch(WritePolicy policy, Key key) throws AerospikeException {
+		return afterPending(key, () -> client.touch(policy, key));
+	}
+
+	@Override
+	public final Mono<Key> exists(Key key) throws AerospikeException {
+		return exists(null, key);
+	}
+
+	@Override
+	public final Mono<Key> exists(Policy policy, Key key) throws AerospikeException {
+		return afterPending(key, () -> client.exists(policy, key));
+	}
+
+	@Override
+	public final Mono<KeysExists> exists(Key[] keys) throws AerospikeException {
+		return exists(null, keys);
+	}
+
+	@Override
+	public final Mono<KeysExists> exists(BatchPolicy policy, Key[] keys) throws AerospikeException{
+		return afterPending(keys, () -> client.exists(policy, keys));
+	}
+
+	@Override
+	public final Flux<KeyExists> existsFlux(Key[] keys) throws AerospikeException {
+		return existsFlux(null, keys);
+	}
+
+	@Override
+	public final Flux<KeyExists> existsFlux(BatchPolicy policy, Key[] keys) throws AerospikeException {
+		return afterPendingMany(keys, () -> client.existsFlux(policy, keys));
+	}
+
+	@Override
+	public final Mono<Key> put(Key key, Bin... bins) throws AerospikeException {
+		return put(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> put(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		if (policy != null || closed) {
+			return afterPending(key, () -> client.put(policy, key, bins));
+		}
+		return Mono.fromCallable(() -> {
+			if (pending.put(key, bins) >= this.policy.maxPendingKeys) {
+				requestBackgroundFlush();
+			}
+			return key;
+		});
+	}
+
+	@Override
+	public final Mono<Key> append(Key key, Bin... bins) throws AerospikeException {
+		return append(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> append(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return afterPending(key, () -> client.append(policy, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> prepend(Key key, Bin... bins) throws AerospikeException {
+		return prepend(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> prepend(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return afterPending(key, () -> client.prepend(policy, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> add(Key key, Bin... bins) throws AerospikeException {
+		return add(null, key, bins);
+	}
+
+	@Override
+	public final Mono<Key> add(WritePolicy policy, Key key, Bin... bins) throws AerospikeException {
+		return afterPending(key, () -> client.add(policy, key, bins));
+	}
+
+	@Override
+	public final Mono<Key> delete(Key key) throws AerospikeException {
+		return delete(null, key);
+	}
+
+	@Override
+	public final Mono<Key> delete(WritePolicy policy, Key key) throws AerospikeException {
+		return afterPending(key, () -> client.delete(policy, key));
+	}
+
+	@Override
+	public Mono<BatchResults> delete(BatchPolicy batchPolicy, BatchDeletePolicy deletePolicy,
+									 Key[] keys) throws AerospikeException {
+		return afterPending(keys, () -> client.delete(batchPolicy, deletePolicy, keys));
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(Key key, Operation... operations) throws AerospikeException {
+		return operate(null, key, operations);
+	}
+
+	@Override
+	public final Mono<KeyRecord> operate(WritePolicy policy, Key key, Operation... operations) throws AerospikeException {
+		return afterPending(key, () -> client.operate(policy, key, operations));
+	}
+
+	@Override
+	public Mono<BatchResults> operate(BatchPolicy batchPolicy, BatchWritePolicy writePolicy, Key[] keys,
+									  Operation... ops) throws AerospikeException {
+		return afterPending(keys, () -> client.operate(batchPolicy, writePolicy, keys, ops));
+	}
+
+	@Override
+	public Mono<Boolean> operate(BatchPolicy policy, List<BatchRecord> records) throws AerospikeException {
+		return afterPending(keys(records), () -> client.operate(policy, records));
+	}
+
+	@Override
+	public final Flux<KeyRecord> query(Statement statement) throws AerospikeException {
+		return query(null, statement);
+	}
+
+	@Override
+	public final Flux<KeyRecord> query(QueryPolicy policy, Statement statement) throws AerospikeException {
+		return client.query(policy, statement);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAll(String namespace, String setName, String... binNames) throws AerospikeException {
+		return scanAll(null, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanAll(ScanPolicy policy, String namespace, String setName, String... binNames) throws AerospikeException {
+		return client.scanAll(policy, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> scanPartitions(ScanPolicy policy, PartitionFilter partitionFilter,
+												String namespace, String setName, String... binNames) throws AerospikeException {
+		return client.scanPartitions(policy, partitionFilter, namespace, setName, binNames);
+	}
+
+	@Override
+	public final Flux<KeyRecord> queryPartitions(QueryPolicy policy, Statement statement, PartitionFilter partitionFilter) throws AerospikeException {
+		return client.queryPartitions(policy, statement, partitionFilter);
+	}
+
+	@Override
+	public final Mono<KeyObject> execute(Key key, String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		return execute(null, key, packageName, functionName, functionArgs);
+	}
+
+	@Override
+	public final Mono<KeyObject> execute(WritePolicy policy, Key key,
+								   String packageName, String functionName, Value... functionArgs) throws AerospikeException {
+		return afterPending(key, () -> client.execute(policy, key, packageName, functionName, functionArgs));
+	}
+
+	@Override
+	public Mono<String> info(InfoPolicy infoPolicy, Node node, String command){
+		return client.info(infoPolicy, node, command);
+	}
+
+	@Override
+	public Mono<Map<String,String>> info(InfoPolicy infoPolicy, Node node, List<String> commands){
+		return client.info(infoPolicy, node, commands);
+    }
+
+	@Override
+	public Flux<NodeInfo> infoAll(InfoPolicy infoPolicy, List<String> commands){
+		return client.infoAll(infoPolicy, commands);
+	}
+
+	@Override
+	public Flux<NodeInfo> info(InfoPolicy infoPolicy, Node[] nodes, int concurrency, List<String> commands){
+		return client.info(infoPolicy, nodes, concurrency, commands);
+	}
+
+	@Override
+	public Mono<Void> createIndex(Policy policy,
+								  String namespace, String setName, String indexName, String binName,
+								  IndexType indexType, IndexCollectionType indexCollectionType, CTX... ctx){
+		return client.createIndex(policy, namespace, setName, indexName, binName, indexType, indexCollectionType, ctx);
+	}
+
+	@Override
+	public Mono<Void> dropIndex(Policy policy, String namespace, String setName, String indexName){
+		return client.dropIndex(policy, namespace, setName, indexName);
+	}
+
+	@Override
+	public IAerospikeClient getAerospikeClient() {
+		return client.getAerospikeClient();
+	}
+
+	@Override
+	public Policy getReadPolicyDefault() {
+		return client.getReadPolicyDefault();
+	}
+
+	@Override
+	public WritePolicy getWritePolicyDefault() {
+		return client.getWritePolicyDefault();
+	}
+
+	@Override
+	public ScanPolicy getScanPolicyDefault() {
+		return client.getScanPolicyDefault();
+	}
+
+	@Override
+	public QueryPolicy getQueryPolicyDefault() {
+		return client.getQueryPolicyDefault();
+	}
+
+	@Override
+	public BatchPolicy getBatchPolicyDefault() {
+		return client.getBatchPolicyDefault();
+	}
+
+	@Override
+	public InfoPolicy getInfoPolicyDefault() {
+		return client.getInfoPolicyDefault();
+	}
+
+	private void requestBackgroundFlush() {
+		if (backgroundFlushQueued.compareAndSet(false, true)) {
+			requestFlush(null).subscribe();
+		}
+	}
+
+	/**
+	 * Queues a flush of the keys, all keys for null, behind the flushes already queued, so
+	 * that writes of the same key never overtake each other.
+	 */
+	private Mono<Void> requestFlush(Key[] keys) {
+		FlushRequest request = new FlushRequest(keys);
+		synchronized (flushRequests) {
+			if (flushRequests.tryEmitNext(request).isFailure()) {
+				request.complete();
+			}
+		}
+		return request.done.asMono();
+	}
+
+	/**
+	 * Runs the command once the pending writes of the key were written. Checked on
+	 * subscription, as buffered puts become pending only when subscribed. A key being
+	 * written by a flush in flight waits for that flush, other keys run at once.
+	 */
+	private <T> Mono<T> afterPending(Key key, Supplier<Mono<T>> command) {
+		return afterPending(new Key[]{key}, command);
+	}
+
+	private <T> Mono<T> afterPending(Key[] keys, Supplier<Mono<T>> command) {
+		return Mono.defer(() -> mustWait(keys) ? requestFlush(keys).then(Mono.defer(command)) : command.get());
+	}
+
+	private <T> Flux<T> afterPendingMany(Key[] keys, Supplier<Flux<T>> command) {
+		return Flux.defer(() -> mustWait(keys) ? requestFlush(keys).thenMany(Flux.defer(command)) : command.get());
+	}
+
+	private boolean mustWait(Key[] keys) {
+		synchronized (inFlight) {
+			for (Key key : keys) {
+				if (pending.contains(key) || inFlight.contains(key)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the pending writes of the keys, all keys for null, and marks them in flight.
+	 * Both happen under the in flight lock, so a command never finds a key in neither.
+	 */
+	private List<BatchRecord> takeInFlight(Key[] keys) {
+		synchronized (inFlight) {
+			List<BatchRecord> writes = keys == null ? pending.drain(policy.writePolicy) : remove(keys);
+			for (BatchRecord write : writes) {
+				inFlight.add(write.key);
+			}
+			return writes;
+		}
+	}
+
+	private void finished(List<BatchRecord> writes) {
+		synchronized (inFlight) {
+			for (BatchRecord write : writes) {
+				inFlight.remove(write.key);
+			}
+		}
+	}
+
+	private List<BatchRecord> remove(Key[] keys) {
+		List<BatchRecord> writes = new ArrayList<>();
+		for (Key key : keys) {
+			BatchRecord write = pending.remove(key, policy.writePolicy);
+			if (write != null) {
+				writes.add(write);
+			}
+		}
+		return writes;
+	}
+
+	private Mono<Void> write(List<BatchRecord> writes) {
+		if (writes.isEmpty()) {
+			return Mono.empty();
+		}
+		return Flux.fromIterable(writes)
+				.buffer(policy.batchSize)
+				.flatMap(batch -> client.operate(policy.batchPolicy, batch)
+						.doOnNext(success -> {
+							if (!success) {
+								failed(batch);
+							}
+						})
+						.onErrorResume(error -> {
+							int resultCode = error instanceof AerospikeException
+									? ((AerospikeException) error).getResultCode() : ResultCode.CLIENT_ERROR;
+							for (BatchRecord record : batch) {
+								record.resultCode = resultCode;
+							}
+							failed(batch);
+							return Mono.empty();
+						}), policy.maxInFlightBatches)
+				.then();
+	}
+
+	private void failed(List<BatchRecord> batch) {
+		if (policy.failureHandler == null) {
+			return;
+		}
+		for (BatchRecord record : batch) {
+			if (record.resultCode != ResultCode.OK) {
+				policy.failureHandler.accept(record);
+			}
+		}
+	}
+
+	private static Key[] keys(List<? extends BatchRecord> records) {
+		Key[] keys = new Key[records.size()];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = records.get(i).key;
+		}
+		return keys;
+	}
+
+	private static final class FlushRequest {
+		final Key[] keys;
+		final Sinks.One<Void> done = Sinks.one();
+
+		FlushRequest(Key[] keys) {
+			this.keys = keys;
+		}
+
+		void complete() {
+			done.tryEmitEmpty();
+		}
+	}
+}
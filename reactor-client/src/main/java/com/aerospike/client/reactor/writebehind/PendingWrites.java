@@ -0,0 +1,103 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.writebehind;
+
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.BatchWrite;
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.Operation;
+import com.aerospike.client.policy.BatchWritePolicy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latest pending bins of every buffered key. Updates of a key are merged under the lock of
+ * its hash bin of the concurrent map, so writers of different keys rarely contend.
+ */
+final class PendingWrites {
+
+	private final Map<Key, Map<String, Bin>> pending = new ConcurrentHashMap<>();
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * Merges the bins into the pending write of the key, later values replacing earlier
+	 * ones bin by bin, and returns the number of pending keys.
+	 */
+	int put(Key key, Bin[] bins) {
+		boolean[] added = new boolean[1];
+		pending.compute(key, (k, current) -> {
+			if (current == null) {
+				current = new LinkedHashMap<>(bins.length * 2);
+				added[0] = true;
+			}
+			for (Bin bin : bins) {
+				current.put(bin.name, bin);
+			}
+			return current;
+		});
+		return added[0] ? size.incrementAndGet() : size.get();
+	}
+
+	boolean contains(Key key) {
+		return pending.containsKey(key);
+	}
+
+	int size() {
+		return size.get();
+	}
+
+	/**
+	 * Removes the pending write of the key, null if none.
+	 */
+	BatchRecord remove(Key key, BatchWritePolicy policy) {
+		Map<String, Bin> bins = pending.remove(key);
+		if (bins == null) {
+			return null;
+		}
+		size.decrementAndGet();
+		return write(key, bins, policy);
+	}
+
+	/**
+	 * Removes all pending writes.
+	 */
+	List<BatchRecord> drain(BatchWritePolicy policy) {
+		List<BatchRecord> writes = new ArrayList<>(size.get());
+		for (Key key : pending.keySet()) {
+			BatchRecord write = remove(key, policy);
+			if (write != null) {
+				writes.add(write);
+			}
+		}
+		return writes;
+	}
+
+	private static BatchRecord write(Key key, Map<String, Bin> bins, BatchWritePolicy policy) {
+		Operation[] operations = new Operation[bins.size()];
+		int i = 0;
+		for (Bin bin : bins.values()) {
+			operations[i++] = Operation.put(bin);
+		}
+		return new BatchWrite(policy, key, operations);
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.writebehind;
+
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.policy.BatchWritePolicy;
+
+import java.util.function.Consumer;
+
+/**
+ * Configuration of {@link AerospikeReactorWriteBehindClient}.
+ */
+public class WriteBehindPolicy {
+
+	/**
+	 * Interval between periodic flushes.
+	 * <p>
+	 * Default: 100
+	 */
+	public long flushIntervalMillis = 100;
+
+	/**
+	 * Number of pending keys that triggers a flush before the interval elapses.
+	 * <p>
+	 * Default: 1000
+	 */
+	public int maxPendingKeys = 1000;
+
+	/**
+	 * Number of records per batch command of a flush.
+	 * <p>
+	 * Default: 100
+	 */
+	public int batchSize = 100;
+
+	/**
+	 * Maximum number of concurrent batch commands of a flush.
+	 * <p>
+	 * Default: 4
+	 */
+	public int maxInFlightBatches = 4;
+
+	/**
+	 * Batch policy of the flushes, null for the client default.
+	 */
+	public BatchPolicy batchPolicy;
+
+	/**
+	 * Policy of every flushed record write, null for defaults.
+	 */
+	public BatchWritePolicy writePolicy;
+
+	/**
+	 * Maximum time {@code close()} waits for the pending writes to be flushed.
+	 * <p>
+	 * Default: 10000
+	 */
+	public long closeTimeoutMillis = 10_000;
+
+	/**
+	 * Receives the records whose flush failed, with their result code. Null ignores them.
+	 */
+	public Consumer<BatchRecord> failureHandler;
+
+	public WriteBehindPolicy() {
+	}
+
+	public WriteBehindPolicy(WriteBehindPolicy other) {
+		this.flushIntervalMillis = other.flushIntervalMillis;
+		this.maxPendingKeys = other.maxPendingKeys;
+		this.batchSize = other.batchSize;
+		this.maxInFlightBatches = other.maxInFlightBatches;
+		this.batchPolicy = other.batchPolicy;
+		this.writePolicy = other.writePolicy;
+		this.closeTimeoutMillis = other.closeTimeoutMillis;
+		this.failureHandler = other.failureHandler;
+	}
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor;
+
+import com.aerospike.client.AerospikeClient;
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Bin;
+import com.aerospike.client.Host;
+import com.aerospike.client.Key;
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.policy.ClientPolicy;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.policy.WritePolicy;
+import com.aerospike.client.reactor.util.Args;
+import com.aerospike.client.reactor.util.ProtoMessageCounter;
+import org.junit.Test;
+import org.netcrusher.core.reactor.NioReactor;
+import org.netcrusher.core.throttle.DelayThrottler;
+import org.netcrusher.core.throttle.ThrottlerFactory;
+import org.netcrusher.core.throttle.rate.ByteRateThrottler;
+import org.netcrusher.tcp.TcpCrusher;
+import org.netcrusher.tcp.TcpCrusherBuilder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs a read/write workload through netcrusher proxies injecting latency, throttling and
+ * stalls, and prints throughput, tail latencies and retry amplification per scenario.
+ * Retry amplification is the number of database messages sent to the server per
+ * operation, counting the retries done by the client on socket timeouts.
+ */
+public class DegradedNetworkTest extends ReactorTest {
+
+	private static final long DURATION_MILLIS = 3000;
+	private static final int CONCURRENCY = 16;
+	private static final int KEYS = 100;
+
+	private final String binName = args.getBinName("degraded");
+
+	public DegradedNetworkTest(Args args) {
+		super(args);
+	}
+
+	@Test
+	public void shouldMeasureCleanNetwork() throws IOException {
+		Result result = run("clean", null, null, 0, 0);
+
+		assertThat(result.errors).isZero();
+		assertThat(result.amplification).isLessThan(1.05);
+	}
+
+	@Test
+	public void shouldMeasureAddedLatency() throws IOException {
+		ThrottlerFactory delay = address -> new DelayThrottler(20, 5, TimeUnit.MILLISECONDS);
+
+		Result result = run("latency 20ms", delay, delay, 0, 0);
+
+		assertThat(result.completed).isPositive();
+		assertThat(result.p50Micros).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toMicros(20));
+	}
+
+	@Test
+	public void shouldMeasureThrottledBandwidth() throws IOException {
+		ThrottlerFactory throttle = address -> new ByteRateThrottler(256 * 1024, 1, TimeUnit.SECONDS);
+
+		Result result = run("throttled 256KB/s", throttle, throttle, 0, 0);
+
+		assertThat(result.completed).isPositive();
+	}
+
+	@Test
+	public void shouldMeasurePacketStalls() throws IOException {
+		Result result = run("stalls 300ms/1s", null, null, 1000, 300);
+
+		assertThat(result.completed).isPositive();
+		assertThat(result.maxMicros).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toMicros(100));
+	}
+
+	private Result run(String scenario, ThrottlerFactory incoming, ThrottlerFactory outgoing,
+					   long stallPeriodMillis, long stallMillis) throws IOException {
+		byte[] value = new byte[1024];
+		Flux.range(0, KEYS)
+				.flatMap(i -> reactorClient.put(key(i), new Bin(binName, value)))
+				.blockLast();
+
+		AtomicLong requests = new AtomicLong();
+		NioReactor reactor = new NioReactor();
+		List<TcpCrusher> proxies = Stream.of(client.getNodes())
+				.map(Node::getHost)
+				.map(host -> proxy(reactor, host, incoming, outgoing, requests))
+				.collect(Collectors.toList());
+		Disposable stalls = stallPeriodMillis > 0
+				? Flux.interval(Duration.ofMillis(stallPeriodMillis))
+						.concatMap(tick -> {
+							proxies.forEach(TcpCrusher::freezeAllPairs);
+							return Mono.delay(Duration.ofMillis(stallMillis))
+									.doFinally(signal -> proxies.forEach(TcpCrusher::unfreezeAllPairs));
+						})
+						.subscribe()
+				: null;
+
+		ClientPolicy policy = new ClientPolicy();
+		policy.eventLoops = eventLoops;
+		policy.user = args.user;
+		policy.password = args.password;
+		policy.authMode = args.authMode;
+		policy.tlsPolicy = args.tlsPolicy;
+		Host[] hosts = proxies.stream()
+				.map(proxy -> new Host(proxy.getBindAddress().getHostName(), proxy.getBindAddress().getPort()))
+				.toArray(Host[]::new);
+
+		try (AerospikeReactorClient proxyClient = new AerospikeReactorClient(new AerospikeClient(policy, hosts))) {
+			requests.set(0);
+			Result result = workload(scenario, proxyClient, value, requests);
+			System.out.println(result);
+			return result;
+		}
+		finally {
+			if (stalls != null) {
+				stalls.dispose();
+			}
+			proxies.forEach(proxy -> {
+				proxy.unfreezeAllPairs();
+				proxy.close();
+			});
+			reactor.close();
+		}
+	}
+
+	private Result workload(String scenario, AerospikeReactorClient proxyClient, byte[] value, AtomicLong requests) {
+		Policy readPolicy = new Policy();
+		readPolicy.setTimeouts(100, 1000);
+		readPolicy.maxRetries = 2;
+		readPolicy.sleepBetweenRetries = 0;
+		WritePolicy writePolicy = new WritePolicy();
+		writePolicy.setTimeouts(100, 1000);
+		writePolicy.maxRetries = 2;
+		writePolicy.sleepBetweenRetries = 0;
+
+		List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+		AtomicLong errors = new AtomicLong();
+		long start = System.nanoTime();
+		long operations = Flux.<Long, Long>generate(() -> 0L, (sequence, sink) -> {
+					sink.next(sequence);
+					return sequence + 1;
+				})
+				.takeUntilOther(Mono.delay(Duration.ofMillis(DURATION_MILLIS)))
+				.flatMap(sequence -> Mono.defer(() -> {
+					long begin = System.nanoTime();
+					Key key = key((int) (sequence % KEYS));
+					Mono<?> command = sequence % 2 == 0
+							? proxyClient.get(readPolicy, key)
+							: proxyClient.put(writePolicy, key, new Bin(binName, value));
+					return command
+							.doOnSuccess(result -> latencies.add(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - begin)))
+							.onErrorResume(AerospikeException.class, error -> {
+								errors.incrementAndGet();
+								return Mono.empty();
+							})
+							.then(Mono.just(sequence));
+				}), CONCURRENCY)
+				.count()
+				.block();
+		long elapsedNanos = System.nanoTime() - start;
+		return new Result(scenario, operations, latencies, errors.get(), requests.get(), elapsedNanos);
+	}
+
+	private TcpCrusher proxy(NioReactor reactor, Host host, ThrottlerFactory incoming, ThrottlerFactory outgoing,
+							 AtomicLong requests) {
+		try {
+			TcpCrusherBuilder builder = TcpCrusherBuilder.builder()
+					.withReactor(reactor)
+					.withBindAddress("localhost", freePort())
+					.withConnectAddress(host.name, host.port)
+					.withIncomingTransformFilterFactory(ProtoMessageCounter.factory(requests));
+			if (incoming != null) {
+				builder.withIncomingThrottlerFactory(incoming);
+			}
+			if (outgoing != null) {
+				builder.withOutgoingThrottlerFactory(outgoing);
+			}
+			return builder.buildAndOpen();
+		}
+		catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private Key key(int i) {
+		return new Key(args.namespace, args.set, "degraded" + i);
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket serverSocket = new ServerSocket(0)) {
+			return serverSocket.getLocalPort();
+		}
+	}
+
+	private static final class Result {
+		final String scenario;
+		final long operations;
+		final long completed;
+		final long errors;
+		final double throughput;
+		final long p50Micros;
+		final long p99Micros;
+		final long p999Micros;
+		final long maxMicros;
+		final double amplification;
+
+		Result(String scenario, long operations, List<Long> latencies, long errors, long requests, long elapsedNanos) {
+			List<Long> sorted = new ArrayList<>(latencies);
+			Collections.sort(sorted);
+			this.scenario = scenario;
+			this.operations = operations;
+			this.completed = sorted.size();
+			this.errors = errors;
+			this.throughput = completed * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+			this.p50Micros = percentile(sorted, 50);
+			this.p99Micros = percentile(sorted, 99);
+			this.p999Micros = percentile(sorted, 99.9);
+			this.maxMicros = sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1);
+			this.amplification = operations == 0 ? 0 : (double) requests / operations;
+		}
+
+		private static long percentile(List<Long> sorted, double percentile) {
+			if (sorted.isEmpty()) {
+				return 0;
+			}
+			int index = (int) Math.ceil(percentile / 100 * sorted.size()) - 1;
+			return sorted.get(Math.max(0, index));
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%-18s ops=%d ok=%d errors=%d tps=%.0f p50=%dus p99=%dus p99.9=%dus max=%dus amplification=%.2f",
+					scenario, operations, completed, errors, throughput, p50Micros, p99Micros, p999Micros, maxMicros,
+					amplification);
+		}
+	}
+}
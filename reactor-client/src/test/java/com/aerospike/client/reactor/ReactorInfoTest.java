@@ -1,11 +1,16 @@
 package com.aerospike.client.reactor;
 
 import com.aerospike.client.AerospikeException;
+import com.aerospike.client.reactor.dto.NodeInfo;
+import com.aerospike.client.reactor.info.ReactorClusterInfo;
 import com.aerospike.client.reactor.util.Args;
 import org.junit.Test;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static java.util.Collections.singletonList;
+
 public class ReactorInfoTest extends ReactorTest{
 
     public ReactorInfoTest(Args args) {
@@ -33,4 +38,23 @@ public class ReactorInfoTest extends ReactorTest{
                 .verify();
     }
 
+    @Test
+    public void shouldQueryInfoCommandOnAllNodes() {
+
+        Flux<NodeInfo> flux = reactorClient.infoAll(null, singletonList("namespaces"));
+
+        StepVerifier.create(flux)
+                .expectNextCount(client.getNodes().length)
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldMergeNamespaceStats() {
+
+        StepVerifier.create(new ReactorClusterInfo(reactorClient).namespaceStats(null, args.namespace))
+                .expectNextMatches(stats -> stats.nodeCount == client.getNodes().length
+                        && stats.replicationFactor >= 1)
+                .verifyComplete();
+    }
+
 }
@@ -0,0 +1,139 @@
+package com.aerospike.client.reactor.aggregation;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.policy.ScanPolicy;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
+import com.aerospike.client.query.Statement;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.aerospike.client.reactor.util.PartitionFilters.markDone;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReactorAggregatorTest {
+
+    private final IAerospikeReactorClient client = mock(IAerospikeReactorClient.class);
+    private final List<PartitionFilter> filters = Collections.synchronizedList(new ArrayList<>());
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+    {
+        when(client.getScanPolicyDefault()).thenReturn(new ScanPolicy());
+        when(client.scanPartitions(any(ScanPolicy.class), any(PartitionFilter.class), eq("ns"), eq("set"),
+                ArgumentMatchers.<String[]>any())).thenAnswer(invocation -> {
+            assertThat(((ScanPolicy) invocation.getArgument(0)).maxRecords).isEqualTo(10);
+            return page(invocation.getArgument(1));
+        });
+        when(client.queryPartitions(ArgumentMatchers.<QueryPolicy>isNull(), any(Statement.class),
+                any(PartitionFilter.class))).thenAnswer(invocation -> {
+            assertThat(((Statement) invocation.getArgument(1)).getMaxRecords()).isEqualTo(10);
+            return page(invocation.getArgument(2));
+        });
+    }
+
+    @Test
+    public void shouldMergeRangeAggregations() {
+        StepVerifier.create(aggregator().aggregate("ns", "set", Aggregators.count()))
+                .expectNext(8L)
+                .verifyComplete();
+        assertThat(filters).extracting(PartitionFilter::getBegin).containsOnly(0, 1024, 2048, 3072);
+    }
+
+    @Test
+    public void shouldSumAndSummarizeIgnoringMissingBins() {
+        LongSummaryStatistics stats = aggregator().aggregate("ns", "set", Aggregators.summarizingLong("v")).block();
+
+        assertThat(aggregator().aggregate("ns", "set", Aggregators.sum("v")).block()).isEqualTo(6144L);
+        assertThat(stats.getCount()).isEqualTo(4);
+        assertThat(stats.getMin()).isEqualTo(0);
+        assertThat(stats.getMax()).isEqualTo(3072);
+        assertThat(aggregator().aggregate("ns", "set", Aggregators.summarizingDouble("v")).block().getAverage())
+                .isEqualTo(1536.0);
+    }
+
+    @Test
+    public void shouldGroupAndCount() {
+        Map<Object, Long> expected = new HashMap<>();
+        expected.put("even", 2L);
+        expected.put("odd", 2L);
+        expected.put(null, 4L);
+
+        assertThat(aggregator().aggregate("ns", "set", Aggregators.countBy("group")).block()).isEqualTo(expected);
+        Map<Object, Long> sums = aggregator().aggregate("ns", "set",
+                Aggregators.groupBy("group", Aggregators.sum("v"))).block();
+        assertThat(sums).containsEntry("even", 2048L).containsEntry("odd", 4096L);
+    }
+
+    @Test
+    public void shouldKeepTopRecords() {
+        StepVerifier.create(aggregator().aggregate("ns", "set", Aggregators.topK("v", 3)))
+                .assertNext(top -> assertThat(top).extracting(record -> record.record.getLong("v"))
+                        .containsExactly(3072L, 2048L, 1024L))
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldAggregateQueryOffTheReadingThreads() {
+        Statement statement = new Statement();
+        statement.setNamespace("ns");
+        statement.setMaxRecords(100);
+
+        Long count = aggregator().aggregate(statement, Aggregator.of(() -> new long[1],
+                (container, record) -> {
+                    threads.add(Thread.currentThread().getName());
+                    container[0]++;
+                },
+                (left, right) -> {
+                    left[0] += right[0];
+                    return left;
+                },
+                container -> container[0])).block();
+
+        assertThat(count).isEqualTo(8);
+        assertThat(statement.getMaxRecords()).isEqualTo(100);
+        assertThat(threads).allMatch(name -> name.startsWith("parallel-"));
+    }
+
+    private ReactorAggregator aggregator() {
+        AggregationPolicy policy = new AggregationPolicy();
+        policy.parallelism = 4;
+        policy.pageSize = 10;
+        return new ReactorAggregator(client, policy);
+    }
+
+    /**
+     * Two pages per range: a record with bin v set to the range begin, then one without it.
+     */
+    private Flux<KeyRecord> page(PartitionFilter filter) {
+        boolean second = filters.contains(filter);
+        filters.add(filter);
+        Map<String, Object> bins = new HashMap<>();
+        if (second) {
+            markDone(filter);
+            bins.put("other", 1L);
+        } else {
+            bins.put("v", (long) filter.getBegin());
+            bins.put("group", filter.getBegin() % 2048 == 0 ? "even" : "odd");
+        }
+        return Flux.just(new KeyRecord(new Key("ns", "set", filter.getBegin() + (second ? 1 : 0)),
+                new Record(bins, 1, 0)));
+    }
+}
@@ -0,0 +1,93 @@
+package com.aerospike.client.reactor.bulkhead;
+
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.Key;
+import com.aerospike.client.async.EventLoop;
+import com.aerospike.client.async.EventLoops;
+import com.aerospike.client.async.NioEventLoops;
+import com.aerospike.client.listener.RecordListener;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class WorkloadBulkheadTest {
+
+    private static final Key KEY = new Key("ns", "set", "k");
+
+    private final EventLoops eventLoops = new NioEventLoops(4);
+    private final List<EventLoop> usedEventLoops = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger closed = new AtomicInteger();
+
+    private final IAerospikeClient aerospikeClient = (IAerospikeClient) Proxy.newProxyInstance(
+            IAerospikeClient.class.getClassLoader(), new Class<?>[]{IAerospikeClient.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("close")) {
+                    closed.incrementAndGet();
+                    return null;
+                }
+                usedEventLoops.add((EventLoop) args[0]);
+                ((RecordListener) args[1]).onSuccess(KEY, null);
+                return null;
+            });
+
+    @After
+    public void tearDown() {
+        eventLoops.close();
+    }
+
+    @Test
+    public void shouldRouteProfilesToDisjointEventLoops() {
+        WorkloadBulkhead bulkhead = new WorkloadBulkhead(aerospikeClient, eventLoops)
+                .profile("online", 3, 100)
+                .profile("analytics", 1, 2);
+
+        IAerospikeReactorClient online = bulkhead.client("online");
+        IAerospikeReactorClient analytics = bulkhead.client("analytics");
+
+        for (int i = 0; i < 6; i++) {
+            online.get(KEY).block();
+        }
+        assertThat(usedEventLoops).extracting(EventLoop::getIndex)
+                .containsExactly(0, 1, 2, 0, 1, 2);
+
+        usedEventLoops.clear();
+        analytics.get(KEY).block();
+        analytics.get(KEY).block();
+        assertThat(usedEventLoops).extracting(EventLoop::getIndex)
+                .containsExactly(3, 3);
+    }
+
+    @Test
+    public void shouldCloseSharedClientOnlyWithBulkhead() throws Exception {
+        WorkloadBulkhead bulkhead = new WorkloadBulkhead(aerospikeClient, eventLoops)
+                .profile("online", 3, 100)
+                .profile("analytics", 1, 2);
+
+        bulkhead.client("analytics").close();
+        assertThat(closed).hasValue(0);
+        bulkhead.client("online").get(KEY).block();
+
+        bulkhead.close();
+        assertThat(closed).hasValue(1);
+    }
+
+    @Test
+    public void shouldRejectProfilesBeyondAvailableEventLoops() {
+        WorkloadBulkhead bulkhead = new WorkloadBulkhead(aerospikeClient, eventLoops)
+                .profile("online", 3, 100);
+
+        assertThatThrownBy(() -> bulkhead.profile("analytics", 2, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bulkhead.client("analytics"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,89 @@
+package com.aerospike.client.reactor.changes;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.exp.Exp;
+import com.aerospike.client.policy.ScanPolicy;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.aerospike.client.reactor.util.PartitionFilters.markDone;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChangeCaptureTest {
+
+    private final IAerospikeReactorClient client = mock(IAerospikeReactorClient.class);
+    private final List<ScanPolicy> policies = Collections.synchronizedList(new ArrayList<>());
+    private final List<PartitionFilter> filters = Collections.synchronizedList(new ArrayList<>());
+
+    {
+        when(client.getScanPolicyDefault()).thenReturn(new ScanPolicy());
+        when(client.scanPartitions(any(ScanPolicy.class), any(PartitionFilter.class), eq("ns"), eq("set"),
+                ArgumentMatchers.<String[]>any())).thenAnswer(invocation -> {
+            PartitionFilter filter = invocation.getArgument(1);
+            policies.add(invocation.getArgument(0));
+            // two pages per range
+            boolean last = filters.contains(filter);
+            filters.add(filter);
+            if (last) {
+                markDone(filter);
+            }
+            return Flux.just(new KeyRecord(new Key("ns", "set", filter.getBegin()), new Record(null, 1, 0)));
+        });
+    }
+
+    @Test
+    public void shouldScanPartitionRangesChangedSinceWatermark() {
+        ChangeCapturePolicy policy = new ChangeCapturePolicy();
+        policy.parallelism = 3;
+        policy.pageSize = 50;
+        long before = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - policy.clockSkewMillis);
+
+        ChangeSet changes = new ChangeCapture(client, policy).since("ns", "set", 1234L, "a");
+
+        assertThat(changes.watermark).isBetween(before,
+                TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - policy.clockSkewMillis));
+        assertThat(policies).isEmpty();
+        StepVerifier.create(changes.records.count())
+                .expectNext(6L)
+                .verifyComplete();
+        assertThat(filters).extracting(PartitionFilter::getBegin).containsOnly(0, 1365, 2730);
+        assertThat(policies).allSatisfy(scanPolicy -> {
+            assertThat(scanPolicy.maxRecords).isEqualTo(50);
+            assertThat(scanPolicy.filterExp).isEqualTo(Exp.build(Exp.ge(Exp.lastUpdate(), Exp.val(1234L))));
+        });
+    }
+
+    @Test
+    public void shouldCombineWithPolicyFilter() {
+        ChangeCapturePolicy policy = new ChangeCapturePolicy();
+        policy.parallelism = 1;
+        policy.filter = Exp.binExists("a");
+
+        new ChangeCapture(client, policy).since("ns", "set", 0L).records.blockLast();
+
+        assertThat(policies.get(0).filterExp).isEqualTo(Exp.build(Exp.and(
+                Exp.ge(Exp.lastUpdate(), Exp.val(0L)), Exp.binExists("a"))));
+    }
+
+    @Test
+    public void shouldNeverMoveWatermarkBackwards() {
+        long future = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() + 60_000);
+
+        assertThat(new ChangeCapture(client).since("ns", "set", future).watermark).isEqualTo(future);
+    }
+}
@@ -0,0 +1,120 @@
+package com.aerospike.client.reactor.circuitbreaker;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CircuitBreakerTest {
+
+    private static final Key KEY = new Key("ns", "set", "k");
+
+    private final IAerospikeReactorClient reactorClient = mock(IAerospikeReactorClient.class);
+    private final Node node = mockNode("A");
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger sent = new AtomicInteger();
+
+    private final AerospikeReactorCircuitBreakerClient client = new AerospikeReactorCircuitBreakerClient(
+            reactorClient, (policy, key, write) -> node, policy(), clock::get);
+
+    @Test
+    public void shouldFailFastWhenNodeFailureRateExceeded() {
+        AerospikeException.Timeout timeout = new AerospikeException.Timeout(1, false);
+        timeout.setNode(node);
+        stubGet(Mono.error(timeout));
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(client.get(KEY)).expectError(AerospikeException.Timeout.class).verify();
+        }
+        assertThat(client.getState(node)).isEqualTo(NodeCircuitBreaker.State.OPEN);
+
+        StepVerifier.create(client.get(KEY))
+                .expectErrorSatisfies(error -> {
+                    assertThat(error).isInstanceOf(NodeCircuitOpenException.class);
+                    assertThat(((AerospikeException) error).getNode()).isSameAs(node);
+                })
+                .verify();
+        assertThat(sent).hasValue(4);
+    }
+
+    @Test
+    public void shouldCloseAfterSuccessfulProbes() {
+        stubGet(Mono.error(new AerospikeException.Timeout(1, false)));
+        for (int i = 0; i < 4; i++) {
+            client.get(KEY).onErrorResume(e -> Mono.empty()).block();
+        }
+        assertThat(client.getState(node)).isEqualTo(NodeCircuitBreaker.State.OPEN);
+
+        stubGet(Mono.just(new KeyRecord(KEY, null)));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        StepVerifier.create(client.get(KEY)).expectNextCount(1).verifyComplete();
+        assertThat(client.getState(node)).isEqualTo(NodeCircuitBreaker.State.HALF_OPEN);
+        StepVerifier.create(client.get(KEY)).expectNextCount(1).verifyComplete();
+        assertThat(client.getState(node)).isEqualTo(NodeCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void shouldReopenOnFailedProbe() {
+        stubGet(Mono.error(new AerospikeException.Timeout(1, false)));
+        for (int i = 0; i < 4; i++) {
+            client.get(KEY).onErrorResume(e -> Mono.empty()).block();
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        StepVerifier.create(client.get(KEY)).expectError(AerospikeException.Timeout.class).verify();
+
+        assertThat(client.getState(node)).isEqualTo(NodeCircuitBreaker.State.OPEN);
+        StepVerifier.create(client.get(KEY)).expectError(NodeCircuitOpenException.class).verify();
+    }
+
+    @Test
+    public void shouldIgnoreRecordLevelErrors() {
+        when(reactorClient.put(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.<Bin[]>any()))
+                .thenReturn(Mono.error(new AerospikeException(ResultCode.GENERATION_ERROR)));
+
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(client.put(KEY, new Bin("b", 1))).expectError().verify();
+        }
+
+        assertThat(client.getState(node)).isEqualTo(NodeCircuitBreaker.State.CLOSED);
+    }
+
+    private void stubGet(Mono<KeyRecord> result) {
+        when(reactorClient.get(ArgumentMatchers.any(), ArgumentMatchers.<Key>any()))
+                .thenReturn(Mono.defer(() -> {
+                    sent.incrementAndGet();
+                    return result;
+                }));
+    }
+
+    private static CircuitBreakerPolicy policy() {
+        CircuitBreakerPolicy policy = new CircuitBreakerPolicy();
+        policy.minimumCalls = 4;
+        policy.failureRateThreshold = 0.5;
+        policy.openMillis = 1000;
+        policy.halfOpenProbes = 2;
+        return policy;
+    }
+
+    private static Node mockNode(String name) {
+        Node node = mock(Node.class);
+        when(node.getName()).thenReturn(name);
+        return node;
+    }
+}
@@ -0,0 +1,179 @@
+package com.aerospike.client.reactor.compression;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.Operation;
+import com.aerospike.client.Record;
+import com.aerospike.client.Value;
+import com.aerospike.client.policy.ScanPolicy;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CompressionTest {
+
+    private static final Key KEY = new Key("ns", "set", "k");
+    private static final String JSON = repeat("{\"field\":\"value\",\"n\":1}", 200);
+
+    private final CompressionPolicy policy = new CompressionPolicy("doc", "blob");
+    private final CompressedBins compressedBins = new CompressedBins(policy);
+    private final IAerospikeReactorClient reactorClient = mock(IAerospikeReactorClient.class);
+    private final AerospikeReactorCompressionClient client = new AerospikeReactorCompressionClient(reactorClient, policy);
+
+    @Test
+    public void shouldCompressSelectedLargeBinsOnPut() {
+        when(reactorClient.put(isNull(), ArgumentMatchers.eq(KEY), ArgumentMatchers.<Bin[]>any()))
+                .thenReturn(Mono.just(KEY));
+        byte[] blob = JSON.getBytes();
+
+        StepVerifier.create(client.put(KEY, new Bin("doc", JSON), new Bin("blob", blob),
+                        new Bin("small", "x"), new Bin("other", JSON)))
+                .expectNext(KEY)
+                .verifyComplete();
+
+        ArgumentCaptor<Bin> bins = ArgumentCaptor.forClass(Bin.class);
+        verify(reactorClient).put(isNull(), ArgumentMatchers.eq(KEY), bins.capture());
+        Map<String, Value> written = new HashMap<>();
+        bins.getAllValues().forEach(bin -> written.put(bin.name, bin.value));
+
+        byte[] doc = (byte[]) written.get("doc").getObject();
+        assertThat(doc.length).isLessThan(JSON.length() / 4);
+        assertThat(doc[0]).isEqualTo(CompressedBins.MAGIC_0);
+        assertThat(doc[3]).isEqualTo(CompressedBins.TYPE_STRING);
+        assertThat(((byte[]) written.get("blob").getObject())[3]).isEqualTo(CompressedBins.TYPE_BLOB);
+        assertThat(written.get("small").getObject()).isEqualTo("x");
+        assertThat(written.get("other").getObject()).isEqualTo(JSON);
+    }
+
+    @Test
+    public void shouldDecompressOnReadPaths() {
+        byte[] blob = JSON.getBytes();
+        Map<String, Object> bins = new HashMap<>();
+        bins.put("doc", compressedBins.encode("doc", Value.get(JSON)).getObject());
+        bins.put("blob", compressedBins.encode("blob", Value.get(blob)).getObject());
+        bins.put("n", 1L);
+        KeyRecord stored = new KeyRecord(KEY, new Record(bins, 1, 0));
+        when(reactorClient.get(isNull(), ArgumentMatchers.eq(KEY))).thenReturn(Mono.just(stored));
+        when(reactorClient.scanAll(ArgumentMatchers.<ScanPolicy>isNull(), ArgumentMatchers.eq("ns"), ArgumentMatchers.eq("set")))
+                .thenReturn(Flux.just(stored, new KeyRecord(KEY, null)));
+
+        StepVerifier.create(client.get(KEY))
+                .assertNext(keyRecord -> {
+                    assertThat(keyRecord.record.getString("doc")).isEqualTo(JSON);
+                    assertThat((byte[]) keyRecord.record.getValue("blob")).isEqualTo(blob);
+                    assertThat(keyRecord.record.getLong("n")).isEqualTo(1L);
+                    assertThat(keyRecord.record.generation).isEqualTo(1);
+                })
+                .verifyComplete();
+        StepVerifier.create(client.scanAll("ns", "set"))
+                .assertNext(keyRecord -> assertThat(keyRecord.record.getString("doc")).isEqualTo(JSON))
+                .assertNext(keyRecord -> assertThat(keyRecord.record).isNull())
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldCompressOperateWritesOnly() {
+        Operation[] operations = {Operation.put(new Bin("doc", JSON)), Operation.get("doc")};
+
+        Operation[] encoded = compressedBins.encode(operations);
+
+        assertThat(encoded).isNotSameAs(operations);
+        assertThat(encoded[0].value.getObject()).isInstanceOf(byte[].class);
+        assertThat(encoded[1]).isSameAs(operations[1]);
+        assertThat(operations[0].value.getObject()).isEqualTo(JSON);
+    }
+
+    @Test
+    public void shouldPassThroughUncompressedValues() {
+        byte[] legacy = JSON.getBytes();
+        byte[] incompressible = new byte[2048];
+        new java.util.Random(1).nextBytes(incompressible);
+        Bin[] bins = {new Bin("blob", incompressible), new Bin("doc", 1)};
+
+        assertThat(compressedBins.decode("blob", legacy)).isSameAs(legacy);
+        assertThat(compressedBins.encode(bins)).isSameAs(bins);
+    }
+
+    @Test
+    public void shouldFailOnUnknownCompressor() {
+        byte[] value = (byte[]) compressedBins.encode("doc", Value.get(JSON)).getObject();
+        value[2] = 42;
+
+        assertThatThrownBy(() -> compressedBins.decode("doc", value))
+                .isInstanceOf(AerospikeException.Serialize.class);
+    }
+
+    @Test
+    public void shouldReadValuesOfPreviousCompressor() {
+        BinCompressor previous = new DeflateBinCompressor(9) {
+            @Override
+            public byte id() {
+                return 7;
+            }
+        };
+        CompressionPolicy previousPolicy = new CompressionPolicy(policy);
+        previousPolicy.compressor = previous;
+        Object value = new CompressedBins(previousPolicy).encode("doc", Value.get(JSON)).getObject();
+        CompressionPolicy migrated = new CompressionPolicy(policy);
+        migrated.readCompressors = new BinCompressor[]{previous};
+
+        assertThat(new CompressedBins(migrated).decode("doc", value)).isEqualTo(JSON);
+    }
+
+    @Test
+    public void shouldDecompressLazilyOnAccess() {
+        BinCompressor compressor = mock(BinCompressor.class);
+        when(compressor.id()).thenReturn((byte) 9);
+        when(compressor.compress(ArgumentMatchers.any())).thenReturn(new byte[]{1, 2, 3});
+        when(compressor.decompress(ArgumentMatchers.any(), ArgumentMatchers.anyInt(),
+                ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt())).thenReturn(JSON.getBytes());
+        CompressionPolicy lazyPolicy = new CompressionPolicy(policy);
+        lazyPolicy.compressor = compressor;
+        lazyPolicy.lazyDecode = true;
+        CompressedBins lazyBins = new CompressedBins(lazyPolicy);
+        Map<String, Object> bins = new HashMap<>();
+        bins.put("doc", lazyBins.encode("doc", Value.get(JSON)).getObject());
+        bins.put("n", 1L);
+        Record plain = new Record(java.util.Collections.singletonMap("n", 1L), 1, 0);
+
+        Record record = lazyBins.decode(new Record(bins, 1, 0));
+
+        assertThat(lazyBins.decode(plain)).isSameAs(plain);
+        assertThat(record.getLong("n")).isEqualTo(1L);
+        assertThat(record.bins.keySet()).containsExactlyInAnyOrder("doc", "n");
+        verify(compressor, never()).decompress(ArgumentMatchers.any(), ArgumentMatchers.anyInt(),
+                ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt());
+        assertThat(record.getString("doc")).isEqualTo(JSON);
+        assertThat(record.bins).containsEntry("doc", JSON);
+        verify(compressor).decompress(ArgumentMatchers.any(), ArgumentMatchers.anyInt(),
+                ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt());
+        assertThatThrownBy(() -> record.bins.put("n", 2L)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> record.bins.keySet().remove("n")).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(bins).containsKey("n");
+    }
+
+    private static String repeat(String value, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+}
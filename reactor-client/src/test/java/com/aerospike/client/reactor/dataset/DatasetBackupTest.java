@@ -0,0 +1,162 @@
+package com.aerospike.client.reactor.dataset;
+
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.BatchWrite;
+import com.aerospike.client.Key;
+import com.aerospike.client.Operation;
+import com.aerospike.client.Record;
+import com.aerospike.client.Value;
+import com.aerospike.client.policy.GenerationPolicy;
+import com.aerospike.client.policy.ScanPolicy;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentMatchers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.aerospike.client.reactor.util.PartitionFilters.markDone;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DatasetBackupTest {
+
+    private static final int RECORDS_PER_RANGE = 20;
+    private static final int EXPIRATION = (int) (System.currentTimeMillis() / 1000 - Expirations.CITRUSLEAF_EPOCH) + 3600;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final IAerospikeReactorClient client = mock(IAerospikeReactorClient.class);
+    private final List<BatchRecord> written = Collections.synchronizedList(new ArrayList<>());
+
+    {
+        when(client.getScanPolicyDefault()).thenReturn(new ScanPolicy());
+        when(client.scanPartitions(any(ScanPolicy.class), any(PartitionFilter.class), eq("ns"), eq("set"),
+                ArgumentMatchers.<String[]>any())).thenAnswer(invocation -> {
+            PartitionFilter filter = invocation.getArgument(1);
+            markDone(filter);
+            List<KeyRecord> records = new ArrayList<>();
+            for (int i = 0; i < RECORDS_PER_RANGE; i++) {
+                int id = filter.getBegin() * 100 + i;
+                records.add(new KeyRecord(new Key("ns", "set", id), new Record(bins(id), 5, EXPIRATION)));
+            }
+            return Flux.fromIterable(records);
+        });
+        when(client.operate(any(), anyList())).thenAnswer(invocation -> {
+            written.addAll(invocation.getArgument(1));
+            return Mono.just(true);
+        });
+    }
+
+    @Test
+    public void shouldBackupAndRestorePartitionRanges() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        Files.write(directory.resolve("ns-set-extra-0-1.asbk"), new byte[]{1});
+
+        StepVerifier.create(new DatasetBackup(client).backup("ns", "set", directory, 3).collectList())
+                .assertNext(files -> assertThat(files).allMatch(file -> file.records == RECORDS_PER_RANGE))
+                .verifyComplete();
+        StepVerifier.create(new DatasetBackup(client).restore(directory, "ns", "set").last())
+                .assertNext(progress -> {
+                    assertThat(progress.records).isEqualTo(3 * RECORDS_PER_RANGE);
+                    assertThat(progress.failed).isZero();
+                })
+                .verifyComplete();
+
+        assertRestored(3 * RECORDS_PER_RANGE);
+        BatchWrite write = (BatchWrite) written.get(0);
+        assertThat(write.policy.generationPolicy).isEqualTo(GenerationPolicy.EXPECT_GEN_GT);
+        assertThat(write.policy.generation).isEqualTo(5);
+        assertThat(write.policy.expiration).isBetween(3590, 3600);
+        assertThat(write.key.userKey).isNotNull();
+        assertThat(write.policy.sendKey).isTrue();
+    }
+
+    @Test
+    public void shouldRestoreBlocksAcrossChunks() {
+        Path file = folder.getRoot().toPath().resolve("set.asbk");
+        new DatasetExporter(client).exportSet("ns", "set", file, new BackupEncoder(100)).block();
+        ImportPolicy policy = new ImportPolicy();
+        policy.chunkSize = 61;
+        policy.maxRecordSize = 1024;
+        policy.batchSize = 3;
+
+        StepVerifier.create(new DatasetImporter(client, policy)
+                        .importFile(file, new BackupDecoder(), "ns", "set").last())
+                .assertNext(progress -> assertThat(progress.records).isEqualTo(RECORDS_PER_RANGE))
+                .verifyComplete();
+
+        assertRestored(RECORDS_PER_RANGE);
+        assertThat(((BatchWrite) written.get(0)).policy.generationPolicy).isEqualTo(GenerationPolicy.NONE);
+    }
+
+    @Test
+    public void shouldRejectOtherFiles() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("set.ndjson");
+        Files.write(file, "{}\n".getBytes());
+
+        StepVerifier.create(new DatasetBackup(client).restore(Collections.singletonList(file), "ns", "set"))
+                .verifyErrorMessage("Not a backup file");
+    }
+
+    private void assertRestored(int records) {
+        Map<Object, BatchWrite> byKey = new HashMap<>();
+        for (BatchRecord record : written) {
+            assertThat(byKey.put(record.key.userKey.getObject(), (BatchWrite) record)).isNull();
+        }
+        assertThat(byKey).hasSize(records);
+        for (BatchWrite write : byKey.values()) {
+            int id = ((Long) write.key.userKey.getObject()).intValue();
+            assertThat(write.key).isEqualTo(new Key("ns", "set", id));
+            Map<String, Object> bins = new HashMap<>();
+            for (Operation operation : write.ops) {
+                assertThat(operation.type).isEqualTo(Operation.Type.WRITE);
+                bins.put(operation.binName, operation.value.getObject());
+            }
+            Map<String, Object> expected = bins(id);
+            assertThat(bins.keySet()).isEqualTo(expected.keySet());
+            assertThat(bins.get("blob")).isEqualTo(expected.get("blob"));
+            assertThat(bins.get("geo").toString()).isEqualTo(expected.get("geo").toString());
+            bins.remove("blob");
+            bins.remove("geo");
+            expected.remove("blob");
+            expected.remove("geo");
+            assertThat(bins).isEqualTo(expected);
+        }
+    }
+
+    private static Map<String, Object> bins(int id) {
+        Map<String, Object> ordered = new TreeMap<>();
+        ordered.put("a", 1L);
+        ordered.put("b", Arrays.asList("x", 2.5));
+        Map<String, Object> bins = new LinkedHashMap<>();
+        bins.put("long", (long) id);
+        bins.put("double", id / 4.0);
+        bins.put("string", "s" + id + "\n,\"");
+        bins.put("blob", new byte[]{(byte) id, 0, -1});
+        bins.put("list", Arrays.asList(1L, "two", Arrays.asList(3L)));
+        bins.put("map", ordered);
+        bins.put("geo", new Value.GeoJSONValue("{\"type\":\"Point\",\"coordinates\":[1," + id + "]}"));
+        return bins;
+    }
+}
@@ -0,0 +1,173 @@
+package com.aerospike.client.reactor.dataset;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.policy.ScanPolicy;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
+import com.aerospike.client.query.Statement;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentMatchers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.aerospike.client.reactor.util.PartitionFilters.markDone;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DatasetExportTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final IAerospikeReactorClient client = mock(IAerospikeReactorClient.class);
+    private final AtomicInteger pages = new AtomicInteger();
+    private final List<PartitionFilter> filters = new ArrayList<>();
+
+    {
+        when(client.getScanPolicyDefault()).thenReturn(new ScanPolicy());
+        when(client.scanPartitions(any(ScanPolicy.class), any(PartitionFilter.class), eq("ns"), eq("set"),
+                ArgumentMatchers.<String[]>any())).thenAnswer(invocation -> {
+            ScanPolicy policy = invocation.getArgument(0);
+            PartitionFilter filter = invocation.getArgument(1);
+            assertThat(policy.maxRecords).isEqualTo(2);
+            synchronized (filters) {
+                filters.add(filter);
+            }
+            int page = pages.incrementAndGet();
+            // two pages per filter, the second one completes the partitions
+            boolean last = filters.stream().filter(f -> f == filter).count() == 2;
+            if (last) {
+                markDone(filter);
+            }
+            return Flux.just(record("k" + page + "a", 1L), record("k" + page + "b", "x,\"y\"\n"));
+        });
+    }
+
+    @Test
+    public void shouldWriteNdjsonPageByPage() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("set.ndjson");
+
+        StepVerifier.create(exporter().exportSet("ns", "set", file, new NdjsonEncoder()))
+                .assertNext(exported -> {
+                    assertThat(exported.records).isEqualTo(4);
+                    assertThat(exported.partitionCount).isEqualTo(DatasetExporter.PARTITIONS);
+                })
+                .verifyComplete();
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(pages.get()).isEqualTo(2);
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0)).startsWith("{\"digest\":\"")
+                .endsWith(",\"key\":\"k1a\",\"generation\":3,\"expiration\":100,\"bins\":{\"v\":1,\"tags\":[\"a\",2]}}");
+        assertThat(lines.get(1)).contains("\"v\":\"x,\\\"y\\\"\\n\"");
+    }
+
+    @Test
+    public void shouldStartOverWhenResubscribed() {
+        Path file = folder.getRoot().toPath().resolve("set.ndjson");
+        Mono<ExportedFile> export = exporter().exportSet("ns", "set", file, new NdjsonEncoder());
+
+        assertThat(export.block().records).isEqualTo(4);
+        assertThat(export.block().records).isEqualTo(4);
+        assertThat(pages.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void shouldLeaveQueryStatementUnchanged() {
+        Statement statement = new Statement();
+        statement.setNamespace("ns");
+        statement.setSetName("set");
+        statement.setMaxRecords(10);
+        when(client.queryPartitions(ArgumentMatchers.<QueryPolicy>any(), any(Statement.class),
+                any(PartitionFilter.class))).thenAnswer(invocation -> {
+            Statement page = invocation.getArgument(1);
+            assertThat(page.getMaxRecords()).isEqualTo(2);
+            markDone(invocation.getArgument(2));
+            return Flux.just(record("k", 1L));
+        });
+
+        ExportedFile exported = exporter().exportQuery(statement,
+                folder.getRoot().toPath().resolve("query.ndjson"), new NdjsonEncoder()).block();
+
+        assertThat(exported.records).isEqualTo(1);
+        assertThat(statement.getMaxRecords()).isEqualTo(10);
+    }
+
+    @Test
+    public void shouldWriteCsvWithQuotedFields() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("set.csv");
+
+        exporter().exportSet("ns", "set", file, new CsvEncoder("v", "tags", "missing")).block();
+
+        String csv = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        String[] rows = csv.split("\r\n");
+        assertThat(rows[0]).isEqualTo("digest,key,generation,expiration,v,tags,missing");
+        assertThat(rows[1]).endsWith(",k1a,3,100,1,\"[\"\"a\"\",2]\",");
+        assertThat(rows[2]).endsWith(",k1b,3,100,\"x,\"\"y\"\"\n\",\"[\"\"a\"\",2]\",");
+    }
+
+    @Test
+    public void shouldWriteAvroContainer() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("set.avro");
+
+        exporter().exportSet("ns", "set", file, new AvroEncoder(1)).block();
+
+        byte[] avro = Files.readAllBytes(file);
+        assertThat(Arrays.copyOf(avro, 4)).isEqualTo(AvroEncoder.MAGIC);
+        assertThat(new String(avro, StandardCharsets.ISO_8859_1)).contains(AvroEncoder.SCHEMA);
+        int headerEnd = new String(avro, StandardCharsets.ISO_8859_1).indexOf(AvroEncoder.SCHEMA)
+                + AvroEncoder.SCHEMA.length() + 1 + "avro.codec".length() + 1 + "null".length() + 1;
+        byte[] sync = Arrays.copyOfRange(avro, headerEnd, headerEnd + AvroEncoder.SYNC_SIZE);
+        // one record per block with a block size of 1 byte
+        assertThat(avro[headerEnd + AvroEncoder.SYNC_SIZE]).isEqualTo((byte) 2);
+        assertThat(Arrays.copyOfRange(avro, avro.length - AvroEncoder.SYNC_SIZE, avro.length)).isEqualTo(sync);
+    }
+
+    @Test
+    public void shouldWriteOneFilePerPartitionRange() throws Exception {
+        StepVerifier.create(exporter().exportPartitions("ns", "set", folder.getRoot().toPath(), 3, NdjsonEncoder::new)
+                        .collectList())
+                .assertNext(files -> {
+                    assertThat(files).extracting(file -> file.partitionCount)
+                            .containsExactlyInAnyOrder(1365, 1365, 1366);
+                    assertThat(files).extracting(file -> file.path.getFileName().toString())
+                            .contains("ns-set-0-1365.ndjson", "ns-set-2730-1366.ndjson");
+                    assertThat(files).allMatch(file -> file.records == 4);
+                })
+                .verifyComplete();
+        assertThat(filters).extracting(PartitionFilter::getBegin).containsOnly(0, 1365, 2730);
+    }
+
+    private DatasetExporter exporter() {
+        ExportPolicy policy = new ExportPolicy();
+        policy.pageSize = 2;
+        policy.bufferSize = 16;
+        return new DatasetExporter(client, policy);
+    }
+
+    private static KeyRecord record(String key, Object value) {
+        Map<String, Object> bins = new LinkedHashMap<>();
+        bins.put("v", value);
+        bins.put("tags", Arrays.asList("a", 2L));
+        return new KeyRecord(new Key("ns", "set", key), new Record(bins, 3, 100));
+    }
+}
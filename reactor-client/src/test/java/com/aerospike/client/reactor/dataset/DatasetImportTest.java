@@ -0,0 +1,170 @@
+package com.aerospike.client.reactor.dataset;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.BatchWrite;
+import com.aerospike.client.Key;
+import com.aerospike.client.Operation;
+import com.aerospike.client.Record;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.policy.ScanPolicy;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentMatchers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.aerospike.client.reactor.util.PartitionFilters.markDone;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DatasetImportTest {
+
+    private static final int RECORDS = 50;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final IAerospikeReactorClient client = mock(IAerospikeReactorClient.class);
+    private final List<BatchRecord> written = new ArrayList<>();
+
+    {
+        when(client.getScanPolicyDefault()).thenReturn(new ScanPolicy());
+        when(client.scanPartitions(any(ScanPolicy.class), any(PartitionFilter.class), eq("ns"), eq("set"),
+                ArgumentMatchers.<String[]>any())).thenAnswer(invocation -> {
+            markDone(invocation.getArgument(1));
+            List<KeyRecord> records = new ArrayList<>();
+            for (int i = 0; i < RECORDS; i++) {
+                Map<String, Object> bins = new LinkedHashMap<>();
+                bins.put("v", (long) i);
+                bins.put("s", "a,\"b\" " + i);
+                // the last record is long expired
+                int expiration = i == RECORDS - 1 ? 100 : 0;
+                records.add(new KeyRecord(new Key("ns", "set", "k" + i), new Record(bins, 1, expiration)));
+            }
+            return Flux.fromIterable(records);
+        });
+    }
+
+    @Test
+    public void shouldImportNdjsonInChunks() throws Exception {
+        assertRoundTrip(export("set.ndjson", new NdjsonEncoder()), new NdjsonDecoder());
+    }
+
+    @Test
+    public void shouldImportCsvInChunks() throws Exception {
+        assertRoundTrip(export("set.csv", new CsvEncoder("v", "s")), new CsvDecoder());
+    }
+
+    @Test
+    public void shouldImportAvroInChunks() throws Exception {
+        assertRoundTrip(export("set.avro", new AvroEncoder(3)), new AvroDecoder());
+    }
+
+    @Test
+    public void shouldReportFailedRecordsPerBatch() throws Exception {
+        Path file = export("set.ndjson", new NdjsonEncoder());
+        AtomicInteger batches = new AtomicInteger();
+        when(client.operate(any(), anyList())).thenAnswer(invocation -> {
+            List<BatchRecord> records = invocation.getArgument(1);
+            switch (batches.incrementAndGet()) {
+                case 1:
+                    records.forEach(record -> record.resultCode = ResultCode.OK);
+                    records.get(0).resultCode = ResultCode.KEY_EXISTS_ERROR;
+                    return Mono.just(false);
+                case 2:
+                    return Mono.error(new AerospikeException(ResultCode.TIMEOUT));
+                default:
+                    return Mono.just(true);
+            }
+        });
+        ImportPolicy policy = policy();
+        policy.maxInFlightBatches = 1;
+
+        StepVerifier.create(new DatasetImporter(client, policy)
+                        .importFile(file, new NdjsonDecoder(), "ns", "copy").collectList())
+                .assertNext(progress -> {
+                    assertThat(progress).hasSize(8);
+                    assertThat(progress.get(0).batchFailures).extracting(failure -> failure.resultCode)
+                            .containsExactly(ResultCode.KEY_EXISTS_ERROR);
+                    assertThat(progress.get(1).batchFailures).hasSize(7)
+                            .allMatch(failure -> failure.resultCode == ResultCode.TIMEOUT);
+                    ImportProgress last = progress.get(progress.size() - 1);
+                    assertThat(last.batchRecords).isZero();
+                    assertThat(last.failed).isEqualTo(8);
+                    assertThat(last.records).isEqualTo(RECORDS - 1 - 8);
+                    assertThat(last.skipped).isEqualTo(1);
+                })
+                .verifyComplete();
+    }
+
+    private void assertRoundTrip(Path file, RecordDecoder decoder) {
+        when(client.operate(any(BatchPolicy.class), anyList())).thenAnswer(invocation -> {
+            List<BatchRecord> records = invocation.getArgument(1);
+            assertThat(records.size()).isLessThanOrEqualTo(7);
+            synchronized (written) {
+                written.addAll(records);
+            }
+            return Mono.just(true);
+        });
+        ImportPolicy policy = policy();
+        policy.batchPolicy = new BatchPolicy();
+
+        StepVerifier.create(new DatasetImporter(client, policy).importFile(file, decoder, "ns", "copy").last())
+                .assertNext(progress -> {
+                    assertThat(progress.records).isEqualTo(RECORDS - 1);
+                    assertThat(progress.failed).isZero();
+                    assertThat(progress.skipped).isEqualTo(1);
+                })
+                .verifyComplete();
+
+        Map<Object, BatchWrite> byKey = new HashMap<>();
+        for (BatchRecord record : written) {
+            assertThat(byKey.put(record.key.userKey.getObject(), (BatchWrite) record)).isNull();
+        }
+        assertThat(byKey).hasSize(RECORDS - 1);
+        for (int i = 0; i < RECORDS - 1; i++) {
+            BatchWrite write = byKey.get("k" + i);
+            assertThat(write.key).isEqualTo(new Key("ns", "copy", "k" + i));
+            assertThat(write.policy.expiration).isEqualTo(-1);
+            Map<String, Object> bins = new HashMap<>();
+            for (Operation operation : write.ops) {
+                bins.put(operation.binName, operation.value.getObject());
+            }
+            assertThat(bins).containsEntry("v", (long) i).containsEntry("s", "a,\"b\" " + i);
+        }
+    }
+
+    private Path export(String name, RecordEncoder encoder) {
+        Path file = folder.getRoot().toPath().resolve(name);
+        new DatasetExporter(client).exportSet("ns", "set", file, encoder).block();
+        return file;
+    }
+
+    private static ImportPolicy policy() {
+        ImportPolicy policy = new ImportPolicy();
+        // far smaller than a record batch, so records straddle chunk boundaries
+        policy.chunkSize = 97;
+        policy.maxRecordSize = 1024;
+        policy.batchSize = 7;
+        return policy;
+    }
+}
@@ -0,0 +1,98 @@
+package com.aerospike.client.reactor.deadline;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Key;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DeadlineTest {
+
+    private static final Key KEY = new Key("ns", "set", "k");
+
+    private final IAerospikeReactorClient reactorClient = mock(IAerospikeReactorClient.class);
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final AerospikeReactorDeadlineClient client = new AerospikeReactorDeadlineClient(reactorClient, clock::get);
+    private final AtomicReference<Policy> usedPolicy = new AtomicReference<>();
+    private final Policy defaultPolicy = new Policy();
+
+    {
+        defaultPolicy.totalTimeout = 1000;
+        defaultPolicy.socketTimeout = 30000;
+        when(reactorClient.getReadPolicyDefault()).thenReturn(defaultPolicy);
+        when(reactorClient.get(ArgumentMatchers.any(), ArgumentMatchers.<Key>any()))
+                .thenAnswer(invocation -> {
+                    usedPolicy.set(invocation.getArgument(0));
+                    return Mono.just(new KeyRecord(KEY, null));
+                });
+    }
+
+    @Test
+    public void shouldKeepPolicyWithoutDeadline() {
+        StepVerifier.create(client.get(KEY)).expectNextCount(1).verifyComplete();
+
+        assertThat(usedPolicy.get()).isNull();
+    }
+
+    @Test
+    public void shouldShrinkDefaultPolicyToRemainingTime() {
+        StepVerifier.create(client.get(KEY)
+                        .contextWrite(Deadline.at(clock.get() + TimeUnit.MILLISECONDS.toNanos(20))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(usedPolicy.get()).isNotSameAs(defaultPolicy);
+        assertThat(usedPolicy.get().totalTimeout).isEqualTo(20);
+        assertThat(usedPolicy.get().socketTimeout).isEqualTo(20);
+        assertThat(defaultPolicy.totalTimeout).isEqualTo(1000);
+    }
+
+    @Test
+    public void shouldKeepTighterPolicy() {
+        Policy policy = new Policy();
+        policy.totalTimeout = 10;
+        policy.socketTimeout = 5;
+
+        StepVerifier.create(client.get(policy, KEY)
+                        .contextWrite(Deadline.at(clock.get() + TimeUnit.MILLISECONDS.toNanos(20))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(usedPolicy.get()).isSameAs(policy);
+    }
+
+    @Test
+    public void shouldFailWithoutSendingWhenDeadlinePassed() {
+        StepVerifier.create(client.get(KEY).contextWrite(Deadline.at(clock.get() - 1)))
+                .expectErrorSatisfies(error -> {
+                    assertThat(error).isInstanceOf(AerospikeException.Timeout.class);
+                    assertThat(((AerospikeException.Timeout) error).client).isTrue();
+                })
+                .verify();
+
+        verify(reactorClient, never()).get(ArgumentMatchers.any(), ArgumentMatchers.<Key>any());
+    }
+
+    @Test
+    public void shouldKeepEarlierDeadline() {
+        Context context = Deadline.at(100).apply(Context.empty());
+
+        assertThat(Deadline.get(Deadline.at(200).apply(context))).isEqualTo(100L);
+        assertThat(Deadline.get(Deadline.at(50).apply(context))).isEqualTo(50L);
+    }
+}
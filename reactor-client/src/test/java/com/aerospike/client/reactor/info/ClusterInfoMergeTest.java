@@ -0,0 +1,133 @@
+package com.aerospike.client.reactor.info;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.policy.InfoPolicy;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.dto.NodeInfo;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ClusterInfoMergeTest {
+
+    private static final String NAMESPACE_1 = "objects=10;master_objects=5;tombstones=1;replication-factor=2;effective_replication_factor=2;storage-engine=memory";
+    private static final String NAMESPACE_2 = "objects=12;master_objects=6;tombstones=0;replication-factor=2;effective_replication_factor=2;storage-engine=memory";
+
+    private static final String SETS_1 = "ns=test:set=a:objects=4:tombstones=0:memory_data_bytes=100;ns=test:set=b:objects=6:tombstones=1:memory_data_bytes=50;";
+    private static final String SETS_2 = "ns=test:set=a:objects=6:tombstones=0:memory_data_bytes=120;ns=test:set=b:objects=6:tombstones=0:memory_data_bytes=40;";
+
+    private static final String SINDEX = "ns=test:indexname=idx_a:set=a:bin=age:type=numeric:indextype=default:context=NULL:state=RW;";
+
+    private final IAerospikeReactorClient reactorClient = mock(IAerospikeReactorClient.class);
+    private final Node node1 = mock(Node.class);
+    private final Node node2 = mock(Node.class);
+
+    @Test
+    public void shouldParseParameters() {
+        Map<String, String> values = InfoParser.parseParameters("a=1;b=x=y;;c=");
+
+        assertThat(values).containsEntry("a", "1")
+                .containsEntry("b", "x=y")
+                .containsEntry("c", "")
+                .hasSize(3);
+    }
+
+    @Test
+    public void shouldParseEntries() {
+        List<Map<String, String>> entries = InfoParser.parseEntries(SETS_1);
+
+        assertThat(entries).hasSize(2);
+        assertThat(entries.get(1)).containsEntry("set", "b").containsEntry("objects", "6");
+    }
+
+    @Test
+    public void shouldFailOnErrorResponse() {
+        assertThatThrownBy(() -> InfoParser.checkResponse("sets/xxx", "ERROR::unknown namespace"))
+                .isInstanceOf(AerospikeException.class);
+    }
+
+    @Test
+    public void shouldMergeNamespaceStats() {
+        NamespaceStats stats = NamespaceStats.merge("test", Arrays.asList(NAMESPACE_1, NAMESPACE_2));
+
+        assertThat(stats.nodeCount).isEqualTo(2);
+        assertThat(stats.replicationFactor).isEqualTo(2);
+        assertThat(stats.objects).isEqualTo(22);
+        assertThat(stats.masterObjects).isEqualTo(11);
+        assertThat(stats.tombstones).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldMergeSetStats() {
+        List<SetStats> stats = SetStats.merge("test", Arrays.asList(SETS_1, SETS_2), 2);
+
+        assertThat(stats).hasSize(2);
+        assertThat(stats.get(0).set).isEqualTo("a");
+        assertThat(stats.get(0).objects).isEqualTo(10);
+        assertThat(stats.get(0).uniqueObjects).isEqualTo(5);
+        assertThat(stats.get(0).totals).containsEntry("memory_data_bytes", 220L);
+        assertThat(stats.get(1).tombstones).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldMergeSetStatsFromAllNodes() {
+        when(reactorClient.infoAll(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(Flux.just(
+                        nodeInfo(node1, "namespace/test", NAMESPACE_1, "sets/test", SETS_1),
+                        nodeInfo(node2, "namespace/test", NAMESPACE_2, "sets/test", SETS_2)));
+
+        StepVerifier.create(new ReactorClusterInfo(reactorClient).setStats(new InfoPolicy(), "test", "b"))
+                .expectNextMatches(stats -> stats.objects == 12 && stats.uniqueObjects == 6 && stats.nodeCount == 2)
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldMergeIndexStatsFromAllNodes() {
+        when(reactorClient.infoAll(ArgumentMatchers.any(), ArgumentMatchers.eq(Arrays.asList("sindex/test")))
+        ).thenReturn(Flux.just(
+                nodeInfo(node1, "sindex/test", SINDEX),
+                nodeInfo(node2, "sindex/test", SINDEX)));
+        when(reactorClient.infoAll(ArgumentMatchers.any(), ArgumentMatchers.eq(Arrays.asList("sindex/test/idx_a")))
+        ).thenReturn(Flux.just(
+                nodeInfo(node1, "sindex/test/idx_a", "entries=7;used_bytes=100"),
+                nodeInfo(node2, "sindex/test/idx_a", "entries=3;used_bytes=50")));
+
+        StepVerifier.create(new ReactorClusterInfo(reactorClient).indexStats(null, "test"))
+                .expectNextMatches(stats -> stats.size() == 1
+                        && stats.get(0).name.equals("idx_a")
+                        && stats.get(0).bin.equals("age")
+                        && stats.get(0).entries == 10
+                        && stats.get(0).state.equals("RW"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldReportIndexNotReadableWhenAnyNodeIsNot() {
+        Map<String, Map<String, String>> definitions = IndexStats.mergeDefinitions("test",
+                Arrays.asList(SINDEX, SINDEX.replace("state=RW", "state=WO"), SINDEX));
+
+        assertThat(definitions.get("idx_a")).containsEntry("state", "WO").containsEntry("bin", "age");
+        assertThat(IndexStats.mergeDefinitions("test", Arrays.asList(SINDEX, SINDEX)).get("idx_a"))
+                .containsEntry("state", "RW");
+    }
+
+    private static NodeInfo nodeInfo(Node node, String... commandsAndResponses) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < commandsAndResponses.length; i += 2) {
+            values.put(commandsAndResponses[i], commandsAndResponses[i + 1]);
+        }
+        return new NodeInfo(node, values);
+    }
+}
@@ -0,0 +1,93 @@
+package com.aerospike.client.reactor.info;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NodeStatsSamplerTest {
+
+    private final IAerospikeReactorClient reactorClient = mock(IAerospikeReactorClient.class);
+    private final IAerospikeClient client = mock(IAerospikeClient.class);
+    private final Node node = mock(Node.class);
+    private final Node failingNode = mock(Node.class);
+
+    @Test
+    public void shouldParseDefaultLatencies() {
+        Map<String, Double> metrics = InfoParser.parseMetrics("latencies:",
+                "batch-index:;{test}-read:msec,100.5,2.50,0.40,0.00");
+
+        assertThat(metrics).containsEntry("{test}-read.ops/sec", 100.5)
+                .containsEntry("{test}-read.>1ms", 2.5)
+                .containsEntry("{test}-read.>8ms", 0.4)
+                .containsEntry("{test}-read.>64ms", 0.0)
+                .hasSize(4);
+    }
+
+    @Test
+    public void shouldPublishDeltasToAllSubscribers() {
+        when(node.getName()).thenReturn("A");
+        when(failingNode.getName()).thenReturn("B");
+        when(reactorClient.getAerospikeClient()).thenReturn(client);
+        when(client.getNodes()).thenReturn(new Node[]{node, failingNode});
+        when(reactorClient.info(ArgumentMatchers.any(), ArgumentMatchers.eq(node), ArgumentMatchers.anyList()))
+                .thenReturn(Mono.just(Collections.singletonMap("statistics", "client_connections=5;uptime=100;cluster_key=ABC")))
+                .thenReturn(Mono.just(Collections.singletonMap("statistics", "client_connections=7;uptime=110;cluster_key=ABC")));
+        when(reactorClient.info(ArgumentMatchers.any(), ArgumentMatchers.eq(failingNode), ArgumentMatchers.anyList()))
+                .thenReturn(Mono.error(new AerospikeException.Timeout(1, false)));
+
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+        NodeStatsSampler sampler = new NodeStatsSampler(reactorClient, null, Duration.ofSeconds(10),
+                scheduler, InfoCommands.STATISTICS);
+
+        StepVerifier.withVirtualTime(() -> sampler.samples().take(2), () -> scheduler, Long.MAX_VALUE)
+                .then(() -> sampler.samples().subscribe())
+                .expectNextMatches(sample -> sample.deltas.isEmpty()
+                        && sample.value("uptime") == 100
+                        && !sample.values.containsKey("cluster_key"))
+                .thenAwait(Duration.ofSeconds(10))
+                .expectNextMatches(sample -> sample.delta("client_connections") == 2
+                        && sample.delta("uptime") == 10)
+                .verifyComplete();
+
+        verify(client, times(2)).getNodes();
+    }
+
+    @Test
+    public void shouldForgetNodesThatLeftTheCluster() {
+        when(node.getName()).thenReturn("A");
+        when(reactorClient.getAerospikeClient()).thenReturn(client);
+        when(client.getNodes())
+                .thenReturn(new Node[]{node})
+                .thenReturn(new Node[0])
+                .thenReturn(new Node[]{node});
+        when(reactorClient.info(ArgumentMatchers.any(), ArgumentMatchers.eq(node), ArgumentMatchers.anyList()))
+                .thenReturn(Mono.just(Collections.singletonMap("statistics", "uptime=100")))
+                .thenReturn(Mono.just(Collections.singletonMap("statistics", "uptime=120")));
+
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+        NodeStatsSampler sampler = new NodeStatsSampler(reactorClient, null, Duration.ofSeconds(10),
+                scheduler, InfoCommands.STATISTICS);
+
+        StepVerifier.withVirtualTime(() -> sampler.samples().take(2), () -> scheduler, Long.MAX_VALUE)
+                .expectNextMatches(sample -> sample.value("uptime") == 100)
+                .thenAwait(Duration.ofSeconds(20))
+                .expectNextMatches(sample -> sample.value("uptime") == 120 && sample.deltas.isEmpty())
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,124 @@
+package com.aerospike.client.reactor.keys;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.Operation;
+import com.aerospike.client.Record;
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.dto.KeysExists;
+import com.aerospike.client.reactor.dto.KeysRecords;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DigestBatchTest {
+
+    private final IAerospikeReactorClient client = mock(IAerospikeReactorClient.class);
+
+    @Test
+    public void shouldStoreDigestsCompactly() {
+        DigestBatch batch = new DigestBatch("ns", "set", 1);
+        for (int i = 0; i < 10; i++) {
+            batch.add(new Key("ns", "set", i));
+        }
+
+        assertThat(batch.size()).isEqualTo(10);
+        assertThat(batch.key(7)).isEqualTo(new Key("ns", "set", 7));
+        assertThat(batch.keys(2, 4)).containsExactly(new Key("ns", "set", 2), new Key("ns", "set", 3));
+        assertThat(DigestBatch.wrap("ns", "set", new byte[40]).size()).isEqualTo(2);
+        assertThatThrownBy(() -> batch.key(10)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> batch.add(new Key("other", "set", 1))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> batch.add(new Key("ns", "other", 1))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void shouldGrowEmptyBatch() {
+        DigestBatch batch = DigestBatch.wrap("ns", "set", new byte[0]);
+        batch.add(new Key("ns", "set", 1));
+        batch.add(new Key("ns", "set", 2));
+
+        assertThat(batch.size()).isEqualTo(2);
+        assertThat(batch.key(1)).isEqualTo(new Key("ns", "set", 2));
+    }
+
+    @Test
+    public void shouldGetRecordsInChunksIndexedByPosition() {
+        DigestBatch batch = batch(5);
+        when(client.get(ArgumentMatchers.<BatchPolicy>any(), any(Key[].class))).thenAnswer(invocation -> {
+            Key[] keys = invocation.getArgument(1);
+            Record[] records = new Record[keys.length];
+            for (int i = 0; i < keys.length; i += 2) {
+                records[i] = new Record(Collections.singletonMap("i", i), 1, 0);
+            }
+            return Mono.just(new KeysRecords(keys, records));
+        });
+
+        StepVerifier.create(reader().get(batch).map(record -> record.index))
+                .expectNext(0, 2, 3)
+                .verifyComplete();
+
+        ArgumentCaptor<Key[]> keys = ArgumentCaptor.forClass(Key[].class);
+        verify(client, times(2)).get(ArgumentMatchers.<BatchPolicy>any(), keys.capture());
+        List<Key[]> chunks = keys.getAllValues();
+        assertThat(chunks.get(0)).containsExactly(batch.keys(0, 3));
+        assertThat(chunks.get(1)).containsExactly(batch.keys(3, 5));
+    }
+
+    @Test
+    public void shouldProjectBinsWithOperations() {
+        when(client.get(ArgumentMatchers.<BatchPolicy>any(), any(Key[].class), ArgumentMatchers.<Operation[]>any()))
+                .thenAnswer(invocation -> {
+                    Key[] keys = invocation.getArgument(1);
+                    return Mono.just(new KeysRecords(keys, new Record[keys.length]));
+                });
+
+        StepVerifier.create(reader().get(batch(2), "a"))
+                .verifyComplete();
+
+        ArgumentCaptor<Operation> operations = ArgumentCaptor.forClass(Operation.class);
+        verify(client).get(ArgumentMatchers.<BatchPolicy>any(), any(Key[].class), operations.capture());
+        assertThat(operations.getValue().binName).isEqualTo("a");
+    }
+
+    @Test
+    public void shouldCollectExistingPositions() {
+        when(client.exists(ArgumentMatchers.<BatchPolicy>any(), any(Key[].class))).thenAnswer(invocation -> {
+            Key[] keys = invocation.getArgument(1);
+            boolean[] exists = new boolean[keys.length];
+            exists[keys.length - 1] = true;
+            return Mono.just(new KeysExists(keys, exists));
+        });
+
+        BitSet existing = reader().exists(batch(7)).block();
+
+        assertThat(existing.stream().toArray()).containsExactly(2, 5, 6);
+    }
+
+    private ReactorDigestBatchReader reader() {
+        DigestBatchPolicy policy = new DigestBatchPolicy();
+        policy.chunkSize = 3;
+        return new ReactorDigestBatchReader(client, policy);
+    }
+
+    private static DigestBatch batch(int size) {
+        DigestBatch batch = new DigestBatch("ns", "set");
+        for (int i = 0; i < size; i++) {
+            batch.add(new Key("ns", "set", i).digest);
+        }
+        return batch;
+    }
+}
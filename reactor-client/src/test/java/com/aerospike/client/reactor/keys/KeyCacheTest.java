@@ -0,0 +1,86 @@
+package com.aerospike.client.reactor.keys;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.Value;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class KeyCacheTest {
+
+    private final KeyCache cache = new KeyCache(1024);
+
+    @Test
+    public void shouldReturnCachedKeys() {
+        Key key = cache.get("ns", "set", "k");
+
+        assertThat(key).isEqualTo(new Key("ns", "set", "k"));
+        assertThat(key.userKey.toString()).isEqualTo("k");
+        assertThat(cache.get("ns", "set", "k")).isSameAs(key);
+        assertThat(cache.get("ns", "set", 7L)).isSameAs(cache.get("ns", "set", 7L));
+        assertThat(cache.get("ns", "set", new byte[]{1, 2})).isSameAs(cache.get("ns", "set", new byte[]{1, 2}));
+        assertThat(cache.get("ns", null, Value.get("v"))).isSameAs(cache.get("ns", null, Value.get("v")));
+    }
+
+    @Test
+    public void shouldDistinguishKeysSharingSlot() {
+        KeyCache single = new KeyCache(1);
+
+        Key string = single.get("ns", "set", "7");
+        Key number = single.get("ns", "set", 7L);
+        Key otherSet = single.get("ns", "other", 7L);
+        Key otherNamespace = single.get("other", "other", 7L);
+
+        assertThat(string).isEqualTo(new Key("ns", "set", "7"));
+        assertThat(number).isEqualTo(new Key("ns", "set", 7L)).isNotEqualTo(string);
+        assertThat(otherSet).isEqualTo(new Key("ns", "other", 7L)).isNotEqualTo(number);
+        assertThat(otherNamespace).isEqualTo(new Key("other", "other", 7L));
+        assertThat(single.get("other", "other", 7L)).isSameAs(otherNamespace);
+        assertThat(single.get("ns", "set", "7")).isNotSameAs(string).isEqualTo(string);
+    }
+
+    @Test
+    public void shouldCopyBlobUserKeys() {
+        byte[] userKey = {1, 2};
+        Key key = cache.get("ns", "set", userKey);
+
+        userKey[0] = 9;
+
+        assertThat(cache.get("ns", "set", new byte[]{1, 2})).isSameAs(key);
+        assertThat(cache.get("ns", "set", userKey)).isEqualTo(new Key("ns", "set", new byte[]{9, 2}));
+    }
+
+    @Test
+    public void shouldBuildCorrectKeysConcurrently() {
+        CompletableFuture<?>[] workers = IntStream.range(0, 4)
+                .mapToObj(worker -> CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        long userKey = i % 300;
+                        assertThat(cache.get("ns", "set", userKey)).isEqualTo(new Key("ns", "set", userKey));
+                    }
+                }))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(workers).join();
+    }
+
+    @Test
+    public void shouldBuildKeysFromDigests() {
+        Key first = new Key("ns", "set", "a");
+        Key second = new Key("ns", "set", "b");
+        byte[] digests = new byte[2 * Keys.DIGEST_SIZE];
+        System.arraycopy(first.digest, 0, digests, 0, Keys.DIGEST_SIZE);
+        System.arraycopy(second.digest, 0, digests, Keys.DIGEST_SIZE, Keys.DIGEST_SIZE);
+
+        assertThat(Keys.ofDigest("ns", "set", first.digest)).isEqualTo(first);
+        assertThat(Keys.ofDigests("ns", "set", digests)).containsExactly(first, second);
+        assertThat(Keys.ofDigests("ns", "set", new byte[][]{second.digest})).containsExactly(second);
+        assertThatThrownBy(() -> Keys.ofDigest("ns", "set", new byte[3]))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new KeyCache(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,181 @@
+package com.aerospike.client.reactor.largeobject;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.BatchWrite;
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.policy.BatchDeletePolicy;
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.policy.WritePolicy;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.dto.KeysRecords;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LargeObjectStoreTest {
+
+    private static final Key KEY = new Key("ns", "blobs", "report");
+
+    private final Map<Key, Record> records = new ConcurrentHashMap<>();
+    private final IAerospikeReactorClient client = mock(IAerospikeReactorClient.class);
+    private volatile boolean failWrites;
+
+    {
+        when(client.put(isNull(), any(Key.class), ArgumentMatchers.<Bin[]>any())).thenAnswer(invocation -> {
+            Key key = invocation.getArgument(1);
+            Map<String, Object> bins = new HashMap<>();
+            for (int i = 2; i < invocation.getArguments().length; i++) {
+                Bin bin = invocation.getArgument(i);
+                bins.put(bin.name, bin.value.getObject() instanceof Integer
+                        ? Long.valueOf((Integer) bin.value.getObject()) : bin.value.getObject());
+            }
+            records.put(key, new Record(bins, 1, 0));
+            return Mono.just(key);
+        });
+        when(client.get(ArgumentMatchers.<Policy>isNull(), any(Key.class), ArgumentMatchers.<String[]>any()))
+                .thenAnswer(invocation -> {
+                    Key key = invocation.getArgument(1);
+                    return Mono.just(new KeyRecord(key, records.get(key)));
+                });
+        when(client.delete(ArgumentMatchers.<WritePolicy>isNull(), any(Key.class))).thenAnswer(invocation -> {
+            Key key = invocation.getArgument(1);
+            records.remove(key);
+            return Mono.just(key);
+        });
+        when(client.operate(ArgumentMatchers.<BatchPolicy>isNull(), ArgumentMatchers.<List<BatchRecord>>any()))
+                .thenAnswer(invocation -> Mono.fromCallable(() -> {
+                    List<BatchRecord> batch = invocation.getArgument(1);
+                    for (BatchRecord record : batch) {
+                        if (failWrites) {
+                            record.resultCode = ResultCode.RECORD_TOO_BIG;
+                            return false;
+                        }
+                        BatchWrite write = (BatchWrite) record;
+                        Map<String, Object> bins = new HashMap<>();
+                        bins.put(write.ops[0].binName, write.ops[0].value.getObject());
+                        records.put(write.key, new Record(bins, 1, 0));
+                    }
+                    return true;
+                }));
+        when(client.get(ArgumentMatchers.<BatchPolicy>isNull(), ArgumentMatchers.<Key[]>any()))
+                .thenAnswer(invocation -> {
+                    Key[] keys = invocation.getArgument(1);
+                    Record[] found = new Record[keys.length];
+                    for (int i = 0; i < keys.length; i++) {
+                        found[i] = records.get(keys[i]);
+                    }
+                    return Mono.just(new KeysRecords(keys, found));
+                });
+        when(client.delete(ArgumentMatchers.<BatchPolicy>isNull(), ArgumentMatchers.<BatchDeletePolicy>isNull(),
+                ArgumentMatchers.<Key[]>any())).thenAnswer(invocation -> {
+            Key[] keys = invocation.getArgument(2);
+            Arrays.stream(keys).forEach(records::remove);
+            return Mono.empty();
+        });
+    }
+
+    private final ReactorLargeObjectStore store = new ReactorLargeObjectStore(client, policy());
+
+    @Test
+    public void shouldSplitIntoChunksAndStreamBack() {
+        byte[] content = bytes(45);
+
+        StepVerifier.create(store.write(KEY, Flux.just(
+                        ByteBuffer.wrap(content, 0, 7), ByteBuffer.wrap(content, 7, 30), ByteBuffer.wrap(content, 37, 8))))
+                .assertNext(manifest -> {
+                    assertThat(manifest.size).isEqualTo(45);
+                    assertThat(manifest.chunkCount).isEqualTo(5);
+                })
+                .verifyComplete();
+
+        assertThat(records).hasSize(6);
+        assertThat(read(store.read(KEY))).isEqualTo(content);
+    }
+
+    @Test
+    public void shouldDeleteChunksOfReplacedVersion() {
+        store.write(KEY, Flux.just(ByteBuffer.wrap(bytes(45)))).block();
+        byte[] content = bytes(12);
+
+        store.write(KEY, Flux.just(ByteBuffer.wrap(content))).block();
+
+        assertThat(records).hasSize(3);
+        assertThat(read(store.read(KEY))).isEqualTo(content);
+    }
+
+    @Test
+    public void shouldDeleteManifestAndChunks() {
+        store.write(KEY, Flux.just(ByteBuffer.wrap(bytes(25)))).block();
+
+        StepVerifier.create(store.delete(KEY)).expectNext(true).verifyComplete();
+        StepVerifier.create(store.delete(KEY)).expectNext(false).verifyComplete();
+        StepVerifier.create(store.read(KEY)).verifyComplete();
+        assertThat(records).isEmpty();
+    }
+
+    @Test
+    public void shouldFailOnMissingChunk() {
+        LargeObjectManifest manifest = store.write(KEY, Flux.just(ByteBuffer.wrap(bytes(25)))).block();
+        records.remove(manifest.chunkKey(2));
+
+        StepVerifier.create(store.read(KEY))
+                .expectNextCount(2)
+                .verifyErrorMatches(error -> error instanceof AerospikeException
+                        && ((AerospikeException) error).getResultCode() == ResultCode.KEY_NOT_FOUND_ERROR);
+    }
+
+    @Test
+    public void shouldNotPublishManifestWhenChunkWriteFails() {
+        failWrites = true;
+
+        StepVerifier.create(store.write(KEY, Flux.just(ByteBuffer.wrap(bytes(45)))))
+                .verifyErrorMatches(error -> error instanceof AerospikeException
+                        && ((AerospikeException) error).getResultCode() == ResultCode.RECORD_TOO_BIG);
+        assertThat(records).isEmpty();
+    }
+
+    private static LargeObjectPolicy policy() {
+        LargeObjectPolicy policy = new LargeObjectPolicy();
+        policy.chunkSize = 10;
+        policy.chunksPerBatch = 2;
+        return policy;
+    }
+
+    private static byte[] bytes(int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    private static byte[] read(Flux<ByteBuffer> content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (ByteBuffer buffer : content.toIterable()) {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,91 @@
+package com.aerospike.client.reactor.partition;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.policy.ScanPolicy;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
+import com.aerospike.client.query.Statement;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.aerospike.client.reactor.util.PartitionFilters.markDone;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PartitionsTest {
+
+    private final IAerospikeReactorClient client = mock(IAerospikeReactorClient.class);
+    private final List<PartitionFilter> filters = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void shouldSplitPartitionsIntoContiguousRanges() {
+        assertThat(Partitions.begin(0, 3)).isEqualTo(0);
+        assertThat(Partitions.count(0, 3)).isEqualTo(1365);
+        assertThat(Partitions.begin(2, 3)).isEqualTo(2730);
+        assertThat(Partitions.count(2, 3)).isEqualTo(1366);
+        assertThat(Partitions.range(3, 4).getBegin()).isEqualTo(3072);
+        assertThat(Partitions.range(3, 4).getCount()).isEqualTo(1024);
+    }
+
+    @Test
+    public void shouldScanPagesUntilDoneAndStartOverOnResubscription() {
+        ScanPolicy scanPolicy = new ScanPolicy();
+        scanPolicy.maxRecords = 1;
+        when(client.scanPartitions(any(ScanPolicy.class), any(PartitionFilter.class), eq("ns"), eq("set"),
+                ArgumentMatchers.<String[]>any())).thenAnswer(invocation -> page(invocation.getArgument(1)));
+
+        Flux<KeyRecord> records = Partitions.scan(client, scanPolicy, PartitionFilter::all, "ns", "set", null);
+
+        assertThat(records.count().block()).isEqualTo(2);
+        assertThat(records.count().block()).isEqualTo(2);
+        assertThat(filters).hasSize(4);
+        assertThat(filters.get(0)).isNotSameAs(filters.get(2));
+    }
+
+    @Test
+    public void shouldQueryPagesThroughStatementCopy() {
+        Statement statement = new Statement();
+        statement.setNamespace("ns");
+        statement.setSetName("set");
+        statement.setBinNames("a");
+        List<Statement> pages = new ArrayList<>();
+        when(client.queryPartitions(ArgumentMatchers.<QueryPolicy>isNull(), any(Statement.class),
+                any(PartitionFilter.class))).thenAnswer(invocation -> {
+            pages.add(invocation.getArgument(1));
+            return page(invocation.getArgument(2));
+        });
+
+        assertThat(Partitions.query(client, null, statement, 5, () -> PartitionFilter.range(0, 10))
+                .count().block()).isEqualTo(2);
+
+        assertThat(pages).hasSize(2).allSatisfy(page -> {
+            assertThat(page).isNotSameAs(statement);
+            assertThat(page.getMaxRecords()).isEqualTo(5);
+            assertThat(page.getBinNames()).containsExactly("a");
+        });
+        assertThat(statement.getMaxRecords()).isEqualTo(0);
+    }
+
+    /**
+     * Two pages per filter, the second one completes the partitions.
+     */
+    private Flux<KeyRecord> page(PartitionFilter filter) {
+        boolean second = filters.contains(filter);
+        filters.add(filter);
+        if (second) {
+            markDone(filter);
+        }
+        return Flux.just(new KeyRecord(new Key("ns", "set", second ? 2 : 1), new Record(null, 1, 0)));
+    }
+}
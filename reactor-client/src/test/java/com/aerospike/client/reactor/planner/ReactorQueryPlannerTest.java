@@ -0,0 +1,195 @@
+package com.aerospike.client.reactor.planner;
+
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.exp.Exp;
+import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.query.Filter;
+import com.aerospike.client.query.IndexCollectionType;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.Statement;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.dto.NodeInfo;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReactorQueryPlannerTest {
+
+    private static final String SINDEX = "ns=test:indexname=idx_age:set=users:bin=age:type=numeric:indextype=default:context=NULL:state=RW;"
+            + "ns=test:indexname=idx_name:set=NULL:bin=name:type=string:indextype=default:context=NULL:state=RW;"
+            + "ns=test:indexname=idx_tags:set=users:bin=tags:type=string:indextype=list:context=NULL:state=RW;"
+            + "ns=test:indexname=idx_city:set=users:bin=city:type=string:indextype=default:context=NULL:state=WO;"
+            + "ns=test:indexname=idx_loc:set=users:bin=loc:type=geo2dsphere:indextype=default:context=NULL:state=RW;";
+
+    private final IAerospikeReactorClient client = mock(IAerospikeReactorClient.class);
+    private final AtomicInteger infoCalls = new AtomicInteger();
+    private final Map<String, String> responses = new HashMap<>();
+
+    {
+        responses.put("namespace/test", "objects=1000;replication-factor=2");
+        responses.put("sets/test", "ns=test:set=users:objects=1000:tombstones=0;");
+        responses.put("sindex/test", SINDEX);
+        responses.put("sindex/test/idx_age", "entries=1000;entries_per_bval=4");
+        responses.put("sindex/test/idx_name", "entries=1000");
+        responses.put("sindex/test/idx_tags", "entries=3000");
+        responses.put("sindex/test/idx_city", "entries=10");
+        responses.put("sindex/test/idx_loc", "entries=1000");
+        when(client.getQueryPolicyDefault()).thenReturn(new QueryPolicy());
+        when(client.infoAll(any(), anyList())).thenAnswer(invocation -> {
+            infoCalls.incrementAndGet();
+            List<String> commands = invocation.getArgument(1);
+            Map<String, String> values = new HashMap<>();
+            for (String command : commands) {
+                values.put(command, responses.get(command));
+            }
+            return Flux.just(new NodeInfo(mock(Node.class), values));
+        });
+        when(client.query(any(), any(Statement.class))).thenReturn(Flux.<KeyRecord>empty());
+    }
+
+    @Test
+    public void shouldKeepSelectiveEqualityOnIndex() {
+        StepVerifier.create(planner().explain(null, statement(Filter.equal("age", 30))))
+                .assertNext(plan -> {
+                    assertThat(plan.strategy).isEqualTo(QueryPlan.Strategy.INDEX);
+                    assertThat(plan.indexName).isEqualTo("idx_age");
+                    assertThat(plan.estimatedMatches).isEqualTo(4);
+                    assertThat(plan.setObjects).isEqualTo(1000);
+                    assertThat(plan.statement.getFilter()).isEqualTo(Filter.equal("age", 30));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldKeepGeoFilterOnIndex() {
+        Filter filter = Filter.geoWithinRadius("loc", -122.0, 37.5, 1000);
+
+        StepVerifier.create(planner().explain(null, statement(filter)))
+                .assertNext(plan -> {
+                    assertThat(plan.strategy).isEqualTo(QueryPlan.Strategy.INDEX);
+                    assertThat(plan.indexName).isEqualTo("idx_loc");
+                    assertThat(plan.statement.getFilter()).isEqualTo(filter);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldRewriteUnselectiveRangeToFilteredScan() {
+        Statement statement = statement(Filter.range("age", 10, 90));
+        statement.setBinNames("age", "name");
+        statement.setMaxRecords(100);
+
+        StepVerifier.create(planner().explain(null, statement))
+                .assertNext(plan -> {
+                    assertThat(plan.strategy).isEqualTo(QueryPlan.Strategy.SCAN);
+                    assertThat(plan.selectivity).isEqualTo(0.33);
+                    assertThat(plan.statement.getFilter()).isNull();
+                    assertThat(plan.statement.getBinNames()).containsExactly("age", "name");
+                    assertThat(plan.statement.getMaxRecords()).isEqualTo(100);
+                    assertThat(plan.policy.filterExp).isEqualTo(Exp.build(Exp.and(
+                            Exp.ge(Exp.intBin("age"), Exp.val(10)), Exp.le(Exp.intBin("age"), Exp.val(90)))));
+                })
+                .verifyComplete();
+        assertThat(statement.getFilter()).isNotNull();
+    }
+
+    @Test
+    public void shouldUseNamespaceWideIndexAndFallBackToDefaultSelectivity() {
+        StepVerifier.create(planner().explain(null, statement(Filter.equal("name", "bob"))))
+                .assertNext(plan -> {
+                    assertThat(plan.strategy).isEqualTo(QueryPlan.Strategy.INDEX);
+                    assertThat(plan.indexName).isEqualTo("idx_name");
+                    assertThat(plan.estimatedMatches).isEqualTo(10);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldKeepFiltersWithoutExpressionOnIndex() {
+        Filter filter = Filter.contains("tags", IndexCollectionType.LIST, "a");
+        QueryPlannerPolicy policy = new QueryPlannerPolicy();
+        policy.equalitySelectivity = 1;
+
+        StepVerifier.create(new ReactorQueryPlanner(client, policy).explain(null, statement(filter)))
+                .assertNext(plan -> {
+                    assertThat(plan.strategy).isEqualTo(QueryPlan.Strategy.INDEX);
+                    assertThat(plan.indexName).isEqualTo("idx_tags");
+                    assertThat(plan.reason).isEqualTo("filter has no expression equivalent");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldScanWhenIndexIsMissingOrNotReadable() {
+        ReactorQueryPlanner planner = planner();
+
+        StepVerifier.create(planner.explain(null, statement(Filter.equal("zip", "x"))))
+                .assertNext(plan -> {
+                    assertThat(plan.strategy).isEqualTo(QueryPlan.Strategy.SCAN);
+                    assertThat(plan.policy.filterExp).isEqualTo(Exp.build(Exp.eq(Exp.stringBin("zip"), Exp.val("x"))));
+                })
+                .verifyComplete();
+        StepVerifier.create(planner.explain(null, statement(Filter.equal("city", "x"))))
+                .assertNext(plan -> {
+                    assertThat(plan.strategy).isEqualTo(QueryPlan.Strategy.SCAN);
+                    assertThat(plan.indexName).isEqualTo("idx_city");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldKeepIndexWhenPolicyHasFilterExpression() {
+        QueryPolicy queryPolicy = new QueryPolicy();
+        queryPolicy.filterExp = Exp.build(Exp.binExists("name"));
+
+        StepVerifier.create(planner().explain(queryPolicy, statement(Filter.range("age", 10, 90))))
+                .assertNext(plan -> {
+                    assertThat(plan.strategy).isEqualTo(QueryPlan.Strategy.INDEX);
+                    assertThat(plan.policy).isSameAs(queryPolicy);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldCacheStatisticsAndExecuteThePlan() {
+        ReactorQueryPlanner planner = planner();
+
+        planner.query(null, statement(Filter.range("age", 10, 90))).blockLast();
+        planner.query(null, statement(Filter.equal("age", 30))).blockLast();
+        assertThat(infoCalls.get()).isEqualTo(3);
+        planner.invalidate();
+        planner.explain(null, statement(Filter.equal("age", 30))).block();
+        assertThat(infoCalls.get()).isEqualTo(6);
+
+        ArgumentCaptor<Statement> statements = ArgumentCaptor.forClass(Statement.class);
+        verify(client, times(2)).query(any(), statements.capture());
+        assertThat(statements.getAllValues().get(0).getFilter()).isNull();
+        assertThat(statements.getAllValues().get(1).getFilter()).isNotNull();
+    }
+
+    private ReactorQueryPlanner planner() {
+        return new ReactorQueryPlanner(client);
+    }
+
+    private static Statement statement(Filter filter) {
+        Statement statement = new Statement();
+        statement.setNamespace("test");
+        statement.setSetName("users");
+        statement.setFilter(filter);
+        return statement;
+    }
+}
@@ -0,0 +1,121 @@
+package com.aerospike.client.reactor.priority;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.Log;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.aerospike.client.reactor.priority.LaneScheduler.BACKGROUND;
+import static com.aerospike.client.reactor.priority.LaneScheduler.INTERACTIVE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PriorityLaneTest {
+
+    private static final Key KEY = new Key("ns", "set", "k");
+
+    @Test
+    public void shouldCapBackgroundLaneWithoutBlockingInteractive() {
+        LaneScheduler scheduler = LaneScheduler.interactiveAndBackground(4, 1);
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+
+        scheduler.schedule(BACKGROUND, first.asMono()).subscribe();
+        scheduler.schedule(BACKGROUND, second.asMono()).subscribe();
+        scheduler.schedule(INTERACTIVE, Mono.never()).subscribe();
+
+        assertThat(scheduler.getActive(BACKGROUND)).isEqualTo(1);
+        assertThat(scheduler.getQueued(BACKGROUND)).isEqualTo(1);
+        assertThat(scheduler.getActive(INTERACTIVE)).isEqualTo(1);
+
+        first.tryEmitValue("done");
+
+        assertThat(scheduler.getActive(BACKGROUND)).isEqualTo(1);
+        assertThat(scheduler.getQueued(BACKGROUND)).isZero();
+        assertThat(scheduler.getActive()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldDispatchByWeightUnderContention() {
+        LaneScheduler scheduler = new LaneScheduler(1)
+                .lane("a", 1, 3)
+                .lane("b", 1, 1);
+        Sinks.One<String> blocker = Sinks.one();
+        scheduler.schedule("a", blocker.asMono()).subscribe();
+
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 8; i++) {
+            scheduler.schedule("a", Mono.fromRunnable(() -> started.add("a"))).subscribe();
+            scheduler.schedule("b", Mono.fromRunnable(() -> started.add("b"))).subscribe();
+        }
+        assertThat(started).isEmpty();
+
+        blocker.tryEmitValue("done");
+
+        assertThat(started).hasSize(16);
+        assertThat(started.subList(0, 8)).filteredOn("a"::equals).hasSize(6);
+        assertThat(scheduler.getActive()).isZero();
+    }
+
+    @Test
+    public void shouldReleasePermitOnCancel() {
+        LaneScheduler scheduler = new LaneScheduler(1).lane("a", 1, 1);
+
+        Disposable running = scheduler.schedule("a", Mono.never()).subscribe();
+        Disposable queued = scheduler.schedule("a", Mono.never()).subscribe();
+        queued.dispose();
+        running.dispose();
+
+        assertThat(scheduler.getActive()).isZero();
+        assertThat(scheduler.getQueued("a")).isZero();
+    }
+
+    @Test
+    public void shouldSelectLaneFromContext() {
+        IAerospikeReactorClient reactorClient = mock(IAerospikeReactorClient.class);
+        when(reactorClient.get(ArgumentMatchers.any(), ArgumentMatchers.<Key>any()))
+                .thenReturn(Mono.<KeyRecord>never());
+        LaneScheduler scheduler = LaneScheduler.interactiveAndBackground(4, 1);
+        AerospikeReactorPriorityClient client = new AerospikeReactorPriorityClient(reactorClient, scheduler, INTERACTIVE);
+
+        client.get(KEY).subscribe();
+        client.get(KEY).contextWrite(LaneScheduler.laneContext(BACKGROUND)).subscribe();
+        client.withLane(BACKGROUND).get(KEY).subscribe();
+
+        assertThat(scheduler.getActive(INTERACTIVE)).isEqualTo(1);
+        assertThat(scheduler.getActive(BACKGROUND)).isEqualTo(1);
+        assertThat(scheduler.getQueued(BACKGROUND)).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldWarnOnceAboutUnknownContextLane() {
+        IAerospikeReactorClient reactorClient = mock(IAerospikeReactorClient.class);
+        when(reactorClient.get(ArgumentMatchers.any(), ArgumentMatchers.<Key>any()))
+                .thenReturn(Mono.<KeyRecord>never());
+        LaneScheduler scheduler = LaneScheduler.interactiveAndBackground(4, 1);
+        AerospikeReactorPriorityClient client = new AerospikeReactorPriorityClient(reactorClient, scheduler, INTERACTIVE);
+        List<String> warnings = Collections.synchronizedList(new ArrayList<>());
+        Log.setLevel(Log.Level.WARN);
+        Log.setCallback((level, message) -> warnings.add(message));
+        try {
+            client.get(KEY).contextWrite(LaneScheduler.laneContext("backgorund")).subscribe();
+            client.get(KEY).contextWrite(LaneScheduler.laneContext("backgorund")).subscribe();
+        } finally {
+            Log.setCallback(null);
+        }
+
+        assertThat(scheduler.getActive(INTERACTIVE)).isEqualTo(2);
+        assertThat(warnings).hasSize(1);
+        assertThat(warnings.get(0)).contains("backgorund");
+    }
+}
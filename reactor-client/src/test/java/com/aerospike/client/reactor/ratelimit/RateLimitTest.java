@@ -0,0 +1,98 @@
+package com.aerospike.client.reactor.ratelimit;
+
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.client.reactor.dto.KeysRecords;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RateLimitTest {
+
+    private static final Key KEY = new Key("ns", "set", "k");
+    private static final Key OTHER_SET_KEY = new Key("ns", "other", "k");
+    private static final Bin BIN = new Bin("b", 1);
+
+    private final IAerospikeReactorClient reactorClient = mock(IAerospikeReactorClient.class);
+
+    @Test
+    public void tokenBucketShouldAllowBurstAndThenSpaceReservations() {
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+
+        assertThat(bucket.reserve(0, 1)).isZero();
+        assertThat(bucket.reserve(0, 1)).isZero();
+        assertThat(bucket.reserve(0, 1)).isEqualTo(100_000_000L);
+        assertThat(bucket.reserve(0, 1)).isEqualTo(200_000_000L);
+        assertThat(bucket.reserve(1_000_000_000L, 1)).isZero();
+    }
+
+    @Test
+    public void shouldDelayWritesAboveSetLimit() {
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+        RateLimiter rateLimiter = new RateLimiter(scheduler)
+                .limit("ns", "set", OperationType.WRITE, 1, 1);
+        IAerospikeReactorClient client = new AerospikeReactorRateLimitClient(reactorClient, rateLimiter);
+
+        AtomicInteger executed = new AtomicInteger();
+        when(reactorClient.put(any(), eq(KEY), ArgumentMatchers.<Bin[]>any()))
+                .thenReturn(Mono.fromCallable(() -> { executed.incrementAndGet(); return KEY; }));
+        when(reactorClient.put(any(), eq(OTHER_SET_KEY), ArgumentMatchers.<Bin[]>any()))
+                .thenReturn(Mono.just(OTHER_SET_KEY));
+
+        Flux.range(0, 3).flatMap(i -> client.put(KEY, BIN)).subscribe();
+        assertThat(executed).hasValue(1);
+
+        StepVerifier.create(client.put(OTHER_SET_KEY, BIN))
+                .expectNext(OTHER_SET_KEY)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        scheduler.advanceTimeBy(Duration.ofSeconds(1));
+        assertThat(executed).hasValue(2);
+        scheduler.advanceTimeBy(Duration.ofSeconds(1));
+        assertThat(executed).hasValue(3);
+    }
+
+    @Test
+    public void shouldChargeBatchPerKey() {
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+        RateLimiter rateLimiter = new RateLimiter(scheduler)
+                .limit(OperationType.BATCH, 2, 4);
+        IAerospikeReactorClient client = new AerospikeReactorRateLimitClient(reactorClient, rateLimiter);
+
+        Key[] keys = {KEY, KEY, KEY, KEY};
+        KeysRecords result = new KeysRecords(keys, new Record[4]);
+        when(reactorClient.get(any(), eq(keys))).thenReturn(Mono.just(result));
+        when(reactorClient.get(any(), eq(KEY))).thenReturn(Mono.just(new KeyRecord(KEY, null)));
+
+        StepVerifier.create(client.get(null, keys)).expectNext(result).expectComplete().verify(Duration.ofSeconds(1));
+
+        StepVerifier.withVirtualTime(() -> client.get(null, keys), () -> scheduler, Long.MAX_VALUE)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(1900))
+                .thenAwait(Duration.ofMillis(100))
+                .expectNext(result)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        StepVerifier.create(client.get(null, KEY))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+    }
+}
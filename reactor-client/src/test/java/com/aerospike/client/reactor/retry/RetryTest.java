@@ -8,6 +8,7 @@ import com.aerospike.client.Operation;
 import com.aerospike.client.ResultCode;
 import com.aerospike.client.cdt.ListOperation;
 import com.aerospike.client.cdt.ListReturnType;
+import com.aerospike.client.cluster.Node;
 import com.aerospike.client.policy.BatchPolicy;
 import com.aerospike.client.query.IndexCollectionType;
 import com.aerospike.client.query.IndexType;
@@ -24,6 +25,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.aerospike.client.reactor.retry.RetryFactories.retryOnNoMoreConnections;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -302,6 +305,23 @@ public class RetryTest {
                 .verifyError(AerospikeException.Timeout.class);
     }
 
+    @Test
+    public void shouldRetryInfoPerNode(){
+        Node node1 = mock(Node.class);
+        Node node2 = mock(Node.class);
+        when(reactorClient.info(ArgumentMatchers.any(), ArgumentMatchers.eq(node1), ArgumentMatchers.<List<String>>any()))
+                .thenReturn(Mono.just(singletonMap("build", "1")));
+        AtomicInteger attempts = new AtomicInteger();
+        when(reactorClient.info(ArgumentMatchers.any(), ArgumentMatchers.eq(node2), ArgumentMatchers.<List<String>>any()))
+                .thenReturn(Mono.defer(() -> attempts.getAndIncrement() == 0
+                        ? Mono.error(NO_CONNECTION) : Mono.just(singletonMap("build", "2"))));
+
+        StepVerifier.create(retryClient.info(null, new Node[]{node1, node2}, 1, singletonList("build")))
+                .expectNextMatches(info -> info.node == node1)
+                .expectNextMatches(info -> info.node == node2)
+                .verifyComplete();
+    }
+
     @Test
     public void shouldRetryCreateIndex(){
 
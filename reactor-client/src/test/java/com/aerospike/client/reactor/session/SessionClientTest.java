@@ -0,0 +1,182 @@
+package com.aerospike.client.reactor.session;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.BatchWrite;
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.Operation;
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.policy.Replica;
+import com.aerospike.client.policy.WritePolicy;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SessionClientTest {
+
+    private static final Key KEY = new Key("ns", "set", "k");
+    private static final Key OTHER = new Key("ns", "set", "other");
+
+    private final IAerospikeReactorClient client = mock(IAerospikeReactorClient.class);
+    private final AtomicLong clock = new AtomicLong();
+    private final Policy replicaPolicy = new Policy();
+
+    {
+        replicaPolicy.replica = Replica.SEQUENCE;
+        when(client.getReadPolicyDefault()).thenReturn(replicaPolicy);
+        when(client.getBatchPolicyDefault()).thenReturn(new BatchPolicy());
+        when(client.getWritePolicyDefault()).thenReturn(new WritePolicy());
+        when(client.put(any(), any(Key.class), ArgumentMatchers.<Bin[]>any())).thenReturn(Mono.just(KEY));
+        when(client.get(ArgumentMatchers.<Policy>any(), any(Key.class))).thenReturn(Mono.empty());
+        when(client.get(ArgumentMatchers.<BatchPolicy>any(), any(Key[].class))).thenReturn(Mono.empty());
+        when(client.operate(ArgumentMatchers.<WritePolicy>any(), any(Key.class), ArgumentMatchers.<Operation[]>any()))
+                .thenReturn(Mono.just(new KeyRecord(KEY, null)));
+        when(client.operate(any(), anyList())).thenReturn(Mono.just(true));
+    }
+
+    @Test
+    public void shouldReadOwnWritesFromMaster() {
+        IAerospikeReactorClient session = session(new SessionPolicy());
+
+        session.get(replicaPolicy, KEY).block();
+        session.put(null, KEY, new Bin("a", 1)).block();
+        session.get(replicaPolicy, KEY).block();
+        session.get(replicaPolicy, OTHER).block();
+
+        List<Policy> policies = readPolicies(3);
+        assertThat(policies.get(0)).isSameAs(replicaPolicy);
+        assertThat(policies.get(1).replica).isEqualTo(Replica.MASTER);
+        assertThat(policies.get(2)).isSameAs(replicaPolicy);
+        assertThat(replicaPolicy.replica).isEqualTo(Replica.SEQUENCE);
+    }
+
+    @Test
+    public void shouldCopyDefaultPolicyAndReturnToReplicasAfterWindow() {
+        IAerospikeReactorClient session = session(new SessionPolicy());
+
+        session.put(KEY, new Bin("a", 1)).block();
+        session.get(KEY).block();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        session.get(KEY).block();
+
+        List<Policy> policies = readPolicies(2);
+        assertThat(policies.get(0).replica).isEqualTo(Replica.MASTER);
+        assertThat(policies.get(1)).isNull();
+    }
+
+    @Test
+    public void shouldTrackFailedWrites() {
+        when(client.put(any(), any(Key.class), ArgumentMatchers.<Bin[]>any()))
+                .thenReturn(Mono.error(new AerospikeException.Timeout(1, true)));
+        IAerospikeReactorClient session = session(new SessionPolicy());
+
+        StepVerifier.create(session.put(KEY, new Bin("a", 1)))
+                .verifyError(AerospikeException.Timeout.class);
+        session.get(KEY).block();
+
+        assertThat(readPolicies(1).get(0).replica).isEqualTo(Replica.MASTER);
+    }
+
+    @Test
+    public void shouldRouteBatchesContainingWrittenKeys() {
+        IAerospikeReactorClient session = session(new SessionPolicy());
+
+        List<BatchRecord> records = Collections.singletonList(
+                new BatchWrite(KEY, new Operation[]{Operation.put(new Bin("a", 1))}));
+        session.operate(null, records).block();
+        session.get(new Key[]{OTHER, KEY}).block();
+        session.get(new Key[]{OTHER}).block();
+
+        ArgumentCaptor<BatchPolicy> policies = ArgumentCaptor.forClass(BatchPolicy.class);
+        verify(client, times(2)).get(policies.capture(), any(Key[].class));
+        assertThat(policies.getAllValues().get(0).replica).isEqualTo(Replica.MASTER);
+        assertThat(policies.getAllValues().get(1)).isNull();
+    }
+
+    @Test
+    public void shouldNotTrackReadOnlyOperations() {
+        IAerospikeReactorClient session = session(new SessionPolicy());
+
+        session.operate(KEY, Operation.get("a")).block();
+        session.get(KEY).block();
+        session.operate(KEY, Operation.put(new Bin("a", 1))).block();
+        session.operate(KEY, Operation.get("a")).block();
+
+        assertThat(readPolicies(1).get(0)).isNull();
+        ArgumentCaptor<WritePolicy> policies = ArgumentCaptor.forClass(WritePolicy.class);
+        verify(client, times(3)).operate(policies.capture(), eq(KEY),
+                ArgumentMatchers.<Operation[]>any());
+        assertThat(policies.getAllValues().get(2).replica).isEqualTo(Replica.MASTER);
+    }
+
+    @Test
+    public void shouldReadEverythingFromMasterWhenTooManyKeysAreWritten() {
+        SessionPolicy policy = new SessionPolicy();
+        policy.maxKeys = 1;
+        IAerospikeReactorClient session = session(policy);
+
+        session.put(KEY, new Bin("a", 1)).block();
+        session.put(new Key("ns", "set", "third"), new Bin("a", 1)).block();
+        session.get(OTHER).block();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        session.get(OTHER).block();
+
+        List<Policy> policies = readPolicies(2);
+        assertThat(policies.get(0).replica).isEqualTo(Replica.MASTER);
+        assertThat(policies.get(1)).isNull();
+    }
+
+    @Test
+    public void shouldForgetWritesOnClose() throws Exception {
+        IAerospikeReactorClient session = session(new SessionPolicy());
+
+        session.put(KEY, new Bin("a", 1)).block();
+        session.close();
+        session.get(KEY).block();
+
+        assertThat(readPolicies(1).get(0)).isNull();
+        verify(client, never()).close();
+    }
+
+    private IAerospikeReactorClient session(SessionPolicy policy) {
+        return new AerospikeReactorSessionClient(client, policy, clock::get);
+    }
+
+    @Test
+    public void shouldReadOwnWriteInReactiveChain() {
+        IAerospikeReactorClient session = session(new SessionPolicy());
+
+        StepVerifier.create(session.put(KEY, new Bin("a", 1))
+                        .then(session.get(replicaPolicy, KEY)))
+                .verifyComplete();
+
+        assertThat(readPolicies(1).get(0).replica).isEqualTo(Replica.MASTER);
+    }
+
+    private List<Policy> readPolicies(int count) {
+        ArgumentCaptor<Policy> policies = ArgumentCaptor.forClass(Policy.class);
+        verify(client, times(count)).get(policies.capture(), any(Key.class));
+        return policies.getAllValues();
+    }
+}
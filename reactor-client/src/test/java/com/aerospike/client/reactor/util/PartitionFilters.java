@@ -0,0 +1,41 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.util;
+
+import com.aerospike.client.query.PartitionFilter;
+
+import java.lang.reflect.Field;
+
+/**
+ * Lets mocked partition scans and queries complete a {@link PartitionFilter}, which only
+ * the client sets when the servers report all partitions done.
+ */
+public final class PartitionFilters {
+
+	private PartitionFilters() {
+	}
+
+	public static void markDone(PartitionFilter filter) {
+		try {
+			Field done = PartitionFilter.class.getDeclaredField("done");
+			done.setAccessible(true);
+			done.setBoolean(filter, true);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
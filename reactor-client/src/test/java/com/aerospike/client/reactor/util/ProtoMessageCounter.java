@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012-2018 Aerospike, Inc.
+ *
+ * Portions may be licensed to Aerospike, Inc. under one or more contributor
+ * license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.aerospike.client.reactor.util;
+
+import org.netcrusher.core.filter.TransformFilter;
+import org.netcrusher.core.filter.TransformFilterFactory;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the database messages passing through a netcrusher proxy by following the 8 byte
+ * proto headers of the stream: version, message type and 48 bit body length. Info messages
+ * used by cluster tending are not counted. Data is passed through unchanged.
+ */
+public class ProtoMessageCounter implements TransformFilter {
+
+	private static final int HEADER_SIZE = 8;
+	private static final int TYPE_INFO = 1;
+
+	private final AtomicLong messages;
+	private final byte[] header = new byte[HEADER_SIZE];
+	private int headerRead;
+	private long bodyRemaining;
+
+	private ProtoMessageCounter(AtomicLong messages) {
+		this.messages = messages;
+	}
+
+	/**
+	 * Factory of one counter per connection, all adding to the same total.
+	 */
+	public static TransformFilterFactory factory(AtomicLong messages) {
+		return address -> new ProtoMessageCounter(messages);
+	}
+
+	@Override
+	public void transform(ByteBuffer buffer) {
+		int position = buffer.position();
+		int limit = buffer.limit();
+		while (position < limit) {
+			if (bodyRemaining > 0) {
+				int skipped = (int) Math.min(bodyRemaining, limit - position);
+				bodyRemaining -= skipped;
+				position += skipped;
+				continue;
+			}
+			header[headerRead++] = buffer.get(position++);
+			if (headerRead == HEADER_SIZE) {
+				headerRead = 0;
+				bodyRemaining = 0;
+				for (int i = 2; i < HEADER_SIZE; i++) {
+					bodyRemaining = bodyRemaining << 8 | (header[i] & 0xFF);
+				}
+				if (header[1] != TYPE_INFO) {
+					messages.incrementAndGet();
+				}
+			}
+		}
+	}
+}
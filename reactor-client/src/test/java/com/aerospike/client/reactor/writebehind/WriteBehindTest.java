@@ -0,0 +1,233 @@
+package com.aerospike.client.reactor.writebehind;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.BatchWrite;
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.policy.WritePolicy;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WriteBehindTest {
+
+    private static final Key KEY = new Key("ns", "set", "k");
+    private static final Key OTHER = new Key("ns", "set", "other");
+
+    private final IAerospikeReactorClient client = mock(IAerospikeReactorClient.class);
+
+    {
+        when(client.operate(any(), anyList())).thenReturn(Mono.just(true));
+        when(client.put(any(), any(Key.class), ArgumentMatchers.<Bin[]>any())).thenReturn(Mono.just(KEY));
+        when(client.get(ArgumentMatchers.<Policy>any(), any(Key.class))).thenReturn(Mono.just(new KeyRecord(KEY, null)));
+    }
+
+    @Test
+    public void shouldCollapseOverwritesIntoSingleWrite() throws Exception {
+        AerospikeReactorWriteBehindClient writeBehind = new AerospikeReactorWriteBehindClient(client, policy());
+
+        StepVerifier.create(writeBehind.put(KEY, new Bin("a", 1), new Bin("b", 1)))
+                .expectNext(KEY)
+                .verifyComplete();
+        writeBehind.put(KEY, new Bin("a", 2)).block();
+        writeBehind.put(OTHER, new Bin("a", 3)).block();
+        assertThat(writeBehind.pendingKeys()).isEqualTo(2);
+        verify(client, never()).operate(any(), anyList());
+
+        writeBehind.flush().block();
+
+        List<BatchRecord> writes = writtenBatch();
+        assertThat(writes).hasSize(2);
+        BatchWrite write = (BatchWrite) writes.stream().filter(record -> record.key.equals(KEY)).findFirst().get();
+        assertThat(write.ops).extracting(op -> op.binName + "=" + op.value).containsExactly("a=2", "b=1");
+        assertThat(writeBehind.pendingKeys()).isZero();
+        writeBehind.close();
+    }
+
+    @Test
+    public void shouldFlushWhenTooManyKeysPending() throws Exception {
+        WriteBehindPolicy policy = policy();
+        policy.maxPendingKeys = 2;
+        AerospikeReactorWriteBehindClient writeBehind = new AerospikeReactorWriteBehindClient(client, policy);
+
+        writeBehind.put(KEY, new Bin("a", 1)).block();
+        writeBehind.put(KEY, new Bin("a", 2)).block();
+        verify(client, never()).operate(any(), anyList());
+        writeBehind.put(OTHER, new Bin("a", 1)).block();
+
+        verify(client, timeout(5000)).operate(any(), anyList());
+        writeBehind.close();
+    }
+
+    @Test
+    public void shouldFlushOnInterval() throws Exception {
+        WriteBehindPolicy policy = policy();
+        policy.flushIntervalMillis = 10;
+        AerospikeReactorWriteBehindClient writeBehind = new AerospikeReactorWriteBehindClient(client, policy);
+
+        writeBehind.put(KEY, new Bin("a", 1)).block();
+
+        verify(client, timeout(5000)).operate(any(), anyList());
+        writeBehind.close();
+    }
+
+    @Test
+    public void shouldWritePendingBinsBeforeReadingKey() throws Exception {
+        AerospikeReactorWriteBehindClient writeBehind = new AerospikeReactorWriteBehindClient(client, policy());
+        writeBehind.put(KEY, new Bin("a", 1)).block();
+        writeBehind.put(OTHER, new Bin("a", 1)).block();
+
+        writeBehind.get(null, KEY).block();
+
+        InOrder order = inOrder(client);
+        order.verify(client).operate(any(), anyList());
+        order.verify(client).get(null, KEY);
+        assertThat(writtenBatch()).extracting(record -> record.key).containsExactly(KEY);
+        assertThat(writeBehind.pendingKeys()).isEqualTo(1);
+        writeBehind.close();
+    }
+
+    @Test
+    public void shouldWritePendingBinsBeforeChainedRead() throws Exception {
+        AerospikeReactorWriteBehindClient writeBehind = new AerospikeReactorWriteBehindClient(client, policy());
+
+        StepVerifier.create(writeBehind.put(KEY, new Bin("a", 1)).then(writeBehind.get(null, KEY)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        InOrder order = inOrder(client);
+        order.verify(client).operate(any(), anyList());
+        order.verify(client).get(null, KEY);
+        writeBehind.close();
+    }
+
+    @Test
+    public void shouldNotReadBeforeFlushInFlightCompletes() throws Exception {
+        Sinks.One<Boolean> flushed = Sinks.one();
+        when(client.operate(any(), anyList())).thenReturn(flushed.asMono()).thenReturn(Mono.just(true));
+        AerospikeReactorWriteBehindClient writeBehind = new AerospikeReactorWriteBehindClient(client, policy());
+        writeBehind.put(KEY, new Bin("a", 1)).block();
+        writeBehind.flush().subscribe();
+        verify(client).operate(any(), anyList());
+
+        AtomicBoolean read = new AtomicBoolean();
+        writeBehind.get(null, KEY).subscribe(record -> read.set(true));
+        assertThat(read).isFalse();
+        verify(client, never()).get(null, KEY);
+
+        flushed.tryEmitValue(true);
+        assertThat(read).isTrue();
+        writeBehind.close();
+    }
+
+    @Test
+    public void shouldNotWaitForFlushOfOtherKeys() throws Exception {
+        Sinks.One<Boolean> flushed = Sinks.one();
+        when(client.operate(any(), anyList())).thenReturn(flushed.asMono());
+        AerospikeReactorWriteBehindClient writeBehind = new AerospikeReactorWriteBehindClient(client, policy());
+        writeBehind.put(KEY, new Bin("a", 1)).block();
+        writeBehind.flush().subscribe();
+        verify(client).operate(any(), anyList());
+
+        writeBehind.get(null, OTHER).block(Duration.ofSeconds(5));
+
+        verify(client).get(null, OTHER);
+        flushed.tryEmitValue(true);
+        writeBehind.close();
+    }
+
+    @Test
+    public void shouldPassThroughPutWithPolicy() throws Exception {
+        AerospikeReactorWriteBehindClient writeBehind = new AerospikeReactorWriteBehindClient(client, policy());
+        WritePolicy writePolicy = new WritePolicy();
+
+        writeBehind.put(writePolicy, KEY, new Bin("a", 1)).block();
+
+        verify(client).put(eq(writePolicy), eq(KEY), ArgumentMatchers.<Bin[]>any());
+        assertThat(writeBehind.pendingKeys()).isZero();
+        writeBehind.close();
+    }
+
+    @Test
+    public void shouldReportFailedWrites() throws Exception {
+        when(client.operate(any(), anyList()))
+                .thenAnswer(invocation -> {
+                    List<BatchRecord> records = invocation.getArgument(1);
+                    records.forEach(record -> record.resultCode = ResultCode.OK);
+                    records.get(0).resultCode = ResultCode.GENERATION_ERROR;
+                    return Mono.just(false);
+                })
+                .thenReturn(Mono.error(new AerospikeException.Timeout(1, false)));
+        List<BatchRecord> failed = new ArrayList<>();
+        WriteBehindPolicy policy = policy();
+        policy.failureHandler = failed::add;
+        AerospikeReactorWriteBehindClient writeBehind = new AerospikeReactorWriteBehindClient(client, policy);
+
+        writeBehind.put(KEY, new Bin("a", 1)).block();
+        writeBehind.put(OTHER, new Bin("a", 1)).block();
+        writeBehind.flush().block();
+        assertThat(failed).hasSize(1);
+        assertThat(failed.get(0).resultCode).isEqualTo(ResultCode.GENERATION_ERROR);
+
+        writeBehind.put(KEY, new Bin("a", 2)).block();
+        writeBehind.flush().block();
+        assertThat(failed).hasSize(2);
+        assertThat(failed.get(1).key).isEqualTo(KEY);
+        assertThat(failed.get(1).resultCode).isEqualTo(ResultCode.TIMEOUT);
+        writeBehind.close();
+    }
+
+    @Test
+    public void shouldFlushOnClose() throws Exception {
+        AerospikeReactorWriteBehindClient writeBehind = new AerospikeReactorWriteBehindClient(client, policy());
+        writeBehind.put(KEY, new Bin("a", 1)).block();
+
+        writeBehind.close();
+
+        InOrder order = inOrder(client);
+        order.verify(client).operate(any(), anyList());
+        order.verify(client).close();
+
+        writeBehind.put(KEY, new Bin("a", 2)).block(Duration.ofSeconds(5));
+        verify(client).put(eq(null), eq(KEY), ArgumentMatchers.<Bin[]>any());
+    }
+
+    private static WriteBehindPolicy policy() {
+        WriteBehindPolicy policy = new WriteBehindPolicy();
+        policy.flushIntervalMillis = 60_000;
+        return policy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<BatchRecord> writtenBatch() {
+        ArgumentCaptor<List<BatchRecord>> captor = ArgumentCaptor.forClass(List.class);
+        verify(client).operate(ArgumentMatchers.<BatchPolicy>any(), captor.capture());
+        return captor.getValue();
+    }
+}